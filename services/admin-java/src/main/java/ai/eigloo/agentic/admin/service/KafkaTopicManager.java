@@ -124,7 +124,8 @@ public class KafkaTopicManager {
             TopicNames.persistedTaskExecutions(tenantId),
             TopicNames.persistedPlanExecutions(tenantId),
             TopicNames.planInputs(tenantId),
-            TopicNames.taskInputs(tenantId)
+            TopicNames.taskInputs(tenantId),
+            TopicNames.graphRunStatus(tenantId)
         );
     }
     
@@ -0,0 +1,91 @@
+package ai.eigloo.agentic.admin.service;
+
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.CreateTopicsOptions;
+import org.apache.kafka.clients.admin.CreateTopicsResult;
+import org.apache.kafka.clients.admin.DeleteTopicsOptions;
+import org.apache.kafka.clients.admin.DeleteTopicsResult;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.KafkaFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for KafkaTopicManager.
+ */
+@ExtendWith(MockitoExtension.class)
+class KafkaTopicManagerTest {
+
+    private static final Set<String> TENANT_TOPICS = Set.of(
+            "task-executions-tenant-a",
+            "plan-executions-tenant-a",
+            "persisted-task-executions-tenant-a",
+            "persisted-plan-executions-tenant-a",
+            "plan-inputs-tenant-a",
+            "task-inputs-tenant-a",
+            "graph-run-status-tenant-a");
+
+    @Mock
+    private AdminClient adminClient;
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    private KafkaTopicManager kafkaTopicManager;
+
+    @BeforeEach
+    void setUp() {
+        kafkaTopicManager = new KafkaTopicManager(adminClient, kafkaTemplate);
+    }
+
+    @Test
+    void getTenantTopicNames_IncludesEveryTenantTopic() {
+        List<String> topicNames = kafkaTopicManager.getTenantTopicNames("tenant-a");
+
+        assertEquals(TENANT_TOPICS.size(), topicNames.size());
+        assertEquals(TENANT_TOPICS, Set.copyOf(topicNames));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void createTenantTopics_CreatesGraphRunStatusTopic() {
+        CreateTopicsResult result = mock(CreateTopicsResult.class);
+        when(result.all()).thenReturn(KafkaFuture.completedFuture(null));
+        when(adminClient.createTopics(any(Collection.class), any(CreateTopicsOptions.class))).thenReturn(result);
+
+        kafkaTopicManager.createTenantTopics("tenant-a");
+
+        ArgumentCaptor<Collection<NewTopic>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(adminClient).createTopics(captor.capture(), any(CreateTopicsOptions.class));
+        Set<String> created = captor.getValue().stream().map(NewTopic::name).collect(Collectors.toSet());
+        assertEquals(TENANT_TOPICS, created);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deleteTenantTopics_DeletesGraphRunStatusTopic() {
+        DeleteTopicsResult result = mock(DeleteTopicsResult.class);
+        when(result.all()).thenReturn(KafkaFuture.completedFuture(null));
+        when(adminClient.deleteTopics(any(Collection.class), any(DeleteTopicsOptions.class))).thenReturn(result);
+
+        kafkaTopicManager.deleteTenantTopics("tenant-a");
+
+        ArgumentCaptor<Collection<String>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(adminClient).deleteTopics(captor.capture(), any(DeleteTopicsOptions.class));
+        assertEquals(TENANT_TOPICS, Set.copyOf(captor.getValue()));
+    }
+}
@@ -27,6 +27,7 @@ public class KafkaTopicPatterns {
     private String persistedPlanExecutions = "persisted-plan-executions-.*";
     private String planInputs = "plan-inputs-.*";
     private String taskInputs = "task-inputs-.*";
+    private String graphRunStatus = "graph-run-status-.*";
     
     // Getters and setters
     public String getTaskExecutionsPattern() {
@@ -83,6 +84,15 @@ public class KafkaTopicPatterns {
         logger.debug("Set task inputs pattern: {}", taskInputs);
     }
     
+    public String getGraphRunStatusPattern() {
+        return graphRunStatus;
+    }
+    
+    public void setGraphRunStatus(String graphRunStatus) {
+        this.graphRunStatus = graphRunStatus;
+        logger.debug("Set graph run status pattern: {}", graphRunStatus);
+    }
+    
     /**
      * Get all topic patterns as a map for dynamic configuration.
      * 
@@ -95,7 +105,8 @@ public class KafkaTopicPatterns {
             "persistedTaskExecutions", persistedTaskExecutions,
             "persistedPlanExecutions", persistedPlanExecutions,
             "planInputs", planInputs,
-            "taskInputs", taskInputs
+            "taskInputs", taskInputs,
+            "graphRunStatus", graphRunStatus
         );
     }
     
@@ -137,6 +148,11 @@ public class KafkaTopicPatterns {
             isValid = false;
         }
         
+        if (graphRunStatus == null || graphRunStatus.isEmpty()) {
+            logger.error("Graph run status pattern is not configured");
+            isValid = false;
+        }
+        
         if (isValid) {
             logger.info("All Kafka topic patterns are properly configured");
         }
@@ -10,7 +10,7 @@ import java.util.Map;
  * 
  * The system uses only tenant-specific topics with the pattern {prefix}-{tenantId}
  * where prefix is one of: task-executions, plan-executions, persisted-task-executions, 
- * persisted-plan-executions, plan-inputs, task-inputs.
+ * persisted-plan-executions, plan-inputs, task-inputs, graph-run-status.
  */
 public class TopicNames {
     
@@ -21,7 +21,8 @@ public class TopicNames {
         "persisted-task-executions-",
         "persisted-plan-executions-",
         "plan-inputs-",
-        "task-inputs-"
+        "task-inputs-",
+        "graph-run-status-"
     };
     
     private TopicNames() {
@@ -88,6 +89,16 @@ public class TopicNames {
         return "task-inputs-" + tenantId;
     }
 
+    /**
+     * Generate graph run status topic name for a tenant.
+     * 
+     * @param tenantId the tenant identifier
+     * @return topic name in format: graph-run-status-{tenantId}
+     */
+    public static String graphRunStatus(String tenantId) {
+        return "graph-run-status-" + tenantId;
+    }
+
     /**
      * Build a Kafka key that scopes node traffic to a graph.
      *
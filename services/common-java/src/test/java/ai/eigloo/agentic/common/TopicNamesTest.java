@@ -11,6 +11,7 @@ class TopicNamesTest {
         assertEquals("tenant-dev", TopicNames.extractTenantId("plan-inputs-tenant-dev"));
         assertEquals("tenant-dev", TopicNames.extractTenantId("task-inputs-tenant-dev"));
         assertEquals("tenant-dev", TopicNames.extractTenantId("persisted-plan-executions-tenant-dev"));
+        assertEquals("tenant-dev", TopicNames.extractTenantId(TopicNames.graphRunStatus("tenant-dev")));
     }
 
     @Test
@@ -10,7 +10,7 @@ proto generation individually.
 
 # Import all protobuf generated classes from local files
 try:
-    from .common_pb2 import ExecutionHeader, ExecutionStatus, TaskExecution, TaskResult,  PlanExecution, PlanResult, PlanInput, TaskInput
+    from .common_pb2 import ExecutionHeader, ExecutionStatus, TaskExecution, TaskResult,  PlanExecution, PlanResult, PlanInput, TaskInput, StoredData, ResourceUsage
 except ImportError as e:
     raise e
     # raise ImportError(
@@ -22,6 +22,8 @@ __all__ = [
     # Common protobuf messages
     "ExecutionHeader",
     "ExecutionStatus",
+    "ResourceUsage",
+    "StoredData",
     # Task-related protobuf messages
     "TaskExecution",
     "TaskResult",
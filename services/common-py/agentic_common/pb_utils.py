@@ -10,6 +10,7 @@ from typing import Any, Dict, Optional, Union
 from datetime import datetime
 
 from .pb import TaskExecution, PlanExecution, PlanInput, TaskInput, TaskResult, PlanResult, ExecutionHeader
+from .stored_data import ENCODING_ANY, load_stored_data
 
 
 class ProtobufUtils:
@@ -337,6 +338,9 @@ class ProtobufUtils:
         """
         Extract task result data from protobuf message.
         
+        Data that executor-java offloaded to its blob store is fetched and
+        returned exactly like inline data, so callers see no difference.
+        
         Args:
             task_result: TaskResult protobuf message
             
@@ -344,20 +348,15 @@ class ProtobufUtils:
             Dictionary with result data or None
         """
         if task_result.HasField("inline_data"):
-            try:
-                # Convert Any protobuf to dictionary
-                from google.protobuf import struct_pb2
-                value_msg = struct_pb2.Value()
-                task_result.inline_data.Unpack(value_msg)
-                data = json.loads(value_msg.string_value)
-                return {
-                    "type": "inline",
-                    "data": data,
-                }
-            except Exception:
-                return None
+            return ProtobufUtils._inline_result_data(task_result.inline_data)
         elif task_result.HasField("external_data"):
             external_data = task_result.external_data
+            if external_data.metadata.get("encoding") == ENCODING_ANY:
+                try:
+                    payload = load_stored_data(external_data)
+                except Exception:
+                    return None
+                return ProtobufUtils._inline_result_data(payload)
             return {
                 "type": "external",
                 "uri": external_data.uri,
@@ -366,6 +365,21 @@ class ProtobufUtils:
         else:
             return None
     
+    @staticmethod
+    def _inline_result_data(payload) -> Optional[Dict[str, Any]]:
+        try:
+            # Convert Any protobuf to dictionary
+            from google.protobuf import struct_pb2
+            value_msg = struct_pb2.Value()
+            payload.Unpack(value_msg)
+            data = json.loads(value_msg.string_value)
+            return {
+                "type": "inline",
+                "data": data,
+            }
+        except Exception:
+            return None
+    
     @staticmethod
     def extract_plan_result_data(plan_result: PlanResult) -> Dict[str, Any]:
         """
@@ -0,0 +1,74 @@
+"""
+Access to task result data that may live outside the message.
+
+executor-java moves large ``TaskResult.inline_data`` payloads to a blob store
+and leaves a ``StoredData`` reference in ``external_data`` instead. Plan and
+task code should read upstream data through :func:`task_result_data`, which
+returns the same ``google.protobuf.Any`` either way. External blobs are only
+fetched when this function is called, so nodes that never look at an upstream
+result never pay for it.
+"""
+
+from functools import lru_cache
+from typing import Callable, Dict, Optional
+from urllib.parse import unquote, urlparse
+
+from google.protobuf.any_pb2 import Any
+
+from .pb import StoredData, TaskResult
+
+ENCODING_ANY = "google.protobuf.Any"
+
+_resolvers: Dict[str, Callable[[str], bytes]] = {}
+
+
+def register_resolver(scheme: str, resolver: Callable[[str], bytes]) -> None:
+    """
+    Register how blobs with a URI scheme are fetched, replacing any existing resolver.
+    """
+    _resolvers[scheme] = resolver
+    _load.cache_clear()
+
+
+def _read_file(uri: str) -> bytes:
+    with open(unquote(urlparse(uri).path), "rb") as blob:
+        return blob.read()
+
+
+register_resolver("file", _read_file)
+
+
+@lru_cache(maxsize=16)
+def _load(uri: str) -> bytes:
+    scheme = urlparse(uri).scheme
+    resolver = _resolvers.get(scheme)
+    if resolver is None:
+        raise ValueError(f"No resolver registered for stored data scheme '{scheme}' ({uri})")
+    return resolver(uri)
+
+
+def load_stored_data(stored: StoredData) -> Any:
+    """
+    Fetch and decode an externally stored payload.
+
+    Raises:
+        ValueError: If the encoding or URI scheme is not supported
+    """
+    encoding = stored.metadata.get("encoding", ENCODING_ANY)
+    if encoding != ENCODING_ANY:
+        raise ValueError(f"Unsupported stored data encoding '{encoding}'")
+    message = Any()
+    message.ParseFromString(_load(stored.uri))
+    return message
+
+
+def task_result_data(result: TaskResult) -> Optional[Any]:
+    """
+    Return a task result's data whether it was inlined or offloaded, or None if it has none.
+    """
+    which = result.WhichOneof("data")
+    if which == "inline_data":
+        return result.inline_data
+    if which == "external_data":
+        return load_stored_data(result.external_data)
+    return None
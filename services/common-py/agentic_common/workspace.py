@@ -0,0 +1,28 @@
+"""
+Workspace helpers for plan/task code running under executor-java.
+
+Node source files are materialized into a shared, read-only workspace that is
+reused by every execution with the same file set. Code that needs to write
+files should use :func:`scratch_dir`, which returns a per-execution directory
+that is only created on first use.
+"""
+
+import os
+from pathlib import Path
+
+SCRATCH_DIR_ENV = "AGENTIC_SCRATCH_DIR"
+
+
+def scratch_dir() -> Path:
+    """
+    Return the writable per-execution scratch directory, creating it if needed.
+
+    Raises:
+        RuntimeError: If the executor did not assign a scratch directory
+    """
+    configured = os.environ.get(SCRATCH_DIR_ENV)
+    if not configured:
+        raise RuntimeError(f"{SCRATCH_DIR_ENV} is not set; not running under executor-java?")
+    path = Path(configured)
+    path.mkdir(parents=True, exist_ok=True)
+    return path
@@ -0,0 +1,54 @@
+#!/usr/bin/env python3
+"""
+Tests for reading task result data that was offloaded to a blob store.
+"""
+
+from google.protobuf.any_pb2 import Any
+from google.protobuf.wrappers_pb2 import StringValue
+
+from agentic_common.pb import StoredData, TaskResult
+from agentic_common.pb_utils import ProtobufUtils
+from agentic_common.stored_data import task_result_data
+
+
+def _any(text: str) -> Any:
+    message = Any()
+    message.Pack(StringValue(value=text))
+    return message
+
+
+def test_inline_data_is_returned_as_is():
+    result = TaskResult(inline_data=_any("small"))
+    assert task_result_data(result) == result.inline_data
+
+
+def test_external_data_is_loaded_from_file_uri(tmp_path):
+    payload = _any("large")
+    blob = tmp_path / "blob"
+    blob.write_bytes(payload.SerializeToString())
+    result = TaskResult(external_data=StoredData(
+        uri=blob.as_uri(),
+        metadata={"encoding": "google.protobuf.Any", "type_url": payload.type_url},
+    ))
+
+    loaded = task_result_data(result)
+
+    unpacked = StringValue()
+    assert loaded.Unpack(unpacked)
+    assert unpacked.value == "large"
+
+
+def test_result_without_data_returns_none():
+    assert task_result_data(TaskResult(error_message="failed")) is None
+
+
+def test_extract_task_result_data_resolves_offloaded_blob(tmp_path):
+    inline = ProtobufUtils.create_task_result(inline_data={"rows": [1, 2, 3]})
+    blob = tmp_path / "blob"
+    blob.write_bytes(inline.inline_data.SerializeToString())
+    offloaded = TaskResult(external_data=StoredData(
+        uri=blob.as_uri(),
+        metadata={"encoding": "google.protobuf.Any", "type_url": inline.inline_data.type_url},
+    ))
+
+    assert ProtobufUtils.extract_task_result_data(offloaded) == ProtobufUtils.extract_task_result_data(inline)
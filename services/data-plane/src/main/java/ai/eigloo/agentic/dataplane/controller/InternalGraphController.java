@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.NoSuchElementException;
@@ -27,13 +28,22 @@ public class InternalGraphController {
         this.internalGraphQueryService = internalGraphQueryService;
     }
 
+    /**
+     * Graph lookup with a content ETag. Callers that cache node sources send it back in
+     * {@code If-None-Match} and get an empty 304 while the graph is unchanged.
+     */
     @GetMapping("/graphs/{graphId}")
     public ResponseEntity<GraphLookupResponse> getGraph(
             @PathVariable String graphId,
-            @RequestParam String tenantId) {
+            @RequestParam String tenantId,
+            WebRequest webRequest) {
         try {
             GraphLookupResponse response = internalGraphQueryService.getGraphLookup(tenantId, graphId);
-            return ResponseEntity.ok(response);
+            String version = internalGraphQueryService.graphVersion(response);
+            if (webRequest.checkNotModified(version)) {
+                return null;
+            }
+            return ResponseEntity.ok().eTag(version).body(response);
         } catch (NoSuchElementException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
         } catch (IllegalArgumentException e) {
@@ -18,6 +18,7 @@ public class RunTimelineEvent {
     private String parentExecutionId;
     private List<String> nextTaskNames;
     private String errorMessage;
+    private boolean cacheHit;
 
     public String getEventType() {
         return eventType;
@@ -98,4 +99,12 @@ public class RunTimelineEvent {
     public void setErrorMessage(String errorMessage) {
         this.errorMessage = errorMessage;
     }
+
+    public boolean isCacheHit() {
+        return cacheHit;
+    }
+
+    public void setCacheHit(boolean cacheHit) {
+        this.cacheHit = cacheHit;
+    }
 }
@@ -55,6 +55,29 @@ public class PlanExecutionEntity {
     @Column(name = "edge_taken", length = 100)
     private String edgeTaken;
     
+    // True when the executor reused a memoized result instead of running the node
+    @Column(name = "cache_hit")
+    private Boolean cacheHit;
+    
+    // Resource usage of the node's Python call, as reported by the executor
+    @Column(name = "wall_ms")
+    private Long wallMs;
+    
+    @Column(name = "user_cpu_ms")
+    private Long userCpuMs;
+    
+    @Column(name = "system_cpu_ms")
+    private Long systemCpuMs;
+    
+    @Column(name = "peak_rss_bytes")
+    private Long peakRssBytes;
+    
+    @Column(name = "output_bytes")
+    private Long outputBytes;
+    
+    @Column(name = "stderr_bytes")
+    private Long stderrBytes;
+    
     // Plan-specific fields
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "parent_task_exec_ids", columnDefinition = "jsonb")
@@ -88,7 +111,8 @@ public class PlanExecutionEntity {
         EXECUTION_STATUS_PENDING,
         EXECUTION_STATUS_RUNNING,
         EXECUTION_STATUS_SUCCEEDED,
-        EXECUTION_STATUS_FAILED
+        EXECUTION_STATUS_FAILED,
+        EXECUTION_STATUS_CANCELLED
     }
     
     // Default constructor
@@ -178,6 +202,62 @@ public class PlanExecutionEntity {
         this.edgeTaken = edgeTaken;
     }
     
+    public Boolean getCacheHit() {
+        return cacheHit;
+    }
+    
+    public void setCacheHit(Boolean cacheHit) {
+        this.cacheHit = cacheHit;
+    }
+    
+    public Long getWallMs() {
+        return wallMs;
+    }
+    
+    public void setWallMs(Long wallMs) {
+        this.wallMs = wallMs;
+    }
+    
+    public Long getUserCpuMs() {
+        return userCpuMs;
+    }
+    
+    public void setUserCpuMs(Long userCpuMs) {
+        this.userCpuMs = userCpuMs;
+    }
+    
+    public Long getSystemCpuMs() {
+        return systemCpuMs;
+    }
+    
+    public void setSystemCpuMs(Long systemCpuMs) {
+        this.systemCpuMs = systemCpuMs;
+    }
+    
+    public Long getPeakRssBytes() {
+        return peakRssBytes;
+    }
+    
+    public void setPeakRssBytes(Long peakRssBytes) {
+        this.peakRssBytes = peakRssBytes;
+    }
+    
+    public Long getOutputBytes() {
+        return outputBytes;
+    }
+    
+    public void setOutputBytes(Long outputBytes) {
+        this.outputBytes = outputBytes;
+    }
+    
+    public Long getStderrBytes() {
+        return stderrBytes;
+    }
+    
+    public void setStderrBytes(Long stderrBytes) {
+        this.stderrBytes = stderrBytes;
+    }
+    
     public List<String> getParentTaskExecIds() {
         return parentTaskExecIds;
     }
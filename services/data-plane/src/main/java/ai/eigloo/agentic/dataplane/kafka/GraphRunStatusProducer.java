@@ -0,0 +1,59 @@
+package ai.eigloo.agentic.dataplane.kafka;
+
+import ai.eigloo.agentic.common.TopicNames;
+import ai.eigloo.proto.model.Common.GraphRunStatusChange;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Kafka producer for graph run status changes.
+ * Sends GraphRunStatusChange protobuf messages to graph-run-status-{tenantId} topics, keyed by lifetime id,
+ * so executors can stop executions of runs that have already ended.
+ */
+@Service
+public class GraphRunStatusProducer {
+
+    private static final Logger logger = LoggerFactory.getLogger(GraphRunStatusProducer.class);
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    public GraphRunStatusProducer(KafkaTemplate<String, byte[]> kafkaTemplate) {
+        this.kafkaTemplate = kafkaTemplate;
+    }
+
+    /**
+     * Publish a run status change to the tenant's graph-run-status topic.
+     *
+     * @param change the status change to publish
+     * @return CompletableFuture for the send result
+     */
+    public CompletableFuture<SendResult<String, byte[]>> publish(GraphRunStatusChange change) {
+        String topic = TopicNames.graphRunStatus(change.getTenantId());
+        logger.info(
+                "Data-plane publishing graph run status tenant={} graph={} lifetime={} status={} topic={}",
+                change.getTenantId(),
+                change.getGraphId(),
+                change.getLifetimeId(),
+                change.getStatus(),
+                topic);
+        CompletableFuture<SendResult<String, byte[]>> future = kafkaTemplate.send(
+                new ProducerRecord<>(topic, change.getLifetimeId(), change.toByteArray()));
+        future.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                logger.error(
+                        "Failed to publish graph run status tenant={} lifetime={} status={}: {}",
+                        change.getTenantId(),
+                        change.getLifetimeId(),
+                        change.getStatus(),
+                        throwable.getMessage());
+            }
+        });
+        return future;
+    }
+}
@@ -2,6 +2,7 @@ package ai.eigloo.agentic.dataplane.service;
 
 import ai.eigloo.agentic.dataplane.entity.PlanExecutionEntity;
 import ai.eigloo.agentic.dataplane.entity.TaskExecutionEntity;
+import ai.eigloo.agentic.dataplane.kafka.GraphRunStatusProducer;
 import ai.eigloo.agentic.dataplane.repository.PlanExecutionRepository;
 import ai.eigloo.agentic.dataplane.repository.TaskExecutionRepository;
 import ai.eigloo.agentic.graph.entity.AgentGraphEntity;
@@ -11,10 +12,13 @@ import ai.eigloo.agentic.graph.entity.PlanEntity;
 import ai.eigloo.agentic.graph.entity.TaskEntity;
 import ai.eigloo.agentic.graph.repository.AgentGraphRepository;
 import ai.eigloo.agentic.graph.repository.GraphRunRepository;
+import ai.eigloo.proto.model.Common.GraphRunStatusChange;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Instant;
 import java.util.Collections;
@@ -28,6 +32,7 @@ import java.util.stream.Collectors;
 
 /**
  * Maintains graph run status transitions from persisted execution events.
+ * Terminal transitions are announced on the tenant's graph-run-status topic once committed.
  */
 @Service
 public class GraphRunLifecycleService {
@@ -39,16 +44,19 @@ public class GraphRunLifecycleService {
     private final PlanExecutionRepository planExecutionRepository;
     private final TaskExecutionRepository taskExecutionRepository;
     private final AgentGraphRepository agentGraphRepository;
+    private final GraphRunStatusProducer runStatusProducer;
 
     public GraphRunLifecycleService(
             GraphRunRepository graphRunRepository,
             PlanExecutionRepository planExecutionRepository,
             TaskExecutionRepository taskExecutionRepository,
-            AgentGraphRepository agentGraphRepository) {
+            AgentGraphRepository agentGraphRepository,
+            GraphRunStatusProducer runStatusProducer) {
         this.graphRunRepository = graphRunRepository;
         this.planExecutionRepository = planExecutionRepository;
         this.taskExecutionRepository = taskExecutionRepository;
         this.agentGraphRepository = agentGraphRepository;
+        this.runStatusProducer = runStatusProducer;
     }
 
     /**
@@ -110,6 +118,7 @@ public class GraphRunLifecycleService {
             logger.info(
                     "Graph run transitioned tenant={} graph={} lifetime={} {} -> {}",
                     graphRun.getTenantId(), graphRun.getGraphId(), graphRun.getLifetimeId(), previousStatus, graphRun.getStatus());
+            announceIfTerminal(graphRun);
             return;
         }
 
@@ -130,6 +139,34 @@ public class GraphRunLifecycleService {
             logger.info(
                     "Graph run transitioned tenant={} graph={} lifetime={} {} -> {}",
                     graphRun.getTenantId(), graphRun.getGraphId(), graphRun.getLifetimeId(), previousStatus, graphRun.getStatus());
+            announceIfTerminal(graphRun);
+        }
+    }
+
+    /**
+     * Publish a terminal run status so executors stop its in-flight executions. Inside a transaction
+     * the message goes out after commit, so it never announces a transition that was rolled back.
+     */
+    private void announceIfTerminal(GraphRunEntity graphRun) {
+        if (!currentStatus(graphRun).isTerminal()) {
+            return;
+        }
+        GraphRunStatusChange change = GraphRunStatusChange.newBuilder()
+                .setTenantId(graphRun.getTenantId())
+                .setGraphId(graphRun.getGraphId())
+                .setLifetimeId(graphRun.getLifetimeId())
+                .setStatus(graphRun.getStatus().name())
+                .setChangedAt(fallbackInstant(graphRun.getCompletedAt()).toString())
+                .build();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    runStatusProducer.publish(change);
+                }
+            });
+        } else {
+            runStatusProducer.publish(change);
         }
     }
 
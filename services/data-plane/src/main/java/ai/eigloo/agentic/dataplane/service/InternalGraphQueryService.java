@@ -18,7 +18,12 @@ import ai.eigloo.agentic.graph.repository.GraphRunRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Comparator;
+import java.util.HexFormat;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -71,6 +76,40 @@ public class InternalGraphQueryService {
                 edges);
     }
 
+    /**
+     * Content version of a graph lookup, used as its ETag.
+     *
+     * <p>Hashes everything the lookup exposes, so any change to node files, edges or status
+     * yields a new version regardless of which entity was modified.
+     */
+    public String graphVersion(GraphLookupResponse graph) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        update(digest, graph.getId());
+        update(digest, graph.getTenantId());
+        update(digest, graph.getStatus());
+        for (GraphLookupPlan plan : graph.getPlans()) {
+            update(digest, "plan");
+            update(digest, plan.getName());
+            updateFiles(digest, plan.getFiles());
+        }
+        for (GraphLookupTask task : graph.getTasks()) {
+            update(digest, "task");
+            update(digest, task.getName());
+            updateFiles(digest, task.getFiles());
+        }
+        // Edge order follows the persisted relationship and is not stable across loads.
+        graph.getEdges().stream()
+                .map(edge -> edge.getFromType() + ":" + edge.getFrom() + "->" + edge.getToType() + ":" + edge.getTo())
+                .sorted()
+                .forEach(edge -> update(digest, edge));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
     public GraphRunStateResponse getRunState(String tenantId, String graphId, String lifetimeId) {
         GraphRunEntity run = graphRunRepository.findByLifetimeIdAndTenantId(lifetimeId, tenantId)
                 .orElseThrow(() -> new NoSuchElementException(
@@ -110,6 +149,21 @@ public class InternalGraphQueryService {
         };
     }
 
+    private static void updateFiles(MessageDigest digest, List<GraphLookupFile> files) {
+        update(digest, Integer.toString(files.size()));
+        for (GraphLookupFile file : files) {
+            update(digest, file.getName());
+            update(digest, file.getContents());
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        // Length-prefix each value so adjacent fields cannot run into each other.
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(5).put(value == null ? (byte) 0 : (byte) 1).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
     private List<GraphLookupFile> toFileLookup(List<ExecutorFileEntity> files) {
         if (files == null) {
             return List.of();
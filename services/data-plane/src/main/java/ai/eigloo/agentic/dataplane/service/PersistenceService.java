@@ -171,6 +171,16 @@ public class PersistenceService {
         entity.setCreatedAt(Instant.parse(header.getCreatedAt()));
         entity.setStatus(convertStatus(header.getStatus()));
         entity.setEdgeTaken(header.getEdgeTaken());
+        entity.setCacheHit(header.getCacheHit());
+        if (header.hasResourceUsage()) {
+            var usage = header.getResourceUsage();
+            entity.setWallMs(usage.getWallMs());
+            entity.setUserCpuMs(usage.getUserCpuMs());
+            entity.setSystemCpuMs(usage.getSystemCpuMs());
+            entity.setPeakRssBytes(usage.getPeakRssBytes());
+            entity.setOutputBytes(usage.getOutputBytes());
+            entity.setStderrBytes(usage.getStderrBytes());
+        }
         
         // Set task result ID using the saved entity's ID
         if (savedTaskResult != null) {
@@ -206,6 +216,16 @@ public class PersistenceService {
         entity.setCreatedAt(Instant.parse(header.getCreatedAt()));
         entity.setStatus(convertPlanStatus(header.getStatus()));
         entity.setEdgeTaken(header.getEdgeTaken());
+        entity.setCacheHit(header.getCacheHit());
+        if (header.hasResourceUsage()) {
+            var usage = header.getResourceUsage();
+            entity.setWallMs(usage.getWallMs());
+            entity.setUserCpuMs(usage.getUserCpuMs());
+            entity.setSystemCpuMs(usage.getSystemCpuMs());
+            entity.setPeakRssBytes(usage.getPeakRssBytes());
+            entity.setOutputBytes(usage.getOutputBytes());
+            entity.setStderrBytes(usage.getStderrBytes());
+        }
         
         // Set parent relationship fields
         entity.setParentTaskExecIds(planExecution.getParentTaskExecIdsList());
@@ -241,6 +261,7 @@ public class PersistenceService {
             case EXECUTION_STATUS_RUNNING -> TaskExecutionEntity.ExecutionStatus.EXECUTION_STATUS_RUNNING;
             case EXECUTION_STATUS_SUCCEEDED -> TaskExecutionEntity.ExecutionStatus.EXECUTION_STATUS_SUCCEEDED;
             case EXECUTION_STATUS_FAILED -> TaskExecutionEntity.ExecutionStatus.EXECUTION_STATUS_FAILED;
+            case EXECUTION_STATUS_CANCELLED -> TaskExecutionEntity.ExecutionStatus.EXECUTION_STATUS_CANCELLED;
             default -> TaskExecutionEntity.ExecutionStatus.EXECUTION_STATUS_UNSPECIFIED;
         };
     }
@@ -257,6 +278,7 @@ public class PersistenceService {
             case EXECUTION_STATUS_RUNNING -> PlanExecutionEntity.ExecutionStatus.EXECUTION_STATUS_RUNNING;
             case EXECUTION_STATUS_SUCCEEDED -> PlanExecutionEntity.ExecutionStatus.EXECUTION_STATUS_SUCCEEDED;
             case EXECUTION_STATUS_FAILED -> PlanExecutionEntity.ExecutionStatus.EXECUTION_STATUS_FAILED;
+            case EXECUTION_STATUS_CANCELLED -> PlanExecutionEntity.ExecutionStatus.EXECUTION_STATUS_CANCELLED;
             default -> PlanExecutionEntity.ExecutionStatus.EXECUTION_STATUS_UNSPECIFIED;
         };
     }
@@ -63,6 +63,7 @@ public class RunTimelineService {
             event.setParentNodeName(planExecution.getParentTaskNames());
             event.setNextTaskNames(planExecution.getResultNextTaskNames());
             event.setErrorMessage(planExecution.getErrorMessage());
+            event.setCacheHit(Boolean.TRUE.equals(planExecution.getCacheHit()));
             events.add(event);
         }
 
@@ -76,6 +77,7 @@ public class RunTimelineService {
             event.setPersistedAt(taskExecution.getDbCreatedAt());
             event.setParentNodeName(taskExecution.getParentPlanName());
             event.setParentExecutionId(taskExecution.getParentPlanExecId());
+            event.setCacheHit(Boolean.TRUE.equals(taskExecution.getCacheHit()));
             events.add(event);
         }
 
@@ -0,0 +1,15 @@
+ALTER TABLE IF EXISTS plan_executions
+    DROP CONSTRAINT IF EXISTS plan_executions_status_check;
+
+ALTER TABLE IF EXISTS plan_executions
+    ADD CONSTRAINT plan_executions_status_check
+    CHECK (status IN ('EXECUTION_STATUS_UNSPECIFIED', 'EXECUTION_STATUS_PENDING', 'EXECUTION_STATUS_RUNNING',
+                      'EXECUTION_STATUS_SUCCEEDED', 'EXECUTION_STATUS_FAILED', 'EXECUTION_STATUS_CANCELLED'));
+
+ALTER TABLE IF EXISTS task_executions
+    DROP CONSTRAINT IF EXISTS task_executions_status_check;
+
+ALTER TABLE IF EXISTS task_executions
+    ADD CONSTRAINT task_executions_status_check
+    CHECK (status IN ('EXECUTION_STATUS_UNSPECIFIED', 'EXECUTION_STATUS_PENDING', 'EXECUTION_STATUS_RUNNING',
+                      'EXECUTION_STATUS_SUCCEEDED', 'EXECUTION_STATUS_FAILED', 'EXECUTION_STATUS_CANCELLED'));
@@ -2,6 +2,7 @@ package ai.eigloo.agentic.dataplane.service;
 
 import ai.eigloo.agentic.dataplane.entity.PlanExecutionEntity;
 import ai.eigloo.agentic.dataplane.entity.TaskExecutionEntity;
+import ai.eigloo.agentic.dataplane.kafka.GraphRunStatusProducer;
 import ai.eigloo.agentic.dataplane.repository.PlanExecutionRepository;
 import ai.eigloo.agentic.dataplane.repository.TaskExecutionRepository;
 import ai.eigloo.agentic.graph.entity.AgentGraphEntity;
@@ -13,6 +14,7 @@ import ai.eigloo.agentic.graph.entity.PlanEntity;
 import ai.eigloo.agentic.graph.entity.TaskEntity;
 import ai.eigloo.agentic.graph.repository.AgentGraphRepository;
 import ai.eigloo.agentic.graph.repository.GraphRunRepository;
+import ai.eigloo.proto.model.Common.GraphRunStatusChange;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -50,6 +52,9 @@ class GraphRunLifecycleServiceTest {
     @Mock
     private AgentGraphRepository agentGraphRepository;
 
+    @Mock
+    private GraphRunStatusProducer runStatusProducer;
+
     private GraphRunLifecycleService service;
 
     @BeforeEach
@@ -58,7 +63,8 @@ class GraphRunLifecycleServiceTest {
                 graphRunRepository,
                 planExecutionRepository,
                 taskExecutionRepository,
-                agentGraphRepository);
+                agentGraphRepository,
+                runStatusProducer);
         lenient().when(graphRunRepository.save(any(GraphRunEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
     }
 
@@ -91,6 +97,12 @@ class GraphRunLifecycleServiceTest {
         assertEquals(GraphRunStatus.FAILED, savedRun.getStatus());
         assertEquals("planner crashed", savedRun.getErrorMessage());
         assertNotNull(savedRun.getCompletedAt());
+
+        ArgumentCaptor<GraphRunStatusChange> changeCaptor = ArgumentCaptor.forClass(GraphRunStatusChange.class);
+        verify(runStatusProducer).publish(changeCaptor.capture());
+        assertEquals("tenant-a", changeCaptor.getValue().getTenantId());
+        assertEquals("life-1", changeCaptor.getValue().getLifetimeId());
+        assertEquals("FAILED", changeCaptor.getValue().getStatus());
     }
 
     @Test
@@ -187,6 +199,7 @@ class GraphRunLifecycleServiceTest {
         verify(planExecutionRepository).findByTenantIdAndGraphIdAndLifetimeIdOrderByCreatedAtAsc("tenant-a", "graph-a", "life-2");
         verify(taskExecutionRepository).findByTenantIdAndGraphIdAndLifetimeIdOrderByCreatedAtAsc("tenant-a", "graph-a", "life-2");
         verify(agentGraphRepository).findByIdAndTenantIdWithAllRelations(eq("graph-a"), eq("tenant-a"));
+        verify(runStatusProducer).publish(any(GraphRunStatusChange.class));
     }
 
     @Test
@@ -210,6 +223,6 @@ class GraphRunLifecycleServiceTest {
         service.onPlanExecutionPersisted(planExecution);
 
         verify(graphRunRepository, never()).save(any(GraphRunEntity.class));
-        verifyNoInteractions(planExecutionRepository, taskExecutionRepository, agentGraphRepository);
+        verifyNoInteractions(planExecutionRepository, taskExecutionRepository, agentGraphRepository, runStatusProducer);
     }
 }
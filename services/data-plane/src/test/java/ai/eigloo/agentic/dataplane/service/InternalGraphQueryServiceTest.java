@@ -4,6 +4,7 @@ import ai.eigloo.agentic.graph.api.GraphLookupEdge;
 import ai.eigloo.agentic.graph.api.GraphLookupNodeType;
 import ai.eigloo.agentic.graph.api.GraphLookupResponse;
 import ai.eigloo.agentic.graph.entity.AgentGraphEntity;
+import ai.eigloo.agentic.graph.entity.ExecutorFileEntity;
 import ai.eigloo.agentic.graph.entity.GraphEdgeEntity;
 import ai.eigloo.agentic.graph.entity.GraphStatus;
 import ai.eigloo.agentic.graph.entity.PlanEntity;
@@ -23,6 +24,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.when;
 
@@ -124,6 +126,36 @@ class InternalGraphQueryServiceTest {
                 () -> internalGraphQueryService.getGraphLookup("tenant-a", "missing"));
     }
 
+    @Test
+    void graphVersion_ShouldChangeOnlyWhenNodeFilesChange() {
+        AgentGraphEntity graph = new AgentGraphEntity();
+        graph.setId("graph-1");
+        graph.setTenantId("tenant-a");
+        graph.setStatus(GraphStatus.ACTIVE);
+
+        PlanEntity plan = new PlanEntity();
+        plan.setName("PlanA");
+        plan.setAgentGraph(graph);
+        ExecutorFileEntity planFile = new ExecutorFileEntity("file-1", "plan.py", "def plan(x): pass", "1", plan);
+        plan.setFiles(List.of(planFile));
+        graph.setPlans(List.of(plan));
+
+        when(agentGraphRepository.findByIdAndTenantIdWithAllRelations("graph-1", "tenant-a"))
+                .thenReturn(Optional.of(graph));
+
+        String first = internalGraphQueryService.graphVersion(
+                internalGraphQueryService.getGraphLookup("tenant-a", "graph-1"));
+        String unchanged = internalGraphQueryService.graphVersion(
+                internalGraphQueryService.getGraphLookup("tenant-a", "graph-1"));
+
+        planFile.setContents("def plan(x): return x");
+        String changed = internalGraphQueryService.graphVersion(
+                internalGraphQueryService.getGraphLookup("tenant-a", "graph-1"));
+
+        assertEquals(first, unchanged);
+        assertNotEquals(first, changed);
+    }
+
     private String signature(GraphLookupEdge edge) {
         return edge.getFromType() + ":" + edge.getFrom() + "->" + edge.getToType() + ":" + edge.getTo();
     }
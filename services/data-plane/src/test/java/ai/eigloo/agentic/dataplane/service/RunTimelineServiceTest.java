@@ -20,7 +20,9 @@ import java.util.NoSuchElementException;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -88,6 +90,35 @@ class RunTimelineServiceTest {
         assertEquals(2, response.getEvents().size());
         assertEquals("TASK_EXECUTION", response.getEvents().get(0).getEventType());
         assertEquals("PLAN_EXECUTION", response.getEvents().get(1).getEventType());
+        assertFalse(response.getEvents().get(0).isCacheHit());
+    }
+
+    @Test
+    void getTimeline_marksMemoizedExecutions() {
+        GraphRunEntity run = new GraphRunEntity();
+        run.setLifetimeId("life-1");
+        run.setTenantId("tenant-a");
+        run.setGraphId("graph-a");
+        run.setStatus(GraphRunStatus.RUNNING);
+        when(graphRunRepository.findByLifetimeIdAndTenantId("life-1", "tenant-a"))
+                .thenReturn(Optional.of(run));
+
+        TaskExecutionEntity taskExecution = new TaskExecutionEntity();
+        taskExecution.setExecId("task-exec-1");
+        taskExecution.setName("Task1A");
+        taskExecution.setStatus(TaskExecutionEntity.ExecutionStatus.EXECUTION_STATUS_SUCCEEDED);
+        taskExecution.setCreatedAt(Instant.parse("2026-02-11T00:00:03Z"));
+        taskExecution.setCacheHit(true);
+
+        when(planExecutionRepository.findByTenantIdAndGraphIdAndLifetimeIdOrderByCreatedAtAsc("tenant-a", "graph-a", "life-1"))
+                .thenReturn(List.of());
+        when(taskExecutionRepository.findByTenantIdAndGraphIdAndLifetimeIdOrderByCreatedAtAsc("tenant-a", "graph-a", "life-1"))
+                .thenReturn(List.of(taskExecution));
+
+        RunTimelineResponse response = runTimelineService.getTimeline("tenant-a", "graph-a", "life-1");
+
+        assertEquals(1, response.getEvents().size());
+        assertTrue(response.getEvents().get(0).isCacheHit());
     }
 
     @Test
@@ -0,0 +1,138 @@
+package ai.eigloo.agentic.executorbenchmark;
+
+import ai.eigloo.agentic.executorjava.model.NodeType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What to run and how hard; every scenario runs once per node type.
+ */
+@ConfigurationProperties(prefix = "benchmark")
+public class BenchmarkProperties {
+
+    private Mode mode = Mode.DIRECT;
+    private List<Scenario> scenarios = new ArrayList<>(List.of(Scenario.values()));
+    private List<NodeType> nodeTypes = new ArrayList<>(List.of(NodeType.TASK, NodeType.PLAN));
+    private int executions = 500;
+    private int warmupExecutions = 50;
+    private int concurrency = 8;
+    private int sleepMillis = 50;
+    private int cpuIterations = 200_000;
+    private int outputBytes = 1024 * 1024;
+    private int timeoutSeconds = 300;
+
+    /**
+     * Optional file the results are also written to, as JSON.
+     */
+    private String reportFile = "";
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public List<Scenario> getScenarios() {
+        return scenarios;
+    }
+
+    public void setScenarios(List<Scenario> scenarios) {
+        this.scenarios = scenarios;
+    }
+
+    public List<NodeType> getNodeTypes() {
+        return nodeTypes;
+    }
+
+    public void setNodeTypes(List<NodeType> nodeTypes) {
+        this.nodeTypes = nodeTypes;
+    }
+
+    public int getExecutions() {
+        return executions;
+    }
+
+    public void setExecutions(int executions) {
+        this.executions = executions;
+    }
+
+    public int getWarmupExecutions() {
+        return warmupExecutions;
+    }
+
+    public void setWarmupExecutions(int warmupExecutions) {
+        this.warmupExecutions = warmupExecutions;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public int getSleepMillis() {
+        return sleepMillis;
+    }
+
+    public void setSleepMillis(int sleepMillis) {
+        this.sleepMillis = sleepMillis;
+    }
+
+    public int getCpuIterations() {
+        return cpuIterations;
+    }
+
+    public void setCpuIterations(int cpuIterations) {
+        this.cpuIterations = cpuIterations;
+    }
+
+    public int getOutputBytes() {
+        return outputBytes;
+    }
+
+    public void setOutputBytes(int outputBytes) {
+        this.outputBytes = outputBytes;
+    }
+
+    public int getTimeoutSeconds() {
+        return timeoutSeconds;
+    }
+
+    public void setTimeoutSeconds(int timeoutSeconds) {
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    public String getReportFile() {
+        return reportFile;
+    }
+
+    public void setReportFile(String reportFile) {
+        this.reportFile = reportFile;
+    }
+
+    /**
+     * How executions are submitted to the executor.
+     */
+    public enum Mode {
+        /** Call {@code ExecutorOrchestrationService} from benchmark threads. */
+        DIRECT,
+        /** Produce inputs to an embedded broker and wait for the published executions. */
+        KAFKA
+    }
+
+    /**
+     * Synthetic node bodies, from pure per-call overhead to payload-bound.
+     */
+    public enum Scenario {
+        NOOP,
+        SLEEP,
+        CPU,
+        LARGE_OUTPUT
+    }
+}
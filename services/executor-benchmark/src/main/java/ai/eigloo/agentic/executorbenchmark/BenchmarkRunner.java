@@ -0,0 +1,262 @@
+package ai.eigloo.agentic.executorbenchmark;
+
+import ai.eigloo.agentic.executorbenchmark.BenchmarkProperties.Scenario;
+import ai.eigloo.agentic.executorjava.config.ExecutorPythonProperties;
+import ai.eigloo.agentic.executorjava.model.NodeType;
+import ai.eigloo.agentic.executorjava.service.ExecutorOrchestrationService;
+import ai.eigloo.proto.model.Common.ExecutionHeader;
+import ai.eigloo.proto.model.Common.ExecutionStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs every configured scenario against the executor and prints one row per scenario and node type.
+ */
+@Component
+public class BenchmarkRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(BenchmarkRunner.class);
+
+    private final BenchmarkProperties properties;
+    private final ExecutorPythonProperties pythonProperties;
+    private final ExecutorOrchestrationService orchestrationService;
+    private final String bootstrapServers;
+
+    public BenchmarkRunner(
+            BenchmarkProperties properties,
+            ExecutorPythonProperties pythonProperties,
+            ExecutorOrchestrationService orchestrationService,
+            @Value("${spring.kafka.bootstrap-servers:localhost:9092}") String bootstrapServers) {
+        this.properties = properties;
+        this.pythonProperties = pythonProperties;
+        this.orchestrationService = orchestrationService;
+        this.bootstrapServers = bootstrapServers;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        List<ScenarioResult> results = new ArrayList<>();
+        System.out.println(formatHeader());
+        try (ExecutionDriver driver = createDriver()) {
+            for (Scenario scenario : properties.getScenarios()) {
+                for (NodeType nodeType : properties.getNodeTypes()) {
+                    ScenarioResult result = runScenario(driver, scenario, nodeType);
+                    results.add(result);
+                    System.out.println(formatRow(result));
+                }
+            }
+        }
+        System.out.println();
+        System.out.println(formatHeader());
+        results.forEach(result -> System.out.println(formatRow(result)));
+        writeReport(results);
+    }
+
+    private ExecutionDriver createDriver() {
+        Duration timeout = Duration.ofSeconds(Math.max(1, properties.getTimeoutSeconds()));
+        return switch (properties.getMode()) {
+            case DIRECT -> new DirectExecutionDriver(orchestrationService);
+            case KAFKA -> new KafkaExecutionDriver(bootstrapServers, timeout);
+        };
+    }
+
+    private ScenarioResult runScenario(ExecutionDriver driver, Scenario scenario, NodeType nodeType) throws Exception {
+        String nodeName = SyntheticNodes.nodeName(scenario, nodeType);
+        logger.info("Warming up {} with {} executions", nodeName, properties.getWarmupExecutions());
+        runBatch(driver, nodeType, nodeName, properties.getWarmupExecutions());
+
+        long allocatedBefore = allocatedBytes();
+        long startedAt = System.nanoTime();
+        Batch batch = runBatch(driver, nodeType, nodeName, properties.getExecutions());
+        long elapsedNanos = System.nanoTime() - startedAt;
+        long allocated = allocatedBytes() - allocatedBefore;
+
+        long[] latencies = batch.succeededLatencies();
+        long[] peakRss = batch.succeededPeakRss();
+        double elapsedSeconds = elapsedNanos / 1e9;
+        int executions = batch.latencies.length;
+        return new ScenarioResult(
+                scenario.name().toLowerCase(Locale.ROOT).replace('_', '-'),
+                nodeType.name().toLowerCase(Locale.ROOT),
+                pythonProperties.getMode().name().toLowerCase(Locale.ROOT),
+                executions,
+                batch.failures.get(),
+                latencies.length / elapsedSeconds,
+                percentile(latencies, 0.50) / 1e6,
+                percentile(latencies, 0.99) / 1e6,
+                percentile(latencies, 1.0) / 1e6,
+                (long) (allocated / elapsedSeconds),
+                executions > 0 ? allocated / executions : 0,
+                executorRssBytes(),
+                percentile(peakRss, 0.50),
+                percentile(peakRss, 1.0));
+    }
+
+    /**
+     * Run {@code count} executions from {@code concurrency} threads that each submit one at a time.
+     */
+    private Batch runBatch(ExecutionDriver driver, NodeType nodeType, String nodeName, int count) throws Exception {
+        Batch batch = new Batch(count);
+        AtomicInteger next = new AtomicInteger();
+        int threads = Math.max(1, properties.getConcurrency());
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(workers.submit(() -> {
+                    int index;
+                    while ((index = next.getAndIncrement()) < count) {
+                        long startedAt = System.nanoTime();
+                        try {
+                            ExecutionHeader header = driver.execute(nodeType, nodeName);
+                            batch.latencies[index] = System.nanoTime() - startedAt;
+                            if (header.getStatus() == ExecutionStatus.EXECUTION_STATUS_SUCCEEDED) {
+                                batch.peakRss[index] = header.getResourceUsage().getPeakRssBytes();
+                            } else {
+                                batch.markFailed(index);
+                            }
+                        } catch (Exception e) {
+                            batch.latencies[index] = System.nanoTime() - startedAt;
+                            batch.markFailed(index);
+                            logger.warn("Execution of {} failed: {}", nodeName, e.getMessage());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            workers.shutdownNow();
+            workers.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        return batch;
+    }
+
+    private void writeReport(List<ScenarioResult> results) throws IOException {
+        String reportFile = properties.getReportFile();
+        if (reportFile == null || reportFile.isBlank()) {
+            return;
+        }
+        Path path = Path.of(reportFile).toAbsolutePath();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), results);
+        logger.info("Wrote benchmark report to {}", path);
+    }
+
+    private static String formatHeader() {
+        return String.format(
+                "%-14s %-5s %-6s %7s %6s %9s %9s %9s %11s %12s %12s %18s",
+                "scenario", "type", "python", "execs", "failed", "exec/s", "p50 ms", "p99 ms",
+                "alloc MB/s", "alloc KB/ex", "jvm RSS MB", "runner RSS MB p50/max");
+    }
+
+    private static String formatRow(ScenarioResult result) {
+        return String.format(
+                "%-14s %-5s %-6s %7d %6d %9.1f %9.2f %9.2f %11.1f %12.1f %12.1f %8.1f/%-9.1f",
+                result.scenario(),
+                result.nodeType(),
+                result.pythonMode(),
+                result.executions(),
+                result.failures(),
+                result.executionsPerSecond(),
+                result.p50Millis(),
+                result.p99Millis(),
+                result.allocationBytesPerSecond() / 1048576.0,
+                result.allocationBytesPerExecution() / 1024.0,
+                result.executorRssBytes() / 1048576.0,
+                result.runnerPeakRssP50Bytes() / 1048576.0,
+                result.runnerPeakRssMaxBytes() / 1048576.0);
+    }
+
+    /**
+     * Nearest-rank percentile of unsorted values; 0 when there are none.
+     */
+    static long percentile(long[] values, double percentile) {
+        if (values.length == 0) {
+            return 0;
+        }
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getTotalThreadAllocatedBytes();
+    }
+
+    private static long executorRssBytes() {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/self/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            logger.debug("Could not read executor RSS: {}", e.getMessage());
+        }
+        return 0;
+    }
+
+    /**
+     * Per-execution outcomes, indexed by submission order.
+     */
+    private static final class Batch {
+        private final long[] latencies;
+        private final long[] peakRss;
+        private final boolean[] failed;
+        private final AtomicInteger failures = new AtomicInteger();
+
+        private Batch(int count) {
+            this.latencies = new long[count];
+            this.peakRss = new long[count];
+            this.failed = new boolean[count];
+        }
+
+        private void markFailed(int index) {
+            failed[index] = true;
+            failures.incrementAndGet();
+        }
+
+        private long[] succeededLatencies() {
+            return succeeded(latencies);
+        }
+
+        private long[] succeededPeakRss() {
+            return succeeded(peakRss);
+        }
+
+        private long[] succeeded(long[] values) {
+            long[] result = new long[values.length - failures.get()];
+            int next = 0;
+            for (int i = 0; i < values.length; i++) {
+                if (!failed[i]) {
+                    result[next++] = values[i];
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package ai.eigloo.agentic.executorbenchmark;
+
+import ai.eigloo.agentic.executorjava.model.NodeType;
+import ai.eigloo.agentic.executorjava.service.ExecutorOrchestrationService;
+import ai.eigloo.proto.model.Common.ExecutionHeader;
+import ai.eigloo.proto.model.Common.PlanInput;
+import ai.eigloo.proto.model.Common.TaskInput;
+
+import java.util.UUID;
+
+/**
+ * Calls the orchestration service on the caller's thread; no Kafka, dedupe or execution stage.
+ */
+final class DirectExecutionDriver implements ExecutionDriver {
+
+    private final ExecutorOrchestrationService orchestrationService;
+
+    DirectExecutionDriver(ExecutorOrchestrationService orchestrationService) {
+        this.orchestrationService = orchestrationService;
+    }
+
+    @Override
+    public ExecutionHeader execute(NodeType nodeType, String nodeName) {
+        String lifetimeId = UUID.randomUUID().toString();
+        if (nodeType == NodeType.PLAN) {
+            PlanInput input = PlanInput.newBuilder()
+                    .setInputId(UUID.randomUUID().toString())
+                    .setPlanName(nodeName)
+                    .setGraphId(SyntheticNodes.GRAPH_ID)
+                    .setLifetimeId(lifetimeId)
+                    .build();
+            return orchestrationService.handlePlanInput(SyntheticNodes.TENANT_ID, input).getHeader();
+        }
+        TaskInput input = TaskInput.newBuilder()
+                .setInputId(UUID.randomUUID().toString())
+                .setTaskName(nodeName)
+                .setGraphId(SyntheticNodes.GRAPH_ID)
+                .setLifetimeId(lifetimeId)
+                .build();
+        return orchestrationService.handleTaskInput(SyntheticNodes.TENANT_ID, input).getHeader();
+    }
+}
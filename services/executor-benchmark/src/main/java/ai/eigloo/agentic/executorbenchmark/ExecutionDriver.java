@@ -0,0 +1,19 @@
+package ai.eigloo.agentic.executorbenchmark;
+
+import ai.eigloo.agentic.executorjava.model.NodeType;
+import ai.eigloo.proto.model.Common.ExecutionHeader;
+
+/**
+ * Submits one execution and waits for it, the way a given {@link BenchmarkProperties.Mode} does.
+ */
+interface ExecutionDriver extends AutoCloseable {
+
+    /**
+     * @return the header of the finished execution
+     */
+    ExecutionHeader execute(NodeType nodeType, String nodeName) throws Exception;
+
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,80 @@
+package ai.eigloo.agentic.executorbenchmark;
+
+import ai.eigloo.agentic.common.TopicNames;
+import ai.eigloo.agentic.executorjava.ExecutorJavaApplication;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.config.AbstractKafkaListenerContainerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the executor-java application context with a synthetic graph source and benchmarks it.
+ *
+ * <p>In kafka mode an embedded single-node broker is started before the context, so the
+ * executor's listeners connect to it like they would to a real cluster.
+ */
+@Configuration
+@ComponentScan
+@Import(ExecutorJavaApplication.class)
+@EnableConfigurationProperties(BenchmarkProperties.class)
+public class ExecutorBenchmarkApplication {
+
+    /**
+     * Keep the executor's input listeners stopped in direct mode; there is no broker to poll.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "benchmark.mode", havingValue = "direct", matchIfMissing = true)
+    static BeanPostProcessor listenerAutoStartupDisabler() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractKafkaListenerContainerFactory<?, ?, ?> factory) {
+                    factory.setAutoStartup(false);
+                }
+                return bean;
+            }
+        };
+    }
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(ExecutorBenchmarkApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        // The executor's application.yml, then the benchmark's overrides.
+        application.setDefaultProperties(Map.of("spring.config.name", "application,benchmark"));
+
+        List<String> arguments = new ArrayList<>(List.of(args));
+        EmbeddedKafkaKraftBroker broker = null;
+        if (arguments.stream().anyMatch(arg -> arg.equalsIgnoreCase("--benchmark.mode=kafka"))) {
+            broker = new EmbeddedKafkaKraftBroker(
+                    1,
+                    1,
+                    TopicNames.planInputs(SyntheticNodes.TENANT_ID),
+                    TopicNames.taskInputs(SyntheticNodes.TENANT_ID),
+                    TopicNames.planExecutions(SyntheticNodes.TENANT_ID),
+                    TopicNames.taskExecutions(SyntheticNodes.TENANT_ID));
+            broker.afterPropertiesSet();
+            arguments.add("--spring.kafka.bootstrap-servers=" + broker.getBrokersAsString());
+        }
+
+        int exitCode;
+        try {
+            exitCode = SpringApplication.exit(application.run(arguments.toArray(String[]::new)));
+        } finally {
+            if (broker != null) {
+                broker.destroy();
+            }
+        }
+        System.exit(exitCode);
+    }
+}
@@ -0,0 +1,143 @@
+package ai.eigloo.agentic.executorbenchmark;
+
+import ai.eigloo.agentic.common.TopicNames;
+import ai.eigloo.agentic.executorjava.model.NodeType;
+import ai.eigloo.proto.model.Common.ExecutionHeader;
+import ai.eigloo.proto.model.Common.PlanExecution;
+import ai.eigloo.proto.model.Common.PlanInput;
+import ai.eigloo.proto.model.Common.TaskExecution;
+import ai.eigloo.proto.model.Common.TaskInput;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Produces inputs to the tenant's input topics and waits for the executor's listeners to publish
+ * the matching execution, so latency includes consume, execution stage, dedupe and publish.
+ *
+ * <p>Every input gets its own lifetime id, which the published execution header carries back.
+ */
+final class KafkaExecutionDriver implements ExecutionDriver {
+
+    private static final Logger logger = LoggerFactory.getLogger(KafkaExecutionDriver.class);
+
+    private final KafkaProducer<String, byte[]> producer;
+    private final KafkaConsumer<String, byte[]> consumer;
+    private final Map<String, CompletableFuture<ExecutionHeader>> pending = new ConcurrentHashMap<>();
+    private final Duration timeout;
+    private final Thread poller;
+    private volatile boolean closed;
+
+    KafkaExecutionDriver(String bootstrapServers, Duration timeout) {
+        this.timeout = timeout;
+        this.producer = new KafkaProducer<>(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                ProducerConfig.LINGER_MS_CONFIG, 1,
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class));
+        this.consumer = new KafkaConsumer<>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                ConsumerConfig.GROUP_ID_CONFIG, "executor-benchmark-" + UUID.randomUUID(),
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest",
+                ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
+                ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class));
+        consumer.subscribe(List.of(
+                TopicNames.planExecutions(SyntheticNodes.TENANT_ID),
+                TopicNames.taskExecutions(SyntheticNodes.TENANT_ID)));
+        this.poller = Thread.ofPlatform().daemon().name("benchmark-execution-poller").start(this::poll);
+    }
+
+    @Override
+    public ExecutionHeader execute(NodeType nodeType, String nodeName) throws Exception {
+        String lifetimeId = UUID.randomUUID().toString();
+        CompletableFuture<ExecutionHeader> completion = new CompletableFuture<>();
+        pending.put(lifetimeId, completion);
+        try {
+            String key = TopicNames.graphNodeKey(SyntheticNodes.GRAPH_ID, nodeName);
+            if (nodeType == NodeType.PLAN) {
+                PlanInput input = PlanInput.newBuilder()
+                        .setInputId(UUID.randomUUID().toString())
+                        .setPlanName(nodeName)
+                        .setGraphId(SyntheticNodes.GRAPH_ID)
+                        .setLifetimeId(lifetimeId)
+                        .build();
+                producer.send(new ProducerRecord<>(TopicNames.planInputs(SyntheticNodes.TENANT_ID), key, input.toByteArray()));
+            } else {
+                TaskInput input = TaskInput.newBuilder()
+                        .setInputId(UUID.randomUUID().toString())
+                        .setTaskName(nodeName)
+                        .setGraphId(SyntheticNodes.GRAPH_ID)
+                        .setLifetimeId(lifetimeId)
+                        .build();
+                producer.send(new ProducerRecord<>(TopicNames.taskInputs(SyntheticNodes.TENANT_ID), key, input.toByteArray()));
+            }
+            return completion.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } finally {
+            pending.remove(lifetimeId);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        consumer.wakeup();
+        try {
+            poller.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        producer.close(Duration.ofSeconds(5));
+    }
+
+    private void poll() {
+        try {
+            while (!closed) {
+                for (ConsumerRecord<String, byte[]> record : consumer.poll(Duration.ofMillis(200))) {
+                    ExecutionHeader header = parseHeader(record);
+                    if (header == null) {
+                        continue;
+                    }
+                    CompletableFuture<ExecutionHeader> completion = pending.get(header.getLifetimeId());
+                    if (completion != null) {
+                        completion.complete(header);
+                    }
+                }
+            }
+        } catch (WakeupException e) {
+            // Closing.
+        } finally {
+            consumer.close(Duration.ofSeconds(5));
+        }
+    }
+
+    private static ExecutionHeader parseHeader(ConsumerRecord<String, byte[]> record) {
+        try {
+            if (record.topic().equals(TopicNames.planExecutions(SyntheticNodes.TENANT_ID))) {
+                return PlanExecution.parseFrom(record.value()).getHeader();
+            }
+            return TaskExecution.parseFrom(record.value()).getHeader();
+        } catch (InvalidProtocolBufferException e) {
+            logger.warn("Ignoring unreadable execution on {}: {}", record.topic(), e.getMessage());
+            return null;
+        }
+    }
+}
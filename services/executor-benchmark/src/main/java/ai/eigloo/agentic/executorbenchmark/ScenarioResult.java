@@ -0,0 +1,25 @@
+package ai.eigloo.agentic.executorbenchmark;
+
+/**
+ * Measurements of one scenario and node type, excluding warmup.
+ *
+ * @param allocationBytesPerSecond heap allocated by all executor threads during the run
+ * @param executorRssBytes         resident set size of the executor JVM after the run
+ * @param runnerPeakRssP50Bytes    median of the per-call peak RSS the runner reported
+ */
+public record ScenarioResult(
+        String scenario,
+        String nodeType,
+        String pythonMode,
+        int executions,
+        int failures,
+        double executionsPerSecond,
+        double p50Millis,
+        double p99Millis,
+        double maxMillis,
+        long allocationBytesPerSecond,
+        long allocationBytesPerExecution,
+        long executorRssBytes,
+        long runnerPeakRssP50Bytes,
+        long runnerPeakRssMaxBytes) {
+}
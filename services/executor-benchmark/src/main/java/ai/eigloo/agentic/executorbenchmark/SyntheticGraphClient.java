@@ -0,0 +1,39 @@
+package ai.eigloo.agentic.executorbenchmark;
+
+import ai.eigloo.agentic.executorjava.config.DataPlaneClientProperties;
+import ai.eigloo.agentic.executorjava.service.DataPlaneGraphClient;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Serves the generated benchmark graph in place of the data plane, so the benchmark measures the
+ * executor alone. Node sources still go through the executor's own source cache.
+ */
+@Service
+@Primary
+public class SyntheticGraphClient extends DataPlaneGraphClient {
+
+    private static final String VERSION = "benchmark";
+
+    private final SyntheticNodes syntheticNodes;
+
+    public SyntheticGraphClient(
+            DataPlaneClientProperties properties,
+            RestClient.Builder restClientBuilder,
+            SyntheticNodes syntheticNodes) {
+        super(properties, restClientBuilder);
+        this.syntheticNodes = syntheticNodes;
+    }
+
+    @Override
+    public GraphFetch getGraphIfModified(String tenantId, String graphId, String knownVersion) {
+        if (!SyntheticNodes.TENANT_ID.equals(tenantId) || !SyntheticNodes.GRAPH_ID.equals(graphId)) {
+            return new GraphFetch(FetchStatus.NOT_FOUND, null, null);
+        }
+        if (VERSION.equals(knownVersion)) {
+            return new GraphFetch(FetchStatus.NOT_MODIFIED, null, VERSION);
+        }
+        return new GraphFetch(FetchStatus.MODIFIED, syntheticNodes.graph(), VERSION);
+    }
+}
@@ -0,0 +1,99 @@
+package ai.eigloo.agentic.executorbenchmark;
+
+import ai.eigloo.agentic.executorbenchmark.BenchmarkProperties.Scenario;
+import ai.eigloo.agentic.executorjava.model.NodeType;
+import ai.eigloo.agentic.graph.api.GraphLookupFile;
+import ai.eigloo.agentic.graph.api.GraphLookupPlan;
+import ai.eigloo.agentic.graph.api.GraphLookupResponse;
+import ai.eigloo.agentic.graph.api.GraphLookupTask;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The generated benchmark graph: one plan and one task per scenario, with the scenario's
+ * parameters baked into the source.
+ */
+@Component
+public class SyntheticNodes {
+
+    static final String TENANT_ID = "benchmark";
+    static final String GRAPH_ID = "benchmark-graph";
+
+    private final BenchmarkProperties properties;
+
+    public SyntheticNodes(BenchmarkProperties properties) {
+        this.properties = properties;
+    }
+
+    static String nodeName(Scenario scenario, NodeType nodeType) {
+        return scenario.name().toLowerCase(Locale.ROOT) + "_" + nodeType.name().toLowerCase(Locale.ROOT);
+    }
+
+    GraphLookupResponse graph() {
+        List<GraphLookupPlan> plans = new ArrayList<>();
+        List<GraphLookupTask> tasks = new ArrayList<>();
+        for (Scenario scenario : Scenario.values()) {
+            plans.add(new GraphLookupPlan(
+                    nodeName(scenario, NodeType.PLAN),
+                    List.of(new GraphLookupFile("plan.py", planSource(scenario)))));
+            tasks.add(new GraphLookupTask(
+                    nodeName(scenario, NodeType.TASK),
+                    List.of(new GraphLookupFile("task.py", taskSource(scenario)))));
+        }
+        return new GraphLookupResponse(GRAPH_ID, TENANT_ID, "ACTIVE", plans, tasks);
+    }
+
+    private String taskSource(Scenario scenario) {
+        return """
+                import time
+
+                from google.protobuf.any_pb2 import Any
+
+                from agentic_common.pb import TaskInput, TaskResult
+
+
+                def task(task_input: TaskInput) -> TaskResult:
+                %s
+                    return TaskResult(inline_data=Any(type_url="type.googleapis.com/benchmark.Bytes", value=payload))
+                """.formatted(body(scenario));
+    }
+
+    private String planSource(Scenario scenario) {
+        // Plans carry no data of their own, so large output travels as an upstream result.
+        return """
+                import time
+
+                from google.protobuf.any_pb2 import Any
+
+                from agentic_common.pb import PlanInput, PlanResult, TaskResult
+
+
+                def plan(plan_input: PlanInput) -> PlanResult:
+                %s
+                    if not payload:
+                        return PlanResult(next_task_names=["noop_task"])
+                    upstream = TaskResult(inline_data=Any(type_url="type.googleapis.com/benchmark.Bytes", value=payload))
+                    return PlanResult(next_task_names=["noop_task"], upstream_tasks_results=[upstream])
+                """.formatted(body(scenario));
+    }
+
+    private String body(Scenario scenario) {
+        return switch (scenario) {
+            case NOOP -> "    payload = b\"\"";
+            case SLEEP -> """
+                        time.sleep(%s)
+                        payload = b""\
+                    """.formatted(properties.getSleepMillis() / 1000.0);
+            case CPU -> """
+                        total = 0
+                        for i in range(%d):
+                            total += i * i
+                        payload = str(total).encode()\
+                    """.formatted(properties.getCpuIterations());
+            case LARGE_OUTPUT -> "    payload = bytes(%d)".formatted(properties.getOutputBytes());
+        };
+    }
+}
@@ -3,6 +3,12 @@ package ai.eigloo.agentic.executorjava;
 import ai.eigloo.agentic.common.KafkaTopicPatterns;
 import ai.eigloo.agentic.common.TenantAwareKafkaConfig;
 import ai.eigloo.agentic.executorjava.config.DataPlaneClientProperties;
+import ai.eigloo.agentic.executorjava.config.ExecutionStageProperties;
+import ai.eigloo.agentic.executorjava.config.ExecutorBlobProperties;
+import ai.eigloo.agentic.executorjava.config.ExecutorCapacityProperties;
+import ai.eigloo.agentic.executorjava.config.ExecutorDedupeProperties;
+import ai.eigloo.agentic.executorjava.config.ExecutorMemoProperties;
+import ai.eigloo.agentic.executorjava.config.ExecutorPrewarmProperties;
 import ai.eigloo.agentic.executorjava.config.ExecutorPythonProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -24,7 +30,16 @@ import org.springframework.kafka.annotation.EnableKafka;
                 HibernateJpaAutoConfiguration.class
         })
 @EnableKafka
-@EnableConfigurationProperties({ExecutorPythonProperties.class, DataPlaneClientProperties.class})
+@EnableConfigurationProperties({
+        ExecutorPythonProperties.class,
+        DataPlaneClientProperties.class,
+        ExecutionStageProperties.class,
+        ExecutorMemoProperties.class,
+        ExecutorDedupeProperties.class,
+        ExecutorBlobProperties.class,
+        ExecutorPrewarmProperties.class,
+        ExecutorCapacityProperties.class
+})
 @Import({TenantAwareKafkaConfig.class, KafkaTopicPatterns.class})
 public class ExecutorJavaApplication {
 
@@ -9,6 +9,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public class DataPlaneClientProperties {
 
     private String baseUrl = "http://localhost:8081";
+    private SourceCache sourceCache = new SourceCache();
 
     public String getBaseUrl() {
         return baseUrl;
@@ -17,4 +18,54 @@ public class DataPlaneClientProperties {
     public void setBaseUrl(String baseUrl) {
         this.baseUrl = baseUrl;
     }
+
+    public SourceCache getSourceCache() {
+        return sourceCache;
+    }
+
+    public void setSourceCache(SourceCache sourceCache) {
+        this.sourceCache = sourceCache;
+    }
+
+    /**
+     * Bounds for the in-memory cache of resolved node sources.
+     */
+    public static class SourceCache {
+
+        /**
+         * Approximate heap budget for cached node files.
+         */
+        private long maxBytes = 64L * 1024 * 1024;
+
+        private int maxEntries = 10_000;
+
+        /**
+         * How long a graph version is trusted before it is revalidated with a conditional request.
+         */
+        private int revalidateAfterSeconds = 30;
+
+        public long getMaxBytes() {
+            return maxBytes;
+        }
+
+        public void setMaxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public int getRevalidateAfterSeconds() {
+            return revalidateAfterSeconds;
+        }
+
+        public void setRevalidateAfterSeconds(int revalidateAfterSeconds) {
+            this.revalidateAfterSeconds = revalidateAfterSeconds;
+        }
+    }
 }
@@ -0,0 +1,167 @@
+package ai.eigloo.agentic.executorjava.config;
+
+import ai.eigloo.agentic.executorjava.model.NodeType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Limits for handing consumed plan/task inputs off the Kafka consumer threads.
+ *
+ * <p>Plans and tasks run in separate lanes with their own slots and in-flight limits, since plans
+ * are usually quick routing decisions and tasks slow tool or model calls: a task backlog must not
+ * hold up the plans that would unblock other branches.
+ */
+@ConfigurationProperties(prefix = "executor.execution")
+public class ExecutionStageProperties {
+
+    /**
+     * Executions of one lane that may run at the same time, unless the lane sets its own.
+     */
+    private int maxConcurrency = 8;
+
+    /**
+     * Records of one tenant and lane accepted but not yet completed, including those waiting for a
+     * free slot, unless the lane sets its own. The tenant's partitions of that lane are paused at
+     * this limit and resumed once half of it has drained.
+     */
+    private int maxInFlight = 32;
+
+    private Lane plan = new Lane();
+    private Lane task = new Lane();
+
+    /**
+     * Share of execution slots per round for tenants not listed in {@link #tenantWeights}.
+     */
+    private int defaultTenantWeight = 1;
+
+    /**
+     * Per-tenant scheduling weights; a tenant with weight 3 starts three executions for every
+     * one started by a tenant with weight 1 while both have work queued.
+     */
+    private Map<String, Integer> tenantWeights = new HashMap<>();
+
+    /**
+     * How long accepted records may take to finish when their partitions are revoked or the
+     * executor shuts down; records still running after it are redelivered to the next owner.
+     * Keep it below {@code max.poll.interval.ms}, since revocation waits on the consumer thread.
+     */
+    private int drainTimeoutSeconds = 60;
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public int getDefaultTenantWeight() {
+        return defaultTenantWeight;
+    }
+
+    public void setDefaultTenantWeight(int defaultTenantWeight) {
+        this.defaultTenantWeight = defaultTenantWeight;
+    }
+
+    public Map<String, Integer> getTenantWeights() {
+        return tenantWeights;
+    }
+
+    public void setTenantWeights(Map<String, Integer> tenantWeights) {
+        this.tenantWeights = tenantWeights;
+    }
+
+    public int getDrainTimeoutSeconds() {
+        return drainTimeoutSeconds;
+    }
+
+    public void setDrainTimeoutSeconds(int drainTimeoutSeconds) {
+        this.drainTimeoutSeconds = drainTimeoutSeconds;
+    }
+
+    public Lane getPlan() {
+        return plan;
+    }
+
+    public void setPlan(Lane plan) {
+        this.plan = plan;
+    }
+
+    public Lane getTask() {
+        return task;
+    }
+
+    public void setTask(Lane task) {
+        this.task = task;
+    }
+
+    public Lane laneFor(NodeType nodeType) {
+        return nodeType == NodeType.PLAN ? plan : task;
+    }
+
+    public int maxConcurrencyFor(NodeType nodeType) {
+        int laneValue = laneFor(nodeType).getMaxConcurrency();
+        return Math.max(1, laneValue > 0 ? laneValue : maxConcurrency);
+    }
+
+    public int maxInFlightFor(NodeType nodeType) {
+        int laneValue = laneFor(nodeType).getMaxInFlight();
+        return Math.max(1, laneValue > 0 ? laneValue : maxInFlight);
+    }
+
+    /**
+     * Settings of the plan or task lane; unset limits fall back to the shared ones.
+     */
+    public static class Lane {
+
+        /**
+         * Whether this executor consumes the lane's inputs at all. Turn one lane off to run it as
+         * a separate deployment that scales on its own.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Executions of this lane that may run at the same time; 0 uses {@code max-concurrency}.
+         */
+        private int maxConcurrency = 0;
+
+        /**
+         * Per-tenant in-flight limit of this lane; 0 uses {@code max-in-flight}.
+         */
+        private int maxInFlight = 0;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public int getMaxInFlight() {
+            return maxInFlight;
+        }
+
+        public void setMaxInFlight(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package ai.eigloo.agentic.executorjava.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Offloading of large task result payloads to a blob store.
+ */
+@ConfigurationProperties(prefix = "executor.blob")
+public class ExecutorBlobProperties {
+
+    /**
+     * Inline task data larger than this is moved to the blob store; 0 or less disables offloading.
+     * Has no effect until {@link #directory} is set.
+     */
+    private long offloadThresholdBytes = 256L * 1024;
+
+    /**
+     * Root of the local filesystem store. Offloading stays off while this is empty: every
+     * executor and reader of a result must see the same directory, e.g. a shared volume, so
+     * there is no safe per-executor default.
+     */
+    private String directory = "";
+
+    /**
+     * How long a blob is kept after it was last stored. Should exceed the longest time a result
+     * can still be read by a downstream node.
+     */
+    private long ttlSeconds = 7L * 86400;
+
+    private long sweepIntervalSeconds = 3600;
+
+    /**
+     * @return whether large results are offloaded at all
+     */
+    public boolean isOffloadEnabled() {
+        return offloadThresholdBytes > 0 && directory != null && !directory.isBlank();
+    }
+
+    public long getOffloadThresholdBytes() {
+        return offloadThresholdBytes;
+    }
+
+    public void setOffloadThresholdBytes(long offloadThresholdBytes) {
+        this.offloadThresholdBytes = offloadThresholdBytes;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public void setTtlSeconds(long ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    public long getSweepIntervalSeconds() {
+        return sweepIntervalSeconds;
+    }
+
+    public void setSweepIntervalSeconds(long sweepIntervalSeconds) {
+        this.sweepIntervalSeconds = sweepIntervalSeconds;
+    }
+}
@@ -0,0 +1,72 @@
+package ai.eigloo.agentic.executorjava.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Load reporting for autoscaling, and the targets the desired replica count is derived from.
+ */
+@ConfigurationProperties(prefix = "executor.capacity")
+public class ExecutorCapacityProperties {
+
+    /**
+     * How often consumer lag and throughput are sampled.
+     */
+    private int sampleIntervalSeconds = 15;
+
+    /**
+     * Share of execution slots, running plus queued, an executor should use on average.
+     */
+    private double targetUtilization = 0.8;
+
+    /**
+     * How quickly the input backlog should be worked off at the observed throughput.
+     */
+    private int targetDrainSeconds = 120;
+
+    private int minReplicas = 1;
+
+    /**
+     * Upper bound of the desired replica count; 0 caps it only at the number of input partitions.
+     */
+    private int maxReplicas = 0;
+
+    public int getSampleIntervalSeconds() {
+        return sampleIntervalSeconds;
+    }
+
+    public void setSampleIntervalSeconds(int sampleIntervalSeconds) {
+        this.sampleIntervalSeconds = sampleIntervalSeconds;
+    }
+
+    public double getTargetUtilization() {
+        return targetUtilization;
+    }
+
+    public void setTargetUtilization(double targetUtilization) {
+        this.targetUtilization = targetUtilization;
+    }
+
+    public int getTargetDrainSeconds() {
+        return targetDrainSeconds;
+    }
+
+    public void setTargetDrainSeconds(int targetDrainSeconds) {
+        this.targetDrainSeconds = targetDrainSeconds;
+    }
+
+    public int getMinReplicas() {
+        return minReplicas;
+    }
+
+    public void setMinReplicas(int minReplicas) {
+        this.minReplicas = minReplicas;
+    }
+
+    public int getMaxReplicas() {
+        return maxReplicas;
+    }
+
+    public void setMaxReplicas(int maxReplicas) {
+        this.maxReplicas = maxReplicas;
+    }
+}
@@ -0,0 +1,66 @@
+package ai.eigloo.agentic.executorjava.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Redelivery dedupe for plan/task inputs, keyed on lifetime and input id.
+ */
+@ConfigurationProperties(prefix = "executor.dedupe")
+public class ExecutorDedupeProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Where completed executions are recorded. Dedupe stays off while this is empty: after a
+     * rebalance or restart an input is redelivered to whichever executor now owns its partition,
+     * so every executor must see the same directory, e.g. a shared persistent volume.
+     */
+    private String directory = "";
+
+    /**
+     * How long a completed execution is remembered. Should exceed the longest time an input
+     * can sit unacknowledged before it is redelivered.
+     */
+    private long ttlSeconds = 86400;
+
+    private long sweepIntervalSeconds = 300;
+
+    /**
+     * @return whether redelivered inputs are deduplicated at all
+     */
+    public boolean isStoreEnabled() {
+        return enabled && directory != null && !directory.isBlank();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public void setTtlSeconds(long ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    public long getSweepIntervalSeconds() {
+        return sweepIntervalSeconds;
+    }
+
+    public void setSweepIntervalSeconds(long sweepIntervalSeconds) {
+        this.sweepIntervalSeconds = sweepIntervalSeconds;
+    }
+}
@@ -0,0 +1,56 @@
+package ai.eigloo.agentic.executorjava.config;
+
+import ai.eigloo.agentic.executorjava.kafka.ExecutionStage;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+
+import java.util.Properties;
+
+/**
+ * Listener container factory for plan/task inputs.
+ *
+ * <p>Same consumer settings as the shared tenant-aware factory, plus the {@link ExecutionStage}
+ * as rebalance listener so offset tracking follows partition assignment.
+ *
+ * <p>Consumers use cooperative-sticky assignment, so a rebalance only moves the partitions that
+ * change owner instead of stopping every member. With a group instance id (the pod's hostname by
+ * default) membership is static: a restarted pod that rejoins within the session timeout gets its
+ * partitions back without a rebalance. Each child container appends its index to the id.
+ */
+@Configuration
+public class ExecutorKafkaConfig {
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> executorKafkaListenerContainerFactory(
+            @Qualifier("tenantAwareConsumerFactory") ConsumerFactory<String, byte[]> consumerFactory,
+            ExecutionStage executionStage,
+            @Value("${kafka.tenant.concurrency:3}") int concurrency,
+            @Value("${executor.kafka.assignment-strategy:org.apache.kafka.clients.consumer.CooperativeStickyAssignor}") String assignmentStrategy,
+            @Value("${executor.kafka.group-instance-id:}") String groupInstanceId,
+            @Value("${executor.kafka.static-session-timeout-ms:45000}") int staticSessionTimeoutMs) {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setConcurrency(concurrency);
+        ContainerProperties containerProperties = factory.getContainerProperties();
+        containerProperties.setPollTimeout(3000);
+        // Records are acknowledged from execution threads once their partition's watermark advances.
+        containerProperties.setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        containerProperties.setConsumerRebalanceListener(executionStage);
+
+        Properties consumerProperties = new Properties();
+        consumerProperties.put(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG, assignmentStrategy);
+        if (!groupInstanceId.isBlank()) {
+            consumerProperties.put(ConsumerConfig.GROUP_INSTANCE_ID_CONFIG, groupInstanceId);
+            // Long enough to cover a pod restart, so the member is not evicted in between.
+            consumerProperties.put(ConsumerConfig.SESSION_TIMEOUT_MS_CONFIG, Integer.toString(staticSessionTimeoutMs));
+        }
+        containerProperties.setKafkaConsumerProperties(consumerProperties);
+        return factory;
+    }
+}
@@ -0,0 +1,69 @@
+package ai.eigloo.agentic.executorjava.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Result memoization for nodes that declare {@code MEMOIZE = True}.
+ */
+@ConfigurationProperties(prefix = "executor.memo")
+public class ExecutorMemoProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Heap budget for serialized results kept in memory.
+     */
+    private long maxBytes = 32L * 1024 * 1024;
+
+    /**
+     * Results larger than this are never memoized.
+     */
+    private long maxResultBytes = 1024L * 1024;
+
+    /**
+     * Also keep results under {@code {working-root}/memo}, surviving restarts and memory eviction.
+     */
+    private boolean diskEnabled = false;
+
+    private long diskMaxBytes = 512L * 1024 * 1024;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public long getMaxResultBytes() {
+        return maxResultBytes;
+    }
+
+    public void setMaxResultBytes(long maxResultBytes) {
+        this.maxResultBytes = maxResultBytes;
+    }
+
+    public boolean isDiskEnabled() {
+        return diskEnabled;
+    }
+
+    public void setDiskEnabled(boolean diskEnabled) {
+        this.diskEnabled = diskEnabled;
+    }
+
+    public long getDiskMaxBytes() {
+        return diskMaxBytes;
+    }
+
+    public void setDiskMaxBytes(long diskMaxBytes) {
+        this.diskMaxBytes = diskMaxBytes;
+    }
+}
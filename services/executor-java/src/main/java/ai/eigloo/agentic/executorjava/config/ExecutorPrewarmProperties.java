@@ -0,0 +1,88 @@
+package ai.eigloo.agentic.executorjava.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Warming of node sources, workspaces and runner workers when a graph run is queued, ahead of
+ * its first input.
+ */
+@ConfigurationProperties(prefix = "executor.prewarm")
+public class ExecutorPrewarmProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Runs prewarmed at the same time; run announcements arriving while all are busy are dropped.
+     */
+    private int maxConcurrentRuns = 1;
+
+    /**
+     * Nodes warmed per run; the rest stay cold until they execute.
+     */
+    private int maxNodesPerRun = 32;
+
+    /**
+     * Prewarming is skipped, or stops between nodes, while at least this many executions are
+     * in flight, so it only uses capacity real work leaves idle.
+     */
+    private int maxInFlight = 2;
+
+    /**
+     * Also install per-node {@code requirements.txt} environments, which can take minutes.
+     */
+    private boolean environmentsEnabled = true;
+
+    /**
+     * Run announcements older than this are not prewarmed, e.g. when a new executor reads the
+     * status topics from the start.
+     */
+    private long maxAgeSeconds = 60;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxConcurrentRuns() {
+        return maxConcurrentRuns;
+    }
+
+    public void setMaxConcurrentRuns(int maxConcurrentRuns) {
+        this.maxConcurrentRuns = maxConcurrentRuns;
+    }
+
+    public int getMaxNodesPerRun() {
+        return maxNodesPerRun;
+    }
+
+    public void setMaxNodesPerRun(int maxNodesPerRun) {
+        this.maxNodesPerRun = maxNodesPerRun;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public boolean isEnvironmentsEnabled() {
+        return environmentsEnabled;
+    }
+
+    public void setEnvironmentsEnabled(boolean environmentsEnabled) {
+        this.environmentsEnabled = environmentsEnabled;
+    }
+
+    public long getMaxAgeSeconds() {
+        return maxAgeSeconds;
+    }
+
+    public void setMaxAgeSeconds(long maxAgeSeconds) {
+        this.maxAgeSeconds = maxAgeSeconds;
+    }
+}
@@ -1,7 +1,11 @@
 package ai.eigloo.agentic.executorjava.config;
 
+import ai.eigloo.agentic.executorjava.model.NodeType;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Python process execution settings.
  */
@@ -10,8 +14,29 @@ public class ExecutorPythonProperties {
 
     private String command = "python3";
     private int timeoutSeconds = 120;
+
+    /**
+     * Timeout of plan executions; 0 uses {@link #timeoutSeconds}.
+     */
+    private int planTimeoutSeconds = 0;
+
+    /**
+     * Timeout of task executions; 0 uses {@link #timeoutSeconds}.
+     */
+    private int taskTimeoutSeconds = 0;
     private String commonPyPath = "services/common-py";
     private String workingRoot = "${java.io.tmpdir}/executor-java";
+    private ExecutionMode mode = ExecutionMode.SPAWN;
+    private Pool pool = new Pool();
+    private Fork fork = new Fork();
+    private AsyncWorkers asyncWorkers = new AsyncWorkers();
+    private Batching batching = new Batching();
+    private SharedMemory sharedMemory = new SharedMemory();
+    private Output output = new Output();
+    private AdaptiveTimeout adaptiveTimeout = new AdaptiveTimeout();
+    private Janitor janitor = new Janitor();
+    private Cgroups cgroups = new Cgroups();
+    private Environments environments = new Environments();
 
     public String getCommand() {
         return command;
@@ -29,6 +54,27 @@ public class ExecutorPythonProperties {
         this.timeoutSeconds = timeoutSeconds;
     }
 
+    public int getPlanTimeoutSeconds() {
+        return planTimeoutSeconds;
+    }
+
+    public void setPlanTimeoutSeconds(int planTimeoutSeconds) {
+        this.planTimeoutSeconds = planTimeoutSeconds;
+    }
+
+    public int getTaskTimeoutSeconds() {
+        return taskTimeoutSeconds;
+    }
+
+    public void setTaskTimeoutSeconds(int taskTimeoutSeconds) {
+        this.taskTimeoutSeconds = taskTimeoutSeconds;
+    }
+
+    public int timeoutSecondsFor(NodeType nodeType) {
+        int laneTimeout = nodeType == NodeType.PLAN ? planTimeoutSeconds : taskTimeoutSeconds;
+        return Math.max(1, laneTimeout > 0 ? laneTimeout : timeoutSeconds);
+    }
+
     public String getCommonPyPath() {
         return commonPyPath;
     }
@@ -44,4 +90,636 @@ public class ExecutorPythonProperties {
     public void setWorkingRoot(String workingRoot) {
         this.workingRoot = workingRoot;
     }
+
+    public ExecutionMode getMode() {
+        return mode;
+    }
+
+    public void setMode(ExecutionMode mode) {
+        this.mode = mode;
+    }
+
+    public Pool getPool() {
+        return pool;
+    }
+
+    public void setPool(Pool pool) {
+        this.pool = pool;
+    }
+
+    public Fork getFork() {
+        return fork;
+    }
+
+    public void setFork(Fork fork) {
+        this.fork = fork;
+    }
+
+    public AsyncWorkers getAsyncWorkers() {
+        return asyncWorkers;
+    }
+
+    public void setAsyncWorkers(AsyncWorkers asyncWorkers) {
+        this.asyncWorkers = asyncWorkers;
+    }
+
+    public Batching getBatching() {
+        return batching;
+    }
+
+    public void setBatching(Batching batching) {
+        this.batching = batching;
+    }
+
+    public SharedMemory getSharedMemory() {
+        return sharedMemory;
+    }
+
+    public void setSharedMemory(SharedMemory sharedMemory) {
+        this.sharedMemory = sharedMemory;
+    }
+
+    public Output getOutput() {
+        return output;
+    }
+
+    public void setOutput(Output output) {
+        this.output = output;
+    }
+
+    public AdaptiveTimeout getAdaptiveTimeout() {
+        return adaptiveTimeout;
+    }
+
+    public void setAdaptiveTimeout(AdaptiveTimeout adaptiveTimeout) {
+        this.adaptiveTimeout = adaptiveTimeout;
+    }
+
+    public Janitor getJanitor() {
+        return janitor;
+    }
+
+    public void setJanitor(Janitor janitor) {
+        this.janitor = janitor;
+    }
+
+    public Cgroups getCgroups() {
+        return cgroups;
+    }
+
+    public void setCgroups(Cgroups cgroups) {
+        this.cgroups = cgroups;
+    }
+
+    public Environments getEnvironments() {
+        return environments;
+    }
+
+    public void setEnvironments(Environments environments) {
+        this.environments = environments;
+    }
+
+    /**
+     * How python runner processes are obtained for each plan/task call.
+     */
+    public enum ExecutionMode {
+        /** Start a new runner process for every call. */
+        SPAWN,
+        /** Reuse long-lived runner processes that serve many calls. */
+        POOLED,
+        /** Fork a fresh runner per call from a warm zygote process. */
+        FORK
+    }
+
+    /**
+     * Settings for {@link ExecutionMode#POOLED}.
+     */
+    public static class Pool {
+
+        private int planSize = 2;
+        private int taskSize = 4;
+        private int maxRequestsPerWorker = 500;
+        private int healthCheckIntervalSeconds = 30;
+        private int healthCheckTimeoutSeconds = 5;
+
+        public int getPlanSize() {
+            return planSize;
+        }
+
+        public void setPlanSize(int planSize) {
+            this.planSize = planSize;
+        }
+
+        public int getTaskSize() {
+            return taskSize;
+        }
+
+        public void setTaskSize(int taskSize) {
+            this.taskSize = taskSize;
+        }
+
+        public int getMaxRequestsPerWorker() {
+            return maxRequestsPerWorker;
+        }
+
+        public void setMaxRequestsPerWorker(int maxRequestsPerWorker) {
+            this.maxRequestsPerWorker = maxRequestsPerWorker;
+        }
+
+        public int getHealthCheckIntervalSeconds() {
+            return healthCheckIntervalSeconds;
+        }
+
+        public void setHealthCheckIntervalSeconds(int healthCheckIntervalSeconds) {
+            this.healthCheckIntervalSeconds = healthCheckIntervalSeconds;
+        }
+
+        public int getHealthCheckTimeoutSeconds() {
+            return healthCheckTimeoutSeconds;
+        }
+
+        public void setHealthCheckTimeoutSeconds(int healthCheckTimeoutSeconds) {
+            this.healthCheckTimeoutSeconds = healthCheckTimeoutSeconds;
+        }
+    }
+
+    /**
+     * Settings for {@link ExecutionMode#FORK}.
+     */
+    public static class Fork {
+
+        /**
+         * Modules the zygote imports once before forking, e.g. heavy libraries most nodes use.
+         * {@code agentic_common} and protobuf are always loaded.
+         */
+        private List<String> preload = new ArrayList<>();
+
+        private int startTimeoutSeconds = 30;
+
+        public List<String> getPreload() {
+            return preload;
+        }
+
+        public void setPreload(List<String> preload) {
+            this.preload = preload;
+        }
+
+        public int getStartTimeoutSeconds() {
+            return startTimeoutSeconds;
+        }
+
+        public void setStartTimeoutSeconds(int startTimeoutSeconds) {
+            this.startTimeoutSeconds = startTimeoutSeconds;
+        }
+    }
+
+    /**
+     * Event-loop workers for nodes whose entry function is an {@code async def}. Each worker
+     * awaits many executions concurrently, so I/O-bound nodes do not tie up a process per call.
+     * Applies in every {@link ExecutionMode}; nodes with their own requirements still get a
+     * fresh process.
+     */
+    public static class AsyncWorkers {
+
+        private boolean enabled = true;
+        private int planSize = 1;
+        private int taskSize = 2;
+
+        /**
+         * Executions a single worker may have outstanding at once.
+         */
+        private int maxConcurrentPerWorker = 64;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getPlanSize() {
+            return planSize;
+        }
+
+        public void setPlanSize(int planSize) {
+            this.planSize = planSize;
+        }
+
+        public int getTaskSize() {
+            return taskSize;
+        }
+
+        public void setTaskSize(int taskSize) {
+            this.taskSize = taskSize;
+        }
+
+        public int getMaxConcurrentPerWorker() {
+            return maxConcurrentPerWorker;
+        }
+
+        public void setMaxConcurrentPerWorker(int maxConcurrentPerWorker) {
+            this.maxConcurrentPerWorker = maxConcurrentPerWorker;
+        }
+    }
+
+    /**
+     * Micro-batching of concurrent executions of the same node source into one runner call, which
+     * loads the node once and runs the inputs in turn. Nodes override both values with top-level
+     * {@code BATCH_SIZE} and {@code BATCH_LINGER_MS} in their entry script.
+     */
+    public static class Batching {
+
+        /**
+         * Most inputs per runner call; {@code 1} turns batching off for nodes that do not ask for it.
+         */
+        private int maxSize = 1;
+
+        /**
+         * How long the first input of a batch waits for others to join it.
+         */
+        private int lingerMillis = 5;
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public int getLingerMillis() {
+            return lingerMillis;
+        }
+
+        public void setLingerMillis(int lingerMillis) {
+            this.lingerMillis = lingerMillis;
+        }
+    }
+
+    /**
+     * Hand large input and result payloads to runners through memory-mapped files instead of the
+     * pipe; only a reference to the file travels in the frame. Every transport uses it.
+     */
+    public static class SharedMemory {
+
+        private boolean enabled = false;
+
+        /**
+         * Where the mapped files live; each executor process uses its own subdirectory. Should be
+         * a tmpfs with room for the largest payloads in flight.
+         */
+        private String directory = "/dev/shm";
+
+        /**
+         * Payloads smaller than this still go through the pipe.
+         */
+        private int thresholdBytes = 1024 * 1024;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public int getThresholdBytes() {
+            return thresholdBytes;
+        }
+
+        public void setThresholdBytes(int thresholdBytes) {
+            this.thresholdBytes = thresholdBytes;
+        }
+    }
+
+    /**
+     * Bounds on what the executor keeps of a runner's output.
+     */
+    public static class Output {
+
+        /**
+         * Largest result a runner may return; a bigger one fails the execution.
+         */
+        private int maxResultBytes = 64 * 1024 * 1024;
+
+        /**
+         * How much of the end of a spawned runner's stderr is kept for the error of a failed execution.
+         */
+        private int stderrTailBytes = 8 * 1024;
+
+        public int getMaxResultBytes() {
+            return maxResultBytes;
+        }
+
+        public void setMaxResultBytes(int maxResultBytes) {
+            this.maxResultBytes = maxResultBytes;
+        }
+
+        public int getStderrTailBytes() {
+            return stderrTailBytes;
+        }
+
+        public void setStderrTailBytes(int stderrTailBytes) {
+            this.stderrTailBytes = stderrTailBytes;
+        }
+    }
+
+    /**
+     * Per-node timeouts derived from observed latency. Nodes without enough observations, and
+     * nodes that declare {@code TIMEOUT_SECONDS}, keep the configured or declared timeout.
+     */
+    public static class AdaptiveTimeout {
+
+        private boolean enabled = true;
+
+        /**
+         * Observations of a node needed before its timeout adapts.
+         */
+        private int minSamples = 20;
+
+        /**
+         * Latency percentile the timeout is derived from, between 0 and 1.
+         */
+        private double percentile = 0.99;
+
+        /**
+         * Factor applied to the percentile latency.
+         */
+        private double multiplier = 3.0;
+
+        private int floorSeconds = 10;
+
+        /**
+         * Longest adapted timeout; 0 uses the configured timeout of the node type, so adapting
+         * only ever shortens it.
+         */
+        private int ceilingSeconds = 0;
+
+        /**
+         * Observations kept per node; older ones fade out as new ones arrive.
+         */
+        private int window = 1000;
+
+        /**
+         * Nodes tracked at once, least recently executed dropped first. Each takes about 1 KiB.
+         */
+        private int maxNodes = 4096;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMinSamples() {
+            return minSamples;
+        }
+
+        public void setMinSamples(int minSamples) {
+            this.minSamples = minSamples;
+        }
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public double getMultiplier() {
+            return multiplier;
+        }
+
+        public void setMultiplier(double multiplier) {
+            this.multiplier = multiplier;
+        }
+
+        public int getFloorSeconds() {
+            return floorSeconds;
+        }
+
+        public void setFloorSeconds(int floorSeconds) {
+            this.floorSeconds = floorSeconds;
+        }
+
+        public int getCeilingSeconds() {
+            return ceilingSeconds;
+        }
+
+        public void setCeilingSeconds(int ceilingSeconds) {
+            this.ceilingSeconds = ceilingSeconds;
+        }
+
+        public int getWindow() {
+            return window;
+        }
+
+        public void setWindow(int window) {
+            this.window = window;
+        }
+
+        public int getMaxNodes() {
+            return maxNodes;
+        }
+
+        public void setMaxNodes(int maxNodes) {
+            this.maxNodes = maxNodes;
+        }
+    }
+
+    /**
+     * Budget for node workspaces under the working root, enforced by a periodic sweep.
+     */
+    public static class Janitor {
+
+        private long maxBytes = 2L * 1024 * 1024 * 1024;
+        private long maxEntries = 200_000;
+        private int intervalSeconds = 60;
+
+        /**
+         * Scratch and staging directories older than this with no live execution are removed.
+         */
+        private int orphanAgeSeconds = 3600;
+
+        public long getMaxBytes() {
+            return maxBytes;
+        }
+
+        public void setMaxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public int getIntervalSeconds() {
+            return intervalSeconds;
+        }
+
+        public void setIntervalSeconds(int intervalSeconds) {
+            this.intervalSeconds = intervalSeconds;
+        }
+
+        public int getOrphanAgeSeconds() {
+            return orphanAgeSeconds;
+        }
+
+        public void setOrphanAgeSeconds(int orphanAgeSeconds) {
+            this.orphanAgeSeconds = orphanAgeSeconds;
+        }
+    }
+
+    /**
+     * Per-node dependency environments built from the node's {@code requirements.txt}. Without a
+     * wheelhouse, nodes run on the shared interpreter's packages only.
+     */
+    public static class Environments {
+
+        /**
+         * Local directory of wheels that requirements are installed from; nothing is downloaded.
+         */
+        private String wheelhouse = "";
+
+        /**
+         * Budget for built environments under {@code {working-root}/environments}; least recently
+         * used ones are evicted by the janitor.
+         */
+        private long maxBytes = 4L * 1024 * 1024 * 1024;
+
+        private int installTimeoutSeconds = 600;
+
+        public String getWheelhouse() {
+            return wheelhouse;
+        }
+
+        public void setWheelhouse(String wheelhouse) {
+            this.wheelhouse = wheelhouse;
+        }
+
+        public long getMaxBytes() {
+            return maxBytes;
+        }
+
+        public void setMaxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        public int getInstallTimeoutSeconds() {
+            return installTimeoutSeconds;
+        }
+
+        public void setInstallTimeoutSeconds(int installTimeoutSeconds) {
+            this.installTimeoutSeconds = installTimeoutSeconds;
+        }
+    }
+
+    /**
+     * cgroup v2 isolation for runner processes. Each spawned process and each pooled worker gets
+     * its own child group with the limits of its node class. Ignored, with a warning, when cgroup
+     * v2 is not mounted or the executor's group is not writable (not delegated).
+     */
+    public static class Cgroups {
+
+        private boolean enabled = true;
+
+        /**
+         * Parent group for runner groups, relative to the cgroup v2 mount; blank means the
+         * executor's own group.
+         */
+        private String root = "";
+
+        private Limits plan = new Limits();
+        private Limits task = new Limits();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getRoot() {
+            return root;
+        }
+
+        public void setRoot(String root) {
+            this.root = root;
+        }
+
+        public Limits getPlan() {
+            return plan;
+        }
+
+        public void setPlan(Limits plan) {
+            this.plan = plan;
+        }
+
+        public Limits getTask() {
+            return task;
+        }
+
+        public void setTask(Limits task) {
+            this.task = task;
+        }
+    }
+
+    /**
+     * Values written verbatim to the group's interface files; {@code max} means unlimited.
+     */
+    public static class Limits {
+
+        /**
+         * {@code cpu.max}: "$QUOTA $PERIOD" in microseconds, e.g. "100000 100000" for one core.
+         */
+        private String cpuMax = "max";
+
+        /**
+         * {@code memory.max} in bytes (suffixes K, M, G allowed).
+         */
+        private String memoryMax = "max";
+
+        private String pidsMax = "max";
+
+        public String getCpuMax() {
+            return cpuMax;
+        }
+
+        public void setCpuMax(String cpuMax) {
+            this.cpuMax = cpuMax;
+        }
+
+        public String getMemoryMax() {
+            return memoryMax;
+        }
+
+        public void setMemoryMax(String memoryMax) {
+            this.memoryMax = memoryMax;
+        }
+
+        public String getPidsMax() {
+            return pidsMax;
+        }
+
+        public void setPidsMax(String pidsMax) {
+            this.pidsMax = pidsMax;
+        }
+    }
 }
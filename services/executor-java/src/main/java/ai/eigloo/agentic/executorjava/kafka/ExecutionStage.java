@@ -0,0 +1,395 @@
+package ai.eigloo.agentic.executorjava.kafka;
+
+import ai.eigloo.agentic.common.TopicNames;
+import ai.eigloo.agentic.executorjava.config.ExecutionStageProperties;
+import ai.eigloo.agentic.executorjava.model.NodeType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Runs consumed plan/task inputs off the Kafka consumer threads.
+ *
+ * <p>Listeners hand each record to {@link #submit} and return immediately, so a long node
+ * no longer holds up polling or pushes the consumer past {@code max.poll.interval.ms}. Each
+ * record runs on its own virtual thread, since executions mostly wait on the python process.
+ * Plans and tasks run in separate lanes, each with its own concurrency limit and queue, so a
+ * backlog of slow tasks cannot delay plans. Within a lane, queued records are started in
+ * per-tenant fair order by {@link TenantFairScheduler}, so one tenant's burst cannot starve the
+ * others. Offsets are committed per partition only up to the lowest contiguous completed record,
+ * and a partition is paused while its tenant is at its lane's in-flight limit.
+ *
+ * <p>Records already accepted are finished rather than abandoned when partitions move or the
+ * executor stops, within {@code drain-timeout-seconds}: a revoked partition's executions are
+ * awaited before its offsets are committed, and on shutdown the input listeners are paused and the
+ * whole stage drained before the listener containers commit and close their consumers. Run status
+ * changes keep arriving meanwhile, so executions of runs that end can still be cancelled.
+ */
+@Component
+public class ExecutionStage implements ConsumerAwareRebalanceListener, SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionStage.class);
+
+    private static final String UNKNOWN_TENANT = "unknown";
+
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final Duration drainTimeout;
+    private final Map<NodeType, Lane> lanes = new EnumMap<>(NodeType.class);
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("executor-stage-", 0).factory());
+
+    private final Map<TopicPartition, PartitionOffsetTracker> partitions = new ConcurrentHashMap<>();
+    private final Object completions = new Object();
+    private volatile boolean started;
+    private volatile boolean draining;
+
+    public ExecutionStage(
+            KafkaListenerEndpointRegistry listenerRegistry,
+            ExecutionStageProperties properties,
+            MeterRegistry meterRegistry) {
+        this.listenerRegistry = listenerRegistry;
+        this.drainTimeout = Duration.ofSeconds(Math.max(0, properties.getDrainTimeoutSeconds()));
+        for (NodeType nodeType : NodeType.values()) {
+            Lane lane = new Lane(
+                    properties.maxConcurrencyFor(nodeType),
+                    properties.maxInFlightFor(nodeType),
+                    new TenantFairScheduler(
+                            meterRegistry, laneName(nodeType), properties.getTenantWeights(), properties.getDefaultTenantWeight()));
+            lanes.put(nodeType, lane);
+            Gauge.builder("executor.scheduler.running", lane, l -> l.running)
+                    .description("Executions currently running")
+                    .tag("lane", laneName(nodeType))
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Accept a record from the consumer thread and run {@code work} asynchronously.
+     *
+     * <p>The record is acknowledged once it and every earlier record of its partition have
+     * completed, whether or not {@code work} succeeded; failures are the work's to report.
+     *
+     * @param nodeType   lane the record runs in
+     * @param listenerId id of the {@code @KafkaListener} that received the record, used to pause it
+     */
+    public void submit(
+            NodeType nodeType,
+            String listenerId,
+            ConsumerRecord<?, ?> record,
+            Acknowledgment acknowledgment,
+            Runnable work) {
+        Lane lane = lanes.get(nodeType);
+        TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+        String tenantId = tenantOf(partition);
+        PartitionOffsetTracker tracker = partitions.computeIfAbsent(partition, key -> new PartitionOffsetTracker());
+        tracker.start(record.offset());
+
+        int tenantInFlight;
+        synchronized (lane.scheduler) {
+            tenantInFlight = lane.scheduler.enqueue(
+                    tenantId, () -> run(lane, tenantId, partition, tracker, record.offset(), acknowledgment, work));
+        }
+        if (tenantInFlight >= lane.maxInFlight) {
+            pause(lane, listenerId, partition);
+        }
+        dispatch(lane);
+    }
+
+    /**
+     * Current load of one lane, for capacity reporting.
+     */
+    public LaneLoad load(NodeType nodeType) {
+        Lane lane = lanes.get(nodeType);
+        synchronized (lane.scheduler) {
+            return new LaneLoad(
+                    lane.maxConcurrency,
+                    lane.running,
+                    lane.scheduler.queued(),
+                    lane.scheduler.queuedByTenant(),
+                    lane.completed);
+        }
+    }
+
+    public int inFlight() {
+        int inFlight = 0;
+        for (Lane lane : lanes.values()) {
+            synchronized (lane.scheduler) {
+                inFlight += lane.scheduler.outstanding();
+            }
+        }
+        return inFlight;
+    }
+
+    /**
+     * Finish the revoked partitions' accepted records first, so their acknowledgments are part of
+     * the commit the container makes right after this callback.
+     */
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> revoked) {
+        List<PartitionOffsetTracker> trackers = revoked.stream()
+                .map(partitions::get)
+                .filter(tracker -> tracker != null && tracker.outstanding() > 0)
+                .toList();
+        if (!trackers.isEmpty()) {
+            boolean finished = awaitCompletion(() -> trackers.stream().allMatch(tracker -> tracker.outstanding() == 0));
+            if (!finished) {
+                logger.warn("Revoked partitions still had executions running after {} seconds", drainTimeout.toSeconds());
+            }
+        }
+        forget(revoked);
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> lost) {
+        forget(lost);
+    }
+
+    @Override
+    public void start() {
+        draining = false;
+        started = true;
+    }
+
+    /**
+     * Pause the input listeners and wait for accepted records to finish and publish. Runs before the
+     * listener containers stop, which then commit the acknowledged offsets and close their consumers.
+     */
+    @Override
+    public void stop() {
+        started = false;
+        draining = true;
+        Stream.of(PlanInputListener.LISTENER_ID, TaskInputListener.LISTENER_ID)
+                .map(listenerRegistry::getListenerContainer)
+                .filter(Objects::nonNull)
+                .forEach(MessageListenerContainer::pause);
+        int outstanding = inFlight();
+        if (outstanding == 0) {
+            return;
+        }
+        logger.info("Draining {} accepted executions before shutdown, for up to {} seconds", outstanding, drainTimeout.toSeconds());
+        long startedAt = System.nanoTime();
+        if (awaitCompletion(() -> inFlight() == 0)) {
+            logger.info("Drained execution stage in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        } else {
+            logger.warn(
+                    "Execution stage still had {} executions after {} seconds; they will be redelivered",
+                    inFlight(),
+                    drainTimeout.toSeconds());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return started;
+    }
+
+    /**
+     * Stop just before the listener containers, so they are still polling (and committing) while
+     * the stage drains.
+     */
+    @Override
+    public int getPhase() {
+        return AbstractMessageListenerContainer.DEFAULT_PHASE + 1;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private boolean awaitCompletion(BooleanSupplier done) {
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+        synchronized (completions) {
+            while (!done.getAsBoolean()) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    return false;
+                }
+                try {
+                    completions.wait(remainingMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return done.getAsBoolean();
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Start the lane's queued executions in fair order until every one of its slots is taken.
+     */
+    private void dispatch(Lane lane) {
+        while (true) {
+            Runnable next;
+            synchronized (lane.scheduler) {
+                if (lane.running >= lane.maxConcurrency) {
+                    return;
+                }
+                next = lane.scheduler.next();
+                if (next == null) {
+                    return;
+                }
+                lane.running++;
+            }
+            executor.execute(next);
+        }
+    }
+
+    private void run(
+            Lane lane,
+            String tenantId,
+            TopicPartition partition,
+            PartitionOffsetTracker tracker,
+            long offset,
+            Acknowledgment acknowledgment,
+            Runnable work) {
+        try {
+            work.run();
+        } catch (RuntimeException e) {
+            logger.error("Unhandled error executing record {}@{}: {}", partition, offset, e.getMessage(), e);
+        } finally {
+            Acknowledgment watermark = tracker.complete(offset, acknowledgment);
+            if (watermark != null) {
+                // Acks from other threads are queued and committed by the consumer thread on its next poll.
+                watermark.acknowledge();
+            }
+            int tenantInFlight;
+            synchronized (lane.scheduler) {
+                lane.running--;
+                lane.completed++;
+                tenantInFlight = lane.scheduler.complete(tenantId);
+            }
+            if (tenantInFlight <= lane.resumeThreshold) {
+                resume(lane, tenantId);
+            }
+            synchronized (completions) {
+                completions.notifyAll();
+            }
+            dispatch(lane);
+        }
+    }
+
+    private synchronized void pause(Lane lane, String listenerId, TopicPartition partition) {
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(listenerId);
+        if (container == null || lane.pausedPartitions.putIfAbsent(partition, listenerId) != null) {
+            return;
+        }
+        container.pausePartition(partition);
+        logger.info("Paused partition {} at the tenant in-flight limit of {}", partition, lane.maxInFlight);
+        int tenantInFlight;
+        synchronized (lane.scheduler) {
+            tenantInFlight = lane.scheduler.outstanding(tenantOf(partition));
+        }
+        if (tenantInFlight <= lane.resumeThreshold) {
+            // The tenant drained before the pause landed; nothing else would resume it.
+            resume(lane, tenantOf(partition));
+        }
+    }
+
+    private void resume(Lane lane, String tenantId) {
+        if (lane.pausedPartitions.isEmpty() || draining) {
+            return;
+        }
+        synchronized (this) {
+            lane.pausedPartitions.entrySet().removeIf(paused -> {
+                if (!tenantId.equals(tenantOf(paused.getKey()))) {
+                    return false;
+                }
+                MessageListenerContainer container = listenerRegistry.getListenerContainer(paused.getValue());
+                if (container != null) {
+                    container.resumePartition(paused.getKey());
+                    logger.info("Resumed partition {}", paused.getKey());
+                }
+                return true;
+            });
+        }
+    }
+
+    private static String laneName(NodeType nodeType) {
+        return nodeType.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static String tenantOf(TopicPartition partition) {
+        String tenantId = TopicNames.extractTenantId(partition.topic());
+        return tenantId == null || tenantId.isBlank() ? UNKNOWN_TENANT : tenantId;
+    }
+
+    private void forget(Collection<TopicPartition> topicPartitions) {
+        for (TopicPartition partition : topicPartitions) {
+            PartitionOffsetTracker tracker = partitions.remove(partition);
+            if (tracker != null) {
+                if (tracker.outstanding() > 0) {
+                    logger.info(
+                            "Partition {} revoked with {} executions outstanding; their offsets will not be committed",
+                            partition,
+                            tracker.outstanding());
+                }
+                tracker.revoke();
+            }
+            for (Lane lane : lanes.values()) {
+                lane.pausedPartitions.remove(partition);
+            }
+        }
+    }
+
+    /**
+     * Snapshot of one lane.
+     *
+     * @param queuedByTenant executions not yet started, for each tenant that has any
+     * @param completed      executions finished since startup, successfully or not
+     */
+    public record LaneLoad(
+            int maxConcurrency,
+            int running,
+            int queued,
+            Map<String, Integer> queuedByTenant,
+            long completed) {
+    }
+
+    /**
+     * Execution slots, tenant queues and paused partitions of one node type.
+     */
+    private static final class Lane {
+        private final int maxConcurrency;
+        private final int maxInFlight;
+        private final int resumeThreshold;
+        private final TenantFairScheduler scheduler;
+        private final Map<TopicPartition, String> pausedPartitions = new ConcurrentHashMap<>();
+        private int running;
+        private long completed;
+
+        private Lane(int maxConcurrency, int maxInFlight, TenantFairScheduler scheduler) {
+            this.maxConcurrency = maxConcurrency;
+            this.maxInFlight = maxInFlight;
+            this.resumeThreshold = maxInFlight / 2;
+            this.scheduler = scheduler;
+        }
+    }
+}
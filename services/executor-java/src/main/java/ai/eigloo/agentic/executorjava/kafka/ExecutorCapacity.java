@@ -0,0 +1,351 @@
+package ai.eigloo.agentic.executorjava.kafka;
+
+import ai.eigloo.agentic.common.TopicNames;
+import ai.eigloo.agentic.executorjava.config.ExecutionStageProperties;
+import ai.eigloo.agentic.executorjava.config.ExecutorCapacityProperties;
+import ai.eigloo.agentic.executorjava.model.NodeType;
+import ai.eigloo.agentic.executorjava.service.PythonProcessExecutor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ConsumerGroupDescription;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load and capacity signals for autoscaling executors on saturation rather than CPU, which says
+ * little about nodes that mostly wait on I/O.
+ *
+ * <p>Per lane it exports execution slots ({@code executor.capacity.slots}, busy/idle), queued
+ * executions, runner workers ({@code executor.python.workers}, busy/idle), completed executions
+ * and recent throughput, and the consumer group's lag per tenant on the input topics. From these
+ * it derives one {@code executor.capacity.desired.replicas} gauge: for every lane this executor
+ * serves, enough replicas to keep slot utilization at the target and to work off the backlog
+ * within the target drain time at the observed throughput, capped at the number of input
+ * partitions, since extra consumers would sit idle. Every replica computes it from the shared lag
+ * and its own load, so autoscalers should use the maximum or average across pods.
+ *
+ * <p>The same figures are served as one document by the {@code capacity} actuator endpoint.
+ * Lag and throughput are sampled periodically; the other figures are read live.
+ */
+@Component
+@Endpoint(id = "capacity")
+public class ExecutorCapacity {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutorCapacity.class);
+    private static final long ADMIN_TIMEOUT_SECONDS = 10;
+
+    private final ExecutorCapacityProperties properties;
+    private final ExecutionStageProperties stageProperties;
+    private final ExecutionStage executionStage;
+    private final PythonProcessExecutor pythonProcessExecutor;
+    private final KafkaAdmin kafkaAdmin;
+    private final MeterRegistry meterRegistry;
+    private final Map<NodeType, LaneSample> samples = new EnumMap<>(NodeType.class);
+    private final Map<String, AtomicLong> lagGauges = new ConcurrentHashMap<>();
+    private final AtomicInteger desiredReplicas = new AtomicInteger(1);
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(
+            runnable -> Thread.ofPlatform().daemon().name("executor-capacity-sampler").unstarted(runnable));
+    private Admin admin;
+    private long lastSampleNanos;
+
+    public ExecutorCapacity(
+            ExecutorCapacityProperties properties,
+            ExecutionStageProperties stageProperties,
+            ExecutionStage executionStage,
+            PythonProcessExecutor pythonProcessExecutor,
+            KafkaAdmin kafkaAdmin,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.stageProperties = stageProperties;
+        this.executionStage = executionStage;
+        this.pythonProcessExecutor = pythonProcessExecutor;
+        this.kafkaAdmin = kafkaAdmin;
+        this.meterRegistry = meterRegistry;
+        this.desiredReplicas.set(Math.max(1, properties.getMinReplicas()));
+        for (NodeType nodeType : NodeType.values()) {
+            samples.put(nodeType, new LaneSample());
+            registerLaneMeters(nodeType);
+        }
+        Gauge.builder("executor.capacity.desired.replicas", desiredReplicas, AtomicInteger::get)
+                .description("Executor replicas needed for the current load and backlog")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        long interval = Math.max(1, properties.getSampleIntervalSeconds());
+        sampler.scheduleWithFixedDelay(this::sampleSafely, 0, interval, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        sampler.shutdownNow();
+        synchronized (this) {
+            if (admin != null) {
+                admin.close(Duration.ofSeconds(2));
+            }
+        }
+    }
+
+    @ReadOperation
+    public CapacityReport capacity() {
+        Map<String, LaneReport> lanes = new HashMap<>();
+        for (NodeType nodeType : NodeType.values()) {
+            ExecutionStage.LaneLoad load = executionStage.load(nodeType);
+            PythonProcessExecutor.WorkerCounts workers = pythonProcessExecutor.workerCounts(nodeType);
+            LaneSample sample = samples.get(nodeType);
+            lanes.put(laneName(nodeType), new LaneReport(
+                    stageProperties.laneFor(nodeType).isEnabled(),
+                    load.maxConcurrency(),
+                    load.running(),
+                    load.queued(),
+                    load.queuedByTenant(),
+                    workers.busy(),
+                    workers.idle(),
+                    sample.lag,
+                    sample.lagByTenant,
+                    sample.consumers,
+                    sample.partitions,
+                    sample.throughput,
+                    sample.desiredReplicas));
+        }
+        return new CapacityReport(desiredReplicas.get(), lanes);
+    }
+
+    private void registerLaneMeters(NodeType nodeType) {
+        String lane = laneName(nodeType);
+        Gauge.builder("executor.capacity.slots", executionStage, stage -> stage.load(nodeType).running())
+                .description("Execution slots in use or free")
+                .tag("lane", lane)
+                .tag("state", "busy")
+                .register(meterRegistry);
+        Gauge.builder("executor.capacity.slots", executionStage, stage -> {
+                    ExecutionStage.LaneLoad load = stage.load(nodeType);
+                    return Math.max(0, load.maxConcurrency() - load.running());
+                })
+                .description("Execution slots in use or free")
+                .tag("lane", lane)
+                .tag("state", "idle")
+                .register(meterRegistry);
+        Gauge.builder("executor.capacity.queued", executionStage, stage -> stage.load(nodeType).queued())
+                .description("Executions accepted but waiting for a slot")
+                .tag("lane", lane)
+                .register(meterRegistry);
+        Gauge.builder("executor.python.workers", pythonProcessExecutor, python -> python.workerCounts(nodeType).busy())
+                .description("Long-lived python runner workers running a call or waiting for one")
+                .tag("lane", lane)
+                .tag("state", "busy")
+                .register(meterRegistry);
+        Gauge.builder("executor.python.workers", pythonProcessExecutor, python -> python.workerCounts(nodeType).idle())
+                .description("Long-lived python runner workers running a call or waiting for one")
+                .tag("lane", lane)
+                .tag("state", "idle")
+                .register(meterRegistry);
+        FunctionCounter.builder("executor.executions.completed", executionStage, stage -> stage.load(nodeType).completed())
+                .description("Executions finished, successfully or not")
+                .tag("lane", lane)
+                .register(meterRegistry);
+        Gauge.builder("executor.throughput", samples.get(nodeType), sample -> sample.throughput)
+                .description("Executions finished per second over the last sample interval")
+                .tag("lane", lane)
+                .register(meterRegistry);
+    }
+
+    private void sampleSafely() {
+        try {
+            sample();
+        } catch (RuntimeException e) {
+            logger.warn("Executor capacity sample failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void sample() {
+        long now = System.nanoTime();
+        double elapsedSeconds = lastSampleNanos == 0 ? 0 : (now - lastSampleNanos) / 1e9;
+        lastSampleNanos = now;
+
+        int desired = Math.max(1, properties.getMinReplicas());
+        for (NodeType nodeType : NodeType.values()) {
+            LaneSample sample = samples.get(nodeType);
+            ExecutionStage.LaneLoad load = executionStage.load(nodeType);
+            if (elapsedSeconds > 0) {
+                sample.throughput = (load.completed() - sample.completed) / elapsedSeconds;
+            }
+            sample.completed = load.completed();
+            if (!stageProperties.laneFor(nodeType).isEnabled()) {
+                continue;
+            }
+            try {
+                sampleLag(nodeType, sample);
+            } catch (ExecutionException | TimeoutException | RuntimeException e) {
+                logger.debug("Could not sample consumer lag for {} lane: {}", laneName(nodeType), e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            sample.desiredReplicas = desiredReplicas(load, sample);
+            desired = Math.max(desired, sample.desiredReplicas);
+        }
+        desiredReplicas.set(desired);
+    }
+
+    /**
+     * Lag of the lane's consumer group on every input partition it has committed offsets for.
+     */
+    private void sampleLag(NodeType nodeType, LaneSample sample)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        String groupId = nodeType == NodeType.PLAN ? PlanInputListener.GROUP_ID : TaskInputListener.GROUP_ID;
+        Admin client = admin();
+        Map<TopicPartition, OffsetAndMetadata> committed = client.listConsumerGroupOffsets(groupId)
+                .partitionsToOffsetAndMetadata()
+                .get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        Map<TopicPartition, OffsetSpec> latest = new HashMap<>();
+        committed.keySet().forEach(partition -> latest.put(partition, OffsetSpec.latest()));
+        Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> ends = client.listOffsets(latest)
+                .all()
+                .get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        ConsumerGroupDescription group = client.describeConsumerGroups(List.of(groupId))
+                .describedGroups()
+                .get(groupId)
+                .get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        long lag = 0;
+        Map<String, Long> lagByTenant = new HashMap<>();
+        for (Map.Entry<TopicPartition, OffsetAndMetadata> entry : committed.entrySet()) {
+            ListOffsetsResult.ListOffsetsResultInfo end = ends.get(entry.getKey());
+            if (entry.getValue() == null || end == null) {
+                continue;
+            }
+            long partitionLag = Math.max(0, end.offset() - entry.getValue().offset());
+            String tenantId = TopicNames.extractTenantId(entry.getKey().topic());
+            lagByTenant.merge(tenantId == null || tenantId.isBlank() ? "unknown" : tenantId, partitionLag, Long::sum);
+            lag += partitionLag;
+        }
+
+        String lane = laneName(nodeType);
+        lagGauges.forEach((key, value) -> {
+            if (key.startsWith(lane + "/")) {
+                value.set(0);
+            }
+        });
+        lagByTenant.forEach((tenantId, tenantLag) -> lagGauge(lane, tenantId).set(tenantLag));
+        sample.lag = lag;
+        sample.lagByTenant = Map.copyOf(lagByTenant);
+        sample.consumers = group.members().size();
+        sample.partitions = committed.size();
+    }
+
+    private int desiredReplicas(ExecutionStage.LaneLoad load, LaneSample sample) {
+        int consumers = Math.max(1, sample.consumers);
+        double utilization = (load.running() + load.queued()) / (double) Math.max(1, load.maxConcurrency());
+        double replicas = consumers * utilization / Math.max(0.01, properties.getTargetUtilization());
+        if (sample.lag > 0) {
+            // Never scale in while a backlog is waiting, whatever this replica's own load.
+            replicas = Math.max(replicas, consumers);
+            if (sample.throughput > 0) {
+                replicas = Math.max(
+                        replicas, sample.lag / (sample.throughput * Math.max(1, properties.getTargetDrainSeconds())));
+            }
+        }
+        int desired = (int) Math.ceil(replicas);
+        if (sample.partitions > 0) {
+            desired = Math.min(desired, sample.partitions);
+        }
+        if (properties.getMaxReplicas() > 0) {
+            desired = Math.min(desired, properties.getMaxReplicas());
+        }
+        return Math.max(Math.max(1, properties.getMinReplicas()), desired);
+    }
+
+    private AtomicLong lagGauge(String lane, String tenantId) {
+        return lagGauges.computeIfAbsent(lane + "/" + tenantId, key -> {
+            AtomicLong value = new AtomicLong();
+            Gauge.builder("executor.consumer.lag", value, AtomicLong::get)
+                    .description("Input records not yet consumed by the lane's consumer group")
+                    .tag("lane", lane)
+                    .tag("tenant", tenantId)
+                    .register(meterRegistry);
+            return value;
+        });
+    }
+
+    private synchronized Admin admin() {
+        if (admin == null) {
+            admin = Admin.create(kafkaAdmin.getConfigurationProperties());
+        }
+        return admin;
+    }
+
+    private static String laneName(NodeType nodeType) {
+        return nodeType.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Sampled figures of one lane; written by the sampler thread only.
+     */
+    private static final class LaneSample {
+        private volatile long completed;
+        private volatile double throughput;
+        private volatile long lag;
+        private volatile Map<String, Long> lagByTenant = Map.of();
+        private volatile int consumers;
+        private volatile int partitions;
+        private volatile int desiredReplicas;
+    }
+
+    /**
+     * Document served by the {@code capacity} actuator endpoint.
+     */
+    public record CapacityReport(int desiredReplicas, Map<String, LaneReport> lanes) {
+    }
+
+    /**
+     * @param enabled             whether this executor consumes the lane's inputs
+     * @param consumers           members of the lane's consumer group, i.e. replicas serving it
+     * @param partitions          input partitions the group has committed offsets for
+     * @param throughputPerSecond executions this replica finished per second, recently
+     * @param desiredReplicas     replicas this lane alone asks for
+     */
+    public record LaneReport(
+            boolean enabled,
+            int maxConcurrency,
+            int running,
+            int queued,
+            Map<String, Integer> queuedByTenant,
+            int busyWorkers,
+            int idleWorkers,
+            long lag,
+            Map<String, Long> lagByTenant,
+            int consumers,
+            int partitions,
+            double throughputPerSecond,
+            int desiredReplicas) {
+    }
+}
@@ -0,0 +1,61 @@
+package ai.eigloo.agentic.executorjava.kafka;
+
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Completion state of the records of one assigned partition.
+ *
+ * <p>Records may finish in any order, but the committed offset must never move past a record
+ * that is still running. {@link #complete} therefore only hands back the acknowledgment of the
+ * highest completed record below the lowest outstanding one; acknowledging it commits every
+ * record before it as well.
+ */
+final class PartitionOffsetTracker {
+
+    private final TreeSet<Long> outstanding = new TreeSet<>();
+    private final TreeMap<Long, Acknowledgment> completed = new TreeMap<>();
+    private boolean revoked;
+
+    synchronized void start(long offset) {
+        outstanding.add(offset);
+    }
+
+    /**
+     * Mark a record done.
+     *
+     * @return the acknowledgment to call now, or {@code null} if the contiguous watermark did not move
+     */
+    synchronized Acknowledgment complete(long offset, Acknowledgment acknowledgment) {
+        if (revoked || !outstanding.remove(offset)) {
+            return null;
+        }
+        completed.put(offset, acknowledgment);
+
+        long lowestOutstanding = outstanding.isEmpty() ? Long.MAX_VALUE : outstanding.first();
+        NavigableMap<Long, Acknowledgment> committable = completed.headMap(lowestOutstanding, false);
+        if (committable.isEmpty()) {
+            return null;
+        }
+        Acknowledgment watermark = committable.lastEntry().getValue();
+        committable.clear();
+        return watermark;
+    }
+
+    synchronized int outstanding() {
+        return outstanding.size();
+    }
+
+    /**
+     * Stop acknowledging after the partition moved to another consumer; executions still
+     * running for it finish but no longer commit.
+     */
+    synchronized void revoke() {
+        revoked = true;
+        outstanding.clear();
+        completed.clear();
+    }
+}
@@ -2,6 +2,8 @@ package ai.eigloo.agentic.executorjava.kafka;
 
 import ai.eigloo.agentic.common.ProtobufUtils;
 import ai.eigloo.agentic.common.TopicNames;
+import ai.eigloo.agentic.executorjava.model.NodeType;
+import ai.eigloo.agentic.executorjava.service.ExecutionDedupeStore;
 import ai.eigloo.agentic.executorjava.service.ExecutorOrchestrationService;
 import ai.eigloo.proto.model.Common.PlanExecution;
 import ai.eigloo.proto.model.Common.PlanInput;
@@ -14,49 +16,63 @@ import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
+
 @Component
 public class PlanInputListener {
 
     private static final Logger logger = LoggerFactory.getLogger(PlanInputListener.class);
 
+    static final String LISTENER_ID = "executor-java-plan-inputs";
+    static final String GROUP_ID = "executor-java-plan-inputs";
+
     private final ExecutorOrchestrationService orchestrationService;
     private final ExecutorOutputProducer executorOutputProducer;
+    private final ExecutionStage executionStage;
+    private final ExecutionDedupeStore dedupeStore;
 
     public PlanInputListener(
             ExecutorOrchestrationService orchestrationService,
-            ExecutorOutputProducer executorOutputProducer) {
+            ExecutorOutputProducer executorOutputProducer,
+            ExecutionStage executionStage,
+            ExecutionDedupeStore dedupeStore) {
         this.orchestrationService = orchestrationService;
         this.executorOutputProducer = executorOutputProducer;
+        this.executionStage = executionStage;
+        this.dedupeStore = dedupeStore;
     }
 
     @KafkaListener(
+            id = LISTENER_ID,
             topicPattern = "#{@kafkaTopicPatterns.planInputsPattern}",
-            groupId = "executor-java-plan-inputs",
-            containerFactory = "tenantAwareKafkaListenerContainerFactory"
+            groupId = GROUP_ID,
+            containerFactory = "executorKafkaListenerContainerFactory",
+            autoStartup = "${executor.execution.plan.enabled:true}"
     )
     public void handlePlanInput(
             ConsumerRecord<String, byte[]> record,
             @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
             Acknowledgment acknowledgment) {
+        executionStage.submit(NodeType.PLAN, LISTENER_ID, record, acknowledgment, () -> process(record, topic));
+    }
+
+    private void process(ConsumerRecord<String, byte[]> record, String topic) {
         try {
             String tenantId = TopicNames.extractTenantId(topic);
             if (tenantId == null || tenantId.isBlank()) {
                 logger.error("Could not extract tenant id from topic {}", topic);
-                acknowledgment.acknowledge();
                 return;
             }
 
             PlanInput planInput = ProtobufUtils.deserializePlanInput(record.value());
             if (planInput == null) {
                 logger.error("Could not deserialize PlanInput from topic {}", topic);
-                acknowledgment.acknowledge();
                 return;
             }
             if (planInput.getGraphId().isBlank() || planInput.getLifetimeId().isBlank()) {
                 logger.error(
                         "Rejecting PlanInput '{}' for plan '{}' due to missing graph_id/lifetime_id",
                         planInput.getInputId(), planInput.getPlanName());
-                acknowledgment.acknowledge();
                 return;
             }
 
@@ -70,9 +86,22 @@ public class PlanInputListener {
                     topic,
                     record.key());
 
+            Optional<PlanExecution> recorded = dedupeStore.find(
+                    tenantId, NodeType.PLAN, planInput.getLifetimeId(), planInput.getInputId(), PlanExecution.parser());
+            if (recorded.isPresent()) {
+                logger.info(
+                        "Executor republishing recorded plan execution for redelivered input tenant={} lifetime={} inputId={} exec={}",
+                        tenantId,
+                        planInput.getLifetimeId(),
+                        planInput.getInputId(),
+                        recorded.get().getHeader().getExecId());
+                executorOutputProducer.publishPlanExecution(tenantId, recorded.get()).join();
+                return;
+            }
+
             PlanExecution execution = orchestrationService.handlePlanInput(tenantId, planInput);
+            dedupeStore.record(tenantId, NodeType.PLAN, planInput.getLifetimeId(), planInput.getInputId(), execution);
             executorOutputProducer.publishPlanExecution(tenantId, execution).join();
-            acknowledgment.acknowledge();
         } catch (Exception e) {
             logger.error("Error handling PlanInput from topic {}: {}", topic, e.getMessage(), e);
         }
@@ -0,0 +1,96 @@
+package ai.eigloo.agentic.executorjava.kafka;
+
+import ai.eigloo.agentic.executorjava.config.ExecutorPrewarmProperties;
+import ai.eigloo.agentic.executorjava.service.RunCancellationRegistry;
+import ai.eigloo.agentic.executorjava.service.RunPrewarmer;
+import ai.eigloo.proto.model.Common.GraphRunStatusChange;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prewarms the nodes of graph runs that were just queued and cancels in-flight executions of
+ * graph runs that have ended.
+ *
+ * <p>Every executor needs every status change, since any of them may be running the run's nodes,
+ * so each instance consumes in its own group. A pattern subscription only sees a new tenant's
+ * topic at the next metadata refresh, so new partitions are read from the earliest offset rather
+ * than skipping the first changes on them. Replayed terminal statuses are harmless, as ending a
+ * run twice is a no-op; replayed announcements older than {@code executor.prewarm.max-age-seconds}
+ * are not prewarmed. The listener keeps running while {@link ExecutionStage} drains on shutdown.
+ */
+@Component
+public class RunStatusListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(RunStatusListener.class);
+
+    static final String LISTENER_ID = "executor-java-run-status";
+
+    private static final String QUEUED_STATUS = "QUEUED";
+    private static final Set<String> TERMINAL_STATUSES = Set.of("SUCCEEDED", "FAILED", "CANCELED");
+
+    private final RunCancellationRegistry runCancellations;
+    private final RunPrewarmer runPrewarmer;
+    private final ExecutionStage executionStage;
+    private final ExecutorPrewarmProperties prewarmProperties;
+
+    public RunStatusListener(
+            RunCancellationRegistry runCancellations,
+            RunPrewarmer runPrewarmer,
+            ExecutionStage executionStage,
+            ExecutorPrewarmProperties prewarmProperties) {
+        this.runCancellations = runCancellations;
+        this.runPrewarmer = runPrewarmer;
+        this.executionStage = executionStage;
+        this.prewarmProperties = prewarmProperties;
+    }
+
+    @KafkaListener(
+            id = LISTENER_ID,
+            topicPattern = "#{@kafkaTopicPatterns.graphRunStatusPattern}",
+            groupId = "${executor.cancellation.group-id:executor-java-run-status-${random.uuid}}",
+            containerFactory = "tenantAwareKafkaListenerContainerFactory",
+            properties = "auto.offset.reset=earliest"
+    )
+    public void handleRunStatus(
+            ConsumerRecord<String, byte[]> record,
+            @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+            Acknowledgment acknowledgment) {
+        try {
+            GraphRunStatusChange change = GraphRunStatusChange.parseFrom(record.value());
+            logger.debug(
+                    "Executor consumed graph run status tenant={} graph={} lifetime={} status={} topic={}",
+                    change.getTenantId(),
+                    change.getGraphId(),
+                    change.getLifetimeId(),
+                    change.getStatus(),
+                    topic);
+            if (change.getLifetimeId().isBlank()) {
+                return;
+            }
+            if (QUEUED_STATUS.equals(change.getStatus())) {
+                long ageMillis = System.currentTimeMillis() - record.timestamp();
+                if (ageMillis > TimeUnit.SECONDS.toMillis(prewarmProperties.getMaxAgeSeconds())) {
+                    return;
+                }
+                runPrewarmer.prewarm(
+                        change.getTenantId(), change.getGraphId(), change.getLifetimeId(), executionStage::inFlight);
+            } else if (TERMINAL_STATUSES.contains(change.getStatus())) {
+                runCancellations.cancelRun(change.getTenantId(), change.getLifetimeId(), change.getStatus());
+            }
+        } catch (InvalidProtocolBufferException e) {
+            logger.error("Could not deserialize GraphRunStatusChange from topic {}: {}", topic, e.getMessage());
+        } finally {
+            acknowledgment.acknowledge();
+        }
+    }
+}
@@ -2,6 +2,8 @@ package ai.eigloo.agentic.executorjava.kafka;
 
 import ai.eigloo.agentic.common.ProtobufUtils;
 import ai.eigloo.agentic.common.TopicNames;
+import ai.eigloo.agentic.executorjava.model.NodeType;
+import ai.eigloo.agentic.executorjava.service.ExecutionDedupeStore;
 import ai.eigloo.agentic.executorjava.service.ExecutorOrchestrationService;
 import ai.eigloo.proto.model.Common.TaskExecution;
 import ai.eigloo.proto.model.Common.TaskInput;
@@ -14,49 +16,63 @@ import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
+
 @Component
 public class TaskInputListener {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskInputListener.class);
 
+    static final String LISTENER_ID = "executor-java-task-inputs";
+    static final String GROUP_ID = "executor-java-task-inputs";
+
     private final ExecutorOrchestrationService orchestrationService;
     private final ExecutorOutputProducer executorOutputProducer;
+    private final ExecutionStage executionStage;
+    private final ExecutionDedupeStore dedupeStore;
 
     public TaskInputListener(
             ExecutorOrchestrationService orchestrationService,
-            ExecutorOutputProducer executorOutputProducer) {
+            ExecutorOutputProducer executorOutputProducer,
+            ExecutionStage executionStage,
+            ExecutionDedupeStore dedupeStore) {
         this.orchestrationService = orchestrationService;
         this.executorOutputProducer = executorOutputProducer;
+        this.executionStage = executionStage;
+        this.dedupeStore = dedupeStore;
     }
 
     @KafkaListener(
+            id = LISTENER_ID,
             topicPattern = "#{@kafkaTopicPatterns.taskInputsPattern}",
-            groupId = "executor-java-task-inputs",
-            containerFactory = "tenantAwareKafkaListenerContainerFactory"
+            groupId = GROUP_ID,
+            containerFactory = "executorKafkaListenerContainerFactory",
+            autoStartup = "${executor.execution.task.enabled:true}"
     )
     public void handleTaskInput(
             ConsumerRecord<String, byte[]> record,
             @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
             Acknowledgment acknowledgment) {
+        executionStage.submit(NodeType.TASK, LISTENER_ID, record, acknowledgment, () -> process(record, topic));
+    }
+
+    private void process(ConsumerRecord<String, byte[]> record, String topic) {
         try {
             String tenantId = TopicNames.extractTenantId(topic);
             if (tenantId == null || tenantId.isBlank()) {
                 logger.error("Could not extract tenant id from topic {}", topic);
-                acknowledgment.acknowledge();
                 return;
             }
 
             TaskInput taskInput = ProtobufUtils.deserializeTaskInput(record.value());
             if (taskInput == null) {
                 logger.error("Could not deserialize TaskInput from topic {}", topic);
-                acknowledgment.acknowledge();
                 return;
             }
             if (taskInput.getGraphId().isBlank() || taskInput.getLifetimeId().isBlank()) {
                 logger.error(
                         "Rejecting TaskInput '{}' for task '{}' due to missing graph_id/lifetime_id",
                         taskInput.getInputId(), taskInput.getTaskName());
-                acknowledgment.acknowledge();
                 return;
             }
 
@@ -70,9 +86,22 @@ public class TaskInputListener {
                     topic,
                     record.key());
 
+            Optional<TaskExecution> recorded = dedupeStore.find(
+                    tenantId, NodeType.TASK, taskInput.getLifetimeId(), taskInput.getInputId(), TaskExecution.parser());
+            if (recorded.isPresent()) {
+                logger.info(
+                        "Executor republishing recorded task execution for redelivered input tenant={} lifetime={} inputId={} exec={}",
+                        tenantId,
+                        taskInput.getLifetimeId(),
+                        taskInput.getInputId(),
+                        recorded.get().getHeader().getExecId());
+                executorOutputProducer.publishTaskExecution(tenantId, recorded.get()).join();
+                return;
+            }
+
             TaskExecution execution = orchestrationService.handleTaskInput(tenantId, taskInput);
+            dedupeStore.record(tenantId, NodeType.TASK, taskInput.getLifetimeId(), taskInput.getInputId(), execution);
             executorOutputProducer.publishTaskExecution(tenantId, execution).join();
-            acknowledgment.acknowledge();
         } catch (Exception e) {
             logger.error("Error handling TaskInput from topic {}: {}", topic, e.getMessage(), e);
         }
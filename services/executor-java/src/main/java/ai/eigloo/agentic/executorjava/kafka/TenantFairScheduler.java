@@ -0,0 +1,156 @@
+package ai.eigloo.agentic.executorjava.kafka;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-tenant queues dispatched by deficit round robin.
+ *
+ * <p>Every tenant with queued work sits in an active ring. The tenant at the head gets a
+ * quantum equal to its weight and may dispatch that many executions before it moves to the
+ * back of the ring, so a tenant with a deep backlog cannot delay others by more than one
+ * round. Executions are treated as equal cost; their run time is not known up front.
+ *
+ * <p>Not thread-safe on its own; {@link ExecutionStage} serializes access.
+ */
+final class TenantFairScheduler {
+
+    private final MeterRegistry meterRegistry;
+    private final String lane;
+    private final Map<String, Integer> tenantWeights;
+    private final int defaultWeight;
+
+    private final Map<String, TenantQueue> tenants = new HashMap<>();
+    private final ArrayDeque<TenantQueue> active = new ArrayDeque<>();
+    private int outstanding;
+    private int queued;
+
+    TenantFairScheduler(MeterRegistry meterRegistry, String lane, Map<String, Integer> tenantWeights, int defaultWeight) {
+        this.meterRegistry = meterRegistry;
+        this.lane = lane;
+        this.tenantWeights = Map.copyOf(tenantWeights);
+        this.defaultWeight = Math.max(1, defaultWeight);
+    }
+
+    /**
+     * Queue one execution for a tenant.
+     *
+     * @return the tenant's accepted-but-unfinished executions, including this one
+     */
+    int enqueue(String tenantId, Runnable task) {
+        TenantQueue queue = tenants.computeIfAbsent(tenantId, this::newQueue);
+        if (queue.tasks.isEmpty()) {
+            active.addLast(queue);
+        }
+        queue.tasks.addLast(new QueuedTask(task, System.nanoTime()));
+        queue.outstanding++;
+        outstanding++;
+        queued++;
+        return queue.outstanding;
+    }
+
+    /**
+     * Take the next execution to run, or {@code null} if nothing is queued.
+     */
+    Runnable next() {
+        TenantQueue queue = active.peekFirst();
+        if (queue == null) {
+            return null;
+        }
+        if (queue.deficit < 1) {
+            queue.deficit += queue.weight;
+        }
+        QueuedTask task = queue.tasks.pollFirst();
+        queue.deficit--;
+        queued--;
+        if (queue.tasks.isEmpty()) {
+            active.pollFirst();
+            queue.deficit = 0;
+        } else if (queue.deficit < 1) {
+            active.addLast(active.pollFirst());
+        }
+        queue.waitTimer.record(System.nanoTime() - task.enqueuedAtNanos(), TimeUnit.NANOSECONDS);
+        return task.task();
+    }
+
+    /**
+     * Record that one of a tenant's executions finished.
+     *
+     * @return the tenant's remaining accepted-but-unfinished executions
+     */
+    int complete(String tenantId) {
+        TenantQueue queue = tenants.get(tenantId);
+        if (queue == null) {
+            return 0;
+        }
+        queue.outstanding--;
+        outstanding--;
+        return queue.outstanding;
+    }
+
+    int outstanding() {
+        return outstanding;
+    }
+
+    /**
+     * Executions accepted but not yet started.
+     */
+    int queued() {
+        return queued;
+    }
+
+    /**
+     * Executions not yet started, for each tenant that has any.
+     */
+    Map<String, Integer> queuedByTenant() {
+        Map<String, Integer> queuedByTenant = new HashMap<>();
+        for (TenantQueue queue : active) {
+            queuedByTenant.put(queue.tenantId, queue.tasks.size());
+        }
+        return queuedByTenant;
+    }
+
+    int outstanding(String tenantId) {
+        TenantQueue queue = tenants.get(tenantId);
+        return queue == null ? 0 : queue.outstanding;
+    }
+
+    private TenantQueue newQueue(String tenantId) {
+        TenantQueue queue = new TenantQueue(tenantId, Math.max(1, tenantWeights.getOrDefault(tenantId, defaultWeight)));
+        Gauge.builder("executor.scheduler.queue.depth", queue, q -> q.tasks.size())
+                .description("Executions queued for a tenant and not yet started")
+                .tag("tenant", tenantId)
+                .tag("lane", lane)
+                .register(meterRegistry);
+        queue.waitTimer = Timer.builder("executor.scheduler.wait")
+                .description("Time executions spend queued before they start")
+                .tag("tenant", tenantId)
+                .tag("lane", lane)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        return queue;
+    }
+
+    private static final class TenantQueue {
+        private final String tenantId;
+        private final int weight;
+        private final ArrayDeque<QueuedTask> tasks = new ArrayDeque<>();
+        private int deficit;
+        private int outstanding;
+        private Timer waitTimer;
+
+        private TenantQueue(String tenantId, int weight) {
+            this.tenantId = tenantId;
+            this.weight = weight;
+        }
+    }
+
+    private record QueuedTask(Runnable task, long enqueuedAtNanos) {
+    }
+}
@@ -0,0 +1,13 @@
+package ai.eigloo.agentic.executorjava.model;
+
+/**
+ * Micro-batching a node declared with top-level {@code BATCH_SIZE} and {@code BATCH_LINGER_MS}
+ * in its entry script; {@code 0} means the executor default.
+ *
+ * @param maxSize      most inputs run in one runner call
+ * @param lingerMillis how long the first input waits for others to join its batch
+ */
+public record NodeBatching(int maxSize, int lingerMillis) {
+
+    public static final NodeBatching DEFAULT = new NodeBatching(0, 0);
+}
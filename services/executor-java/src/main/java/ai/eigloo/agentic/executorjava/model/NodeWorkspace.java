@@ -0,0 +1,28 @@
+package ai.eigloo.agentic.executorjava.model;
+
+import java.nio.file.Path;
+
+/**
+ * Materialized node source for one execution.
+ *
+ * @param contentHash        hash of the node's file set; identifies the shared workspace
+ * @param workspaceDirectory read-only directory shared by all executions with the same hash
+ * @param scriptPath         entry script inside the workspace
+ * @param scratchDirectory   per-execution writable directory; only created on first use
+ * @param environmentHash    hash of the node's installed requirements, or {@code null} if it has none
+ * @param sitePackages       installed requirements layered over the shared interpreter, or {@code null}
+ * @param coroutine          whether the entry function is an {@code async def}
+ * @param batching           micro-batching settings declared by the node
+ * @param timeoutSeconds     timeout declared by the node, or {@code 0} to use the executor's
+ */
+public record NodeWorkspace(
+        String contentHash,
+        Path workspaceDirectory,
+        Path scriptPath,
+        Path scratchDirectory,
+        String environmentHash,
+        Path sitePackages,
+        boolean coroutine,
+        NodeBatching batching,
+        int timeoutSeconds) {
+}
@@ -0,0 +1,12 @@
+package ai.eigloo.agentic.executorjava.model;
+
+import ai.eigloo.proto.model.Common.ResourceUsage;
+
+/**
+ * Result of one Python call together with what it cost.
+ *
+ * @param result        the node's result message
+ * @param resourceUsage wall time, CPU, peak RSS and output sizes of the call
+ */
+public record PythonRun<T>(T result, ResourceUsage resourceUsage) {
+}
@@ -2,11 +2,23 @@ package ai.eigloo.agentic.executorjava.model;
 
 import java.util.List;
 
+/**
+ * @param contentHash hash of {@code files}; identifies the node's shared workspace and memoized results
+ * @param memoize     whether the node declared itself a pure function of its input
+ * @param coroutine   whether the entry function is an {@code async def}
+ * @param batching    micro-batching settings declared by the node
+ * @param timeoutSeconds timeout declared with top-level {@code TIMEOUT_SECONDS}, or {@code 0}
+ */
 public record ResolvedExecutorNode(
         NodeType nodeType,
         String graphId,
         String lifetimeId,
         String nodeName,
         String scriptFileName,
-        List<ExecutorFilePayload> files) {
+        List<ExecutorFilePayload> files,
+        String contentHash,
+        boolean memoize,
+        boolean coroutine,
+        NodeBatching batching,
+        int timeoutSeconds) {
 }
@@ -0,0 +1,19 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import java.io.IOException;
+
+/**
+ * Storage for payloads too large to travel inline in Kafka messages.
+ *
+ * <p>Implementations return a URI that the Python side can resolve (see
+ * {@code agentic_common.stored_data}); the scheme selects the resolver there.
+ */
+public interface BlobStore {
+
+    /**
+     * Store bytes for a tenant.
+     *
+     * @return the URI to put on {@code StoredData.uri}
+     */
+    String put(String tenantId, byte[] bytes) throws IOException;
+}
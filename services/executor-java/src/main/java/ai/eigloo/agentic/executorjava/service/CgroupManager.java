@@ -0,0 +1,271 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import ai.eigloo.agentic.executorjava.config.ExecutorPythonProperties;
+import ai.eigloo.agentic.executorjava.model.NodeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * cgroup v2 child groups that confine runner processes.
+ *
+ * <p>At startup the executor's group (or the configured root) becomes a parent with the cpu,
+ * memory and pids controllers enabled for its children. cgroup v2 only delegates controllers
+ * from a group that holds no processes itself, so processes already in the executor's own
+ * group are first moved into an {@code executor} leaf next to the runner groups.
+ *
+ * <p>If any of that fails (no cgroup v2 mount, group not delegated, read-only filesystem) the
+ * manager is disabled and every {@link Group} it hands out is a no-op, so runners still start,
+ * just without limits.
+ */
+final class CgroupManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(CgroupManager.class);
+
+    private static final Path MOUNT = Path.of("/sys/fs/cgroup");
+    private static final List<String> CONTROLLERS = List.of("cpu", "memory", "pids");
+
+    private final ExecutorPythonProperties.Cgroups properties;
+    private final Path parent;
+
+    private CgroupManager(ExecutorPythonProperties.Cgroups properties, Path parent) {
+        this.properties = properties;
+        this.parent = parent;
+    }
+
+    static CgroupManager create(ExecutorPythonProperties.Cgroups properties) {
+        if (!properties.isEnabled()) {
+            return new CgroupManager(properties, null);
+        }
+        try {
+            Path parent = prepareParent(properties.getRoot());
+            logger.info("Confining python runners to cgroup v2 children of {}", parent);
+            return new CgroupManager(properties, parent);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("cgroup isolation for python runners is disabled: {}", e.getMessage());
+            return new CgroupManager(properties, null);
+        }
+    }
+
+    /**
+     * Create a group with the limits of the node class. Returns a no-op group when disabled or
+     * when the group cannot be created.
+     */
+    Group open(NodeType nodeType) {
+        if (parent == null) {
+            return Group.NONE;
+        }
+        ExecutorPythonProperties.Limits limits =
+                nodeType == NodeType.PLAN ? properties.getPlan() : properties.getTask();
+        Path directory = parent.resolve(
+                "runner-" + nodeType.name().toLowerCase(Locale.ROOT) + "-" + UUID.randomUUID());
+        try {
+            Files.createDirectory(directory);
+            writeLimit(directory, "cpu.max", limits.getCpuMax());
+            writeLimit(directory, "memory.max", limits.getMemoryMax());
+            writeLimit(directory, "pids.max", limits.getPidsMax());
+            return new Group(directory, limits);
+        } catch (IOException e) {
+            logger.warn("Failed to create cgroup {}; runner will not be confined: {}", directory, e.getMessage());
+            new Group(directory, limits).close();
+            return Group.NONE;
+        }
+    }
+
+    private static Path prepareParent(String configuredRoot) throws IOException {
+        if (!Files.isRegularFile(MOUNT.resolve("cgroup.controllers"))) {
+            throw new IOException("cgroup v2 is not mounted at " + MOUNT);
+        }
+
+        Path parent;
+        if (configuredRoot == null || configuredRoot.isBlank()) {
+            parent = MOUNT.resolve(stripLeadingSlash(ownCgroupPath()));
+            List<String> residents = readLines(parent.resolve("cgroup.procs"));
+            if (!residents.isEmpty()) {
+                Path leaf = parent.resolve("executor");
+                Files.createDirectories(leaf);
+                for (String pid : residents) {
+                    try {
+                        Files.writeString(leaf.resolve("cgroup.procs"), pid);
+                    } catch (NoSuchFileException ignored) {
+                        // The process exited since the group was listed.
+                    }
+                }
+            }
+        } else {
+            parent = MOUNT.resolve(stripLeadingSlash(configuredRoot.trim()));
+            Files.createDirectories(parent);
+        }
+
+        Set<String> available = Set.of(Files.readString(parent.resolve("cgroup.controllers")).trim().split("\\s+"));
+        String enable = CONTROLLERS.stream()
+                .filter(available::contains)
+                .map(controller -> "+" + controller)
+                .collect(Collectors.joining(" "));
+        if (enable.isEmpty()) {
+            throw new IOException("none of " + CONTROLLERS + " are available in " + parent);
+        }
+        Files.writeString(parent.resolve("cgroup.subtree_control"), enable);
+        return parent;
+    }
+
+    private static String ownCgroupPath() throws IOException {
+        for (String line : readLines(Path.of("/proc/self/cgroup"))) {
+            if (line.startsWith("0::")) {
+                return line.substring(3);
+            }
+        }
+        throw new IOException("executor is not in a cgroup v2 hierarchy");
+    }
+
+    private static void writeLimit(Path directory, String file, String value) throws IOException {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        Path path = directory.resolve(file);
+        if (Files.exists(path)) {
+            Files.writeString(path, value.trim());
+        }
+    }
+
+    private static String stripLeadingSlash(String path) {
+        return path.startsWith("/") ? path.substring(1) : path;
+    }
+
+    private static List<String> readLines(Path path) throws IOException {
+        return Files.readAllLines(path).stream().map(String::trim).filter(line -> !line.isEmpty()).toList();
+    }
+
+    /**
+     * Kernel event counters used to tell why a confined runner failed.
+     */
+    record Counters(long oomKills, long pidsMaxHits, long throttledMicros) {
+        static final Counters ZERO = new Counters(0, 0, 0);
+    }
+
+    /**
+     * One child group. Instances from a disabled manager ignore every call.
+     */
+    static final class Group {
+
+        static final Group NONE = new Group(null, null);
+
+        private final Path directory;
+        private final ExecutorPythonProperties.Limits limits;
+
+        Group(Path directory, ExecutorPythonProperties.Limits limits) {
+            this.directory = directory;
+            this.limits = limits;
+        }
+
+        void attach(long pid) {
+            if (directory == null) {
+                return;
+            }
+            try {
+                Files.writeString(directory.resolve("cgroup.procs"), Long.toString(pid));
+            } catch (IOException e) {
+                logger.warn("Failed to move python process pid={} into {}: {}", pid, directory, e.getMessage());
+            }
+        }
+
+        Counters counters() {
+            if (directory == null) {
+                return Counters.ZERO;
+            }
+            return new Counters(
+                    readKey(directory.resolve("memory.events"), "oom_kill"),
+                    readKey(directory.resolve("pids.events"), "max"),
+                    readKey(directory.resolve("cpu.stat"), "throttled_usec"));
+        }
+
+        /**
+         * Why a runner in this group died since {@code before}, or {@code null} if the limits
+         * were not involved.
+         */
+        String describeFailure(Counters before) {
+            if (directory == null) {
+                return null;
+            }
+            Counters now = counters();
+            if (now.oomKills() > before.oomKills()) {
+                return "was killed by the OOM killer after reaching memory.max=" + limits.getMemoryMax();
+            }
+            if (now.pidsMaxHits() > before.pidsMaxHits()) {
+                return "could not start a process or thread after reaching pids.max=" + limits.getPidsMax();
+            }
+            return null;
+        }
+
+        /**
+         * Timeout message, noting CPU throttling when {@code cpu.max} held the runner back.
+         */
+        String describeTimeout(Duration timeout, Counters before) {
+            String message = "Python process timed out after " + timeout.getSeconds() + " seconds";
+            if (directory == null) {
+                return message;
+            }
+            long throttledMillis = (counters().throttledMicros() - before.throttledMicros()) / 1000;
+            if (throttledMillis <= 0) {
+                return message;
+            }
+            return message + " while CPU-throttled for " + throttledMillis + " ms by cpu.max=" + limits.getCpuMax();
+        }
+
+        /**
+         * Kill anything left in the group and remove it.
+         */
+        void close() {
+            if (directory == null) {
+                return;
+            }
+            try {
+                Path kill = directory.resolve("cgroup.kill");
+                if (Files.exists(kill)) {
+                    Files.writeString(kill, "1");
+                }
+            } catch (IOException e) {
+                logger.debug("Failed to kill processes in {}: {}", directory, e.getMessage());
+            }
+            // rmdir fails with EBUSY until the killed processes are reaped.
+            for (int attempt = 0; attempt < 20; attempt++) {
+                try {
+                    Files.deleteIfExists(directory);
+                    return;
+                } catch (IOException e) {
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+            logger.warn("Could not remove cgroup {}", directory);
+        }
+
+        private static long readKey(Path file, String key) {
+            try {
+                for (String line : Files.readAllLines(file)) {
+                    String[] parts = line.trim().split("\\s+");
+                    if (parts.length == 2 && parts[0].equals(key)) {
+                        return Long.parseLong(parts[1]);
+                    }
+                }
+            } catch (IOException | NumberFormatException e) {
+                logger.debug("Failed to read {} from {}: {}", key, file, e.getMessage());
+            }
+            return 0;
+        }
+    }
+}
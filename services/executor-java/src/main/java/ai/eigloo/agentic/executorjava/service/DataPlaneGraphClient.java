@@ -2,12 +2,12 @@ package ai.eigloo.agentic.executorjava.service;
 
 import ai.eigloo.agentic.executorjava.config.DataPlaneClientProperties;
 import ai.eigloo.agentic.graph.api.GraphLookupResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientResponseException;
 
-import java.util.Optional;
-
 /**
  * Data-plane client used by executor-java for graph/node source lookups.
  */
@@ -20,28 +20,74 @@ public class DataPlaneGraphClient {
         this.restClient = restClientBuilder.baseUrl(normalizeBaseUrl(properties.getBaseUrl())).build();
     }
 
-    public Optional<GraphLookupResponse> getGraph(String tenantId, String graphId) {
+    /**
+     * Fetch a graph unless the data plane still has version {@code knownVersion}.
+     *
+     * @param knownVersion ETag from an earlier fetch, or {@code null} to always fetch
+     */
+    public GraphFetch getGraphIfModified(String tenantId, String graphId, String knownVersion) {
         try {
-            GraphLookupResponse response = restClient.get()
+            ResponseEntity<GraphLookupResponse> response = restClient.get()
                     .uri(uriBuilder -> uriBuilder
                             .path("/internal/v1/graphs/{graphId}")
                             .queryParam("tenantId", tenantId)
                             .build(graphId))
+                    .headers(headers -> {
+                        if (knownVersion != null) {
+                            headers.setIfNoneMatch(quote(knownVersion));
+                        }
+                    })
                     .retrieve()
-                    .body(GraphLookupResponse.class);
-            return Optional.ofNullable(response);
+                    .toEntity(GraphLookupResponse.class);
+            if (response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                return new GraphFetch(FetchStatus.NOT_MODIFIED, null, knownVersion);
+            }
+            if (response.getBody() == null) {
+                return new GraphFetch(FetchStatus.NOT_FOUND, null, null);
+            }
+            return new GraphFetch(FetchStatus.MODIFIED, response.getBody(), unquote(response.getHeaders().getETag()));
         } catch (RestClientResponseException ex) {
             if (ex.getStatusCode().value() == 404) {
-                return Optional.empty();
+                return new GraphFetch(FetchStatus.NOT_FOUND, null, null);
             }
             throw ex;
         }
     }
 
+    private static String quote(String version) {
+        return version.startsWith("\"") || version.startsWith("W/") ? version : "\"" + version + "\"";
+    }
+
+    private static String unquote(String etag) {
+        if (etag == null) {
+            return null;
+        }
+        String value = etag.startsWith("W/") ? etag.substring(2) : etag;
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
     private static String normalizeBaseUrl(String baseUrl) {
         if (baseUrl == null || baseUrl.isBlank()) {
             return "http://localhost:8081";
         }
         return baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
     }
+
+    public enum FetchStatus {
+        MODIFIED,
+        NOT_MODIFIED,
+        NOT_FOUND
+    }
+
+    /**
+     * Outcome of a conditional graph lookup.
+     *
+     * @param graph   the graph when {@code status} is {@link FetchStatus#MODIFIED}, otherwise {@code null}
+     * @param version the data-plane ETag for the graph, or {@code null} if it sent none
+     */
+    public record GraphFetch(FetchStatus status, GraphLookupResponse graph, String version) {
+    }
 }
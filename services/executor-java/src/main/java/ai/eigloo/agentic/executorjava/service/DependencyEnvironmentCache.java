@@ -0,0 +1,326 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import ai.eigloo.agentic.executorjava.config.ExecutorPythonProperties;
+import ai.eigloo.agentic.executorjava.model.ExecutorFilePayload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Installed dependencies for nodes that ship a {@code requirements.txt}, shared by hash.
+ *
+ * <p>Each distinct requirement set is installed once, offline from the configured wheelhouse,
+ * into {@code {working-root}/environments/{sha256}/site-packages} and layered over the shared
+ * interpreter via {@code PYTHONPATH}. The shared interpreter stays underneath because the
+ * runner itself needs its protobuf package. Environments are leased like workspaces and
+ * evicted least-recently-used by {@link WorkspaceJanitor} when over budget.
+ */
+@Service
+public class DependencyEnvironmentCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(DependencyEnvironmentCache.class);
+    static final String REQUIREMENTS_FILE = "requirements.txt";
+
+    private final ExecutorPythonProperties pythonProperties;
+    private final PythonProcessExecutor pythonProcessExecutor;
+    private final Map<String, EnvironmentUsage> usages = new ConcurrentHashMap<>();
+
+    public DependencyEnvironmentCache(
+            ExecutorPythonProperties pythonProperties,
+            PythonProcessExecutor pythonProcessExecutor) {
+        this.pythonProperties = pythonProperties;
+        this.pythonProcessExecutor = pythonProcessExecutor;
+    }
+
+    /**
+     * Lease the environment for a node's files, installing it first if needed.
+     *
+     * @return the hash of the environment, or {@code null} if the node has no requirements or
+     * environments are not configured
+     */
+    public String acquire(List<ExecutorFilePayload> files) throws IOException {
+        String wheelhouse = pythonProperties.getEnvironments().getWheelhouse();
+        if (wheelhouse == null || wheelhouse.isBlank()) {
+            return null;
+        }
+        List<String> requirements = requirements(files);
+        if (requirements.isEmpty()) {
+            return null;
+        }
+
+        String hash = environmentHash(pythonProperties.getCommand(), requirements);
+        EnvironmentUsage usage = lease(hash);
+        try {
+            synchronized (usage) {
+                if (!usage.ready) {
+                    Path directory = environmentsRoot().resolve(hash);
+                    if (!Files.isDirectory(directory)) {
+                        install(requirements, directory, Path.of(wheelhouse));
+                    }
+                    usage.sizeBytes = sizeOf(directory);
+                    usage.ready = true;
+                }
+            }
+            return hash;
+        } catch (IOException | RuntimeException e) {
+            usage.release();
+            throw e;
+        }
+    }
+
+    public void release(String hash) {
+        if (hash == null) {
+            return;
+        }
+        EnvironmentUsage usage = usages.get(hash);
+        if (usage != null) {
+            usage.release();
+        }
+    }
+
+    public Path sitePackages(String hash) {
+        return environmentsRoot().resolve(hash).resolve("site-packages");
+    }
+
+    public Path environmentsRoot() {
+        return pythonProcessExecutor.resolveWorkingRootPath().resolve("environments");
+    }
+
+    long maxBytes() {
+        return pythonProperties.getEnvironments().getMaxBytes();
+    }
+
+    /**
+     * Snapshot of known environments for the janitor, registering any found on disk from a previous run.
+     */
+    List<EnvironmentUsage> environmentUsages() throws IOException {
+        Path root = environmentsRoot();
+        if (Files.isDirectory(root)) {
+            try (Stream<Path> children = Files.list(root)) {
+                for (Path child : children.toList()) {
+                    String name = child.getFileName().toString();
+                    if (!name.startsWith(".") && Files.isDirectory(child) && !usages.containsKey(name)) {
+                        EnvironmentUsage usage = new EnvironmentUsage(name, Files.getLastModifiedTime(child).toMillis());
+                        if (usages.putIfAbsent(name, usage) == null) {
+                            synchronized (usage) {
+                                usage.sizeBytes = sizeOf(child);
+                                usage.ready = true;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(usages.values());
+    }
+
+    /**
+     * Remove an environment if nothing is using it; same protocol as {@link NodeWorkspaceCache#evict}.
+     *
+     * @return {@code true} if the environment was evicted
+     */
+    boolean evict(EnvironmentUsage usage) throws IOException {
+        Path directory = environmentsRoot().resolve(usage.hash);
+        Path trash = environmentsRoot().resolve(".trash-" + UUID.randomUUID());
+        synchronized (usage) {
+            if (usage.leases > 0 || usage.evicted) {
+                return false;
+            }
+            usage.evicted = true;
+            try {
+                if (Files.isDirectory(directory)) {
+                    Files.move(directory, trash, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } finally {
+                usages.remove(usage.hash, usage);
+            }
+        }
+        NodeWorkspaceCache.deleteRecursively(trash);
+        return true;
+    }
+
+    private EnvironmentUsage lease(String hash) {
+        while (true) {
+            EnvironmentUsage usage = usages.computeIfAbsent(
+                    hash, key -> new EnvironmentUsage(key, System.currentTimeMillis()));
+            synchronized (usage) {
+                if (!usage.evicted) {
+                    usage.leases++;
+                    usage.lastUsedMillis = System.currentTimeMillis();
+                    return usage;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private void install(List<String> requirements, Path directory, Path wheelhouse) throws IOException {
+        Path root = directory.getParent();
+        Files.createDirectories(root);
+        Path staging = root.resolve(".staging-" + UUID.randomUUID());
+        Files.createDirectories(staging);
+        long startedAt = System.nanoTime();
+        try {
+            Path requirementsFile = staging.resolve(REQUIREMENTS_FILE);
+            Files.write(requirementsFile, requirements, StandardCharsets.UTF_8);
+            Path log = staging.resolve("install.log");
+
+            ProcessBuilder processBuilder = new ProcessBuilder(
+                    pythonProperties.getCommand(), "-m", "pip", "install",
+                    "--no-index",
+                    "--find-links", wheelhouse.toAbsolutePath().toString(),
+                    "--target", staging.resolve("site-packages").toString(),
+                    "--disable-pip-version-check",
+                    "--no-input",
+                    "-r", requirementsFile.toString());
+            processBuilder.redirectErrorStream(true);
+            processBuilder.redirectOutput(log.toFile());
+            Process process = processBuilder.start();
+
+            int timeoutSeconds = Math.max(1, pythonProperties.getEnvironments().getInstallTimeoutSeconds());
+            if (!process.waitFor(timeoutSeconds, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new IllegalStateException("Installing requirements timed out after " + timeoutSeconds + " seconds");
+            }
+            if (process.exitValue() != 0) {
+                throw new IllegalStateException("Installing requirements failed: " + tail(log));
+            }
+
+            try {
+                Files.move(staging, directory, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(staging, directory);
+            }
+        } catch (FileAlreadyExistsException | DirectoryNotEmptyException e) {
+            // Another executor process on the same root installed the same set first.
+            NodeWorkspaceCache.deleteRecursively(staging);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            NodeWorkspaceCache.deleteRecursively(staging);
+            throw new IllegalStateException("Interrupted while installing requirements", e);
+        } catch (IOException | RuntimeException e) {
+            NodeWorkspaceCache.deleteRecursively(staging);
+            throw e;
+        }
+        logger.info(
+                "Built python environment {} requirements={} tookMs={}",
+                directory.getFileName(),
+                requirements.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    /**
+     * Requirement lines of the node's top-level {@code requirements.txt}, without comments or
+     * blank lines and sorted, so formatting and ordering changes map to the same environment.
+     */
+    static List<String> requirements(List<ExecutorFilePayload> files) {
+        for (ExecutorFilePayload file : files) {
+            if (REQUIREMENTS_FILE.equals(file.name()) && file.contents() != null) {
+                return file.contents().lines()
+                        .map(line -> {
+                            int comment = line.indexOf('#');
+                            return (comment >= 0 ? line.substring(0, comment) : line).trim();
+                        })
+                        .filter(line -> !line.isEmpty())
+                        .sorted()
+                        .distinct()
+                        .toList();
+            }
+        }
+        return List.of();
+    }
+
+    static String environmentHash(String pythonCommand, List<String> requirements) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        // Installed wheels are specific to the interpreter they were built for.
+        digest.update((pythonCommand + "\n").getBytes(StandardCharsets.UTF_8));
+        for (String requirement : requirements) {
+            digest.update((requirement + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static long sizeOf(Path directory) throws IOException {
+        long bytes = 0;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.toList()) {
+                if (Files.isRegularFile(path)) {
+                    bytes += Files.size(path);
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private static String tail(Path log) {
+        try {
+            String output = Files.readString(log).trim();
+            return output.length() > 2000 ? output.substring(output.length() - 2000) : output;
+        } catch (IOException e) {
+            return "(no installer output)";
+        }
+    }
+
+    /**
+     * Lease count, recency and size of one installed environment.
+     */
+    static final class EnvironmentUsage {
+        private final String hash;
+        private int leases;
+        private boolean ready;
+        private boolean evicted;
+        private volatile long lastUsedMillis;
+        private volatile long sizeBytes;
+
+        private EnvironmentUsage(String hash, long lastUsedMillis) {
+            this.hash = hash;
+            this.lastUsedMillis = lastUsedMillis;
+        }
+
+        String hash() {
+            return hash;
+        }
+
+        long lastUsedMillis() {
+            return lastUsedMillis;
+        }
+
+        long sizeBytes() {
+            return sizeBytes;
+        }
+
+        synchronized boolean inUse() {
+            return leases > 0;
+        }
+
+        private synchronized void release() {
+            leases = Math.max(0, leases - 1);
+            lastUsedMillis = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent calls with the same key into one batch.
+ *
+ * <p>The first caller for a key opens a batch and waits up to the linger time, or until the
+ * batch is full, for others to join. It then runs the whole batch and hands every caller its
+ * own result; callers that joined only wait. A batch nobody joined runs as a batch of one.
+ */
+final class ExecutionBatcher {
+
+    private final Map<Object, Batch<?, ?>> open = new ConcurrentHashMap<>();
+
+    /**
+     * @param runner runs a batch and returns one result per item, in order; if it throws, every
+     *               caller in the batch gets the exception
+     */
+    <I, R> R submit(Object key, int maxSize, Duration linger, I item, Function<List<I>, List<R>> runner) {
+        while (true) {
+            @SuppressWarnings("unchecked")
+            Batch<I, R> batch = (Batch<I, R>) open.computeIfAbsent(key, ignored -> new Batch<>(maxSize));
+            int index = batch.join(item);
+            if (index < 0) {
+                // Filled or started by others since it was looked up.
+                open.remove(key, batch);
+                continue;
+            }
+            if (index == 0) {
+                batch.awaitCompany(linger);
+                open.remove(key, batch);
+                batch.run(runner);
+            } else if (batch.isClosed()) {
+                open.remove(key, batch);
+            }
+            return batch.result(index);
+        }
+    }
+
+    private static final class Batch<I, R> {
+        private final int maxSize;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition full = lock.newCondition();
+        private final List<I> items = new ArrayList<>();
+        private final CompletableFuture<List<R>> results = new CompletableFuture<>();
+        private boolean closed;
+
+        private Batch(int maxSize) {
+            this.maxSize = Math.max(1, maxSize);
+        }
+
+        /**
+         * @return the item's position in the batch, or {@code -1} if the batch no longer takes items
+         */
+        private int join(I item) {
+            lock.lock();
+            try {
+                if (closed) {
+                    return -1;
+                }
+                items.add(item);
+                if (items.size() >= maxSize) {
+                    closed = true;
+                    full.signalAll();
+                }
+                return items.size() - 1;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean isClosed() {
+            lock.lock();
+            try {
+                return closed;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void awaitCompany(Duration linger) {
+            long remaining = linger.toNanos();
+            boolean interrupted = false;
+            lock.lock();
+            try {
+                while (!closed && remaining > 0) {
+                    try {
+                        remaining = full.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                        break;
+                    }
+                }
+                closed = true;
+            } finally {
+                lock.unlock();
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void run(Function<List<I>, List<R>> runner) {
+            try {
+                List<I> batch = List.copyOf(items);
+                List<R> batchResults = runner.apply(batch);
+                if (batchResults.size() != batch.size()) {
+                    throw new IllegalStateException(
+                            "Batch returned " + batchResults.size() + " results for " + batch.size() + " items");
+                }
+                results.complete(batchResults);
+            } catch (RuntimeException e) {
+                results.completeExceptionally(e);
+            }
+        }
+
+        private R result(int index) {
+            try {
+                return results.join().get(index);
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package ai.eigloo.agentic.executorjava.service;
+
+/**
+ * Cancellation signal for one execution, raised by {@link RunCancellationRegistry} when the
+ * execution's graph run ends while it is still running.
+ *
+ * <p>The transport running the execution registers a hook that stops its python work, e.g. kills
+ * the runner process, and clears it once that work is done so a late cancellation cannot touch a
+ * process that has moved on to other executions. A hook registered after cancellation runs at once.
+ */
+public final class ExecutionCancellation {
+
+    /**
+     * Signal for executions that are not tied to a run, such as the items of a micro-batch.
+     */
+    static final ExecutionCancellation NONE = new ExecutionCancellation();
+
+    private String reason;
+    private Runnable hook;
+
+    public synchronized boolean isCancelled() {
+        return reason != null;
+    }
+
+    public synchronized String reason() {
+        return reason;
+    }
+
+    void onCancel(Runnable hook) {
+        if (this == NONE) {
+            return;
+        }
+        synchronized (this) {
+            if (reason == null) {
+                this.hook = hook;
+                return;
+            }
+        }
+        hook.run();
+    }
+
+    synchronized void clear() {
+        hook = null;
+    }
+
+    void cancel(String reason) {
+        Runnable pending;
+        synchronized (this) {
+            if (this == NONE || this.reason != null) {
+                return;
+            }
+            this.reason = reason;
+            pending = hook;
+            hook = null;
+        }
+        if (pending != null) {
+            pending.run();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import ai.eigloo.agentic.executorjava.config.ExecutorDedupeProperties;
+import ai.eigloo.agentic.executorjava.model.NodeType;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Completed executions by input, so a redelivered input republishes its recorded output
+ * instead of running the node again.
+ *
+ * <p>An input is redelivered when the executor stops after running it, or loses its partition in
+ * a rebalance, before its offset is committed; the redelivery usually lands on another executor.
+ * Entries are keyed on tenant, node type, lifetime id and input id, written before the execution
+ * is published, and kept as one file each under {@code executor.dedupe.directory}, which must be
+ * shared by all executors of the group. Without it the store is off. Entries expire
+ * {@code ttl-seconds} after they were written; a background sweep deletes them.
+ */
+@Component
+public class ExecutionDedupeStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionDedupeStore.class);
+
+    private final ExecutorDedupeProperties properties;
+    private final Counter planHits;
+    private final Counter taskHits;
+    private final Counter expired;
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(
+            runnable -> Thread.ofPlatform().daemon().name("dedupe-sweeper").unstarted(runnable));
+
+    public ExecutionDedupeStore(
+            ExecutorDedupeProperties properties,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.planHits = Counter.builder("executor.dedupe.hits")
+                .description("Redelivered inputs answered from a recorded execution")
+                .tag("type", "plan")
+                .register(meterRegistry);
+        this.taskHits = Counter.builder("executor.dedupe.hits")
+                .description("Redelivered inputs answered from a recorded execution")
+                .tag("type", "task")
+                .register(meterRegistry);
+        this.expired = Counter.builder("executor.dedupe.expired")
+                .description("Recorded executions removed after their TTL")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isStoreEnabled()) {
+            return;
+        }
+        long interval = Math.max(1, properties.getSweepIntervalSeconds());
+        sweeper.scheduleWithFixedDelay(this::sweepSafely, interval, interval, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        sweeper.shutdownNow();
+    }
+
+    /**
+     * @return the execution recorded for this input, if it completed within the TTL
+     */
+    public <T> Optional<T> find(
+            String tenantId, NodeType nodeType, String lifetimeId, String inputId, Parser<T> parser) {
+        if (!properties.isStoreEnabled() || inputId.isBlank()) {
+            return Optional.empty();
+        }
+        Path path = entryPath(tenantId, nodeType, lifetimeId, inputId);
+        try {
+            if (isExpired(path, System.currentTimeMillis())) {
+                Files.deleteIfExists(path);
+                return Optional.empty();
+            }
+            T execution = parser.parseFrom(Files.readAllBytes(path));
+            (nodeType == NodeType.PLAN ? planHits : taskHits).increment();
+            return Optional.of(execution);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (InvalidProtocolBufferException e) {
+            logger.warn("Discarding unreadable dedupe entry {}: {}", path, e.getMessage());
+            deleteQuietly(path);
+            return Optional.empty();
+        } catch (IOException e) {
+            logger.warn("Failed reading dedupe entry {}: {}", path, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Remember the execution produced for an input. Call before publishing it, so a stop between
+     * publish and offset commit is answered from the store on redelivery.
+     */
+    public void record(
+            String tenantId, NodeType nodeType, String lifetimeId, String inputId, MessageLite execution) {
+        if (!properties.isStoreEnabled() || inputId.isBlank()) {
+            return;
+        }
+        Path path = entryPath(tenantId, nodeType, lifetimeId, inputId);
+        try {
+            Files.createDirectories(path.getParent());
+            Path temp = path.resolveSibling(".tmp-" + UUID.randomUUID());
+            Files.write(temp, execution.toByteArray());
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            // Publishing still goes ahead; the only loss is dedupe for this input.
+            logger.warn("Failed recording execution for input {}: {}", inputId, e.getMessage());
+        }
+    }
+
+    private void sweepSafely() {
+        try {
+            sweep();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Dedupe store sweep failed: {}", e.getMessage(), e);
+        }
+    }
+
+    void sweep() throws IOException {
+        Path root = root();
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(root)) {
+            files = paths.filter(Files::isRegularFile).toList();
+        }
+        int removed = 0;
+        for (Path file : files) {
+            if (isExpired(file, now) && deleteQuietly(file)) {
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            expired.increment(removed);
+            logger.debug("Removed {} expired dedupe entries", removed);
+        }
+    }
+
+    private boolean isExpired(Path path, long nowMillis) throws IOException {
+        long ageMillis = nowMillis - Files.getLastModifiedTime(path).toMillis();
+        return ageMillis > TimeUnit.SECONDS.toMillis(properties.getTtlSeconds());
+    }
+
+    private Path root() {
+        String directory = properties.getDirectory();
+        if (directory == null || directory.isBlank()) {
+            throw new IllegalStateException("executor.dedupe.directory is not set");
+        }
+        return Paths.get(directory).toAbsolutePath().normalize();
+    }
+
+    private Path entryPath(String tenantId, NodeType nodeType, String lifetimeId, String inputId) {
+        String key = sha256(tenantId + "\n" + lifetimeId + "\n" + inputId);
+        return root()
+                .resolve(nodeType.name().toLowerCase(Locale.ROOT))
+                .resolve(key.substring(0, 2))
+                .resolve(key + ".pb");
+    }
+
+    private static boolean deleteQuietly(Path path) {
+        try {
+            return Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.debug("Failed deleting dedupe entry {}: {}", path, e.getMessage());
+            return false;
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
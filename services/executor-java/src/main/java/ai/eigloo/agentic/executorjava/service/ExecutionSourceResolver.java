@@ -1,8 +1,10 @@
 package ai.eigloo.agentic.executorjava.service;
 
 import ai.eigloo.agentic.executorjava.model.ExecutorFilePayload;
+import ai.eigloo.agentic.executorjava.model.NodeBatching;
 import ai.eigloo.agentic.executorjava.model.NodeType;
 import ai.eigloo.agentic.executorjava.model.ResolvedExecutorNode;
+import ai.eigloo.agentic.executorjava.service.ResolvedNodeCache.NodeSource;
 import ai.eigloo.agentic.graph.api.GraphLookupFile;
 import ai.eigloo.agentic.graph.api.GraphLookupPlan;
 import ai.eigloo.agentic.graph.api.GraphLookupResponse;
@@ -14,14 +16,23 @@ import org.springframework.stereotype.Service;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Service
 public class ExecutionSourceResolver {
 
-    private final DataPlaneGraphClient dataPlaneGraphClient;
+    private static final Pattern MEMOIZE_DECLARATION = Pattern.compile("^MEMOIZE\\s*=\\s*True\\b", Pattern.MULTILINE);
+    private static final Pattern ASYNC_PLAN = Pattern.compile("^async\\s+def\\s+plan\\s*\\(", Pattern.MULTILINE);
+    private static final Pattern ASYNC_TASK = Pattern.compile("^async\\s+def\\s+task\\s*\\(", Pattern.MULTILINE);
+    private static final Pattern BATCH_SIZE = Pattern.compile("^BATCH_SIZE\\s*=\\s*(\\d+)\\b", Pattern.MULTILINE);
+    private static final Pattern BATCH_LINGER_MS = Pattern.compile("^BATCH_LINGER_MS\\s*=\\s*(\\d+)\\b", Pattern.MULTILINE);
+    private static final Pattern TIMEOUT_SECONDS = Pattern.compile("^TIMEOUT_SECONDS\\s*=\\s*(\\d+)\\b", Pattern.MULTILINE);
 
-    public ExecutionSourceResolver(DataPlaneGraphClient dataPlaneGraphClient) {
-        this.dataPlaneGraphClient = dataPlaneGraphClient;
+    private final ResolvedNodeCache nodeCache;
+
+    public ExecutionSourceResolver(ResolvedNodeCache nodeCache) {
+        this.nodeCache = nodeCache;
     }
 
     public ResolvedExecutorNode resolvePlanNode(String tenantId, PlanInput planInput) {
@@ -32,25 +43,11 @@ public class ExecutionSourceResolver {
 
         String graphId = requireNonBlank(planInput.getGraphId(), "PlanInput.graph_id");
         String lifetimeId = requireNonBlank(planInput.getLifetimeId(), "PlanInput.lifetime_id");
-        GraphLookupResponse graph = resolveGraph(tenantId, graphId);
-
-        GraphLookupPlan plan = graph.getPlans().stream()
-                .filter(p -> planName.equals(p.getName()))
-                .findFirst()
+        NodeSource plan = nodeCache.get(tenantId, graphId, NodeType.PLAN, planName, this::toNodeSources)
                 .orElseThrow(() -> new IllegalArgumentException(
-                        "Plan '" + planName + "' not found in graph " + graph.getId()));
+                        "Plan '" + planName + "' not found in graph " + graphId));
 
-        List<ExecutorFilePayload> files = toPayloadFiles(plan.getFiles());
-        String scriptFileName = resolveScriptFileName(files, "plan.py");
-
-        return new ResolvedExecutorNode(
-                NodeType.PLAN,
-                graph.getId(),
-                lifetimeId,
-                plan.getName(),
-                scriptFileName,
-                files
-        );
+        return toResolvedNode(plan, lifetimeId, "plan.py");
     }
 
     public ResolvedExecutorNode resolveTaskNode(String tenantId, TaskInput taskInput) {
@@ -61,31 +58,138 @@ public class ExecutionSourceResolver {
 
         String graphId = requireNonBlank(taskInput.getGraphId(), "TaskInput.graph_id");
         String lifetimeId = requireNonBlank(taskInput.getLifetimeId(), "TaskInput.lifetime_id");
-        GraphLookupResponse graph = resolveGraph(tenantId, graphId);
-
-        GraphLookupTask task = graph.getTasks().stream()
-                .filter(t -> taskName.equals(t.getName()))
-                .findFirst()
+        NodeSource task = nodeCache.get(tenantId, graphId, NodeType.TASK, taskName, this::toNodeSources)
                 .orElseThrow(() -> new IllegalArgumentException(
-                        "Task '" + taskName + "' not found in graph " + graph.getId()));
+                        "Task '" + taskName + "' not found in graph " + graphId));
 
-        List<ExecutorFilePayload> files = toPayloadFiles(task.getFiles());
-        String scriptFileName = resolveScriptFileName(files, "task.py");
+        return toResolvedNode(task, lifetimeId, "task.py");
+    }
 
+    /**
+     * Every runnable node of a graph as it would execute in the given run; nodes without a
+     * python script are left out.
+     */
+    public List<ResolvedExecutorNode> resolveGraphNodes(String tenantId, String graphId, String lifetimeId) {
+        List<ResolvedExecutorNode> nodes = new ArrayList<>();
+        for (NodeSource source : nodeCache.getGraph(tenantId, graphId, this::toNodeSources)) {
+            if (source.scriptFileName() != null) {
+                nodes.add(toResolvedNode(source, lifetimeId, source.nodeType() == NodeType.PLAN ? "plan.py" : "task.py"));
+            }
+        }
+        return nodes;
+    }
+
+    private static ResolvedExecutorNode toResolvedNode(NodeSource source, String lifetimeId, String preferredFileName) {
+        if (source.scriptFileName() == null) {
+            throw new IllegalArgumentException("No python script file found; expected " + preferredFileName);
+        }
         return new ResolvedExecutorNode(
-                NodeType.TASK,
-                graph.getId(),
+                source.nodeType(),
+                source.graphId(),
                 lifetimeId,
-                task.getName(),
-                scriptFileName,
-                files
+                source.nodeName(),
+                source.scriptFileName(),
+                source.files(),
+                source.contentHash(),
+                source.memoize(),
+                source.coroutine(),
+                source.batching(),
+                source.timeoutSeconds()
         );
     }
 
-    private GraphLookupResponse resolveGraph(String tenantId, String graphId) {
-        return dataPlaneGraphClient.getGraph(tenantId, graphId)
-                .orElseThrow(() -> new IllegalArgumentException(
-                        "Graph '" + graphId + "' not found for tenant " + tenantId));
+    /**
+     * Convert every node of a fetched graph so sibling nodes are served from cache too.
+     * Nodes without a python file are kept and only fail when they are executed.
+     */
+    private List<NodeSource> toNodeSources(GraphLookupResponse graph) {
+        List<NodeSource> sources = new ArrayList<>();
+        for (GraphLookupPlan plan : graph.getPlans()) {
+            sources.add(toNodeSource(NodeType.PLAN, graph.getId(), plan.getName(), plan.getFiles(), "plan.py"));
+        }
+        for (GraphLookupTask task : graph.getTasks()) {
+            sources.add(toNodeSource(NodeType.TASK, graph.getId(), task.getName(), task.getFiles(), "task.py"));
+        }
+        return sources;
+    }
+
+    private NodeSource toNodeSource(
+            NodeType nodeType,
+            String graphId,
+            String nodeName,
+            List<GraphLookupFile> lookupFiles,
+            String preferredFileName) {
+        List<ExecutorFilePayload> files = List.copyOf(toPayloadFiles(lookupFiles));
+        String scriptFileName = resolveScriptFileName(files, preferredFileName);
+        return new NodeSource(
+                nodeType,
+                graphId,
+                nodeName,
+                scriptFileName,
+                files,
+                NodeWorkspaceCache.contentHash(files),
+                entryScriptMatches(files, scriptFileName, MEMOIZE_DECLARATION),
+                entryScriptMatches(files, scriptFileName, nodeType == NodeType.PLAN ? ASYNC_PLAN : ASYNC_TASK),
+                declaredBatching(files, scriptFileName),
+                declaredTimeoutSeconds(files, scriptFileName),
+                ResolvedNodeCache.estimateSize(files));
+    }
+
+    /**
+     * Nodes tune micro-batching with top-level {@code BATCH_SIZE = n} and {@code BATCH_LINGER_MS = n}.
+     */
+    private static NodeBatching declaredBatching(List<ExecutorFilePayload> files, String scriptFileName) {
+        String contents = entryScript(files, scriptFileName);
+        if (contents == null) {
+            return NodeBatching.DEFAULT;
+        }
+        int maxSize = declaredInt(contents, BATCH_SIZE);
+        int lingerMillis = declaredInt(contents, BATCH_LINGER_MS);
+        if (maxSize == 0 && lingerMillis == 0) {
+            return NodeBatching.DEFAULT;
+        }
+        return new NodeBatching(maxSize, lingerMillis);
+    }
+
+    /**
+     * Nodes pin their timeout with a top-level {@code TIMEOUT_SECONDS = n}, which takes precedence
+     * over the executor's configured and adaptive timeouts.
+     */
+    private static int declaredTimeoutSeconds(List<ExecutorFilePayload> files, String scriptFileName) {
+        String contents = entryScript(files, scriptFileName);
+        return contents == null ? 0 : declaredInt(contents, TIMEOUT_SECONDS);
+    }
+
+    private static int declaredInt(String contents, Pattern pattern) {
+        Matcher matcher = pattern.matcher(contents);
+        if (!matcher.find()) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(matcher.group(1));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Nodes opt in to memoization with a top-level {@code MEMOIZE = True} in their entry script,
+     * and are run as coroutines when the entry function is a top-level {@code async def}.
+     */
+    private static boolean entryScriptMatches(List<ExecutorFilePayload> files, String scriptFileName, Pattern pattern) {
+        String contents = entryScript(files, scriptFileName);
+        return contents != null && pattern.matcher(contents).find();
+    }
+
+    private static String entryScript(List<ExecutorFilePayload> files, String scriptFileName) {
+        if (scriptFileName == null) {
+            return null;
+        }
+        return files.stream()
+                .filter(file -> file.name().equals(scriptFileName))
+                .findFirst()
+                .map(ExecutorFilePayload::contents)
+                .orElse(null);
     }
 
     private static String requireNonBlank(String value, String fieldName) {
@@ -116,7 +220,6 @@ public class ExecutionSourceResolver {
                         .map(ExecutorFilePayload::name)
                         .filter(name -> name.endsWith(".py"))
                         .findFirst()
-                        .orElseThrow(() -> new IllegalArgumentException(
-                                "No python script file found; expected " + preferredFileName)));
+                        .orElse(null));
     }
 }
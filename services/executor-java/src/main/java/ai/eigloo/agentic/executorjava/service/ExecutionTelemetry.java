@@ -0,0 +1,68 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import ai.eigloo.agentic.executorjava.model.ResolvedExecutorNode;
+import ai.eigloo.proto.model.Common.ResourceUsage;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-node resource meters for Python executions, tagged by tenant, graph, node and node type.
+ *
+ * <p>Cardinality grows with the number of distinct nodes across tenants; that is the point (to
+ * find the expensive ones), but these meters are not suited to unbounded, generated node names.
+ */
+@Component
+public class ExecutionTelemetry {
+
+    private final MeterRegistry meterRegistry;
+
+    public ExecutionTelemetry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void record(String tenantId, ResolvedExecutorNode node, ResourceUsage usage) {
+        Tags tags = Tags.of(
+                "tenant", tenantId,
+                "graph", node.graphId(),
+                "node", node.nodeName(),
+                "type", node.nodeType().name().toLowerCase(Locale.ROOT));
+
+        Timer.builder("executor.python.wall")
+                .description("Wall-clock time of Python node calls")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(usage.getWallMs(), TimeUnit.MILLISECONDS);
+        Timer.builder("executor.python.cpu")
+                .description("CPU time of Python node calls")
+                .tags(tags)
+                .tag("mode", "user")
+                .register(meterRegistry)
+                .record(usage.getUserCpuMs(), TimeUnit.MILLISECONDS);
+        Timer.builder("executor.python.cpu")
+                .description("CPU time of Python node calls")
+                .tags(tags)
+                .tag("mode", "system")
+                .register(meterRegistry)
+                .record(usage.getSystemCpuMs(), TimeUnit.MILLISECONDS);
+        summary("executor.python.peak.rss", "Peak resident set size of Python node calls", tags)
+                .record(usage.getPeakRssBytes());
+        summary("executor.python.output.bytes", "Serialized result size of Python node calls", tags)
+                .record(usage.getOutputBytes());
+        summary("executor.python.stderr.bytes", "Log output written by Python node calls", tags)
+                .record(usage.getStderrBytes());
+    }
+
+    private DistributionSummary summary(String name, String description, Tags tags) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(meterRegistry);
+    }
+}
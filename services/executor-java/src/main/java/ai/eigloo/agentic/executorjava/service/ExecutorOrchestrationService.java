@@ -1,25 +1,25 @@
 package ai.eigloo.agentic.executorjava.service;
 
-import ai.eigloo.agentic.executorjava.model.ExecutorFilePayload;
-import ai.eigloo.agentic.executorjava.model.NodeType;
+import ai.eigloo.agentic.executorjava.model.NodeWorkspace;
+import ai.eigloo.agentic.executorjava.model.PythonRun;
 import ai.eigloo.agentic.executorjava.model.ResolvedExecutorNode;
 import ai.eigloo.proto.model.Common.ExecutionHeader;
 import ai.eigloo.proto.model.Common.ExecutionStatus;
 import ai.eigloo.proto.model.Common.PlanExecution;
 import ai.eigloo.proto.model.Common.PlanInput;
 import ai.eigloo.proto.model.Common.PlanResult;
+import ai.eigloo.proto.model.Common.ResourceUsage;
 import ai.eigloo.proto.model.Common.TaskExecution;
 import ai.eigloo.proto.model.Common.TaskInput;
 import ai.eigloo.proto.model.Common.TaskResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -29,10 +29,27 @@ public class ExecutorOrchestrationService {
 
     private final ExecutionSourceResolver sourceResolver;
     private final PythonProcessExecutor pythonProcessExecutor;
+    private final NodeWorkspaceCache workspaceCache;
+    private final ResultMemoCache memoCache;
+    private final ExecutionTelemetry telemetry;
+    private final ResultOffloader resultOffloader;
+    private final RunCancellationRegistry runCancellations;
 
-    public ExecutorOrchestrationService(ExecutionSourceResolver sourceResolver, PythonProcessExecutor pythonProcessExecutor) {
+    public ExecutorOrchestrationService(
+            ExecutionSourceResolver sourceResolver,
+            PythonProcessExecutor pythonProcessExecutor,
+            NodeWorkspaceCache workspaceCache,
+            ResultMemoCache memoCache,
+            ExecutionTelemetry telemetry,
+            ResultOffloader resultOffloader,
+            RunCancellationRegistry runCancellations) {
         this.sourceResolver = sourceResolver;
         this.pythonProcessExecutor = pythonProcessExecutor;
+        this.workspaceCache = workspaceCache;
+        this.memoCache = memoCache;
+        this.telemetry = telemetry;
+        this.resultOffloader = resultOffloader;
+        this.runCancellations = runCancellations;
     }
 
     public PlanExecution handlePlanInput(String tenantId, PlanInput planInput) {
@@ -46,13 +63,44 @@ public class ExecutorOrchestrationService {
                 resolvedNode.nodeName(),
                 planInput.getInputId(),
                 executionId);
+        String memoKey = memoCache.keyFor(tenantId, resolvedNode, planInput);
+        NodeWorkspace workspace = null;
+        ExecutionCancellation cancellation = runCancellations.register(tenantId, resolvedNode.lifetimeId());
+        putLogContext(tenantId, resolvedNode);
         try {
-            MaterializedNode materializedNode = materializeNode(resolvedNode, tenantId, executionId);
-            PlanResult result = pythonProcessExecutor.executePlan(
-                    materializedNode.scriptPath(),
-                    planInput,
-                    tenantId,
-                    materializedNode.workingDirectory());
+            if (cancellation.isCancelled()) {
+                logger.info(
+                        "Executor skipped plan of ended run tenant={} graph={} lifetime={} plan={} exec={}",
+                        tenantId,
+                        resolvedNode.graphId(),
+                        resolvedNode.lifetimeId(),
+                        resolvedNode.nodeName(),
+                        executionId);
+                return buildPlanExecution(
+                        planInput, resolvedNode, tenantId, executionId, ExecutionStatus.EXECUTION_STATUS_CANCELLED,
+                        PlanResult.newBuilder().setErrorMessage(cancellation.reason()).build(), false, null);
+            }
+            if (memoKey != null) {
+                Optional<PlanResult> memoized = memoCache.get(memoKey, PlanResult.parser());
+                if (memoized.isPresent()) {
+                    logger.info(
+                            "Executor reused memoized plan result tenant={} graph={} lifetime={} plan={} exec={}",
+                            tenantId,
+                            resolvedNode.graphId(),
+                            resolvedNode.lifetimeId(),
+                            resolvedNode.nodeName(),
+                            executionId);
+                    return buildPlanExecution(
+                            planInput, resolvedNode, tenantId, executionId, ExecutionStatus.EXECUTION_STATUS_SUCCEEDED, memoized.get(), true, null);
+                }
+            }
+            workspace = materializeNode(resolvedNode, tenantId, executionId);
+            PythonRun<PlanResult> run = pythonProcessExecutor.executePlan(workspace, planInput, tenantId, cancellation);
+            PlanResult result = run.result();
+            telemetry.record(tenantId, resolvedNode, run.resourceUsage());
+            if (memoKey != null && result.getErrorMessage().isEmpty()) {
+                memoCache.put(memoKey, result);
+            }
             logger.info(
                     "Executor completed plan tenant={} graph={} lifetime={} plan={} exec={} nextTasks={}",
                     tenantId,
@@ -61,11 +109,36 @@ public class ExecutorOrchestrationService {
                     resolvedNode.nodeName(),
                     executionId,
                     result.getNextTaskNamesList());
-            return buildPlanExecution(planInput, resolvedNode, tenantId, executionId, ExecutionStatus.EXECUTION_STATUS_SUCCEEDED, result);
+            return buildPlanExecution(
+                    planInput,
+                    resolvedNode,
+                    tenantId,
+                    executionId,
+                    ExecutionStatus.EXECUTION_STATUS_SUCCEEDED,
+                    result,
+                    false,
+                    run.resourceUsage());
         } catch (Exception e) {
+            if (cancellation.isCancelled()) {
+                logger.info(
+                        "Executor cancelled plan tenant={} graph={} lifetime={} plan={} exec={}: {}",
+                        tenantId,
+                        resolvedNode.graphId(),
+                        resolvedNode.lifetimeId(),
+                        resolvedNode.nodeName(),
+                        executionId,
+                        cancellation.reason());
+                return buildPlanExecution(
+                        planInput, resolvedNode, tenantId, executionId, ExecutionStatus.EXECUTION_STATUS_CANCELLED,
+                        PlanResult.newBuilder().setErrorMessage(cancellation.reason()).build(), false, null);
+            }
             logger.error("Plan execution failed for tenant {} plan {}: {}", tenantId, planInput.getPlanName(), e.getMessage(), e);
             PlanResult errorResult = PlanResult.newBuilder().setErrorMessage(compactErrorMessage(e)).build();
-            return buildPlanExecution(planInput, resolvedNode, tenantId, executionId, ExecutionStatus.EXECUTION_STATUS_FAILED, errorResult);
+            return buildPlanExecution(planInput, resolvedNode, tenantId, executionId, ExecutionStatus.EXECUTION_STATUS_FAILED, errorResult, false, null);
+        } finally {
+            runCancellations.release(tenantId, resolvedNode.lifetimeId(), cancellation);
+            workspaceCache.release(workspace);
+            clearLogContext();
         }
     }
 
@@ -80,13 +153,47 @@ public class ExecutorOrchestrationService {
                 resolvedNode.nodeName(),
                 taskInput.getInputId(),
                 executionId);
+        String memoKey = memoCache.keyFor(tenantId, resolvedNode, taskInput);
+        NodeWorkspace workspace = null;
+        ExecutionCancellation cancellation = runCancellations.register(tenantId, resolvedNode.lifetimeId());
+        putLogContext(tenantId, resolvedNode);
         try {
-            MaterializedNode materializedNode = materializeNode(resolvedNode, tenantId, executionId);
-            TaskResult result = pythonProcessExecutor.executeTask(
-                    materializedNode.scriptPath(),
-                    taskInput,
-                    tenantId,
-                    materializedNode.workingDirectory());
+            if (cancellation.isCancelled()) {
+                logger.info(
+                        "Executor skipped task of ended run tenant={} graph={} lifetime={} task={} exec={}",
+                        tenantId,
+                        resolvedNode.graphId(),
+                        resolvedNode.lifetimeId(),
+                        resolvedNode.nodeName(),
+                        executionId);
+                return buildTaskExecution(
+                        taskInput, resolvedNode, tenantId, executionId, ExecutionStatus.EXECUTION_STATUS_CANCELLED,
+                        TaskResult.newBuilder().setErrorMessage(cancellation.reason()).build(), false, null);
+            }
+            if (memoKey != null) {
+                Optional<TaskResult> memoized = memoCache.get(memoKey, TaskResult.parser());
+                if (memoized.isPresent()) {
+                    logger.info(
+                            "Executor reused memoized task result tenant={} graph={} lifetime={} task={} exec={}",
+                            tenantId,
+                            resolvedNode.graphId(),
+                            resolvedNode.lifetimeId(),
+                            resolvedNode.nodeName(),
+                            executionId);
+                    return buildTaskExecution(
+                            taskInput, resolvedNode, tenantId, executionId, ExecutionStatus.EXECUTION_STATUS_SUCCEEDED,
+                            resultOffloader.offload(tenantId, memoized.get().toBuilder().clearId().build()), true, null);
+                }
+            }
+            workspace = materializeNode(resolvedNode, tenantId, executionId);
+            PythonRun<TaskResult> run = pythonProcessExecutor.executeTask(workspace, taskInput, tenantId, cancellation);
+            TaskResult result = resultOffloader.offload(tenantId, run.result());
+            telemetry.record(tenantId, resolvedNode, run.resourceUsage());
+            if (memoKey != null && result.getErrorMessage().isEmpty()) {
+                // Memoize the inline result: an offloaded blob may expire before the memo entry,
+                // so hits offload again, which also restarts the blob's TTL.
+                memoCache.put(memoKey, run.result());
+            }
             logger.info(
                     "Executor completed task tenant={} graph={} lifetime={} task={} exec={}",
                     tenantId,
@@ -94,11 +201,36 @@ public class ExecutorOrchestrationService {
                     resolvedNode.lifetimeId(),
                     resolvedNode.nodeName(),
                     executionId);
-            return buildTaskExecution(taskInput, resolvedNode, tenantId, executionId, ExecutionStatus.EXECUTION_STATUS_SUCCEEDED, result);
+            return buildTaskExecution(
+                    taskInput,
+                    resolvedNode,
+                    tenantId,
+                    executionId,
+                    ExecutionStatus.EXECUTION_STATUS_SUCCEEDED,
+                    result,
+                    false,
+                    run.resourceUsage());
         } catch (Exception e) {
+            if (cancellation.isCancelled()) {
+                logger.info(
+                        "Executor cancelled task tenant={} graph={} lifetime={} task={} exec={}: {}",
+                        tenantId,
+                        resolvedNode.graphId(),
+                        resolvedNode.lifetimeId(),
+                        resolvedNode.nodeName(),
+                        executionId,
+                        cancellation.reason());
+                return buildTaskExecution(
+                        taskInput, resolvedNode, tenantId, executionId, ExecutionStatus.EXECUTION_STATUS_CANCELLED,
+                        TaskResult.newBuilder().setErrorMessage(cancellation.reason()).build(), false, null);
+            }
             logger.error("Task execution failed for tenant {} task {}: {}", tenantId, taskInput.getTaskName(), e.getMessage(), e);
             TaskResult errorResult = TaskResult.newBuilder().setErrorMessage(compactErrorMessage(e)).build();
-            return buildTaskExecution(taskInput, resolvedNode, tenantId, executionId, ExecutionStatus.EXECUTION_STATUS_FAILED, errorResult);
+            return buildTaskExecution(taskInput, resolvedNode, tenantId, executionId, ExecutionStatus.EXECUTION_STATUS_FAILED, errorResult, false, null);
+        } finally {
+            runCancellations.release(tenantId, resolvedNode.lifetimeId(), cancellation);
+            workspaceCache.release(workspace);
+            clearLogContext();
         }
     }
 
@@ -108,7 +240,9 @@ public class ExecutorOrchestrationService {
             String tenantId,
             String executionId,
             ExecutionStatus status,
-            PlanResult result) {
+            PlanResult result,
+            boolean cacheHit,
+            ResourceUsage resourceUsage) {
         ExecutionHeader.Builder headerBuilder = ExecutionHeader.newBuilder()
                 .setName(resolvedNode.nodeName())
                 .setExecId(executionId)
@@ -117,7 +251,11 @@ public class ExecutorOrchestrationService {
                 .setTenantId(tenantId)
                 .setCreatedAt(Instant.now().toString())
                 .setStatus(status)
-                .setEdgeTaken("");
+                .setEdgeTaken("")
+                .setCacheHit(cacheHit);
+        if (resourceUsage != null) {
+            headerBuilder.setResourceUsage(resourceUsage);
+        }
 
         if (!planInput.getTaskExecutionsList().isEmpty() && planInput.getTaskExecutions(0).hasHeader()) {
             ExecutionHeader parentHeader = planInput.getTaskExecutions(0).getHeader();
@@ -148,7 +286,9 @@ public class ExecutorOrchestrationService {
             String tenantId,
             String executionId,
             ExecutionStatus status,
-            TaskResult result) {
+            TaskResult result,
+            boolean cacheHit,
+            ResourceUsage resourceUsage) {
         ExecutionHeader.Builder headerBuilder = ExecutionHeader.newBuilder()
                 .setName(resolvedNode.nodeName())
                 .setExecId(executionId)
@@ -157,7 +297,11 @@ public class ExecutorOrchestrationService {
                 .setTenantId(tenantId)
                 .setCreatedAt(Instant.now().toString())
                 .setStatus(status)
-                .setEdgeTaken("");
+                .setEdgeTaken("")
+                .setCacheHit(cacheHit);
+        if (resourceUsage != null) {
+            headerBuilder.setResourceUsage(resourceUsage);
+        }
 
         if (taskInput.hasPlanExecution() && taskInput.getPlanExecution().hasHeader()) {
             ExecutionHeader parentHeader = taskInput.getPlanExecution().getHeader();
@@ -183,59 +327,35 @@ public class ExecutorOrchestrationService {
                 .build();
     }
 
-    private MaterializedNode materializeNode(ResolvedExecutorNode resolvedNode, String tenantId, String executionId) throws IOException {
-        Path workingDirectory = pythonProcessExecutor.resolveWorkingRootPath()
-                .resolve(sanitizeSegment(tenantId))
-                .resolve(sanitizeSegment(resolvedNode.graphId()))
-                .resolve(resolvedNode.nodeType().name().toLowerCase())
-                .resolve(sanitizeSegment(resolvedNode.nodeName()))
-                .resolve(executionId);
-
-        Files.createDirectories(workingDirectory);
-
-        for (ExecutorFilePayload file : resolvedNode.files()) {
-            writeExecutorFile(workingDirectory, file);
-        }
-
-        Path scriptPath = resolveSafePath(workingDirectory, resolvedNode.scriptFileName());
-        if (!Files.exists(scriptPath)) {
-            throw new IllegalStateException(
-                    "Resolved script '" + resolvedNode.scriptFileName() + "' was not materialized for " + resolvedNode.nodeType());
-        }
-
+    private NodeWorkspace materializeNode(ResolvedExecutorNode resolvedNode, String tenantId, String executionId) throws IOException {
+        NodeWorkspace workspace = workspaceCache.acquire(resolvedNode, tenantId, executionId);
         logger.debug(
-                "Materialized executor node tenant={} graph={} lifetime={} nodeType={} node={} workingDir={}",
+                "Resolved executor workspace tenant={} graph={} lifetime={} nodeType={} node={} hash={} workspace={}",
                 tenantId,
                 resolvedNode.graphId(),
                 resolvedNode.lifetimeId(),
                 resolvedNode.nodeType(),
                 resolvedNode.nodeName(),
-                workingDirectory);
-
-        return new MaterializedNode(workingDirectory, scriptPath);
-    }
-
-    private void writeExecutorFile(Path workingDirectory, ExecutorFilePayload file) throws IOException {
-        Path filePath = resolveSafePath(workingDirectory, file.name());
-        Path parent = filePath.getParent();
-        if (parent != null) {
-            Files.createDirectories(parent);
-        }
-
-        String contents = file.contents() == null ? "" : file.contents();
-        Files.writeString(filePath, contents, StandardCharsets.UTF_8);
+                workspace.contentHash(),
+                workspace.workspaceDirectory());
+        return workspace;
     }
 
-    private static Path resolveSafePath(Path baseDirectory, String fileName) {
-        Path resolved = baseDirectory.resolve(fileName).normalize();
-        if (!resolved.startsWith(baseDirectory)) {
-            throw new IllegalArgumentException("Illegal file path outside working directory: " + fileName);
-        }
-        return resolved;
+    /**
+     * Identify the execution in the MDC, which spawned runners copy onto their stderr lines.
+     */
+    private static void putLogContext(String tenantId, ResolvedExecutorNode resolvedNode) {
+        MDC.put("tenantId", tenantId);
+        MDC.put("graphId", resolvedNode.graphId());
+        MDC.put("lifetimeId", resolvedNode.lifetimeId());
+        MDC.put("node", resolvedNode.nodeName());
     }
 
-    private static String sanitizeSegment(String value) {
-        return value.replaceAll("[^a-zA-Z0-9._-]", "_");
+    private static void clearLogContext() {
+        MDC.remove("tenantId");
+        MDC.remove("graphId");
+        MDC.remove("lifetimeId");
+        MDC.remove("node");
     }
 
     private static String compactErrorMessage(Throwable throwable) {
@@ -248,7 +368,4 @@ public class ExecutorOrchestrationService {
         }
         return message;
     }
-
-    private record MaterializedNode(Path workingDirectory, Path scriptPath) {
-    }
 }
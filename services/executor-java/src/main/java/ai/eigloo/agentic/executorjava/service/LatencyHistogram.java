@@ -0,0 +1,100 @@
+package ai.eigloo.agentic.executorjava.service;
+
+/**
+ * Fixed-size latency histogram with logarithmic buckets, in the manner of HdrHistogram.
+ *
+ * <p>Values from 1 ms to about twelve days fall into {@value #SUB_BUCKETS} buckets per power of
+ * two, so a percentile is reported within roughly 9% of the true value whatever the scale, in
+ * about 1 KiB. Calls that ran into their timeout are censored: their true latency is unknown, so
+ * they are only counted, never placed in a bucket. Once {@code window} samples of either kind
+ * accumulate every count is halved, which lets the histogram follow a node whose latency changes.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 8;
+    private static final int MAX_EXPONENT = 30;
+
+    private final int[] counts = new int[SUB_BUCKETS * MAX_EXPONENT + 1];
+    private final int window;
+    private int total;
+    private int censored;
+
+    LatencyHistogram(int window) {
+        this.window = Math.max(2, window);
+    }
+
+    synchronized void record(long millis) {
+        counts[bucket(millis)]++;
+        total++;
+        halveIfFull();
+    }
+
+    /**
+     * Count a call that was stopped at its timeout.
+     */
+    synchronized void recordCensored() {
+        censored++;
+        halveIfFull();
+    }
+
+    /**
+     * @return completed calls in the window
+     */
+    synchronized int count() {
+        return total;
+    }
+
+    /**
+     * @return calls in the window that ran into their timeout
+     */
+    synchronized int censoredCount() {
+        return censored;
+    }
+
+    private void halveIfFull() {
+        if (total + censored < window) {
+            return;
+        }
+        total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] /= 2;
+            total += counts[i];
+        }
+        censored /= 2;
+    }
+
+    /**
+     * Upper bound of the bucket holding the given percentile, or 0 if nothing was recorded.
+     *
+     * @param percentile between 0 and 1
+     */
+    synchronized long percentileMillis(double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(1.0, percentile) * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(counts.length - 1);
+    }
+
+    /**
+     * Bucket {@code i} holds values in {@code (2^((i-1)/8), 2^(i/8)]} milliseconds.
+     */
+    private static int bucket(long millis) {
+        if (millis <= 1) {
+            return 0;
+        }
+        int bucket = (int) Math.ceil(Math.log(millis) / Math.log(2) * SUB_BUCKETS);
+        return Math.min(bucket, SUB_BUCKETS * MAX_EXPONENT);
+    }
+
+    private static long upperBound(int bucket) {
+        return (long) Math.ceil(Math.pow(2, bucket / (double) SUB_BUCKETS));
+    }
+}
@@ -0,0 +1,152 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import ai.eigloo.agentic.executorjava.config.ExecutorBlobProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * {@link BlobStore} on a shared filesystem ({@code executor.blob.directory}), returning
+ * {@code file://} URIs.
+ *
+ * <p>Blobs are content-addressed per tenant ({@code {root}/{tenant}/{sha256}}), so identical
+ * payloads are stored once and a blob never changes after it is written. Storing an existing
+ * blob again refreshes its modification time; a background sweep deletes blobs not stored for
+ * {@code ttl-seconds}.
+ */
+@Component
+public class LocalFileBlobStore implements BlobStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalFileBlobStore.class);
+
+    private final ExecutorBlobProperties properties;
+    private final Counter expired;
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(
+            runnable -> Thread.ofPlatform().daemon().name("blob-sweeper").unstarted(runnable));
+
+    public LocalFileBlobStore(ExecutorBlobProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.expired = Counter.builder("executor.blob.expired")
+                .description("Blobs removed after their TTL")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isOffloadEnabled()) {
+            return;
+        }
+        long interval = Math.max(1, properties.getSweepIntervalSeconds());
+        sweeper.scheduleWithFixedDelay(this::sweepSafely, interval, interval, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        sweeper.shutdownNow();
+    }
+
+    @Override
+    public String put(String tenantId, byte[] bytes) throws IOException {
+        Path directory = root().resolve(tenantId.replaceAll("[^a-zA-Z0-9._-]", "_"));
+        Path path = directory.resolve(sha256(bytes));
+        if (!touch(path)) {
+            Files.createDirectories(directory);
+            Path temp = directory.resolve(".tmp-" + UUID.randomUUID());
+            Files.write(temp, bytes);
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                try {
+                    Files.move(temp, path);
+                } catch (FileAlreadyExistsException alreadyStored) {
+                    Files.deleteIfExists(temp);
+                }
+            }
+        }
+        return path.toUri().toString();
+    }
+
+    private void sweepSafely() {
+        try {
+            sweep();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Blob store sweep failed: {}", e.getMessage(), e);
+        }
+    }
+
+    void sweep() throws IOException {
+        Path root = root();
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        long cutoffMillis = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(properties.getTtlSeconds());
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(root)) {
+            files = paths.filter(Files::isRegularFile).toList();
+        }
+        int removed = 0;
+        for (Path file : files) {
+            try {
+                if (Files.getLastModifiedTime(file).toMillis() < cutoffMillis && Files.deleteIfExists(file)) {
+                    removed++;
+                }
+            } catch (IOException e) {
+                logger.warn("Failed removing expired blob {}: {}", file, e.getMessage());
+            }
+        }
+        if (removed > 0) {
+            expired.increment(removed);
+            logger.debug("Removed {} expired blobs", removed);
+        }
+    }
+
+    /**
+     * @return whether the blob exists; if so its TTL restarts from now
+     */
+    private static boolean touch(Path path) throws IOException {
+        try {
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private Path root() {
+        String directory = properties.getDirectory();
+        if (directory == null || directory.isBlank()) {
+            throw new IllegalStateException("executor.blob.directory is not set");
+        }
+        return Path.of(directory).toAbsolutePath().normalize();
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
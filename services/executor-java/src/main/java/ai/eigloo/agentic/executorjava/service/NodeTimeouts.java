@@ -0,0 +1,120 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import ai.eigloo.agentic.executorjava.config.ExecutorPythonProperties;
+import ai.eigloo.agentic.executorjava.model.NodeType;
+import ai.eigloo.agentic.executorjava.model.NodeWorkspace;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Picks the timeout of each python call from the node's own latency history.
+ *
+ * <p>Latency is tracked per node source hash, so a new version of a node starts over from the
+ * configured timeout. Once a node has enough observations its timeout becomes its percentile
+ * latency times the multiplier, clamped to the configured floor and ceiling, so a fast node that
+ * hangs gives its slot back early. The ceiling defaults to the configured timeout; adapting never
+ * lengthens a timeout unless the ceiling is raised explicitly. Calls that run into their timeout
+ * are censored rather than recorded, since they only say the node took at least that long;
+ * feeding them back would ratchet a hanging node's timeout up to the ceiling. When more than the
+ * percentile's tail of recent calls timed out, the node falls back to the configured timeout. A
+ * top-level {@code TIMEOUT_SECONDS} in the entry script always wins.
+ *
+ * <p>The applied timeout is exported as {@code executor.python.timeout}, tagged with the node
+ * type and whether it was declared, adapted or the configured default.
+ */
+@Component
+public class NodeTimeouts {
+
+    private final ExecutorPythonProperties pythonProperties;
+    private final ExecutorPythonProperties.AdaptiveTimeout properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, LatencyHistogram> histograms;
+
+    public NodeTimeouts(ExecutorPythonProperties pythonProperties, MeterRegistry meterRegistry) {
+        this.pythonProperties = pythonProperties;
+        this.properties = pythonProperties.getAdaptiveTimeout();
+        this.meterRegistry = meterRegistry;
+        int maxNodes = Math.max(1, properties.getMaxNodes());
+        this.histograms = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LatencyHistogram> eldest) {
+                return size() > maxNodes;
+            }
+        };
+    }
+
+    /**
+     * Timeout of one call of the node in {@code workspace}.
+     */
+    public Duration timeoutFor(NodeType nodeType, NodeWorkspace workspace) {
+        Duration timeout;
+        String source;
+        LatencyHistogram histogram = properties.isEnabled() ? histogram(workspace.contentHash(), false) : null;
+        if (workspace.timeoutSeconds() > 0) {
+            timeout = Duration.ofSeconds(workspace.timeoutSeconds());
+            source = "declared";
+        } else if (histogram != null && adapts(histogram)) {
+            long adaptedMillis = (long) (histogram.percentileMillis(properties.getPercentile()) * properties.getMultiplier());
+            long defaultSeconds = pythonProperties.timeoutSecondsFor(nodeType);
+            long ceilingMillis = (properties.getCeilingSeconds() > 0 ? properties.getCeilingSeconds() : defaultSeconds) * 1000L;
+            long floorMillis = Math.min(ceilingMillis, Math.max(0, properties.getFloorSeconds()) * 1000L);
+            timeout = Duration.ofMillis(Math.min(ceilingMillis, Math.max(floorMillis, adaptedMillis)));
+            source = "adaptive";
+        } else {
+            timeout = Duration.ofSeconds(pythonProperties.timeoutSecondsFor(nodeType));
+            source = "default";
+        }
+        DistributionSummary.builder("executor.python.timeout")
+                .description("Timeout applied to Python node calls")
+                .baseUnit("seconds")
+                .tag("type", nodeType.name().toLowerCase(Locale.ROOT))
+                .tag("source", source)
+                .register(meterRegistry)
+                .record(timeout.toMillis() / 1000.0);
+        return timeout;
+    }
+
+    /**
+     * Record how long a completed call of the node took.
+     */
+    public void record(NodeWorkspace workspace, long wallNanos) {
+        if (properties.isEnabled()) {
+            histogram(workspace.contentHash(), true).record(wallNanos / 1_000_000);
+        }
+    }
+
+    /**
+     * Record that a call of the node was stopped at its timeout.
+     */
+    public void recordTimeout(NodeWorkspace workspace) {
+        if (properties.isEnabled()) {
+            histogram(workspace.contentHash(), true).recordCensored();
+        }
+    }
+
+    private boolean adapts(LatencyHistogram histogram) {
+        int completed = histogram.count();
+        if (completed < Math.max(1, properties.getMinSamples())) {
+            return false;
+        }
+        double tail = 1.0 - Math.min(1.0, properties.getPercentile());
+        return histogram.censoredCount() <= tail * (completed + histogram.censoredCount());
+    }
+
+    private LatencyHistogram histogram(String contentHash, boolean create) {
+        synchronized (histograms) {
+            LatencyHistogram histogram = histograms.get(contentHash);
+            if (histogram == null && create) {
+                histogram = new LatencyHistogram(properties.getWindow());
+                histograms.put(contentHash, histogram);
+            }
+            return histogram;
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import ai.eigloo.agentic.executorjava.model.ExecutorFilePayload;
+import ai.eigloo.agentic.executorjava.model.NodeWorkspace;
+import ai.eigloo.agentic.executorjava.model.ResolvedExecutorNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed store of materialized node source files.
+ *
+ * <p>Each distinct file set is written once to {@code {working-root}/workspaces/{sha256}}
+ * and then made read-only and shared by every execution with the same files. Executions
+ * only get a path under {@code {working-root}/scratch}, which is created lazily by the
+ * node if it needs to write anything and removed again on {@link #release}.
+ *
+ * <p>Workspaces are leased between {@link #acquire} and {@link #release}; {@link WorkspaceJanitor}
+ * only evicts workspaces with no outstanding lease.
+ */
+@Service
+public class NodeWorkspaceCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(NodeWorkspaceCache.class);
+    private static final Set<PosixFilePermission> READ_ONLY_FILE = PosixFilePermissions.fromString("r--r--r--");
+    private static final Set<PosixFilePermission> READ_ONLY_DIRECTORY = PosixFilePermissions.fromString("r-xr-xr-x");
+    private static final Set<PosixFilePermission> WRITABLE_DIRECTORY = PosixFilePermissions.fromString("rwxr-xr-x");
+
+    private final PythonProcessExecutor pythonProcessExecutor;
+    private final DependencyEnvironmentCache environmentCache;
+    private final Map<String, WorkspaceUsage> usages = new ConcurrentHashMap<>();
+    private final Set<Path> activeScratchDirectories = ConcurrentHashMap.newKeySet();
+
+    public NodeWorkspaceCache(PythonProcessExecutor pythonProcessExecutor, DependencyEnvironmentCache environmentCache) {
+        this.pythonProcessExecutor = pythonProcessExecutor;
+        this.environmentCache = environmentCache;
+    }
+
+    public NodeWorkspace acquire(ResolvedExecutorNode resolvedNode, String tenantId, String executionId) throws IOException {
+        String contentHash = resolvedNode.contentHash();
+        Path workspaceDirectory = workspacesRoot().resolve(contentHash);
+
+        WorkspaceUsage usage = lease(contentHash);
+        String environmentHash = null;
+        try {
+            ensureMaterialized(resolvedNode, usage, workspaceDirectory);
+
+            Path scriptPath = resolveSafePath(workspaceDirectory, resolvedNode.scriptFileName());
+            if (!Files.exists(scriptPath)) {
+                throw new IllegalStateException(
+                        "Resolved script '" + resolvedNode.scriptFileName() + "' was not materialized for " + resolvedNode.nodeType());
+            }
+
+            environmentHash = environmentCache.acquire(resolvedNode.files());
+            Path sitePackages = environmentHash == null ? null : environmentCache.sitePackages(environmentHash);
+
+            Path scratchDirectory = scratchRoot()
+                    .resolve(sanitizeSegment(tenantId))
+                    .resolve(executionId);
+            activeScratchDirectories.add(scratchDirectory);
+            return new NodeWorkspace(
+                    contentHash,
+                    workspaceDirectory,
+                    scriptPath,
+                    scratchDirectory,
+                    environmentHash,
+                    sitePackages,
+                    resolvedNode.coroutine(),
+                    resolvedNode.batching(),
+                    resolvedNode.timeoutSeconds());
+        } catch (IOException | RuntimeException e) {
+            usage.release();
+            environmentCache.release(environmentHash);
+            throw e;
+        }
+    }
+
+    /**
+     * Materialize a node's workspace, and optionally its dependency environment, ahead of its
+     * first execution. Nothing stays leased, so the janitor can still evict both.
+     */
+    public void prepare(ResolvedExecutorNode resolvedNode, boolean withEnvironment) throws IOException {
+        WorkspaceUsage usage = lease(resolvedNode.contentHash());
+        try {
+            ensureMaterialized(resolvedNode, usage, workspacesRoot().resolve(resolvedNode.contentHash()));
+        } finally {
+            usage.release();
+        }
+        if (withEnvironment) {
+            environmentCache.release(environmentCache.acquire(resolvedNode.files()));
+        }
+    }
+
+    /**
+     * End an execution's use of its workspace and delete its scratch directory, if it made one.
+     */
+    public void release(NodeWorkspace workspace) {
+        if (workspace == null) {
+            return;
+        }
+        WorkspaceUsage usage = usages.get(workspace.contentHash());
+        if (usage != null) {
+            usage.release();
+        }
+        environmentCache.release(workspace.environmentHash());
+        try {
+            deleteRecursively(workspace.scratchDirectory());
+        } catch (IOException e) {
+            logger.warn("Failed to remove scratch directory {}: {}", workspace.scratchDirectory(), e.getMessage());
+        } finally {
+            activeScratchDirectories.remove(workspace.scratchDirectory());
+        }
+    }
+
+    public Path scratchRoot() {
+        return pythonProcessExecutor.resolveWorkingRootPath().resolve("scratch");
+    }
+
+    boolean isScratchActive(Path scratchDirectory) {
+        return activeScratchDirectories.contains(scratchDirectory);
+    }
+
+    /**
+     * Snapshot of known workspaces for the janitor, registering any found on disk from a previous run.
+     */
+    List<WorkspaceUsage> workspaceUsages() throws IOException {
+        Path root = workspacesRoot();
+        if (Files.isDirectory(root)) {
+            try (Stream<Path> children = Files.list(root)) {
+                for (Path child : children.toList()) {
+                    String name = child.getFileName().toString();
+                    if (!name.startsWith(".") && Files.isDirectory(child) && !usages.containsKey(name)) {
+                        WorkspaceUsage usage = new WorkspaceUsage(name, Files.getLastModifiedTime(child).toMillis());
+                        if (usages.putIfAbsent(name, usage) == null) {
+                            synchronized (usage) {
+                                usage.measure(child);
+                                usage.ready = true;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(usages.values());
+    }
+
+    /**
+     * Remove a workspace if nothing is using it.
+     *
+     * <p>The directory is first renamed out of the content-addressed namespace under the usage
+     * lock, so a concurrent {@link #acquire} either leased it before and blocks eviction, or
+     * starts after and re-materializes a fresh copy.
+     *
+     * @return {@code true} if the workspace was evicted
+     */
+    boolean evict(WorkspaceUsage usage) throws IOException {
+        Path workspaceDirectory = workspacesRoot().resolve(usage.contentHash);
+        Path trash = workspacesRoot().resolve(".trash-" + UUID.randomUUID());
+        synchronized (usage) {
+            if (usage.leases > 0 || usage.evicted) {
+                return false;
+            }
+            usage.evicted = true;
+            try {
+                if (Files.isDirectory(workspaceDirectory)) {
+                    Files.move(workspaceDirectory, trash, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } finally {
+                // Only unpublish once the directory is gone, so a new lease never sees the old copy.
+                usages.remove(usage.contentHash, usage);
+            }
+        }
+        deleteRecursively(trash);
+        Path absolute = workspaceDirectory.toAbsolutePath();
+        deleteRecursively(pythonProcessExecutor.resolvePycachePrefix().resolve(absolute.getRoot().relativize(absolute)));
+        return true;
+    }
+
+    private WorkspaceUsage lease(String contentHash) {
+        while (true) {
+            WorkspaceUsage usage = usages.computeIfAbsent(
+                    contentHash, hash -> new WorkspaceUsage(hash, System.currentTimeMillis()));
+            synchronized (usage) {
+                if (!usage.evicted) {
+                    usage.leases++;
+                    usage.lastUsedMillis = System.currentTimeMillis();
+                    return usage;
+                }
+            }
+            // Lost a race with eviction; the entry is unpublished as soon as its directory is moved away.
+            Thread.onSpinWait();
+        }
+    }
+
+    public Path workspacesRoot() {
+        return pythonProcessExecutor.resolveWorkingRootPath().resolve("workspaces");
+    }
+
+    /**
+     * SHA-256 over the sorted file set, with lengths included so name/content boundaries are unambiguous.
+     */
+    public static String contentHash(List<ExecutorFilePayload> files) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        files.stream()
+                .sorted(Comparator.comparing(ExecutorFilePayload::name))
+                .forEach(file -> {
+                    updateWithLength(digest, file.name().getBytes(StandardCharsets.UTF_8));
+                    updateWithLength(digest, (file.contents() == null ? "" : file.contents()).getBytes(StandardCharsets.UTF_8));
+                });
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private void ensureMaterialized(ResolvedExecutorNode resolvedNode, WorkspaceUsage usage, Path workspaceDirectory)
+            throws IOException {
+        synchronized (usage) {
+            if (!usage.ready) {
+                if (!Files.isDirectory(workspaceDirectory)) {
+                    materialize(resolvedNode, workspaceDirectory);
+                }
+                usage.measure(workspaceDirectory);
+                usage.ready = true;
+            }
+        }
+    }
+
+    private void materialize(ResolvedExecutorNode resolvedNode, Path workspaceDirectory) throws IOException {
+        Path root = workspaceDirectory.getParent();
+        Files.createDirectories(root);
+        Path staging = root.resolve(".staging-" + UUID.randomUUID());
+        Files.createDirectories(staging);
+        try {
+            for (ExecutorFilePayload file : resolvedNode.files()) {
+                writeExecutorFile(staging, file);
+            }
+            try {
+                Files.move(staging, workspaceDirectory, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(staging, workspaceDirectory);
+            }
+        } catch (FileAlreadyExistsException | DirectoryNotEmptyException e) {
+            // Another execution materialized the same file set first; its copy is identical.
+            deleteRecursively(staging);
+            return;
+        } catch (IOException | RuntimeException e) {
+            deleteRecursively(staging);
+            throw e;
+        }
+
+        makeReadOnly(workspaceDirectory);
+        logger.debug(
+                "Materialized workspace graph={} nodeType={} node={} files={} dir={}",
+                resolvedNode.graphId(),
+                resolvedNode.nodeType(),
+                resolvedNode.nodeName(),
+                resolvedNode.files().size(),
+                workspaceDirectory);
+    }
+
+    private void writeExecutorFile(Path directory, ExecutorFilePayload file) throws IOException {
+        Path filePath = resolveSafePath(directory, file.name());
+        Path parent = filePath.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        String contents = file.contents() == null ? "" : file.contents();
+        Files.writeString(filePath, contents, StandardCharsets.UTF_8);
+    }
+
+    private static void makeReadOnly(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            // Children first so directories are still writable while their entries are updated.
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.setPosixFilePermissions(path, Files.isDirectory(path) ? READ_ONLY_DIRECTORY : READ_ONLY_FILE);
+            }
+        } catch (UnsupportedOperationException e) {
+            logger.debug("POSIX permissions unsupported; leaving workspace {} writable", directory);
+        }
+    }
+
+    static void deleteRecursively(Path root) throws IOException {
+        if (!Files.exists(root, LinkOption.NOFOLLOW_LINKS)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            List<Path> ordered = paths.toList();
+            // Workspaces are read-only; entries can only be removed from writable directories.
+            for (Path path : ordered) {
+                if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                    try {
+                        Files.setPosixFilePermissions(path, WRITABLE_DIRECTORY);
+                    } catch (UnsupportedOperationException ignored) {
+                        break;
+                    }
+                }
+            }
+            for (Path path : ordered.reversed()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private static void updateWithLength(MessageDigest digest, byte[] bytes) {
+        digest.update((byte) (bytes.length >>> 24));
+        digest.update((byte) (bytes.length >>> 16));
+        digest.update((byte) (bytes.length >>> 8));
+        digest.update((byte) bytes.length);
+        digest.update(bytes);
+    }
+
+    private static Path resolveSafePath(Path baseDirectory, String fileName) {
+        Path resolved = baseDirectory.resolve(fileName).normalize();
+        if (!resolved.startsWith(baseDirectory)) {
+            throw new IllegalArgumentException("Illegal file path outside working directory: " + fileName);
+        }
+        return resolved;
+    }
+
+    private static String sanitizeSegment(String value) {
+        return value.replaceAll("[^a-zA-Z0-9._-]", "_");
+    }
+
+    /**
+     * Lease count, recency and size of one content-addressed workspace.
+     */
+    static final class WorkspaceUsage {
+        private final String contentHash;
+        private int leases;
+        private boolean ready;
+        private boolean evicted;
+        private volatile long lastUsedMillis;
+        private volatile long sizeBytes;
+        private volatile long entryCount;
+
+        private WorkspaceUsage(String contentHash, long lastUsedMillis) {
+            this.contentHash = contentHash;
+            this.lastUsedMillis = lastUsedMillis;
+        }
+
+        String contentHash() {
+            return contentHash;
+        }
+
+        long lastUsedMillis() {
+            return lastUsedMillis;
+        }
+
+        long sizeBytes() {
+            return sizeBytes;
+        }
+
+        long entryCount() {
+            return entryCount;
+        }
+
+        synchronized boolean inUse() {
+            return leases > 0;
+        }
+
+        private synchronized void release() {
+            leases = Math.max(0, leases - 1);
+            lastUsedMillis = System.currentTimeMillis();
+        }
+
+        private void measure(Path directory) throws IOException {
+            long bytes = 0;
+            long entries = 0;
+            try (Stream<Path> paths = Files.walk(directory)) {
+                for (Path path : paths.toList()) {
+                    entries++;
+                    if (Files.isRegularFile(path)) {
+                        bytes += Files.size(path);
+                    }
+                }
+            }
+            sizeBytes = bytes;
+            entryCount = entries;
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import ai.eigloo.agentic.executorjava.model.NodeType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One long-lived {@code executor_runner.py --serve-async} process running many executions at once.
+ *
+ * <p>Requests use the same frames as {@link PythonWorker}, but several may be outstanding and
+ * replies arrive in completion order, so a reader thread matches them to callers by request id.
+ * The runner enforces each request's {@code timeout_ms} itself and replies with
+ * {@code timed_out}; the worker is only killed if even that reply does not arrive, which means
+ * something is blocking the event loop. An interrupted or cancelled caller cancels its execution.
+ * A result over the size limit is refused unread, and the worker is killed since the pipe can no
+ * longer be followed.
+ */
+final class PythonAsyncWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(PythonAsyncWorker.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final AtomicLong requestIds = new AtomicLong();
+
+    /**
+     * How long past its own timeout a request may go unanswered before the event loop is presumed stuck.
+     */
+    private static final long REPLY_GRACE_MILLIS = 5_000;
+
+    private final NodeType nodeType;
+    private final Process process;
+    private final CgroupManager.Group cgroup;
+    private final SharedMemoryTransfer sharedMemory;
+    private final OutputStream stdin;
+    private final InputStream stdout;
+    private final Semaphore permits;
+    private final Map<String, Pending<?>> pending = new ConcurrentHashMap<>();
+    private volatile boolean readerStopped;
+
+    private PythonAsyncWorker(
+            NodeType nodeType,
+            Process process,
+            CgroupManager.Group cgroup,
+            SharedMemoryTransfer sharedMemory,
+            int maxConcurrent) {
+        this.nodeType = nodeType;
+        this.process = process;
+        this.cgroup = cgroup;
+        this.sharedMemory = sharedMemory;
+        this.stdin = new BufferedOutputStream(process.getOutputStream(), 64 * 1024);
+        this.stdout = new BufferedInputStream(process.getInputStream(), 64 * 1024);
+        this.permits = new Semaphore(maxConcurrent);
+        RunnerStderr.drain(
+                process.getErrorStream(),
+                Thread.ofPlatform().daemon().name("python-async-worker-" + process.pid() + "-stderr"),
+                0,
+                Map.of("nodeType", nodeType.name().toLowerCase(), "pythonPid", Long.toString(process.pid())));
+        Thread.ofPlatform().daemon().name("python-async-worker-" + process.pid() + "-replies").start(this::readReplies);
+    }
+
+    /**
+     * Start a worker confined to {@code cgroup}, which the worker owns and removes on shutdown.
+     */
+    static PythonAsyncWorker start(
+            NodeType nodeType,
+            ProcessBuilder processBuilder,
+            CgroupManager.Group cgroup,
+            SharedMemoryTransfer sharedMemory,
+            int maxConcurrent) throws IOException {
+        Process process;
+        try {
+            process = processBuilder.start();
+        } catch (IOException | RuntimeException e) {
+            cgroup.close();
+            throw e;
+        }
+        cgroup.attach(process.pid());
+        PythonAsyncWorker worker = new PythonAsyncWorker(nodeType, process, cgroup, sharedMemory, maxConcurrent);
+        logger.info("Started python async worker pid={} nodeType={} maxConcurrent={}", worker.pid(), nodeType, maxConcurrent);
+        return worker;
+    }
+
+    long pid() {
+        return process.pid();
+    }
+
+    int outstanding() {
+        return pending.size();
+    }
+
+    boolean isAlive() {
+        return !readerStopped && process.isAlive();
+    }
+
+    /**
+     * Send one {@code execute} request and wait for its reply, sharing the worker with other callers.
+     *
+     * @throws IllegalStateException if the worker is saturated for the whole timeout, the
+     *                               execution timed out, or the worker died or had to be killed
+     */
+    <T extends MessageLite> Reply<T> execute(
+            ObjectNode request,
+            MessageLite payload,
+            Parser<T> resultParser,
+            Duration timeout,
+            ExecutionCancellation cancellation) throws IOException, InterruptedException {
+        if (!permits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException(
+                    "Python async worker pid=" + pid() + " still had " + outstanding()
+                            + " executions outstanding after " + timeout.getSeconds() + " seconds");
+        }
+        String requestId = Long.toString(requestIds.incrementAndGet());
+        request.put("op", "execute");
+        request.put("id", requestId);
+        request.put("timeout_ms", timeout.toMillis());
+        Pending<T> call = new Pending<>(resultParser);
+        pending.put(requestId, call);
+        CgroupManager.Counters before = cgroup.counters();
+        try {
+            if (!isAlive()) {
+                throw new EOFException("Python async worker pid=" + pid() + " is not running");
+            }
+            synchronized (stdin) {
+                RunnerFraming.writeFrame(stdin, objectMapper.writeValueAsBytes(request));
+                sharedMemory.writeMessage(stdin, payload);
+                stdin.flush();
+            }
+            cancellation.onCancel(() -> cancel(requestId));
+
+            Reply<T> reply = call.reply.get(timeout.toMillis() + REPLY_GRACE_MILLIS, TimeUnit.MILLISECONDS);
+            if (reply.timedOut()) {
+                throw new IllegalStateException(cgroup.describeTimeout(timeout, before));
+            }
+            return reply;
+        } catch (TimeoutException e) {
+            logger.warn(
+                    "Killing python async worker pid={} nodeType={}: request {} got no reply, the event loop is blocked",
+                    pid(), nodeType, requestId);
+            kill();
+            throw new IllegalStateException(cgroup.describeTimeout(timeout, before));
+        } catch (InterruptedException e) {
+            cancel(requestId);
+            throw e;
+        } catch (ExecutionException e) {
+            String limitFailure = cgroup.describeFailure(before);
+            if (limitFailure != null) {
+                throw new IllegalStateException("Python async worker pid=" + pid() + " " + limitFailure, e.getCause());
+            }
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Python async worker pid=" + pid() + " failed", e.getCause());
+        } finally {
+            cancellation.clear();
+            pending.remove(requestId);
+            permits.release();
+        }
+    }
+
+    /**
+     * Ask the worker to exit once its executions finish, then force-kill it if it lingers.
+     */
+    void shutdown() {
+        try {
+            synchronized (stdin) {
+                stdin.close();
+            }
+        } catch (IOException ignored) {
+            // The process is being torn down either way.
+        }
+        try {
+            if (!process.waitFor(2, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            process.destroyForcibly();
+        }
+        cgroup.close();
+        logger.info("Stopped python async worker pid={} nodeType={}", pid(), nodeType);
+    }
+
+    void kill() {
+        process.destroyForcibly();
+    }
+
+    private void cancel(String requestId) {
+        ObjectNode request = objectMapper.createObjectNode();
+        request.put("op", "cancel");
+        request.put("target", requestId);
+        try {
+            synchronized (stdin) {
+                RunnerFraming.writeFrame(stdin, objectMapper.writeValueAsBytes(request));
+                stdin.flush();
+            }
+        } catch (IOException e) {
+            logger.debug("Failed to cancel request {} on python async worker pid={}: {}", requestId, pid(), e.getMessage());
+        }
+    }
+
+    /**
+     * Hand each reply to its caller. A successful reply is always followed by its result frame,
+     * which is consumed even if the caller has already given up.
+     */
+    private void readReplies() {
+        IOException failure = null;
+        try {
+            byte[] headerBytes;
+            while ((headerBytes = RunnerFraming.readFrame(stdout)) != null) {
+                JsonNode header = objectMapper.readTree(headerBytes);
+                boolean ok = header.path("ok").asBoolean(false);
+                Pending<?> call = pending.get(header.path("id").asText());
+                byte[] result;
+                try {
+                    result = ok ? sharedMemory.readFrame(stdout) : null;
+                } catch (RunnerFraming.OversizedFrameException e) {
+                    if (call != null) {
+                        call.reply.completeExceptionally(e);
+                    }
+                    throw e;
+                }
+                if (ok && result == null) {
+                    break;
+                }
+                if (call != null) {
+                    call.complete(header, result);
+                }
+            }
+        } catch (RunnerFraming.OversizedFrameException e) {
+            // The oversized result is still unread on the pipe, so no later reply can be found.
+            logger.warn("Killing python async worker pid={} nodeType={}: {}", pid(), nodeType, e.getMessage());
+            kill();
+            failure = e;
+        } catch (IOException e) {
+            failure = e;
+        } finally {
+            readerStopped = true;
+            EOFException closed = new EOFException("Python async worker pid=" + pid() + " closed its output");
+            if (failure != null) {
+                closed.initCause(failure);
+            }
+            pending.values().forEach(call -> call.reply.completeExceptionally(closed));
+        }
+    }
+
+    private static final class Pending<T> {
+        private final Parser<T> parser;
+        private final CompletableFuture<Reply<T>> reply = new CompletableFuture<>();
+
+        private Pending(Parser<T> parser) {
+            this.parser = parser;
+        }
+
+        private void complete(JsonNode header, byte[] resultBytes) {
+            try {
+                T result = resultBytes == null ? null : parser.parseFrom(resultBytes);
+                reply.complete(new Reply<>(
+                        header.path("ok").asBoolean(false),
+                        header.path("timed_out").asBoolean(false),
+                        header.path("error").asText(""),
+                        result));
+            } catch (IOException e) {
+                reply.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Runner reply header plus the parsed payload when the call succeeded. There is no usage
+     * report: a shared event loop cannot attribute CPU time or memory to one execution.
+     */
+    record Reply<T>(boolean ok, boolean timedOut, String error, T result) {
+    }
+}
@@ -0,0 +1,198 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import ai.eigloo.agentic.executorjava.config.ExecutorPythonProperties;
+import ai.eigloo.agentic.executorjava.model.NodeType;
+import ai.eigloo.agentic.executorjava.model.NodeWorkspace;
+import ai.eigloo.agentic.executorjava.model.PythonRun;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Fixed set of {@link PythonAsyncWorker} processes per node type for {@code async def} nodes.
+ *
+ * <p>Each execution goes to the live worker with the fewest outstanding executions. A worker
+ * that died is replaced when its slot is next picked; executions that were running on it fail.
+ */
+class PythonAsyncWorkerPool implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PythonAsyncWorkerPool.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ExecutorPythonProperties.AsyncWorkers properties;
+    private final Supplier<ProcessBuilder> processFactory;
+    private final CgroupManager cgroups;
+    private final SharedMemoryTransfer sharedMemory;
+    private final Map<NodeType, PythonAsyncWorker[]> groups = new EnumMap<>(NodeType.class);
+    private volatile boolean closed;
+
+    PythonAsyncWorkerPool(
+            ExecutorPythonProperties.AsyncWorkers properties,
+            Supplier<ProcessBuilder> processFactory,
+            CgroupManager cgroups,
+            SharedMemoryTransfer sharedMemory) {
+        this.properties = properties;
+        this.processFactory = processFactory;
+        this.cgroups = cgroups;
+        this.sharedMemory = sharedMemory;
+        groups.put(NodeType.PLAN, new PythonAsyncWorker[Math.max(1, properties.getPlanSize())]);
+        groups.put(NodeType.TASK, new PythonAsyncWorker[Math.max(1, properties.getTaskSize())]);
+    }
+
+    /**
+     * Start the workers of the lanes this executor serves up front; other slots, and slots that
+     * fail to start, are filled on use.
+     */
+    void start(Set<NodeType> lanes) {
+        for (Map.Entry<NodeType, PythonAsyncWorker[]> group : groups.entrySet()) {
+            if (!lanes.contains(group.getKey())) {
+                continue;
+            }
+            synchronized (group.getValue()) {
+                for (int slot = 0; slot < group.getValue().length; slot++) {
+                    try {
+                        group.getValue()[slot] = launch(group.getKey());
+                    } catch (IOException | RuntimeException e) {
+                        logger.warn("Failed to start python async worker for {}: {}", group.getKey(), e.getMessage());
+                    }
+                }
+            }
+        }
+        logger.info(
+                "Python async worker pool started planWorkers={} taskWorkers={} maxConcurrentPerWorker={}",
+                groups.get(NodeType.PLAN).length,
+                groups.get(NodeType.TASK).length,
+                maxConcurrent());
+    }
+
+    <T extends MessageLite> PythonRun<T> execute(
+            NodeType nodeType,
+            NodeWorkspace workspace,
+            MessageLite inputMessage,
+            Parser<T> resultParser,
+            String tenantId,
+            Duration timeout,
+            ExecutionCancellation cancellation) {
+        try {
+            PythonAsyncWorker worker = select(nodeType);
+
+            ObjectNode request = objectMapper.createObjectNode();
+            request.put("mode", nodeType.name().toLowerCase());
+            request.put("script", workspace.scriptPath().toAbsolutePath().toString());
+            request.put("workdir", workspace.workspaceDirectory().toAbsolutePath().toString());
+            request.put("scratch", workspace.scratchDirectory().toAbsolutePath().toString());
+            request.put("tenant_id", tenantId);
+
+            long startedAt = System.nanoTime();
+            PythonAsyncWorker.Reply<T> reply = worker.execute(request, inputMessage, resultParser, timeout, cancellation);
+            long wallNanos = System.nanoTime() - startedAt;
+            if (!reply.ok()) {
+                throw new IllegalStateException("Python runner failed: " + reply.error().trim());
+            }
+            return new PythonRun<>(
+                    reply.result(),
+                    PythonProcessExecutor.toResourceUsage(null, wallNanos, reply.result().getSerializedSize(), 0));
+        } catch (IOException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("Failed to execute python process", e);
+        }
+    }
+
+    /**
+     * Live workers of the node type with executions outstanding, and those without.
+     */
+    PythonProcessExecutor.WorkerCounts workerCounts(NodeType nodeType) {
+        PythonAsyncWorker[] workers = groups.get(nodeType);
+        int busy = 0;
+        int idle = 0;
+        synchronized (workers) {
+            for (PythonAsyncWorker worker : workers) {
+                if (worker == null || !worker.isAlive()) {
+                    continue;
+                }
+                if (worker.outstanding() > 0) {
+                    busy++;
+                } else {
+                    idle++;
+                }
+            }
+        }
+        return new PythonProcessExecutor.WorkerCounts(busy, idle);
+    }
+
+    /**
+     * Start or replace the node type's missing and dead workers ahead of use.
+     */
+    void prewarm(NodeType nodeType) {
+        try {
+            select(nodeType);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to prewarm python async workers for {}: {}", nodeType, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (PythonAsyncWorker[] workers : groups.values()) {
+            synchronized (workers) {
+                for (int slot = 0; slot < workers.length; slot++) {
+                    if (workers[slot] != null) {
+                        workers[slot].shutdown();
+                        workers[slot] = null;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Least-loaded live worker for the node type, replacing dead ones on the way.
+     */
+    private PythonAsyncWorker select(NodeType nodeType) throws IOException {
+        PythonAsyncWorker[] workers = groups.get(nodeType);
+        synchronized (workers) {
+            if (closed) {
+                throw new IllegalStateException("Python async worker pool is shut down");
+            }
+            PythonAsyncWorker best = null;
+            for (int slot = 0; slot < workers.length; slot++) {
+                PythonAsyncWorker worker = workers[slot];
+                if (worker == null || !worker.isAlive()) {
+                    if (worker != null) {
+                        logger.warn("Replacing dead python async worker pid={} nodeType={}", worker.pid(), nodeType);
+                        worker.shutdown();
+                    }
+                    workers[slot] = null;
+                    worker = launch(nodeType);
+                    workers[slot] = worker;
+                }
+                if (best == null || worker.outstanding() < best.outstanding()) {
+                    best = worker;
+                }
+            }
+            return best;
+        }
+    }
+
+    private PythonAsyncWorker launch(NodeType nodeType) throws IOException {
+        return PythonAsyncWorker.start(
+                nodeType, processFactory.get(), cgroups.open(nodeType), sharedMemory, maxConcurrent());
+    }
+
+    private int maxConcurrent() {
+        return Math.max(1, properties.getMaxConcurrentPerWorker());
+    }
+}
@@ -0,0 +1,330 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import ai.eigloo.agentic.executorjava.config.ExecutorPythonProperties;
+import ai.eigloo.agentic.executorjava.model.NodeType;
+import ai.eigloo.agentic.executorjava.model.NodeWorkspace;
+import ai.eigloo.agentic.executorjava.model.PythonRun;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * A warm {@code executor_runner.py --zygote} process that forks a fresh runner for every call.
+ *
+ * <p>The zygote imports {@code agentic_common}, protobuf and the configured preload modules
+ * once; each call connects to its Unix domain socket and gets a forked child that has them
+ * already loaded but shares no state with earlier calls. The child reports its pid before it
+ * reads the request, so it is moved into its cgroup first and can be killed directly on timeout.
+ * A zygote that died is restarted on the next call.
+ */
+final class PythonForkServer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PythonForkServer.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final AtomicLong requestIds = new AtomicLong();
+
+    private final ExecutorPythonProperties.Fork forkProperties;
+    private final Supplier<ProcessBuilder> processFactory;
+    private final Path socketPath;
+    private final CgroupManager cgroups;
+    private final SharedMemoryTransfer sharedMemory;
+    private final ScheduledExecutorService watchdog;
+    private Process zygote;
+    private volatile boolean closed;
+
+    PythonForkServer(
+            ExecutorPythonProperties.Fork forkProperties,
+            Supplier<ProcessBuilder> processFactory,
+            Path socketPath,
+            CgroupManager cgroups,
+            SharedMemoryTransfer sharedMemory) {
+        this.forkProperties = forkProperties;
+        this.processFactory = processFactory;
+        this.socketPath = socketPath;
+        this.cgroups = cgroups;
+        this.sharedMemory = sharedMemory;
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("python-fork-server-watchdog").factory());
+    }
+
+    /**
+     * Start the zygote up front; if that fails, the first call tries again.
+     */
+    void start() {
+        try {
+            ensureRunning();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to start python zygote: {}", e.getMessage());
+        }
+    }
+
+    <T extends MessageLite> PythonRun<T> execute(
+            NodeType nodeType,
+            NodeWorkspace workspace,
+            MessageLite inputMessage,
+            Parser<T> resultParser,
+            String tenantId,
+            Duration timeout,
+            ExecutionCancellation cancellation) {
+        ObjectNode request = objectMapper.createObjectNode();
+        request.put("mode", nodeType.name().toLowerCase());
+        request.put("script", workspace.scriptPath().toAbsolutePath().toString());
+        request.put("workdir", workspace.workspaceDirectory().toAbsolutePath().toString());
+        request.put("scratch", workspace.scratchDirectory().toAbsolutePath().toString());
+        request.put("tenant_id", tenantId);
+        long startedAt = System.nanoTime();
+        Reply<T> reply = exchange(nodeType, request, List.of(inputMessage), timeout, cancellation, (header, in, pid) -> {
+            if (!header.path("ok").asBoolean(false)) {
+                return new Reply<>(header, null);
+            }
+            T result = sharedMemory.readMessage(in, resultParser);
+            if (result == null) {
+                throw new EOFException("Forked python runner pid=" + pid + " exited without a result");
+            }
+            return new Reply<>(header, result);
+        });
+        T result = reply.result();
+        if (result == null) {
+            throw new IllegalStateException("Python runner failed: " + reply.header().path("error").asText("").trim());
+        }
+        long wallNanos = System.nanoTime() - startedAt;
+        JsonNode usage = reply.header().get("usage");
+        return new PythonRun<>(
+                result,
+                PythonProcessExecutor.toResourceUsage(
+                        usage,
+                        wallNanos,
+                        result.getSerializedSize(),
+                        usage != null ? usage.path("stderr_bytes").asLong(0) : 0));
+    }
+
+    /**
+     * Run several inputs of one node in a single forked runner.
+     */
+    <T extends MessageLite> List<RunnerBatch.Outcome<T>> executeBatch(
+            NodeType nodeType,
+            List<NodeWorkspace> workspaces,
+            List<? extends MessageLite> inputMessages,
+            Parser<T> resultParser,
+            String tenantId,
+            Duration timeout) {
+        ObjectNode request = RunnerBatch.newRequest(nodeType, workspaces, tenantId);
+        return exchange(nodeType, request, inputMessages, timeout, ExecutionCancellation.NONE, (header, in, pid) -> RunnerBatch.readOutcomes(
+                header, in, sharedMemory, resultParser, inputMessages.size(), header.path("usage").path("stderr_bytes").asLong(0)));
+    }
+
+    /**
+     * Fork a runner, move it into its cgroup, send it the request and read its reply.
+     *
+     * <p>A watchdog kills the child and closes the connection if the reply does not arrive in time,
+     * and cancellation does the same.
+     */
+    private <R> R exchange(
+            NodeType nodeType,
+            ObjectNode request,
+            List<? extends MessageLite> payloads,
+            Duration timeout,
+            ExecutionCancellation cancellation,
+            ReplyReader<R> replyReader) {
+        CgroupManager.Group cgroup = CgroupManager.Group.NONE;
+        AtomicReference<ProcessHandle> child = new AtomicReference<>();
+        AtomicBoolean timedOut = new AtomicBoolean();
+        boolean replied = false;
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(ensureRunning()));
+            ScheduledFuture<?> killer = watchdog.schedule(() -> {
+                timedOut.set(true);
+                ProcessHandle handle = child.get();
+                if (handle != null) {
+                    handle.destroyForcibly();
+                }
+                closeQuietly(channel);
+            }, timeout.toMillis(), TimeUnit.MILLISECONDS);
+            try {
+                InputStream in = new BufferedInputStream(Channels.newInputStream(channel), 64 * 1024);
+                OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+
+                byte[] hello = RunnerFraming.readFrame(in);
+                if (hello == null) {
+                    throw new EOFException("Python zygote closed the connection before forking");
+                }
+                long pid = objectMapper.readTree(hello).path("pid").asLong();
+                child.set(ProcessHandle.of(pid).orElse(null));
+                cgroup = cgroups.open(nodeType);
+                cgroup.attach(pid);
+                cancellation.onCancel(() -> {
+                    ProcessHandle handle = child.get();
+                    if (handle != null) {
+                        handle.destroyForcibly();
+                    }
+                    closeQuietly(channel);
+                });
+
+                request.put("id", Long.toString(requestIds.incrementAndGet()));
+                RunnerFraming.writeFrame(out, objectMapper.writeValueAsBytes(request));
+                RunnerBatch.writePayloads(out, payloads, sharedMemory);
+                out.flush();
+
+                byte[] headerBytes = RunnerFraming.readFrame(in);
+                if (headerBytes == null) {
+                    throw new EOFException("Forked python runner pid=" + pid + " exited without replying");
+                }
+                R reply = replyReader.read(objectMapper.readTree(headerBytes), in, pid);
+                replied = true;
+                return reply;
+            } finally {
+                killer.cancel(false);
+                cancellation.clear();
+            }
+        } catch (IOException e) {
+            if (timedOut.get()) {
+                throw new IllegalStateException(cgroup.describeTimeout(timeout, CgroupManager.Counters.ZERO));
+            }
+            String limitFailure = cgroup.describeFailure(CgroupManager.Counters.ZERO);
+            if (limitFailure != null) {
+                throw new IllegalStateException("Python process " + limitFailure, e);
+            }
+            throw new IllegalStateException("Failed to execute python process", e);
+        } finally {
+            ProcessHandle handle = child.get();
+            if (!replied && handle != null) {
+                handle.destroyForcibly();
+            }
+            cgroup.close();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        watchdog.shutdownNow();
+        if (zygote != null) {
+            stop(zygote);
+            zygote = null;
+        }
+    }
+
+    /**
+     * Start the zygote if it is not running and wait for it to listen.
+     *
+     * @return the socket to connect to
+     */
+    private synchronized Path ensureRunning() throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Python fork server is shut down");
+        }
+        if (zygote != null && zygote.isAlive()) {
+            return socketPath;
+        }
+        if (zygote != null) {
+            logger.warn("Python zygote pid={} exited with status {}; restarting", zygote.pid(), zygote.exitValue());
+            zygote = null;
+        }
+
+        Files.createDirectories(socketPath.getParent());
+        Files.deleteIfExists(socketPath);
+        long startedAt = System.nanoTime();
+        Process process = processFactory.get().start();
+        // Forked runners inherit the zygote's stderr, so their lines land here as well.
+        RunnerStderr.drain(
+                process.getErrorStream(),
+                Thread.ofPlatform().daemon().name("python-zygote-" + process.pid() + "-stderr"),
+                0,
+                Map.of("pythonPid", Long.toString(process.pid())));
+
+        Duration startTimeout = Duration.ofSeconds(Math.max(1, forkProperties.getStartTimeoutSeconds()));
+        ScheduledFuture<?> killer = watchdog.schedule(
+                process::destroyForcibly, startTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        try {
+            byte[] ready = RunnerFraming.readFrame(process.getInputStream());
+            if (ready == null || !objectMapper.readTree(ready).path("ready").asBoolean(false)) {
+                throw new EOFException("exited before listening");
+            }
+        } catch (IOException e) {
+            process.destroyForcibly();
+            throw new IllegalStateException(
+                    "Python zygote did not start within " + startTimeout.getSeconds() + " seconds: " + e.getMessage(), e);
+        } finally {
+            killer.cancel(false);
+        }
+
+        zygote = process;
+        logger.info(
+                "Started python zygote pid={} socket={} preload={} tookMs={}",
+                process.pid(),
+                socketPath,
+                forkProperties.getPreload(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        return socketPath;
+    }
+
+    /**
+     * Close the zygote's stdin so it stops listening, then force-kill it if it lingers. Children
+     * already forked finish their call.
+     */
+    private void stop(Process process) {
+        try {
+            process.getOutputStream().close();
+        } catch (IOException ignored) {
+            // The process is being torn down either way.
+        }
+        try {
+            if (!process.waitFor(2, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            process.destroyForcibly();
+        }
+        try {
+            Files.deleteIfExists(socketPath);
+        } catch (IOException e) {
+            logger.debug("Failed to remove zygote socket {}: {}", socketPath, e.getMessage());
+        }
+        logger.info("Stopped python zygote pid={}", process.pid());
+    }
+
+    private record Reply<T>(JsonNode header, T result) {
+    }
+
+    @FunctionalInterface
+    private interface ReplyReader<R> {
+        R read(JsonNode header, InputStream in, long pid) throws IOException;
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Only used to unblock a read that is being abandoned.
+        }
+    }
+}
@@ -1,44 +1,86 @@
 package ai.eigloo.agentic.executorjava.service;
 
-import ai.eigloo.agentic.common.ProtobufUtils;
+import ai.eigloo.agentic.executorjava.config.ExecutionStageProperties;
 import ai.eigloo.agentic.executorjava.config.ExecutorPythonProperties;
+import ai.eigloo.agentic.executorjava.model.NodeType;
+import ai.eigloo.agentic.executorjava.model.NodeWorkspace;
+import ai.eigloo.agentic.executorjava.model.PythonRun;
 import ai.eigloo.proto.model.Common.PlanInput;
 import ai.eigloo.proto.model.Common.PlanResult;
+import ai.eigloo.proto.model.Common.ResourceUsage;
 import ai.eigloo.proto.model.Common.TaskInput;
 import ai.eigloo.proto.model.Common.TaskResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Base64;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 @Service
 public class PythonProcessExecutor {
 
     private static final Logger logger = LoggerFactory.getLogger(PythonProcessExecutor.class);
+    static final String SCRATCH_DIR_ENV = "AGENTIC_SCRATCH_DIR";
+    private static final ObjectMapper objectMapper = new ObjectMapper();
 
     private final ExecutorPythonProperties pythonProperties;
+    private final Set<NodeType> lanes;
+    private final NodeTimeouts nodeTimeouts;
 
     private Path runnerScriptPath;
+    private PythonWorkerPool workerPool;
+    private PythonForkServer forkServer;
+    private PythonAsyncWorkerPool asyncWorkerPool;
+    private final ExecutionBatcher batcher = new ExecutionBatcher();
+    private CgroupManager cgroups;
+    private SharedMemoryTransfer sharedMemory;
 
-    public PythonProcessExecutor(ExecutorPythonProperties pythonProperties) {
+    public PythonProcessExecutor(
+            ExecutorPythonProperties pythonProperties,
+            ExecutionStageProperties stageProperties,
+            NodeTimeouts nodeTimeouts) {
         this.pythonProperties = pythonProperties;
+        this.nodeTimeouts = nodeTimeouts;
+        this.sharedMemory = SharedMemoryTransfer.disabled(pythonProperties.getOutput().getMaxResultBytes());
+        this.lanes = EnumSet.noneOf(NodeType.class);
+        for (NodeType nodeType : NodeType.values()) {
+            if (stageProperties.laneFor(nodeType).isEnabled()) {
+                lanes.add(nodeType);
+            }
+        }
     }
 
     @PostConstruct
@@ -52,6 +94,72 @@ public class PythonProcessExecutor {
             Files.copy(in, runnerScriptPath, StandardCopyOption.REPLACE_EXISTING);
         }
         logger.info("Initialized python runner at {}", runnerScriptPath);
+
+        cgroups = CgroupManager.create(pythonProperties.getCgroups());
+        sharedMemory = SharedMemoryTransfer.create(
+                pythonProperties.getSharedMemory(), pythonProperties.getOutput().getMaxResultBytes());
+        if (pythonProperties.getMode() == ExecutorPythonProperties.ExecutionMode.POOLED) {
+            workerPool = new PythonWorkerPool(
+                    pythonProperties.getPool(), this::buildWorkerProcess, cgroups, sharedMemory);
+            workerPool.start(lanes);
+        } else if (pythonProperties.getMode() == ExecutorPythonProperties.ExecutionMode.FORK) {
+            // One socket per executor process, in case several share a working root.
+            Path socketPath = runnerDir.resolve("zygote-" + ProcessHandle.current().pid() + ".sock");
+            forkServer = new PythonForkServer(
+                    pythonProperties.getFork(), () -> buildZygoteProcess(socketPath), socketPath, cgroups, sharedMemory);
+            forkServer.start();
+        }
+        if (pythonProperties.getAsyncWorkers().isEnabled()) {
+            asyncWorkerPool = new PythonAsyncWorkerPool(
+                    pythonProperties.getAsyncWorkers(), this::buildAsyncWorkerProcess, cgroups, sharedMemory);
+            asyncWorkerPool.start(lanes);
+        }
+    }
+
+    /**
+     * Make sure the workers that would run a node are up before its first execution. Spawned and
+     * forked runners have nothing to warm beyond the fork zygote, which is always running.
+     */
+    public void prewarmWorkers(NodeType nodeType, boolean coroutine) {
+        if (coroutine && asyncWorkerPool != null) {
+            asyncWorkerPool.prewarm(nodeType);
+        } else if (workerPool != null) {
+            workerPool.prewarm(nodeType);
+        }
+    }
+
+    /**
+     * Long-lived runner workers of a node type, pooled and async together. Spawned and forked
+     * runners only live for one call and are not counted.
+     */
+    public WorkerCounts workerCounts(NodeType nodeType) {
+        int busy = 0;
+        int idle = 0;
+        if (workerPool != null) {
+            WorkerCounts pooled = workerPool.workerCounts(nodeType);
+            busy += pooled.busy();
+            idle += pooled.idle();
+        }
+        if (asyncWorkerPool != null) {
+            WorkerCounts async = asyncWorkerPool.workerCounts(nodeType);
+            busy += async.busy();
+            idle += async.idle();
+        }
+        return new WorkerCounts(busy, idle);
+    }
+
+    @PreDestroy
+    public void shutdownWorkerPool() {
+        if (workerPool != null) {
+            workerPool.close();
+        }
+        if (forkServer != null) {
+            forkServer.close();
+        }
+        if (asyncWorkerPool != null) {
+            asyncWorkerPool.close();
+        }
+        sharedMemory.close();
     }
 
     public Path resolveWorkingRootPath() {
@@ -63,109 +171,361 @@ public class PythonProcessExecutor {
         return Path.of(resolved);
     }
 
-    public PlanResult executePlan(Path scriptPath, PlanInput planInput, String tenantId, Path workingDirectory) {
-        byte[] resultBytes = runPython(
-                "plan",
-                scriptPath,
-                planInput.toByteArray(),
+    /**
+     * Root for bytecode caches; python mirrors each source's absolute path below it.
+     */
+    public Path resolvePycachePrefix() {
+        return resolveWorkingRootPath().resolve("pycache");
+    }
+
+    public PythonRun<PlanResult> executePlan(
+            NodeWorkspace workspace, PlanInput planInput, String tenantId, ExecutionCancellation cancellation) {
+        return runPython(NodeType.PLAN, workspace, planInput, PlanResult.parser(), tenantId, cancellation);
+    }
+
+    public PythonRun<TaskResult> executeTask(
+            NodeWorkspace workspace, TaskInput taskInput, String tenantId, ExecutionCancellation cancellation) {
+        return runPython(NodeType.TASK, workspace, taskInput, TaskResult.parser(), tenantId, cancellation);
+    }
+
+    private <T extends MessageLite> PythonRun<T> runPython(
+            NodeType nodeType,
+            NodeWorkspace workspace,
+            MessageLite inputMessage,
+            Parser<T> resultParser,
+            String tenantId,
+            ExecutionCancellation cancellation) {
+        int batchSize = workspace.batching().maxSize() > 0
+                ? workspace.batching().maxSize()
+                : pythonProperties.getBatching().getMaxSize();
+        if (batchSize <= 1 || usesAsyncWorkers(workspace)) {
+            return runSingle(nodeType, workspace, inputMessage, resultParser, tenantId, cancellation);
+        }
+        // A batch of several inputs serves several runs at once, so a cancelled run only stops its input
+        // from joining one; an input that ends up alone still runs with its own cancellation.
+        if (cancellation.isCancelled()) {
+            throw new IllegalStateException(cancellation.reason());
+        }
+        Duration linger = Duration.ofMillis(workspace.batching().lingerMillis() > 0
+                ? workspace.batching().lingerMillis()
+                : Math.max(0, pythonProperties.getBatching().getLingerMillis()));
+        BatchKey key = new BatchKey(nodeType, tenantId, workspace.contentHash(), workspace.environmentHash());
+        RunnerBatch.Outcome<T> outcome = batcher.submit(
+                key,
+                batchSize,
+                linger,
+                new BatchInput(workspace, inputMessage, cancellation),
+                inputs -> runBatch(nodeType, inputs, resultParser, tenantId));
+        return outcome.orThrow();
+    }
+
+    private boolean usesAsyncWorkers(NodeWorkspace workspace) {
+        return asyncWorkerPool != null && workspace.coroutine() && workspace.sitePackages() == null;
+    }
+
+    private <T extends MessageLite> PythonRun<T> runSingle(
+            NodeType nodeType,
+            NodeWorkspace workspace,
+            MessageLite inputMessage,
+            Parser<T> resultParser,
+            String tenantId,
+            ExecutionCancellation cancellation) {
+        Duration timeout = nodeTimeouts.timeoutFor(nodeType, workspace);
+        long startedAt = System.nanoTime();
+        try {
+            PythonRun<T> run = runWithin(nodeType, workspace, inputMessage, resultParser, tenantId, timeout, cancellation);
+            nodeTimeouts.record(workspace, TimeUnit.MILLISECONDS.toNanos(run.resourceUsage().getWallMs()));
+            return run;
+        } catch (RuntimeException e) {
+            if (System.nanoTime() - startedAt >= timeout.toNanos()) {
+                nodeTimeouts.recordTimeout(workspace);
+            }
+            throw e;
+        }
+    }
+
+    private <T extends MessageLite> PythonRun<T> runWithin(
+            NodeType nodeType,
+            NodeWorkspace workspace,
+            MessageLite inputMessage,
+            Parser<T> resultParser,
+            String tenantId,
+            Duration timeout,
+            ExecutionCancellation cancellation) {
+        // Async and pooled workers share one sys.path and cannot unload native extensions, and forked
+        // runners inherit the zygote's already imported packages, so nodes with their own
+        // requirements always get a fresh process.
+        if (usesAsyncWorkers(workspace)) {
+            return checkResultSize(
+                    asyncWorkerPool.execute(nodeType, workspace, inputMessage, resultParser, tenantId, timeout, cancellation));
+        }
+        if (workerPool != null && workspace.sitePackages() == null) {
+            return checkResultSize(
+                    workerPool.execute(nodeType, workspace, inputMessage, resultParser, tenantId, timeout, cancellation));
+        }
+        if (forkServer != null && workspace.sitePackages() == null) {
+            return checkResultSize(
+                    forkServer.execute(nodeType, workspace, inputMessage, resultParser, tenantId, timeout, cancellation));
+        }
+
+        Spawned<RunnerOutput<T>> spawned = spawn(
+                nodeType,
+                workspace,
+                List.of("--mode", nodeType.name().toLowerCase(), "--script", workspace.scriptPath().toString()),
                 tenantId,
-                workingDirectory
-        );
-        PlanResult result = ProtobufUtils.deserializePlanResult(resultBytes);
-        if (result == null) {
-            throw new IllegalStateException("Python runner returned an invalid PlanResult payload");
+                timeout,
+                pythonProperties.getOutput().getMaxResultBytes(),
+                cancellation,
+                stdin -> sharedMemory.writeMessage(stdin, inputMessage),
+                stdout -> readResult(stdout, resultParser, nodeType));
+        RunnerOutput<T> output = spawned.output();
+        if (output.result() == null) {
+            throw new IllegalStateException("Python runner produced empty output");
         }
-        return result;
+        return checkResultSize(new PythonRun<>(
+                output.result(),
+                toResourceUsage(output.usage(), spawned.wallNanos(), output.result().getSerializedSize(), spawned.stderrBytes())));
     }
 
-    public TaskResult executeTask(Path scriptPath, TaskInput taskInput, String tenantId, Path workingDirectory) {
-        byte[] resultBytes = runPython(
-                "task",
-                scriptPath,
-                taskInput.toByteArray(),
+    /**
+     * Reject results over the configured size. Result frames are already refused from their length
+     * before they are read, and spawned runners are cut off while writing to the pipe; this is the
+     * backstop for anything that got past both.
+     */
+    private <T extends MessageLite> PythonRun<T> checkResultSize(PythonRun<T> run) {
+        int limit = pythonProperties.getOutput().getMaxResultBytes();
+        int size = run.result().getSerializedSize();
+        if (size > limit) {
+            throw new IllegalStateException(
+                    "Python runner returned a result of " + size + " bytes, over the limit of " + limit + " bytes");
+        }
+        return run;
+    }
+
+    /**
+     * Run inputs that {@link ExecutionBatcher} coalesced for one node source in a single runner
+     * call. Items run one after another, so the batch may take the per-call timeout once per item.
+     */
+    private <T extends MessageLite> List<RunnerBatch.Outcome<T>> runBatch(
+            NodeType nodeType,
+            List<BatchInput> inputs,
+            Parser<T> resultParser,
+            String tenantId) {
+        if (inputs.size() == 1) {
+            BatchInput input = inputs.get(0);
+            return List.of(new RunnerBatch.Outcome<>(
+                    runSingle(nodeType, input.workspace(), input.message(), resultParser, tenantId, input.cancellation()),
+                    null));
+        }
+        List<NodeWorkspace> workspaces = inputs.stream().map(BatchInput::workspace).toList();
+        List<MessageLite> messages = inputs.stream().map(BatchInput::message).toList();
+        NodeWorkspace workspace = workspaces.get(0);
+        Duration timeout = nodeTimeouts.timeoutFor(nodeType, workspace).multipliedBy(inputs.size());
+        logger.debug(
+                "Running batch nodeType={} hash={} tenant={} size={}",
+                nodeType,
+                workspace.contentHash(),
                 tenantId,
-                workingDirectory
-        );
-        TaskResult result = ProtobufUtils.deserializeTaskResult(resultBytes);
-        if (result == null) {
-            throw new IllegalStateException("Python runner returned an invalid TaskResult payload");
+                inputs.size());
+        if (workerPool != null && workspace.sitePackages() == null) {
+            return workerPool.executeBatch(nodeType, workspaces, messages, resultParser, tenantId, timeout);
+        }
+        if (forkServer != null && workspace.sitePackages() == null) {
+            return forkServer.executeBatch(nodeType, workspaces, messages, resultParser, tenantId, timeout);
+        }
+
+        ObjectNode request = RunnerBatch.newRequest(nodeType, workspaces, tenantId);
+        Spawned<byte[]> spawned = spawn(
+                nodeType,
+                workspace,
+                List.of("--batch"),
+                tenantId,
+                timeout,
+                (long) pythonProperties.getOutput().getMaxResultBytes() * inputs.size(),
+                ExecutionCancellation.NONE,
+                stdin -> {
+                    RunnerFraming.writeFrame(stdin, objectMapper.writeValueAsBytes(request));
+                    RunnerBatch.writePayloads(stdin, messages, sharedMemory);
+                },
+                PythonProcessExecutor::readAllBytes);
+        try {
+            InputStream reply = new ByteArrayInputStream(spawned.output());
+            byte[] header = RunnerFraming.readFrame(reply);
+            if (header == null) {
+                throw new IllegalStateException("Python runner produced empty output");
+            }
+            return RunnerBatch.readOutcomes(
+                    objectMapper.readTree(header),
+                    reply,
+                    sharedMemory,
+                    resultParser,
+                    inputs.size(),
+                    spawned.stderrBytes());
+        } catch (IOException e) {
+            throw new IllegalStateException("Python runner returned an unreadable batch reply", e);
         }
-        return result;
     }
 
-    private byte[] runPython(
-            String mode,
-            Path scriptPath,
-            byte[] inputMessage,
+    /**
+     * Start a fresh runner for the workspace, feed it its input and collect its output once it exits.
+     */
+    private <R> Spawned<R> spawn(
+            NodeType nodeType,
+            NodeWorkspace workspace,
+            List<String> runnerArguments,
             String tenantId,
-            Path workingDirectory) {
-        Duration timeout = Duration.ofSeconds(Math.max(1, pythonProperties.getTimeoutSeconds()));
+            Duration timeout,
+            long outputLimit,
+            ExecutionCancellation cancellation,
+            RunnerInput runnerInput,
+            Function<InputStream, R> outputReader) {
+        Path workingDirectory = workspace.workspaceDirectory();
+
         List<String> command = new ArrayList<>();
         command.add(pythonProperties.getCommand());
         command.add(runnerScriptPath.toString());
-        command.add("--mode");
-        command.add(mode);
-        command.add("--script");
-        command.add(scriptPath.toString());
+        command.addAll(runnerArguments);
 
         ProcessBuilder processBuilder = new ProcessBuilder(command);
         processBuilder.directory(workingDirectory.toFile());
-        configureEnvironment(processBuilder, workingDirectory, tenantId);
+        configureEnvironment(processBuilder, workingDirectory, workspace.sitePackages(), tenantId);
+        processBuilder.environment().put(SCRATCH_DIR_ENV, workspace.scratchDirectory().toString());
 
-        String encodedInput = Base64.getEncoder().encodeToString(inputMessage);
+        CgroupManager.Group cgroup = cgroups.open(nodeType);
+        long startedAt = System.nanoTime();
+        Process process;
+        try {
+            process = processBuilder.start();
+        } catch (IOException e) {
+            cgroup.close();
+            throw new IllegalStateException("Failed to execute python process", e);
+        }
         try {
-            Process process = processBuilder.start();
-            CompletableFuture<byte[]> stdoutFuture = CompletableFuture.supplyAsync(() -> readAllBytes(process.getInputStream()));
-            CompletableFuture<byte[]> stderrFuture = CompletableFuture.supplyAsync(() -> readAllBytes(process.getErrorStream()));
+            // The runner only loads the node script after reading its input, so nothing user-supplied runs unconfined.
+            cgroup.attach(process.pid());
+            cancellation.onCancel(process::destroyForcibly);
+            CappedInputStream stdout = new CappedInputStream(process.getInputStream(), outputLimit, process::destroyForcibly);
+            Future<R> stdoutFuture = startReader(
+                    "python-runner-" + process.pid() + "-stdout", () -> outputReader.apply(stdout));
+            RunnerStderr stderr = RunnerStderr.drain(
+                    process.getErrorStream(),
+                    Thread.ofVirtual().name("python-runner-" + process.pid() + "-stderr"),
+                    pythonProperties.getOutput().getStderrTailBytes(),
+                    runnerLogContext(nodeType, tenantId, process.pid()));
 
-            try (OutputStream stdin = process.getOutputStream()) {
-                stdin.write(encodedInput.getBytes(StandardCharsets.UTF_8));
-                stdin.flush();
+            try (OutputStream stdin = new BufferedOutputStream(process.getOutputStream(), 64 * 1024)) {
+                runnerInput.writeTo(stdin);
             }
 
             boolean finished = process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS);
             if (!finished) {
                 process.destroyForcibly();
-                throw new IllegalStateException(
-                        "Python process timed out after " + timeout.getSeconds() + " seconds");
+                throw new IllegalStateException(cgroup.describeTimeout(timeout, CgroupManager.Counters.ZERO));
             }
 
-            byte[] stdout = awaitOutput(stdoutFuture);
-            byte[] stderr = awaitOutput(stderrFuture);
-            String stdoutText = new String(stdout, StandardCharsets.UTF_8).trim();
-            String stderrText = new String(stderr, StandardCharsets.UTF_8).trim();
+            long wallNanos = System.nanoTime() - startedAt;
 
             if (process.exitValue() != 0) {
-                throw new IllegalStateException("Python runner failed: " + stderrText);
-            }
-            if (stdoutText.isBlank()) {
-                throw new IllegalStateException("Python runner produced empty output");
+                if (stdout.exceeded()) {
+                    throw new IllegalStateException(stdout.describeOverflow());
+                }
+                String limitFailure = cgroup.describeFailure(CgroupManager.Counters.ZERO);
+                if (limitFailure != null) {
+                    throw new IllegalStateException("Python process " + limitFailure);
+                }
+                awaitStderr(stderr);
+                throw new IllegalStateException("Python runner failed: " + stderr.tail().trim());
             }
 
-            return Base64.getDecoder().decode(stdoutText);
+            R output = awaitOutput(stdoutFuture);
+            awaitStderr(stderr);
+            return new Spawned<>(output, wallNanos, stderr.totalBytes());
         } catch (IOException | InterruptedException e) {
             if (e instanceof InterruptedException) {
                 Thread.currentThread().interrupt();
             }
+            String limitFailure = cgroup.describeFailure(CgroupManager.Counters.ZERO);
+            if (limitFailure != null) {
+                throw new IllegalStateException("Python process " + limitFailure, e);
+            }
             throw new IllegalStateException("Failed to execute python process", e);
+        } finally {
+            cancellation.clear();
+            if (process.isAlive()) {
+                process.destroyForcibly();
+            }
+            cgroup.close();
         }
     }
 
-    private void configureEnvironment(ProcessBuilder processBuilder, Path workingDirectory, String tenantId) {
+    /**
+     * Build a long-lived {@code --serve} runner; the working directory and tenant are sent per request.
+     */
+    private ProcessBuilder buildWorkerProcess() {
+        ProcessBuilder processBuilder = new ProcessBuilder(
+                pythonProperties.getCommand(), runnerScriptPath.toString(), "--serve");
+        processBuilder.directory(resolveWorkingRootPath().toFile());
+        configurePythonPath(processBuilder, null, null);
+        return processBuilder;
+    }
+
+    /**
+     * Build a long-lived {@code --serve-async} runner for {@code async def} nodes.
+     */
+    private ProcessBuilder buildAsyncWorkerProcess() {
+        ProcessBuilder processBuilder = new ProcessBuilder(
+                pythonProperties.getCommand(), runnerScriptPath.toString(), "--serve-async");
+        processBuilder.directory(resolveWorkingRootPath().toFile());
+        configurePythonPath(processBuilder, null, null);
+        return processBuilder;
+    }
+
+    /**
+     * Build the {@code --zygote} runner; like pooled workers, it gets per-call settings over its socket.
+     */
+    private ProcessBuilder buildZygoteProcess(Path socketPath) {
+        ProcessBuilder processBuilder = new ProcessBuilder(
+                pythonProperties.getCommand(),
+                runnerScriptPath.toString(),
+                "--zygote",
+                "--socket", socketPath.toString(),
+                "--preload", String.join(",", pythonProperties.getFork().getPreload()));
+        processBuilder.directory(resolveWorkingRootPath().toFile());
+        configurePythonPath(processBuilder, null, null);
+        return processBuilder;
+    }
+
+    private void configureEnvironment(
+            ProcessBuilder processBuilder, Path workingDirectory, Path sitePackages, String tenantId) {
+        configurePythonPath(processBuilder, workingDirectory, sitePackages);
+        processBuilder.environment().put("TENANT_ID", tenantId);
+    }
+
+    private void configurePythonPath(ProcessBuilder processBuilder, Path workingDirectory, Path sitePackages) {
+        // Workspaces are read-only, so keep bytecode caches in a shared writable tree instead.
+        processBuilder.environment().put("PYTHONPYCACHEPREFIX", resolvePycachePrefix().toString());
+        sharedMemory.configure(processBuilder.environment());
+
         String existingPythonPath = processBuilder.environment().get("PYTHONPATH");
         Path commonPy = resolveCommonPyPath();
 
         StringBuilder pythonPath = new StringBuilder();
         pythonPath.append(commonPy.toString());
-        pythonPath.append(System.getProperty("path.separator"));
-        pythonPath.append(workingDirectory);
+        if (workingDirectory != null) {
+            pythonPath.append(System.getProperty("path.separator"));
+            pythonPath.append(workingDirectory);
+        }
+        if (sitePackages != null) {
+            // Ahead of the interpreter's own site-packages, so the node's pinned versions win.
+            pythonPath.append(System.getProperty("path.separator"));
+            pythonPath.append(sitePackages);
+        }
         if (existingPythonPath != null && !existingPythonPath.isBlank()) {
             pythonPath.append(System.getProperty("path.separator"));
             pythonPath.append(existingPythonPath);
         }
 
         processBuilder.environment().put("PYTHONPATH", pythonPath.toString());
-        processBuilder.environment().put("TENANT_ID", tenantId);
     }
 
     private Path resolveCommonPyPath() {
@@ -184,14 +544,172 @@ public class PythonProcessExecutor {
         }
     }
 
-    private static byte[] awaitOutput(CompletableFuture<byte[]> future) {
+    /**
+     * Combine the runner's self-reported CPU and peak RSS with what the executor measured.
+     *
+     * @param usage the runner's {@code usage} object, or {@code null} if it did not report one
+     */
+    static ResourceUsage toResourceUsage(JsonNode usage, long wallNanos, long outputBytes, long stderrBytes) {
+        ResourceUsage.Builder builder = ResourceUsage.newBuilder()
+                .setWallMs(TimeUnit.NANOSECONDS.toMillis(wallNanos))
+                .setOutputBytes(outputBytes)
+                .setStderrBytes(stderrBytes);
+        if (usage != null) {
+            builder.setUserCpuMs(usage.path("user_cpu_ms").asLong(0))
+                    .setSystemCpuMs(usage.path("system_cpu_ms").asLong(0))
+                    .setPeakRssBytes(usage.path("peak_rss_bytes").asLong(0));
+        }
+        return builder.build();
+    }
+
+    private <T> RunnerOutput<T> readResult(InputStream stream, Parser<T> parser, NodeType nodeType) {
+        try (InputStream in = new BufferedInputStream(stream, 64 * 1024)) {
+            T result = sharedMemory.readMessage(in, parser);
+            if (result == null) {
+                return new RunnerOutput<>(null, null);
+            }
+            // Usage trails the result; older runners end the stream instead.
+            return new RunnerOutput<>(result, readUsage(RunnerFraming.readFrame(in)));
+        } catch (InvalidProtocolBufferException e) {
+            String resultType = nodeType == NodeType.PLAN ? "PlanResult" : "TaskResult";
+            throw new IllegalStateException("Python runner returned an invalid " + resultType + " payload", e);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read process stream", e);
+        }
+    }
+
+    private static JsonNode readUsage(byte[] frame) {
+        if (frame == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(frame);
+        } catch (IOException e) {
+            logger.debug("Ignoring unreadable runner usage report: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Run a blocking read of a runner stream on a virtual thread of its own, off any shared pool.
+     */
+    private static <R> Future<R> startReader(String threadName, Callable<R> reader) {
+        FutureTask<R> task = new FutureTask<>(reader);
+        Thread.ofVirtual().name(threadName).start(task);
+        return task;
+    }
+
+    /**
+     * MDC for a spawned runner's log lines: the caller's execution context plus the runner itself.
+     */
+    private static Map<String, String> runnerLogContext(NodeType nodeType, String tenantId, long pid) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        if (context == null) {
+            context = new HashMap<>();
+        }
+        context.putIfAbsent("tenantId", tenantId);
+        context.put("nodeType", nodeType.name().toLowerCase());
+        context.put("pythonPid", Long.toString(pid));
+        return context;
+    }
+
+    private static void awaitStderr(RunnerStderr stderr) throws InterruptedException {
+        if (!stderr.await(Duration.ofSeconds(10))) {
+            logger.debug("Python runner stderr still open after it exited; using what was read so far");
+        }
+    }
+
+    private static <T> T awaitOutput(Future<T> future) {
         try {
             return future.get(10, TimeUnit.SECONDS);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new IllegalStateException("Interrupted while reading process output", e);
-        } catch (ExecutionException | TimeoutException e) {
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IllegalStateException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Failed to read process output", e);
+        } catch (TimeoutException e) {
             throw new IllegalStateException("Failed to read process output", e);
         }
     }
+
+    /**
+     * Runner workers busy with a call and waiting for one.
+     */
+    public record WorkerCounts(int busy, int idle) {
+    }
+
+    private record RunnerOutput<T>(T result, JsonNode usage) {
+    }
+
+    /**
+     * Stdout of a spawned runner that stops the runner once it has written more than the limit.
+     */
+    private static final class CappedInputStream extends FilterInputStream {
+
+        private final long limit;
+        private final Runnable onOverflow;
+        private long count;
+        private volatile boolean exceeded;
+
+        private CappedInputStream(InputStream in, long limit, Runnable onOverflow) {
+            super(in);
+            this.limit = limit;
+            this.onOverflow = onOverflow;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) {
+                count(1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        private boolean exceeded() {
+            return exceeded;
+        }
+
+        private String describeOverflow() {
+            return "Python runner output exceeded the limit of " + limit + " bytes";
+        }
+
+        private void count(int bytes) {
+            count += bytes;
+            if (count > limit) {
+                exceeded = true;
+                onOverflow.run();
+                throw new IllegalStateException(describeOverflow());
+            }
+        }
+    }
+
+    private record Spawned<R>(R output, long wallNanos, long stderrBytes) {
+    }
+
+    @FunctionalInterface
+    private interface RunnerInput {
+        void writeTo(OutputStream stdin) throws IOException;
+    }
+
+    /**
+     * Inputs may share a batch only if they run the same source, with the same packages, for the same tenant.
+     */
+    private record BatchKey(NodeType nodeType, String tenantId, String contentHash, String environmentHash) {
+    }
+
+    private record BatchInput(NodeWorkspace workspace, MessageLite message, ExecutionCancellation cancellation) {
+    }
 }
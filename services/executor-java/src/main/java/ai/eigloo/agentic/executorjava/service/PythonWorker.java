@@ -0,0 +1,248 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import ai.eigloo.agentic.executorjava.model.NodeType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One long-lived {@code executor_runner.py --serve} process.
+ *
+ * <p>Requests and responses are {@link RunnerFraming} frames on stdin/stdout: a small JSON
+ * header frame, followed by a raw protobuf frame when a payload is present. Stderr is a
+ * separate channel that only carries logs. A worker serves one request at a time; callers
+ * get exclusive use of it through {@link PythonWorkerPool}.
+ */
+final class PythonWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(PythonWorker.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final AtomicLong requestIds = new AtomicLong();
+
+    private final NodeType nodeType;
+    private final Process process;
+    private final CgroupManager.Group cgroup;
+    private final SharedMemoryTransfer sharedMemory;
+    private final OutputStream stdin;
+    private final InputStream stdout;
+    private final RunnerStderr stderr;
+    private int requestsServed;
+
+    private PythonWorker(
+            NodeType nodeType, Process process, CgroupManager.Group cgroup, SharedMemoryTransfer sharedMemory) {
+        this.nodeType = nodeType;
+        this.process = process;
+        this.cgroup = cgroup;
+        this.sharedMemory = sharedMemory;
+        this.stdin = new BufferedOutputStream(process.getOutputStream(), 64 * 1024);
+        this.stdout = new BufferedInputStream(process.getInputStream(), 64 * 1024);
+        this.stderr = RunnerStderr.drain(
+                process.getErrorStream(),
+                Thread.ofPlatform().daemon().name("python-worker-" + process.pid() + "-stderr"),
+                0,
+                Map.of("nodeType", nodeType.name().toLowerCase(), "pythonPid", Long.toString(process.pid())));
+    }
+
+    /**
+     * Start a worker confined to {@code cgroup}, which the worker owns and removes on shutdown.
+     */
+    static PythonWorker start(
+            NodeType nodeType,
+            ProcessBuilder processBuilder,
+            CgroupManager.Group cgroup,
+            SharedMemoryTransfer sharedMemory) throws IOException {
+        Process process;
+        try {
+            process = processBuilder.start();
+        } catch (IOException | RuntimeException e) {
+            cgroup.close();
+            throw e;
+        }
+        cgroup.attach(process.pid());
+        PythonWorker worker = new PythonWorker(nodeType, process, cgroup, sharedMemory);
+        logger.info("Started python worker pid={} nodeType={}", worker.pid(), nodeType);
+        return worker;
+    }
+
+    static ObjectNode newRequest(String op) {
+        ObjectNode request = objectMapper.createObjectNode();
+        request.put("op", op);
+        return request;
+    }
+
+    NodeType nodeType() {
+        return nodeType;
+    }
+
+    long pid() {
+        return process.pid();
+    }
+
+    int requestsServed() {
+        return requestsServed;
+    }
+
+    /**
+     * Log bytes drained from stderr so far; read before and after a call for that call's share.
+     */
+    long stderrBytes() {
+        return stderr.totalBytes();
+    }
+
+    boolean isAlive() {
+        return process.isAlive();
+    }
+
+    /**
+     * Send one request and read its reply straight from the worker's stdout.
+     *
+     * <p>A watchdog kills the process if no reply arrives within the timeout, which also
+     * unblocks the pipe read.
+     *
+     * @param payload      protobuf payload frame to send after the header, or {@code null}
+     * @param resultParser parser for the reply payload frame, or {@code null} if none is expected
+     * @throws IllegalStateException if the worker timed out or answered out of turn; it must not
+     *                               be reused afterwards
+     */
+    <T> Reply<T> call(
+            ObjectNode request,
+            MessageLite payload,
+            Parser<T> resultParser,
+            Duration timeout,
+            ScheduledExecutorService watchdog) throws IOException {
+        List<MessageLite> payloads = payload == null ? List.of() : List.of(payload);
+        return exchange(request, payloads, timeout, watchdog, header -> {
+            boolean ok = header.path("ok").asBoolean(false);
+            T result = null;
+            if (ok && resultParser != null) {
+                result = sharedMemory.readMessage(stdout, resultParser);
+                if (result == null) {
+                    throw new EOFException("Python worker pid=" + pid() + " closed its output");
+                }
+            }
+            JsonNode usage = header.get("usage");
+            return new Reply<>(ok, header.path("error").asText(""), result, usage);
+        });
+    }
+
+    /**
+     * Send an {@code execute_batch} request for several inputs of one node and read every item's outcome.
+     *
+     * @see #call
+     */
+    <T extends MessageLite> List<RunnerBatch.Outcome<T>> callBatch(
+            ObjectNode request,
+            List<? extends MessageLite> payloads,
+            Parser<T> resultParser,
+            Duration timeout,
+            ScheduledExecutorService watchdog) throws IOException {
+        long stderrBefore = stderrBytes();
+        return exchange(request, payloads, timeout, watchdog,
+                // Stderr is drained asynchronously, so the batch's last lines may count toward the next call.
+                header -> RunnerBatch.readOutcomes(
+                        header, stdout, sharedMemory, resultParser, payloads.size(), stderrBytes() - stderrBefore));
+    }
+
+    private <R> R exchange(
+            ObjectNode request,
+            List<? extends MessageLite> payloads,
+            Duration timeout,
+            ScheduledExecutorService watchdog,
+            ReplyReader<R> replyReader) throws IOException {
+        String requestId = Long.toString(requestIds.incrementAndGet());
+        request.put("id", requestId);
+        requestsServed += payloads.size();
+
+        CgroupManager.Counters before = cgroup.counters();
+        AtomicBoolean timedOut = new AtomicBoolean();
+        ScheduledFuture<?> killer = watchdog.schedule(() -> {
+            timedOut.set(true);
+            kill();
+        }, timeout.toMillis(), TimeUnit.MILLISECONDS);
+        try {
+            RunnerFraming.writeFrame(stdin, objectMapper.writeValueAsBytes(request));
+            RunnerBatch.writePayloads(stdin, payloads, sharedMemory);
+            stdin.flush();
+
+            byte[] headerBytes = RunnerFraming.readFrame(stdout);
+            if (headerBytes == null) {
+                throw new EOFException("Python worker pid=" + pid() + " closed its output");
+            }
+            JsonNode header = objectMapper.readTree(headerBytes);
+            if (!requestId.equals(header.path("id").asText())) {
+                throw new IllegalStateException(
+                        "Python worker pid=" + pid() + " answered request " + header.path("id").asText()
+                                + " while waiting for " + requestId);
+            }
+            return replyReader.read(header);
+        } catch (IOException e) {
+            if (timedOut.get()) {
+                throw new IllegalStateException(cgroup.describeTimeout(timeout, before));
+            }
+            String limitFailure = cgroup.describeFailure(before);
+            if (limitFailure != null) {
+                throw new IllegalStateException("Python worker pid=" + pid() + " " + limitFailure, e);
+            }
+            throw e;
+        } finally {
+            killer.cancel(false);
+        }
+    }
+
+    /**
+     * Ask the worker to exit by closing stdin, then force-kill it if it lingers.
+     */
+    void shutdown() {
+        try {
+            stdin.close();
+        } catch (IOException ignored) {
+            // The process is being torn down either way.
+        }
+        try {
+            if (!process.waitFor(2, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            process.destroyForcibly();
+        }
+        cgroup.close();
+        logger.info("Stopped python worker pid={} nodeType={} requestsServed={}", pid(), nodeType, requestsServed);
+    }
+
+    void kill() {
+        process.destroyForcibly();
+    }
+
+    @FunctionalInterface
+    private interface ReplyReader<R> {
+        R read(JsonNode header) throws IOException;
+    }
+
+    /**
+     * Runner reply header plus the parsed payload when the call succeeded.
+     *
+     * @param usage the runner's CPU and peak RSS report for the call, or {@code null}
+     */
+    record Reply<T>(boolean ok, String error, T result, JsonNode usage) {
+    }
+}
@@ -0,0 +1,330 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import ai.eigloo.agentic.executorjava.config.ExecutorPythonProperties;
+import ai.eigloo.agentic.executorjava.model.NodeType;
+import ai.eigloo.agentic.executorjava.model.NodeWorkspace;
+import ai.eigloo.agentic.executorjava.model.PythonRun;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Pool of warm {@link PythonWorker} processes, sized independently per node type.
+ *
+ * <p>Workers are recycled after a configurable number of requests, health-checked
+ * while idle, and killed and replaced individually when a request times out.
+ */
+class PythonWorkerPool implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PythonWorkerPool.class);
+
+    private final ExecutorPythonProperties.Pool poolProperties;
+    private final Supplier<ProcessBuilder> processFactory;
+    private final CgroupManager cgroups;
+    private final SharedMemoryTransfer sharedMemory;
+    private final Map<NodeType, WorkerGroup> groups = new EnumMap<>(NodeType.class);
+    private final ScheduledExecutorService maintenance;
+    private final ScheduledExecutorService watchdog;
+    private volatile Set<NodeType> warmLanes = Set.of();
+    private volatile boolean closed;
+
+    PythonWorkerPool(
+            ExecutorPythonProperties.Pool poolProperties,
+            Supplier<ProcessBuilder> processFactory,
+            CgroupManager cgroups,
+            SharedMemoryTransfer sharedMemory) {
+        this.poolProperties = poolProperties;
+        this.processFactory = processFactory;
+        this.cgroups = cgroups;
+        this.sharedMemory = sharedMemory;
+        groups.put(NodeType.PLAN, new WorkerGroup(NodeType.PLAN, Math.max(1, poolProperties.getPlanSize())));
+        groups.put(NodeType.TASK, new WorkerGroup(NodeType.TASK, Math.max(1, poolProperties.getTaskSize())));
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("python-worker-pool-maintenance").factory());
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("python-worker-pool-watchdog").factory());
+    }
+
+    /**
+     * Start the workers of the lanes this executor serves up front and schedule periodic health
+     * checks; other lanes only get workers on first use.
+     */
+    void start(Set<NodeType> lanes) {
+        warmLanes = Set.copyOf(lanes);
+        groups.values().forEach(this::topUp);
+        long interval = Math.max(1, poolProperties.getHealthCheckIntervalSeconds());
+        maintenance.scheduleWithFixedDelay(this::healthCheck, interval, interval, TimeUnit.SECONDS);
+        logger.info(
+                "Python worker pool started planWorkers={} taskWorkers={} maxRequestsPerWorker={}",
+                groups.get(NodeType.PLAN).size,
+                groups.get(NodeType.TASK).size,
+                poolProperties.getMaxRequestsPerWorker());
+    }
+
+    <T extends MessageLite> PythonRun<T> execute(
+            NodeType nodeType,
+            NodeWorkspace workspace,
+            MessageLite inputMessage,
+            Parser<T> resultParser,
+            String tenantId,
+            Duration timeout,
+            ExecutionCancellation cancellation) {
+        WorkerGroup group = groups.get(nodeType);
+        PythonWorker worker = null;
+        boolean reusable = false;
+        try {
+            worker = acquire(group, timeout);
+            // Killing the worker fails the call, so the worker is retired rather than reused.
+            cancellation.onCancel(worker::kill);
+
+            ObjectNode request = PythonWorker.newRequest("execute");
+            request.put("mode", nodeType.name().toLowerCase());
+            request.put("script", workspace.scriptPath().toAbsolutePath().toString());
+            request.put("workdir", workspace.workspaceDirectory().toAbsolutePath().toString());
+            request.put("scratch", workspace.scratchDirectory().toAbsolutePath().toString());
+            request.put("tenant_id", tenantId);
+
+            long stderrBefore = worker.stderrBytes();
+            long startedAt = System.nanoTime();
+            PythonWorker.Reply<T> reply = worker.call(request, inputMessage, resultParser, timeout, watchdog);
+            long wallNanos = System.nanoTime() - startedAt;
+            reusable = true;
+            if (!reply.ok()) {
+                throw new IllegalStateException("Python runner failed: " + reply.error().trim());
+            }
+            // Stderr is drained asynchronously, so the last lines of a call may count toward the next one.
+            return new PythonRun<>(
+                    reply.result(),
+                    PythonProcessExecutor.toResourceUsage(
+                            reply.usage(),
+                            wallNanos,
+                            reply.result().getSerializedSize(),
+                            worker.stderrBytes() - stderrBefore));
+        } catch (IOException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("Failed to execute python process", e);
+        } finally {
+            cancellation.clear();
+            if (worker != null) {
+                release(group, worker, reusable);
+            }
+        }
+    }
+
+    /**
+     * Run several inputs of one node in a single request to one worker.
+     */
+    <T extends MessageLite> List<RunnerBatch.Outcome<T>> executeBatch(
+            NodeType nodeType,
+            List<NodeWorkspace> workspaces,
+            List<? extends MessageLite> inputMessages,
+            Parser<T> resultParser,
+            String tenantId,
+            Duration timeout) {
+        WorkerGroup group = groups.get(nodeType);
+        PythonWorker worker = null;
+        boolean reusable = false;
+        try {
+            worker = acquire(group, timeout);
+            ObjectNode request = RunnerBatch.newRequest(nodeType, workspaces, tenantId);
+            List<RunnerBatch.Outcome<T>> outcomes = worker.callBatch(request, inputMessages, resultParser, timeout, watchdog);
+            reusable = true;
+            return outcomes;
+        } catch (IOException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("Failed to execute python process", e);
+        } finally {
+            if (worker != null) {
+                release(group, worker, reusable);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        maintenance.shutdownNow();
+        watchdog.shutdownNow();
+        for (WorkerGroup group : groups.values()) {
+            PythonWorker worker;
+            while ((worker = group.idle.pollFirst()) != null) {
+                worker.shutdown();
+                group.live.decrementAndGet();
+            }
+        }
+    }
+
+    private PythonWorker acquire(WorkerGroup group, Duration timeout) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            if (closed) {
+                throw new IllegalStateException("Python worker pool is shut down");
+            }
+            PythonWorker worker = group.idle.pollFirst();
+            if (worker == null && group.tryReserve()) {
+                worker = launch(group);
+            }
+            if (worker == null) {
+                long remaining = deadline - System.nanoTime();
+                worker = remaining > 0 ? group.idle.pollFirst(remaining, TimeUnit.NANOSECONDS) : null;
+                if (worker == null) {
+                    throw new IllegalStateException(
+                            "No python worker available for " + group.nodeType + " within "
+                                    + timeout.getSeconds() + " seconds");
+                }
+            }
+            if (worker.isAlive()) {
+                return worker;
+            }
+            logger.warn("Discarding dead python worker pid={} nodeType={}", worker.pid(), group.nodeType);
+            retire(group, worker, false);
+        }
+    }
+
+    private void release(WorkerGroup group, PythonWorker worker, boolean reusable) {
+        if (!reusable) {
+            logger.warn("Killing python worker pid={} nodeType={} after failed request", worker.pid(), group.nodeType);
+            retire(group, worker, true);
+        } else if (closed || !worker.isAlive()
+                || worker.requestsServed() >= Math.max(1, poolProperties.getMaxRequestsPerWorker())) {
+            retire(group, worker, false);
+        } else {
+            group.idle.offerFirst(worker);
+        }
+    }
+
+    /**
+     * Live workers of the node type that are running a call, and those waiting for one.
+     */
+    PythonProcessExecutor.WorkerCounts workerCounts(NodeType nodeType) {
+        WorkerGroup group = groups.get(nodeType);
+        int idle = group.idle.size();
+        return new PythonProcessExecutor.WorkerCounts(Math.max(0, group.live.get() - idle), idle);
+    }
+
+    /**
+     * Refill the node type's idle workers now, e.g. after failed starts, instead of at the next health check.
+     */
+    void prewarm(NodeType nodeType) {
+        topUp(groups.get(nodeType));
+    }
+
+    private void retire(WorkerGroup group, PythonWorker worker, boolean kill) {
+        if (kill) {
+            worker.kill();
+        }
+        if (closed) {
+            worker.shutdown();
+            group.live.decrementAndGet();
+            return;
+        }
+        try {
+            maintenance.execute(() -> {
+                worker.shutdown();
+                group.live.decrementAndGet();
+                topUp(group);
+            });
+        } catch (RejectedExecutionException e) {
+            worker.shutdown();
+            group.live.decrementAndGet();
+        }
+    }
+
+    private void topUp(WorkerGroup group) {
+        if (!warmLanes.contains(group.nodeType)) {
+            return;
+        }
+        while (!closed && group.tryReserve()) {
+            try {
+                group.idle.offerLast(launch(group));
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Failed to start python worker for {}: {}", group.nodeType, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Start a worker for a slot that the caller already reserved; the slot is released on failure.
+     */
+    private PythonWorker launch(WorkerGroup group) throws IOException {
+        try {
+            return PythonWorker.start(group.nodeType, processFactory.get(), cgroups.open(group.nodeType), sharedMemory);
+        } catch (IOException | RuntimeException e) {
+            group.live.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void healthCheck() {
+        Duration timeout = Duration.ofSeconds(Math.max(1, poolProperties.getHealthCheckTimeoutSeconds()));
+        for (WorkerGroup group : groups.values()) {
+            int idleCount = group.idle.size();
+            for (int i = 0; i < idleCount && !closed; i++) {
+                PythonWorker worker = group.idle.pollLast();
+                if (worker == null) {
+                    break;
+                }
+                boolean healthy = false;
+                try {
+                    healthy = worker.isAlive()
+                            && worker.call(PythonWorker.newRequest("ping"), null, null, timeout, watchdog).ok();
+                } catch (IOException | RuntimeException e) {
+                    logger.warn("Python worker pid={} failed health check: {}", worker.pid(), e.getMessage());
+                }
+                if (healthy) {
+                    group.idle.offerFirst(worker);
+                } else {
+                    worker.kill();
+                    worker.shutdown();
+                    group.live.decrementAndGet();
+                }
+            }
+            topUp(group);
+        }
+    }
+
+    private static final class WorkerGroup {
+        private final NodeType nodeType;
+        private final int size;
+        private final LinkedBlockingDeque<PythonWorker> idle = new LinkedBlockingDeque<>();
+        private final AtomicInteger live = new AtomicInteger();
+
+        private WorkerGroup(NodeType nodeType, int size) {
+            this.nodeType = nodeType;
+            this.size = size;
+        }
+
+        private boolean tryReserve() {
+            while (true) {
+                int current = live.get();
+                if (current >= size) {
+                    return false;
+                }
+                if (live.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import ai.eigloo.agentic.executorjava.config.DataPlaneClientProperties;
+import ai.eigloo.agentic.executorjava.model.ExecutorFilePayload;
+import ai.eigloo.agentic.executorjava.model.NodeBatching;
+import ai.eigloo.agentic.executorjava.model.NodeType;
+import ai.eigloo.agentic.graph.api.GraphLookupResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of node sources keyed by tenant/graph/node.
+ *
+ * <p>Entries are tagged with the data-plane ETag of the graph they came from. Within the
+ * revalidation window a hit needs no HTTP call at all; after it, one conditional request
+ * per graph either confirms the version (304, no body) or replaces every node of that
+ * graph. Eviction is least-recently-used against both an entry count and an approximate
+ * byte budget, since node file contents dominate the footprint.
+ */
+@Component
+public class ResolvedNodeCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResolvedNodeCache.class);
+    private static final long ENTRY_OVERHEAD_BYTES = 128;
+    private static final long FILE_OVERHEAD_BYTES = 64;
+
+    private final DataPlaneGraphClient dataPlaneGraphClient;
+    private final long maxBytes;
+    private final int maxEntries;
+    private final long revalidateAfterNanos;
+
+    private final Map<GraphKey, GraphState> graphs = new ConcurrentHashMap<>();
+    private final LinkedHashMap<NodeKey, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    public ResolvedNodeCache(DataPlaneGraphClient dataPlaneGraphClient, DataPlaneClientProperties properties) {
+        DataPlaneClientProperties.SourceCache cacheProperties = properties.getSourceCache();
+        this.dataPlaneGraphClient = dataPlaneGraphClient;
+        this.maxBytes = Math.max(0, cacheProperties.getMaxBytes());
+        this.maxEntries = Math.max(0, cacheProperties.getMaxEntries());
+        this.revalidateAfterNanos = TimeUnit.SECONDS.toNanos(Math.max(0, cacheProperties.getRevalidateAfterSeconds()));
+    }
+
+    /**
+     * Look up one node, fetching or revalidating its graph only when needed.
+     *
+     * @param extractor turns a freshly fetched graph into the sources of all of its nodes
+     * @return the node source, or empty if the graph exists but has no such node
+     * @throws IllegalArgumentException if the graph does not exist for the tenant
+     */
+    public Optional<NodeSource> get(
+            String tenantId,
+            String graphId,
+            NodeType nodeType,
+            String nodeName,
+            Function<GraphLookupResponse, List<NodeSource>> extractor) {
+        GraphKey graphKey = new GraphKey(tenantId, graphId);
+        NodeKey nodeKey = new NodeKey(graphKey, nodeType, nodeName);
+        GraphState state = graphs.computeIfAbsent(graphKey, key -> new GraphState());
+
+        NodeSource fresh = lookupFresh(nodeKey, state);
+        if (fresh != null) {
+            return Optional.of(fresh);
+        }
+
+        // One fetch per graph at a time; concurrent callers wait and then hit the refreshed entries.
+        synchronized (state) {
+            fresh = lookupFresh(nodeKey, state);
+            if (fresh != null) {
+                return Optional.of(fresh);
+            }
+
+            NodeSource stale = lookup(nodeKey, state.version);
+            String knownVersion = stale != null ? state.version : null;
+            DataPlaneGraphClient.GraphFetch fetch =
+                    dataPlaneGraphClient.getGraphIfModified(tenantId, graphId, knownVersion);
+            long now = System.nanoTime();
+
+            switch (fetch.status()) {
+                case NOT_FOUND -> {
+                    invalidate(graphKey);
+                    throw new IllegalArgumentException("Graph '" + graphId + "' not found for tenant " + tenantId);
+                }
+                case NOT_MODIFIED -> {
+                    state.validatedAtNanos = now;
+                    logger.debug("Revalidated graph source tenant={} graph={} version={}", tenantId, graphId, knownVersion);
+                    return Optional.of(stale);
+                }
+                default -> {
+                    List<NodeSource> sources = extractor.apply(fetch.graph());
+                    state.version = fetch.version();
+                    state.validatedAtNanos = now;
+                    NodeSource requested = store(graphKey, fetch.version(), sources, nodeKey);
+                    logger.debug(
+                            "Fetched graph source tenant={} graph={} version={} nodes={}",
+                            tenantId,
+                            graphId,
+                            fetch.version(),
+                            sources.size());
+                    return Optional.ofNullable(requested);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sources of every node of a graph, e.g. to warm caches before a run's first input. Serves
+     * the cached nodes while the graph's version is fresh, otherwise fetches the whole graph.
+     *
+     * @throws IllegalArgumentException if the graph does not exist for the tenant
+     */
+    public List<NodeSource> getGraph(
+            String tenantId,
+            String graphId,
+            Function<GraphLookupResponse, List<NodeSource>> extractor) {
+        GraphKey graphKey = new GraphKey(tenantId, graphId);
+        GraphState state = graphs.computeIfAbsent(graphKey, key -> new GraphState());
+        synchronized (state) {
+            String version = state.version;
+            if (version != null && System.nanoTime() - state.validatedAtNanos < revalidateAfterNanos) {
+                List<NodeSource> cached = cachedNodes(graphKey, version);
+                if (!cached.isEmpty()) {
+                    return cached;
+                }
+            }
+
+            DataPlaneGraphClient.GraphFetch fetch = dataPlaneGraphClient.getGraphIfModified(tenantId, graphId, null);
+            if (fetch.status() == DataPlaneGraphClient.FetchStatus.NOT_FOUND) {
+                invalidate(graphKey);
+                throw new IllegalArgumentException("Graph '" + graphId + "' not found for tenant " + tenantId);
+            }
+            List<NodeSource> sources = extractor.apply(fetch.graph());
+            state.version = fetch.version();
+            state.validatedAtNanos = System.nanoTime();
+            store(graphKey, fetch.version(), sources, null);
+            return sources;
+        }
+    }
+
+    /**
+     * Drop every cached node of a graph so the next lookup fetches it again.
+     */
+    public void invalidate(GraphKey graphKey) {
+        synchronized (entries) {
+            removeGraphEntries(graphKey, null);
+        }
+        GraphState state = graphs.get(graphKey);
+        if (state != null) {
+            state.version = null;
+        }
+    }
+
+    private NodeSource lookupFresh(NodeKey nodeKey, GraphState state) {
+        String version = state.version;
+        if (version == null || System.nanoTime() - state.validatedAtNanos >= revalidateAfterNanos) {
+            return null;
+        }
+        return lookup(nodeKey, version);
+    }
+
+    private NodeSource lookup(NodeKey nodeKey, String version) {
+        if (version == null) {
+            return null;
+        }
+        synchronized (entries) {
+            Entry entry = entries.get(nodeKey);
+            return entry != null && version.equals(entry.version()) ? entry.source() : null;
+        }
+    }
+
+    private List<NodeSource> cachedNodes(GraphKey graphKey, String version) {
+        List<NodeSource> sources = new ArrayList<>();
+        synchronized (entries) {
+            for (Map.Entry<NodeKey, Entry> entry : entries.entrySet()) {
+                if (entry.getKey().graph().equals(graphKey) && version.equals(entry.getValue().version())) {
+                    sources.add(entry.getValue().source());
+                }
+            }
+        }
+        return sources;
+    }
+
+    private NodeSource store(GraphKey graphKey, String version, List<NodeSource> sources, NodeKey requestedKey) {
+        NodeSource requested = null;
+        synchronized (entries) {
+            removeGraphEntries(graphKey, version);
+            for (NodeSource source : sources) {
+                NodeKey key = new NodeKey(graphKey, source.nodeType(), source.nodeName());
+                if (key.equals(requestedKey)) {
+                    requested = source;
+                }
+                // Without a version there is nothing to revalidate against, so never serve it from cache.
+                if (version == null || source.sizeBytes() > maxBytes) {
+                    continue;
+                }
+                Entry previous = entries.put(key, new Entry(version, source));
+                if (previous != null) {
+                    totalBytes -= previous.source().sizeBytes();
+                }
+                totalBytes += source.sizeBytes();
+            }
+            evictOverBudget();
+        }
+        return requested;
+    }
+
+    private void removeGraphEntries(GraphKey graphKey, String keepVersion) {
+        Iterator<Map.Entry<NodeKey, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<NodeKey, Entry> entry = iterator.next();
+            if (entry.getKey().graph().equals(graphKey)
+                    && (keepVersion == null || !keepVersion.equals(entry.getValue().version()))) {
+                totalBytes -= entry.getValue().source().sizeBytes();
+                iterator.remove();
+            }
+        }
+    }
+
+    private void evictOverBudget() {
+        Iterator<Map.Entry<NodeKey, Entry>> iterator = entries.entrySet().iterator();
+        while ((totalBytes > maxBytes || entries.size() > maxEntries) && iterator.hasNext()) {
+            Map.Entry<NodeKey, Entry> eldest = iterator.next();
+            totalBytes -= eldest.getValue().source().sizeBytes();
+            iterator.remove();
+            logger.debug("Evicted node source {} totalBytes={}", eldest.getKey(), totalBytes);
+        }
+        if (graphs.size() > maxEntries) {
+            // Graph states are tiny, but drop the ones that no longer own any entries.
+            Set<GraphKey> cachedGraphs = new HashSet<>();
+            entries.keySet().forEach(key -> cachedGraphs.add(key.graph()));
+            graphs.keySet().retainAll(cachedGraphs);
+        }
+    }
+
+    /**
+     * Approximate heap size of a node's files; Java strings are counted at two bytes per char.
+     */
+    public static long estimateSize(List<ExecutorFilePayload> files) {
+        long size = ENTRY_OVERHEAD_BYTES;
+        for (ExecutorFilePayload file : files) {
+            size += FILE_OVERHEAD_BYTES + 2L * file.name().length();
+            size += file.contents() == null ? 0 : 2L * file.contents().length();
+        }
+        return size;
+    }
+
+    /**
+     * Executor view of one plan or task, independent of any particular run.
+     *
+     * @param scriptFileName entry script, or {@code null} if the node has no python file
+     * @param contentHash    hash of {@code files}, see {@link NodeWorkspaceCache#contentHash}
+     * @param memoize        whether the entry script opted in to result memoization
+     * @param coroutine      whether the entry function is an {@code async def}
+     * @param batching       micro-batching settings declared by the entry script
+     * @param timeoutSeconds timeout declared by the entry script, or {@code 0}
+     */
+    public record NodeSource(
+            NodeType nodeType,
+            String graphId,
+            String nodeName,
+            String scriptFileName,
+            List<ExecutorFilePayload> files,
+            String contentHash,
+            boolean memoize,
+            boolean coroutine,
+            NodeBatching batching,
+            int timeoutSeconds,
+            long sizeBytes) {
+    }
+
+    public record GraphKey(String tenantId, String graphId) {
+    }
+
+    record NodeKey(GraphKey graph, NodeType nodeType, String nodeName) {
+    }
+
+    private record Entry(String version, NodeSource source) {
+    }
+
+    private static final class GraphState {
+        private volatile String version;
+        private volatile long validatedAtNanos;
+    }
+}
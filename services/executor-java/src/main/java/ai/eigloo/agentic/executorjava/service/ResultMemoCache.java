@@ -0,0 +1,343 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import ai.eigloo.agentic.executorjava.config.ExecutorMemoProperties;
+import ai.eigloo.agentic.executorjava.model.ResolvedExecutorNode;
+import ai.eigloo.proto.model.Common.ExecutionHeader;
+import ai.eigloo.proto.model.Common.PlanExecution;
+import ai.eigloo.proto.model.Common.PlanInput;
+import ai.eigloo.proto.model.Common.PlanResult;
+import ai.eigloo.proto.model.Common.TaskExecution;
+import ai.eigloo.proto.model.Common.TaskInput;
+import ai.eigloo.proto.model.Common.TaskResult;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Results of nodes that declare {@code MEMOIZE = True}, keyed by node source and canonical input.
+ *
+ * <p>The key covers the tenant, the node's content hash and the input with everything that
+ * identifies a particular run stripped (input, execution and result ids, lifetime, timestamps,
+ * attempt, resource usage), so the same logical input in a new run or on retry maps to the same entry. Only
+ * successful results are stored. Entries live in a byte-bounded in-memory LRU and, when enabled,
+ * in an on-disk tier under {@code {working-root}/memo} that survives restarts.
+ */
+@Service
+public class ResultMemoCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResultMemoCache.class);
+
+    private final ExecutorMemoProperties properties;
+    private final PythonProcessExecutor pythonProcessExecutor;
+    private final LinkedHashMap<String, byte[]> memory = new LinkedHashMap<>(256, 0.75f, true);
+    private long memoryBytes;
+    private final AtomicLong diskBytes = new AtomicLong(-1);
+
+    private final Counter memoryHits;
+    private final Counter diskHits;
+    private final Counter misses;
+
+    public ResultMemoCache(
+            ExecutorMemoProperties properties,
+            PythonProcessExecutor pythonProcessExecutor,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.pythonProcessExecutor = pythonProcessExecutor;
+        this.memoryHits = Counter.builder("executor.memo.hits").tag("tier", "memory").register(meterRegistry);
+        this.diskHits = Counter.builder("executor.memo.hits").tag("tier", "disk").register(meterRegistry);
+        this.misses = Counter.builder("executor.memo.misses").register(meterRegistry);
+        Gauge.builder("executor.memo.bytes", this, cache -> cache.memoryBytes)
+                .description("Serialized results held in the in-memory memo tier")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the memo key, or {@code null} if the node did not opt in or memoization is disabled
+     */
+    public String keyFor(String tenantId, ResolvedExecutorNode node, PlanInput planInput) {
+        if (!node.memoize() || !properties.isEnabled()) {
+            return null;
+        }
+        PlanInput.Builder canonical = planInput.toBuilder()
+                .clearInputId()
+                .clearGraphId()
+                .clearLifetimeId()
+                .clearTaskExecutions();
+        for (TaskExecution taskExecution : planInput.getTaskExecutionsList()) {
+            canonical.addTaskExecutions(canonical(taskExecution));
+        }
+        return key(tenantId, node, canonical.build());
+    }
+
+    /**
+     * @return the memo key, or {@code null} if the node did not opt in or memoization is disabled
+     */
+    public String keyFor(String tenantId, ResolvedExecutorNode node, TaskInput taskInput) {
+        if (!node.memoize() || !properties.isEnabled()) {
+            return null;
+        }
+        TaskInput.Builder canonical = taskInput.toBuilder()
+                .clearInputId()
+                .clearGraphId()
+                .clearLifetimeId();
+        if (taskInput.hasPlanExecution()) {
+            canonical.setPlanExecution(canonical(taskInput.getPlanExecution()));
+        }
+        return key(tenantId, node, canonical.build());
+    }
+
+    public <T> Optional<T> get(String key, Parser<T> parser) {
+        byte[] bytes;
+        synchronized (memory) {
+            bytes = memory.get(key);
+        }
+        if (bytes != null) {
+            memoryHits.increment();
+            return parse(key, bytes, parser);
+        }
+
+        bytes = readDisk(key);
+        if (bytes != null) {
+            diskHits.increment();
+            putMemory(key, bytes);
+            return parse(key, bytes, parser);
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(String key, MessageLite result) {
+        byte[] bytes = result.toByteArray();
+        if (bytes.length > properties.getMaxResultBytes()) {
+            logger.debug("Not memoizing result of {} bytes for key {}", bytes.length, key);
+            return;
+        }
+        putMemory(key, bytes);
+        writeDisk(key, bytes);
+    }
+
+    private void putMemory(String key, byte[] bytes) {
+        synchronized (memory) {
+            byte[] previous = memory.put(key, bytes);
+            memoryBytes += bytes.length - (previous != null ? previous.length : 0);
+            var eldest = memory.entrySet().iterator();
+            while (memoryBytes > properties.getMaxBytes() && eldest.hasNext()) {
+                memoryBytes -= eldest.next().getValue().length;
+                eldest.remove();
+            }
+        }
+    }
+
+    private <T> Optional<T> parse(String key, byte[] bytes, Parser<T> parser) {
+        try {
+            return Optional.of(parser.parseFrom(bytes));
+        } catch (InvalidProtocolBufferException e) {
+            logger.warn("Discarding unreadable memoized result {}: {}", key, e.getMessage());
+            synchronized (memory) {
+                byte[] removed = memory.remove(key);
+                if (removed != null) {
+                    memoryBytes -= removed.length;
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    private byte[] readDisk(String key) {
+        if (!properties.isDiskEnabled()) {
+            return null;
+        }
+        Path path = diskPath(key);
+        try {
+            byte[] bytes = Files.readAllBytes(path);
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+            return bytes;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            logger.warn("Failed reading memoized result {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeDisk(String key, byte[] bytes) {
+        if (!properties.isDiskEnabled()) {
+            return;
+        }
+        Path path = diskPath(key);
+        try {
+            Files.createDirectories(path.getParent());
+            Path temp = path.resolveSibling(".tmp-" + UUID.randomUUID());
+            Files.write(temp, bytes);
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (diskBytes.get() < 0) {
+                diskBytes.compareAndSet(-1, measureDisk());
+            } else {
+                diskBytes.addAndGet(bytes.length);
+            }
+            if (diskBytes.get() > properties.getDiskMaxBytes()) {
+                trimDisk();
+            }
+        } catch (IOException e) {
+            logger.warn("Failed writing memoized result {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Drop the least recently used files until the disk tier is back under 90% of its budget.
+     */
+    private synchronized void trimDisk() throws IOException {
+        List<Path> files = diskFiles();
+        long total = 0;
+        for (Path file : files) {
+            total += Files.size(file);
+        }
+        long target = properties.getDiskMaxBytes() / 10 * 9;
+        List<Path> oldestFirst = files.stream()
+                .sorted(Comparator.comparingLong(ResultMemoCache::lastModifiedMillis))
+                .toList();
+        for (Path file : oldestFirst) {
+            if (total <= target) {
+                break;
+            }
+            long size = Files.size(file);
+            Files.deleteIfExists(file);
+            total -= size;
+        }
+        diskBytes.set(total);
+        logger.debug("Trimmed memo disk tier to {} bytes", total);
+    }
+
+    private long measureDisk() throws IOException {
+        long total = 0;
+        for (Path file : diskFiles()) {
+            total += Files.size(file);
+        }
+        return total;
+    }
+
+    private List<Path> diskFiles() throws IOException {
+        Path root = diskRoot();
+        if (!Files.isDirectory(root)) {
+            return List.of();
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(path -> !path.getFileName().toString().startsWith(".tmp-"))
+                    .toList();
+        }
+    }
+
+    private Path diskRoot() {
+        return pythonProcessExecutor.resolveWorkingRootPath().resolve("memo");
+    }
+
+    private Path diskPath(String key) {
+        return diskRoot().resolve(key.substring(0, 2)).resolve(key + ".pb");
+    }
+
+    private static long lastModifiedMillis(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static String key(String tenantId, ResolvedExecutorNode node, MessageLite canonicalInput) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        digest.update((tenantId + "\n" + node.nodeType() + "\n" + node.contentHash() + "\n")
+                .getBytes(StandardCharsets.UTF_8));
+        digest.update(deterministicBytes(canonicalInput));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static byte[] deterministicBytes(MessageLite message) {
+        byte[] bytes = new byte[message.getSerializedSize()];
+        CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+        // Map fields (StoredData.metadata) otherwise serialize in hash order.
+        output.useDeterministicSerialization();
+        try {
+            message.writeTo(output);
+            output.checkNoSpaceLeft();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize memo key input", e);
+        }
+        return bytes;
+    }
+
+    private static TaskExecution canonical(TaskExecution taskExecution) {
+        TaskExecution.Builder builder = taskExecution.toBuilder().clearParentPlanExecId();
+        if (taskExecution.hasHeader()) {
+            builder.setHeader(canonical(taskExecution.getHeader()));
+        }
+        if (taskExecution.hasResult()) {
+            builder.setResult(taskExecution.getResult().toBuilder().clearId());
+        }
+        return builder.build();
+    }
+
+    private static PlanExecution canonical(PlanExecution planExecution) {
+        PlanExecution.Builder builder = planExecution.toBuilder().clearParentTaskExecIds();
+        if (planExecution.hasHeader()) {
+            builder.setHeader(canonical(planExecution.getHeader()));
+        }
+        if (planExecution.hasResult()) {
+            PlanResult.Builder result = planExecution.getResult().toBuilder().clearUpstreamTasksResults();
+            for (TaskResult upstream : planExecution.getResult().getUpstreamTasksResultsList()) {
+                result.addUpstreamTasksResults(upstream.toBuilder().clearId());
+            }
+            builder.setResult(result);
+        }
+        return builder.build();
+    }
+
+    private static ExecutionHeader canonical(ExecutionHeader header) {
+        return header.toBuilder()
+                .clearExecId()
+                .clearGraphId()
+                .clearLifetimeId()
+                .clearTenantId()
+                .clearAttempt()
+                .clearCreatedAt()
+                .clearCacheHit()
+                .clearResourceUsage()
+                .build();
+    }
+}
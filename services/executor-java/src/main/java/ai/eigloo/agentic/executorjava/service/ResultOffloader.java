@@ -0,0 +1,70 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import ai.eigloo.agentic.executorjava.config.ExecutorBlobProperties;
+import ai.eigloo.proto.model.Common.StoredData;
+import ai.eigloo.proto.model.Common.TaskResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+
+/**
+ * Moves large inline task data to the {@link BlobStore} so it is not copied into every
+ * downstream input and persisted row.
+ *
+ * <p>The serialized {@code google.protobuf.Any} is stored as-is and described by the
+ * {@code StoredData} metadata, so the Python side can rebuild the exact same message.
+ */
+@Service
+public class ResultOffloader {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResultOffloader.class);
+
+    static final String ENCODING_ANY = "google.protobuf.Any";
+
+    private final ExecutorBlobProperties properties;
+    private final BlobStore blobStore;
+    private final Counter offloadedBytes;
+
+    public ResultOffloader(ExecutorBlobProperties properties, BlobStore blobStore, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.blobStore = blobStore;
+        this.offloadedBytes = Counter.builder("executor.blob.offloaded.bytes")
+                .description("Task result bytes moved out of Kafka messages into the blob store")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the result with its inline data replaced by a blob reference when over the
+     * threshold; the original result if not, or if storing the blob failed
+     */
+    public TaskResult offload(String tenantId, TaskResult result) {
+        if (!properties.isOffloadEnabled() || !result.hasInlineData()) {
+            return result;
+        }
+        int size = result.getInlineData().getSerializedSize();
+        if (size <= properties.getOffloadThresholdBytes()) {
+            return result;
+        }
+
+        byte[] bytes = result.getInlineData().toByteArray();
+        try {
+            String uri = blobStore.put(tenantId, bytes);
+            offloadedBytes.increment(bytes.length);
+            return result.toBuilder()
+                    .setExternalData(StoredData.newBuilder()
+                            .setUri(uri)
+                            .putMetadata("encoding", ENCODING_ANY)
+                            .putMetadata("type_url", result.getInlineData().getTypeUrl())
+                            .putMetadata("size", Integer.toString(bytes.length)))
+                    .build();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Keeping {} byte task result inline; blob store write failed: {}", bytes.length, e.getMessage());
+            return result;
+        }
+    }
+}
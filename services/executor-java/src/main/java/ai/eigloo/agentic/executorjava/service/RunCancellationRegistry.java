@@ -0,0 +1,83 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-flight executions indexed by graph run, so a run that ends stops the python work still
+ * running on its behalf.
+ *
+ * <p>Runs that ended are remembered for a while, because inputs for them may still be queued in
+ * Kafka; executions registered for such a run start out cancelled.
+ */
+@Component
+public class RunCancellationRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(RunCancellationRegistry.class);
+    private static final int MAX_ENDED_RUNS = 10_000;
+
+    private final Map<RunKey, List<ExecutionCancellation>> inFlight = new HashMap<>();
+    private final Map<RunKey, String> endedRuns = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<RunKey, String> eldest) {
+            return size() > MAX_ENDED_RUNS;
+        }
+    };
+
+    /**
+     * Track an execution for the run until {@link #release} is called.
+     */
+    synchronized ExecutionCancellation register(String tenantId, String lifetimeId) {
+        ExecutionCancellation cancellation = new ExecutionCancellation();
+        RunKey key = new RunKey(tenantId, lifetimeId);
+        String endedStatus = endedRuns.get(key);
+        if (endedStatus != null) {
+            cancellation.cancel(reason(endedStatus));
+        } else {
+            inFlight.computeIfAbsent(key, ignored -> new ArrayList<>()).add(cancellation);
+        }
+        return cancellation;
+    }
+
+    synchronized void release(String tenantId, String lifetimeId, ExecutionCancellation cancellation) {
+        RunKey key = new RunKey(tenantId, lifetimeId);
+        List<ExecutionCancellation> executions = inFlight.get(key);
+        if (executions != null && executions.remove(cancellation) && executions.isEmpty()) {
+            inFlight.remove(key);
+        }
+    }
+
+    /**
+     * Cancel every in-flight execution of a run that reached {@code status}, and every later one.
+     */
+    public void cancelRun(String tenantId, String lifetimeId, String status) {
+        List<ExecutionCancellation> executions;
+        RunKey key = new RunKey(tenantId, lifetimeId);
+        synchronized (this) {
+            endedRuns.put(key, status);
+            executions = inFlight.remove(key);
+        }
+        if (executions == null || executions.isEmpty()) {
+            return;
+        }
+        logger.info(
+                "Cancelling {} in-flight executions tenant={} lifetime={} runStatus={}",
+                executions.size(), tenantId, lifetimeId, status);
+        String reason = reason(status);
+        executions.forEach(cancellation -> cancellation.cancel(reason));
+    }
+
+    private static String reason(String status) {
+        return "Execution cancelled because its graph run is " + status;
+    }
+
+    private record RunKey(String tenantId, String lifetimeId) {
+    }
+}
@@ -0,0 +1,114 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import ai.eigloo.agentic.executorjava.config.ExecutionStageProperties;
+import ai.eigloo.agentic.executorjava.config.ExecutorPrewarmProperties;
+import ai.eigloo.agentic.executorjava.model.ResolvedExecutorNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.function.IntSupplier;
+
+/**
+ * Warms a queued graph run's nodes before their first input arrives: fetches the graph's sources,
+ * materializes workspaces and dependency environments, and tops up the runner workers of each
+ * node's lane.
+ *
+ * <p>Prewarming runs in the background on a small budget of its own. It is skipped while the
+ * executor has enough real work in flight and stops between nodes once it does, so it only uses
+ * idle capacity; anything left cold is simply warmed by the first execution as before.
+ */
+@Component
+public class RunPrewarmer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RunPrewarmer.class);
+
+    private final ExecutorPrewarmProperties properties;
+    private final ExecutionStageProperties stageProperties;
+    private final ExecutionSourceResolver sourceResolver;
+    private final NodeWorkspaceCache workspaceCache;
+    private final PythonProcessExecutor pythonProcessExecutor;
+    private final Semaphore permits;
+
+    public RunPrewarmer(
+            ExecutorPrewarmProperties properties,
+            ExecutionStageProperties stageProperties,
+            ExecutionSourceResolver sourceResolver,
+            NodeWorkspaceCache workspaceCache,
+            PythonProcessExecutor pythonProcessExecutor) {
+        this.properties = properties;
+        this.stageProperties = stageProperties;
+        this.sourceResolver = sourceResolver;
+        this.workspaceCache = workspaceCache;
+        this.pythonProcessExecutor = pythonProcessExecutor;
+        this.permits = new Semaphore(Math.max(1, properties.getMaxConcurrentRuns()));
+    }
+
+    /**
+     * Start prewarming a run in the background, unless prewarming is disabled, the executor is
+     * busy or the prewarm budget is used up.
+     *
+     * @param inFlight executions currently in flight on this executor
+     */
+    public void prewarm(String tenantId, String graphId, String lifetimeId, IntSupplier inFlight) {
+        if (!properties.isEnabled() || graphId.isBlank() || busy(inFlight)) {
+            return;
+        }
+        if (!permits.tryAcquire()) {
+            logger.debug("Skipping prewarm tenant={} graph={} lifetime={}: budget in use", tenantId, graphId, lifetimeId);
+            return;
+        }
+        Thread.ofVirtual().name("run-prewarm-" + lifetimeId).start(() -> {
+            try {
+                warm(tenantId, graphId, lifetimeId, inFlight);
+            } catch (RuntimeException e) {
+                logger.warn(
+                        "Prewarm failed tenant={} graph={} lifetime={}: {}",
+                        tenantId, graphId, lifetimeId, e.getMessage());
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    private void warm(String tenantId, String graphId, String lifetimeId, IntSupplier inFlight) {
+        long startedAt = System.nanoTime();
+        List<ResolvedExecutorNode> nodes = sourceResolver.resolveGraphNodes(tenantId, graphId, lifetimeId).stream()
+                .filter(node -> stageProperties.laneFor(node.nodeType()).isEnabled())
+                // Entry plans run first, so warm plans before tasks.
+                .sorted(Comparator.comparing(ResolvedExecutorNode::nodeType))
+                .limit(Math.max(0, properties.getMaxNodesPerRun()))
+                .toList();
+        int warmed = 0;
+        for (ResolvedExecutorNode node : nodes) {
+            if (busy(inFlight)) {
+                break;
+            }
+            try {
+                workspaceCache.prepare(node, properties.isEnvironmentsEnabled());
+            } catch (IOException | RuntimeException e) {
+                logger.debug(
+                        "Could not prewarm {} {} of graph {}: {}", node.nodeType(), node.nodeName(), graphId, e.getMessage());
+                continue;
+            }
+            pythonProcessExecutor.prewarmWorkers(node.nodeType(), node.coroutine());
+            warmed++;
+        }
+        logger.info(
+                "Prewarmed run tenant={} graph={} lifetime={} nodes={}/{} tookMs={}",
+                tenantId,
+                graphId,
+                lifetimeId,
+                warmed,
+                nodes.size(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private boolean busy(IntSupplier inFlight) {
+        return inFlight.getAsInt() >= Math.max(1, properties.getMaxInFlight());
+    }
+}
@@ -0,0 +1,120 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import ai.eigloo.agentic.executorjava.model.NodeType;
+import ai.eigloo.agentic.executorjava.model.NodeWorkspace;
+import ai.eigloo.agentic.executorjava.model.PythonRun;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code execute_batch} requests and replies, shared by the spawn, pooled and fork transports.
+ *
+ * <p>A batch runs several inputs for the same node source in one runner call: the request
+ * header is followed by one payload frame per input, and the reply header lists one item per
+ * input, followed by a result frame for each item that succeeded.
+ */
+final class RunnerBatch {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private RunnerBatch() {
+    }
+
+    /**
+     * Build the request header; every workspace holds the same node source, each with its own scratch directory.
+     */
+    static ObjectNode newRequest(NodeType nodeType, List<NodeWorkspace> workspaces, String tenantId) {
+        NodeWorkspace first = workspaces.get(0);
+        ObjectNode request = objectMapper.createObjectNode();
+        request.put("op", "execute_batch");
+        request.put("mode", nodeType.name().toLowerCase());
+        request.put("script", first.scriptPath().toAbsolutePath().toString());
+        request.put("workdir", first.workspaceDirectory().toAbsolutePath().toString());
+        request.put("tenant_id", tenantId);
+        request.put("count", workspaces.size());
+        ArrayNode scratchDirectories = request.putArray("scratch_dirs");
+        workspaces.forEach(workspace -> scratchDirectories.add(workspace.scratchDirectory().toAbsolutePath().toString()));
+        return request;
+    }
+
+    static void writePayloads(OutputStream out, List<? extends MessageLite> inputs, SharedMemoryTransfer sharedMemory)
+            throws IOException {
+        for (MessageLite input : inputs) {
+            sharedMemory.writeMessage(out, input);
+        }
+    }
+
+    /**
+     * Read the result frames following a reply header and pair them with its items.
+     *
+     * <p>When the batch as a whole failed, e.g. because the script did not load, every input
+     * gets that error.
+     *
+     * @param count       number of inputs sent
+     * @param stderrBytes log output of the whole batch, split evenly across its items
+     */
+    static <T extends MessageLite> List<Outcome<T>> readOutcomes(
+            JsonNode header,
+            InputStream in,
+            SharedMemoryTransfer sharedMemory,
+            Parser<T> resultParser,
+            int count,
+            long stderrBytes) throws IOException {
+        List<Outcome<T>> outcomes = new ArrayList<>(count);
+        if (!header.path("ok").asBoolean(false)) {
+            String error = header.path("error").asText("");
+            for (int i = 0; i < count; i++) {
+                outcomes.add(new Outcome<>(null, error));
+            }
+            return outcomes;
+        }
+        JsonNode items = header.path("items");
+        if (items.size() != count) {
+            throw new IllegalStateException("Python runner answered " + items.size() + " of " + count + " batch inputs");
+        }
+        long stderrShare = items.isEmpty() ? 0 : stderrBytes / items.size();
+        for (JsonNode item : items) {
+            if (!item.path("ok").asBoolean(false)) {
+                outcomes.add(new Outcome<>(null, item.path("error").asText("")));
+                continue;
+            }
+            T result = sharedMemory.readMessage(in, resultParser);
+            if (result == null) {
+                throw new EOFException("Python runner closed its output in the middle of a batch");
+            }
+            JsonNode usage = item.get("usage");
+            long wallNanos = TimeUnit.MILLISECONDS.toNanos(usage != null ? usage.path("wall_ms").asLong(0) : 0);
+            outcomes.add(new Outcome<>(
+                    new PythonRun<>(
+                            result,
+                            PythonProcessExecutor.toResourceUsage(usage, wallNanos, result.getSerializedSize(), stderrShare)),
+                    null));
+        }
+        return outcomes;
+    }
+
+    /**
+     * One input's share of a batch: its run, or the error it failed with.
+     */
+    record Outcome<T extends MessageLite>(PythonRun<T> run, String error) {
+
+        PythonRun<T> orThrow() {
+            if (run == null) {
+                throw new IllegalStateException("Python runner failed: " + error.trim());
+            }
+            return run;
+        }
+    }
+}
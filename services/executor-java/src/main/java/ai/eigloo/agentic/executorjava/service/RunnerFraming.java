@@ -0,0 +1,209 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Length-prefixed framing used on the stdin/stdout pipes of {@code executor_runner.py}.
+ *
+ * <p>Every frame is a 4-byte big-endian length followed by that many bytes. Protobuf
+ * messages are written with {@link MessageLite#writeTo(OutputStream)} and parsed from a
+ * bounded view of the pipe, so payloads are never Base64-encoded or copied into strings.
+ *
+ * <p>A length with {@link #SHARED_MEMORY_FLAG} set marks a payload that was left in a
+ * memory-mapped file; the frame then carries a small reference that only
+ * {@link SharedMemoryTransfer} resolves. The plain readers here reject such frames.
+ */
+final class RunnerFraming {
+
+    /**
+     * Set on the length of a frame whose body is a shared-memory reference instead of the payload.
+     */
+    static final int SHARED_MEMORY_FLAG = 0x80000000;
+
+    private RunnerFraming() {
+        // Utility class - prevent instantiation
+    }
+
+    static void writeFrame(OutputStream out, byte[] bytes) throws IOException {
+        new DataOutputStream(out).writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static void writeMessage(OutputStream out, MessageLite message) throws IOException {
+        new DataOutputStream(out).writeInt(message.getSerializedSize());
+        message.writeTo(out);
+    }
+
+    static void writeReference(OutputStream out, byte[] reference) throws IOException {
+        new DataOutputStream(out).writeInt(SHARED_MEMORY_FLAG | reference.length);
+        out.write(reference);
+    }
+
+    /**
+     * Read the next raw frame header, flag included, or {@code -1} if the stream ended cleanly before a new frame.
+     */
+    static long readHeader(InputStream in) throws IOException {
+        int first = in.read();
+        if (first < 0) {
+            return -1;
+        }
+        byte[] rest = in.readNBytes(3);
+        if (rest.length < 3) {
+            throw new EOFException("Truncated runner frame header");
+        }
+        return ((long) first << 24) | ((rest[0] & 0xff) << 16) | ((rest[1] & 0xff) << 8) | (rest[2] & 0xff);
+    }
+
+    static boolean isReference(long header) {
+        return header >= 0 && (header & 0x8000_0000L) != 0;
+    }
+
+    static int bodyLength(long header) {
+        return (int) (header & 0x7fff_ffffL);
+    }
+
+    /**
+     * Fail before a payload of {@code length} bytes over {@code limit} is read, mapped or parsed.
+     * The payload is left where it is, so the stream must not be read any further.
+     */
+    static void checkPayloadLength(long length, int limit) throws OversizedFrameException {
+        if (length > limit) {
+            throw new OversizedFrameException(
+                    "Python runner returned a result of " + length + " bytes, over the limit of " + limit + " bytes");
+        }
+    }
+
+    /**
+     * Read the next frame length, or {@code -1} if the stream ended cleanly before a new frame.
+     */
+    static int readLength(InputStream in) throws IOException {
+        long header = readHeader(in);
+        if (isReference(header)) {
+            throw new IOException("Unexpected shared-memory runner frame");
+        }
+        return (int) header;
+    }
+
+    /**
+     * Read one frame into memory, or {@code null} at a clean end of stream.
+     */
+    static byte[] readFrame(InputStream in) throws IOException {
+        int length = readLength(in);
+        if (length < 0) {
+            return null;
+        }
+        return readBody(in, length);
+    }
+
+    static byte[] readBody(InputStream in, int length) throws IOException {
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length < length) {
+            throw new EOFException("Truncated runner frame: expected " + length + " bytes, got " + bytes.length);
+        }
+        return bytes;
+    }
+
+    /**
+     * Parse one protobuf frame directly from the stream, or return {@code null} at a clean end of stream.
+     */
+    static <T> T readMessage(InputStream in, Parser<T> parser) throws IOException {
+        int length = readLength(in);
+        if (length < 0) {
+            return null;
+        }
+        return parseBody(in, length, parser);
+    }
+
+    static <T> T parseBody(InputStream in, int length, Parser<T> parser) throws IOException {
+        LimitedInputStream frame = new LimitedInputStream(in, length);
+        try {
+            T message = parser.parseFrom(frame);
+            frame.skipRemaining();
+            return message;
+        } catch (InvalidProtocolBufferException e) {
+            frame.skipRemaining();
+            throw e;
+        }
+    }
+
+    /**
+     * A payload frame over the result size limit; the runner that sent it must not be reused.
+     */
+    static final class OversizedFrameException extends IOException {
+
+        OversizedFrameException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * View of the underlying stream that ends after a fixed number of bytes and never closes it.
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        private LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int value = super.read();
+            if (value < 0) {
+                throw new EOFException("Truncated runner frame");
+            }
+            remaining--;
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = super.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read < 0) {
+                throw new EOFException("Truncated runner frame");
+            }
+            remaining -= read;
+            return read;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+
+        @Override
+        public void close() {
+            // The runner pipe outlives a single frame.
+        }
+
+        private void skipRemaining() throws IOException {
+            while (remaining > 0) {
+                long skipped = in.skip(remaining);
+                if (skipped <= 0) {
+                    if (in.read() < 0) {
+                        throw new EOFException("Truncated runner frame");
+                    }
+                    skipped = 1;
+                }
+                remaining -= skipped;
+            }
+        }
+    }
+}
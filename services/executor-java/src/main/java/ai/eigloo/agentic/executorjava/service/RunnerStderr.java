@@ -0,0 +1,126 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Drains a runner's stderr on a thread of its own, logging each line and keeping only a bounded
+ * tail for error messages.
+ *
+ * <p>Lines are logged with the MDC given at start, e.g. the tenant and node of a spawned runner,
+ * and cut at {@value #MAX_LINE_BYTES} bytes, so a node that prints without newlines cannot make
+ * the executor buffer its output. Memory use is fixed by the tail size whatever the runner writes.
+ */
+final class RunnerStderr {
+
+    private static final Logger logger = LoggerFactory.getLogger(RunnerStderr.class);
+    private static final int MAX_LINE_BYTES = 8 * 1024;
+
+    private final byte[] tail;
+    private final Thread thread;
+    private long totalBytes;
+
+    private RunnerStderr(InputStream stream, Thread.Builder threadBuilder, int tailBytes, Map<String, String> context) {
+        this.tail = new byte[Math.max(0, tailBytes)];
+        this.thread = threadBuilder.start(() -> drain(stream, context));
+    }
+
+    /**
+     * Start draining {@code stream} on a thread from {@code threadBuilder}.
+     *
+     * @param tailBytes how many of the last bytes to keep for {@link #tail()}; 0 keeps none
+     * @param context   MDC entries for the logged lines, or {@code null}
+     */
+    static RunnerStderr drain(
+            InputStream stream, Thread.Builder threadBuilder, int tailBytes, Map<String, String> context) {
+        return new RunnerStderr(stream, threadBuilder, tailBytes, context);
+    }
+
+    /**
+     * Bytes drained so far.
+     */
+    synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * The last bytes written, decoded as text; prefixed with an ellipsis if earlier output was dropped.
+     */
+    synchronized String tail() {
+        int length = (int) Math.min(totalBytes, tail.length);
+        byte[] bytes = new byte[length];
+        int start = (int) ((totalBytes - length) % Math.max(1, tail.length));
+        for (int i = 0; i < length; i++) {
+            bytes[i] = tail[(start + i) % tail.length];
+        }
+        String text = new String(bytes, StandardCharsets.UTF_8);
+        return totalBytes > length ? "..." + text : text;
+    }
+
+    /**
+     * Wait for the stream to end, which happens once the process and its children closed it.
+     *
+     * @return whether the stream ended within {@code timeout}
+     */
+    boolean await(Duration timeout) throws InterruptedException {
+        return thread.join(timeout);
+    }
+
+    private void drain(InputStream stream, Map<String, String> context) {
+        if (context != null) {
+            MDC.setContextMap(context);
+        }
+        byte[] buffer = new byte[8 * 1024];
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        boolean truncated = false;
+        try (stream) {
+            int read;
+            while ((read = stream.read(buffer)) >= 0) {
+                append(buffer, read);
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] == '\n') {
+                        log(line, truncated);
+                        line.reset();
+                        truncated = false;
+                    } else if (line.size() < MAX_LINE_BYTES) {
+                        line.write(buffer[i]);
+                    } else {
+                        truncated = true;
+                    }
+                }
+            }
+            if (line.size() > 0) {
+                log(line, truncated);
+            }
+        } catch (IOException e) {
+            logger.debug("Python runner stderr closed: {}", e.getMessage());
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    private synchronized void append(byte[] bytes, int length) {
+        if (tail.length > 0) {
+            for (int i = 0; i < length; i++) {
+                tail[(int) ((totalBytes + i) % tail.length)] = bytes[i];
+            }
+        }
+        totalBytes += length;
+    }
+
+    private static void log(ByteArrayOutputStream line, boolean truncated) {
+        String text = line.toString(StandardCharsets.UTF_8);
+        if (text.endsWith("\r")) {
+            text = text.substring(0, text.length() - 1);
+        }
+        logger.info("python stderr: {}{}", text, truncated ? " [truncated]" : "");
+    }
+}
@@ -0,0 +1,213 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import ai.eigloo.agentic.executorjava.config.ExecutorPythonProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Moves large payload frames between the executor and its runners through memory-mapped files.
+ *
+ * <p>A payload at or above the threshold is written straight into a new file in this executor's
+ * shared-memory directory, and the frame on the pipe only carries a JSON reference
+ * {@code {"name", "offset", "length"}} with {@link RunnerFraming#SHARED_MEMORY_FLAG} set on its
+ * length. The reader maps the file, unlinks it right away and parses from the mapping. Runners
+ * learn the directory and threshold from their environment and answer the same way, so a large
+ * result never passes through the pipe either.
+ *
+ * <p>References name a file inside the directory and nothing else, so a runner cannot make the
+ * executor read or delete files elsewhere. Payloads over the result size limit are rejected from
+ * their length alone, before anything is allocated, mapped or parsed. Files whose reader never came, e.g. because the
+ * runner was killed first, stay until the executor shuts down.
+ */
+final class SharedMemoryTransfer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SharedMemoryTransfer.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9._-]+");
+
+    static final String DIRECTORY_ENV = "AGENTIC_SHM_DIR";
+    static final String THRESHOLD_ENV = "AGENTIC_SHM_THRESHOLD_BYTES";
+
+    private final Path directory;
+    private final int thresholdBytes;
+    private final int maxPayloadBytes;
+
+    private SharedMemoryTransfer(Path directory, int thresholdBytes, int maxPayloadBytes) {
+        this.directory = directory;
+        this.thresholdBytes = thresholdBytes;
+        this.maxPayloadBytes = maxPayloadBytes;
+    }
+
+    /**
+     * Transfer that keeps every payload on the pipe; references from a runner are rejected.
+     */
+    static SharedMemoryTransfer disabled(int maxPayloadBytes) {
+        return new SharedMemoryTransfer(null, Integer.MAX_VALUE, maxPayloadBytes);
+    }
+
+    /**
+     * Set up this executor's own directory below the configured one, or fall back to the pipe if it cannot be used.
+     *
+     * @param maxPayloadBytes largest payload accepted from a runner
+     */
+    static SharedMemoryTransfer create(ExecutorPythonProperties.SharedMemory properties, int maxPayloadBytes) {
+        if (!properties.isEnabled()) {
+            return disabled(maxPayloadBytes);
+        }
+        Path directory = Path.of(properties.getDirectory())
+                .toAbsolutePath()
+                .resolve("agentic-executor-" + ProcessHandle.current().pid());
+        try {
+            deleteRecursively(directory);
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            logger.warn("Shared-memory transfer disabled, cannot use {}: {}", directory, e.getMessage());
+            return disabled(maxPayloadBytes);
+        }
+        int thresholdBytes = Math.max(1, properties.getThresholdBytes());
+        logger.info("Shared-memory transfer enabled directory={} thresholdBytes={}", directory, thresholdBytes);
+        return new SharedMemoryTransfer(directory, thresholdBytes, maxPayloadBytes);
+    }
+
+    boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * Tell a runner where to leave large results; a runner without these variables keeps them on the pipe.
+     */
+    void configure(Map<String, String> environment) {
+        if (directory != null) {
+            environment.put(DIRECTORY_ENV, directory.toString());
+            environment.put(THRESHOLD_ENV, Integer.toString(thresholdBytes));
+        }
+    }
+
+    void writeMessage(OutputStream out, MessageLite message) throws IOException {
+        int size = message.getSerializedSize();
+        if (directory == null || size < thresholdBytes || Files.getFileStore(directory).getUsableSpace() < size) {
+            RunnerFraming.writeMessage(out, message);
+            return;
+        }
+        String name = "in-" + UUID.randomUUID();
+        Path file = directory.resolve(name);
+        try {
+            try (FileChannel channel = FileChannel.open(
+                    file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                CodedOutputStream coded = CodedOutputStream.newInstance(buffer);
+                message.writeTo(coded);
+                coded.flush();
+            }
+            ObjectNode reference = objectMapper.createObjectNode();
+            reference.put("name", name);
+            reference.put("offset", 0);
+            reference.put("length", size);
+            RunnerFraming.writeReference(out, objectMapper.writeValueAsBytes(reference));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    /**
+     * Read one payload frame into memory, or {@code null} at a clean end of stream.
+     */
+    byte[] readFrame(InputStream in) throws IOException {
+        long header = RunnerFraming.readHeader(in);
+        if (header < 0) {
+            return null;
+        }
+        if (!RunnerFraming.isReference(header)) {
+            RunnerFraming.checkPayloadLength(header, maxPayloadBytes);
+            return RunnerFraming.readBody(in, (int) header);
+        }
+        ByteBuffer mapped = map(RunnerFraming.readBody(in, RunnerFraming.bodyLength(header)));
+        byte[] bytes = new byte[mapped.remaining()];
+        mapped.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Parse one protobuf payload frame, from the pipe or its mapped file, or return {@code null} at a clean end of stream.
+     */
+    <T> T readMessage(InputStream in, Parser<T> parser) throws IOException {
+        long header = RunnerFraming.readHeader(in);
+        if (header < 0) {
+            return null;
+        }
+        if (!RunnerFraming.isReference(header)) {
+            RunnerFraming.checkPayloadLength(header, maxPayloadBytes);
+            return RunnerFraming.parseBody(in, (int) header, parser);
+        }
+        return parser.parseFrom(map(RunnerFraming.readBody(in, RunnerFraming.bodyLength(header))));
+    }
+
+    @Override
+    public void close() {
+        if (directory == null) {
+            return;
+        }
+        try {
+            deleteRecursively(directory);
+        } catch (IOException e) {
+            logger.warn("Failed to remove shared-memory directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private ByteBuffer map(byte[] referenceBytes) throws IOException {
+        if (directory == null) {
+            throw new IOException("Python runner sent a shared-memory frame but shared memory is disabled");
+        }
+        JsonNode reference = objectMapper.readTree(referenceBytes);
+        String name = reference.path("name").asText("");
+        if (!FILE_NAME.matcher(name).matches()) {
+            throw new IOException("Invalid shared-memory file name '" + name + "'");
+        }
+        Path file = directory.resolve(name);
+        long offset = reference.path("offset").asLong(-1);
+        long length = reference.path("length").asLong(-1);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (offset < 0 || length < 0 || length > Integer.MAX_VALUE || offset + length > channel.size()) {
+                throw new IOException("Shared-memory reference " + name + " is out of bounds");
+            }
+            RunnerFraming.checkPayloadLength(length, maxPayloadBytes);
+            return channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        } finally {
+            // The mapping stays valid without its name, and nobody else reads the file.
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
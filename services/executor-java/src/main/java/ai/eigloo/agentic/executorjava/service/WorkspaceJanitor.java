@@ -0,0 +1,224 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import ai.eigloo.agentic.executorjava.config.ExecutorPythonProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the executor working root within its disk and entry budget.
+ *
+ * <p>Each sweep evicts least-recently-used workspaces that no execution holds a lease on until
+ * both budgets are met, and removes scratch and staging directories left behind by executions
+ * that no longer exist (for example after a crash). Workspaces in use are never touched, even
+ * if that leaves the root over budget until they are released. Dependency environments are
+ * evicted the same way against their own byte budget.
+ */
+@Component
+public class WorkspaceJanitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkspaceJanitor.class);
+
+    private final NodeWorkspaceCache workspaceCache;
+    private final DependencyEnvironmentCache environmentCache;
+    private final ExecutorPythonProperties.Janitor properties;
+    private final AtomicLong workspaceBytes = new AtomicLong();
+    private final AtomicLong workspaceEntries = new AtomicLong();
+    private final AtomicLong workspaceCount = new AtomicLong();
+    private final AtomicLong environmentBytes = new AtomicLong();
+    private final Counter evictions;
+    private final Counter environmentEvictions;
+    private final Counter orphansRemoved;
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(
+            runnable -> Thread.ofPlatform().daemon().name("workspace-janitor").unstarted(runnable));
+
+    public WorkspaceJanitor(
+            NodeWorkspaceCache workspaceCache,
+            DependencyEnvironmentCache environmentCache,
+            ExecutorPythonProperties pythonProperties,
+            MeterRegistry meterRegistry) {
+        this.workspaceCache = workspaceCache;
+        this.environmentCache = environmentCache;
+        this.properties = pythonProperties.getJanitor();
+        Gauge.builder("executor.workspace.bytes", workspaceBytes, AtomicLong::get)
+                .description("Bytes of node source held in shared workspaces")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("executor.workspace.entries", workspaceEntries, AtomicLong::get)
+                .description("Files and directories held in shared workspaces")
+                .register(meterRegistry);
+        Gauge.builder("executor.workspace.count", workspaceCount, AtomicLong::get)
+                .description("Shared workspaces on disk")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("executor.workspace.evictions")
+                .description("Workspaces evicted to stay within budget")
+                .register(meterRegistry);
+        Gauge.builder("executor.environment.bytes", environmentBytes, AtomicLong::get)
+                .description("Bytes of installed node dependency environments")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.environmentEvictions = Counter.builder("executor.environment.evictions")
+                .description("Dependency environments evicted to stay within budget")
+                .register(meterRegistry);
+        this.orphansRemoved = Counter.builder("executor.workspace.orphans.removed")
+                .description("Abandoned scratch, staging and trash directories removed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        long interval = Math.max(1, properties.getIntervalSeconds());
+        sweeper.scheduleWithFixedDelay(this::sweepSafely, interval, interval, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        sweeper.shutdownNow();
+    }
+
+    private void sweepSafely() {
+        try {
+            sweep();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Workspace janitor sweep failed: {}", e.getMessage(), e);
+        }
+    }
+
+    void sweep() throws IOException {
+        List<NodeWorkspaceCache.WorkspaceUsage> usages = workspaceCache.workspaceUsages();
+        long bytes = usages.stream().mapToLong(NodeWorkspaceCache.WorkspaceUsage::sizeBytes).sum();
+        long entries = usages.stream().mapToLong(NodeWorkspaceCache.WorkspaceUsage::entryCount).sum();
+        long count = usages.size();
+
+        if (bytes > properties.getMaxBytes() || entries > properties.getMaxEntries()) {
+            List<NodeWorkspaceCache.WorkspaceUsage> oldestFirst = usages.stream()
+                    .filter(usage -> !usage.inUse())
+                    .sorted(Comparator.comparingLong(NodeWorkspaceCache.WorkspaceUsage::lastUsedMillis))
+                    .toList();
+            for (NodeWorkspaceCache.WorkspaceUsage usage : oldestFirst) {
+                if (bytes <= properties.getMaxBytes() && entries <= properties.getMaxEntries()) {
+                    break;
+                }
+                if (workspaceCache.evict(usage)) {
+                    bytes -= usage.sizeBytes();
+                    entries -= usage.entryCount();
+                    count--;
+                    evictions.increment();
+                    logger.debug("Evicted workspace {} sizeBytes={}", usage.contentHash(), usage.sizeBytes());
+                }
+            }
+            if (bytes > properties.getMaxBytes() || entries > properties.getMaxEntries()) {
+                logger.warn(
+                        "Workspaces still over budget after eviction bytes={} entries={}; remaining ones are in use",
+                        bytes,
+                        entries);
+            }
+        }
+        workspaceBytes.set(bytes);
+        workspaceEntries.set(entries);
+        workspaceCount.set(count);
+
+        sweepEnvironments();
+        removeOrphans();
+    }
+
+    private void sweepEnvironments() throws IOException {
+        List<DependencyEnvironmentCache.EnvironmentUsage> usages = environmentCache.environmentUsages();
+        long bytes = usages.stream().mapToLong(DependencyEnvironmentCache.EnvironmentUsage::sizeBytes).sum();
+        long maxBytes = environmentCache.maxBytes();
+        if (bytes > maxBytes) {
+            List<DependencyEnvironmentCache.EnvironmentUsage> oldestFirst = usages.stream()
+                    .filter(usage -> !usage.inUse())
+                    .sorted(Comparator.comparingLong(DependencyEnvironmentCache.EnvironmentUsage::lastUsedMillis))
+                    .toList();
+            for (DependencyEnvironmentCache.EnvironmentUsage usage : oldestFirst) {
+                if (bytes <= maxBytes) {
+                    break;
+                }
+                if (environmentCache.evict(usage)) {
+                    bytes -= usage.sizeBytes();
+                    environmentEvictions.increment();
+                    logger.debug("Evicted environment {} sizeBytes={}", usage.hash(), usage.sizeBytes());
+                }
+            }
+        }
+        environmentBytes.set(bytes);
+    }
+
+    private void removeOrphans() throws IOException {
+        long cutoffMillis = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(properties.getOrphanAgeSeconds());
+
+        Path workspacesRoot = workspaceCache.workspacesRoot();
+        for (Path child : list(workspacesRoot)) {
+            String name = child.getFileName().toString();
+            boolean trash = name.startsWith(".trash-");
+            boolean staleStaging = name.startsWith(".staging-") && lastModifiedMillis(child) < cutoffMillis;
+            if (trash || staleStaging) {
+                remove(child);
+            }
+        }
+
+        // Installs in progress are safe as long as orphan-age-seconds exceeds the install timeout.
+        Path environmentsRoot = environmentCache.environmentsRoot();
+        for (Path child : list(environmentsRoot)) {
+            String name = child.getFileName().toString();
+            boolean trash = name.startsWith(".trash-");
+            boolean staleStaging = name.startsWith(".staging-") && lastModifiedMillis(child) < cutoffMillis;
+            if (trash || staleStaging) {
+                remove(child);
+            }
+        }
+
+        // Scratch is normally removed on release; these are left over from executions that never released.
+        for (Path tenantDirectory : list(workspaceCache.scratchRoot())) {
+            for (Path scratch : list(tenantDirectory)) {
+                if (!workspaceCache.isScratchActive(scratch) && lastModifiedMillis(scratch) < cutoffMillis) {
+                    remove(scratch);
+                }
+            }
+        }
+    }
+
+    private void remove(Path directory) {
+        try {
+            NodeWorkspaceCache.deleteRecursively(directory);
+            orphansRemoved.increment();
+            logger.debug("Removed abandoned directory {}", directory);
+        } catch (IOException e) {
+            logger.warn("Failed to remove abandoned directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private static List<Path> list(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> children = Files.list(directory)) {
+            return children.filter(Files::isDirectory).toList();
+        }
+    }
+
+    private static long lastModifiedMillis(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -1,22 +1,86 @@
 #!/usr/bin/env python3
 """
-Run a single plan/task function call using protobuf payloads over stdin/stdout.
+Run plan/task function calls using protobuf payloads over stdin/stdout.
+
+All messages on stdin/stdout are frames: a 4-byte big-endian length followed by
+that many bytes. Protobuf payloads are sent as raw serialized bytes. Stdout is
+reserved for frames; anything written to file descriptor 1 by user code or
+native extensions is redirected to stderr, which only carries logs.
+
+Five modes are supported:
+
+* single-shot (``--mode plan|task --script ...``): one input frame on stdin,
+  one result frame on stdout, then exit.
+* serve (``--serve``): a long-lived worker that reads requests (a JSON header
+  frame, plus a payload frame for ``execute``) and writes replies (a JSON header
+  frame, plus a result frame on success) until stdin closes.
+* zygote (``--zygote --socket ...``): imports the common modules once, then
+  forks a child per connection on a Unix domain socket. The child first sends
+  a JSON frame with its pid, then reads one request and writes one reply in the
+  serve-mode format, and exits. The zygote exits when stdin closes.
+* batch (``--batch``): one ``execute_batch`` request on stdin, one reply on
+  stdout, then exit.
+* serve-async (``--serve-async``): like serve, but requests are run as tasks
+  on one asyncio event loop, so many ``async def`` executions are in flight at
+  once and replies may come back in any order. An ``execute`` request may carry
+  ``timeout_ms``, and a ``cancel`` request with a ``target`` id cancels a
+  running execution; either way the execution still gets a failed reply.
+
+An ``execute_batch`` request (serve, zygote and batch modes) carries ``count``
+payload frames for the same node, and ``scratch_dirs`` with one directory per payload. The
+function is loaded once and called for each payload in turn. The reply header
+has one ``items`` entry per payload, with its own ``ok``, ``error`` and
+``usage``, and is followed by a result frame for every item that succeeded.
+
+When the executor sets ``AGENTIC_SHM_DIR``, payload frames of at least
+``AGENTIC_SHM_THRESHOLD_BYTES`` may travel through shared memory in either
+direction: the frame length has its top bit set and the frame holds a JSON
+reference ``{"name", "offset", "length"}`` to a file in that directory. The
+reader maps the file and unlinks it. Header frames are always inline.
+
+Every mode awaits ``async def`` plan/task functions. All modes except
+serve-async report the CPU time and peak RSS of each call: serve mode in the
+reply header's ``usage`` field, single-shot mode as a JSON frame after the
+result frame. Executions sharing an event loop cannot be told apart that way.
 """
 
 from __future__ import annotations
 
 import argparse
-import base64
+import asyncio
+import collections
+import collections.abc
+import contextvars
+import gc
+import importlib
 import importlib.util
+import inspect
+import itertools
+import json
+import mmap
+import os
+import resource
+import selectors
+import signal
+import socket
+import struct
 import sys
+import threading
+import time
 import traceback
 from pathlib import Path
 
 from agentic_common.pb import PlanInput, PlanResult, TaskInput, TaskResult
 
+_SHARED_MEMORY_FLAG = 0x80000000
+# Read once: serve-async replaces os.environ, and node code must not redirect the executor's files.
+_SHARED_MEMORY_DIR = os.environ.get("AGENTIC_SHM_DIR", "")
+_SHARED_MEMORY_THRESHOLD = int(os.environ.get("AGENTIC_SHM_THRESHOLD_BYTES") or 0) or 1 << 20
+_shared_memory_names = itertools.count()
 
-def _load_callable(script_path: str, mode: str):
-    module_name = f"user_executor_{mode}"
+
+def _load_callable(script_path: str, mode: str, module_name: str | None = None):
+    module_name = module_name or f"user_executor_{mode}"
     spec = importlib.util.spec_from_file_location(module_name, script_path)
     if spec is None or spec.loader is None:
         raise RuntimeError(f"Unable to load python file: {script_path}")
@@ -31,8 +95,163 @@ def _load_callable(script_path: str, mode: str):
     return getattr(module, function_name)
 
 
-def _parse_input(mode: str, encoded_input: str):
-    payload = base64.b64decode(encoded_input.encode("ascii"))
+def _call(fn, input_message):
+    output = fn(input_message)
+    if inspect.isawaitable(output):
+        output = asyncio.run(_await(output))
+    return output
+
+
+async def _await(awaitable):
+    return await awaitable
+
+
+def _read_exact(stream, size: int) -> bytes:
+    chunks = []
+    remaining = size
+    while remaining > 0:
+        chunk = stream.read(remaining)
+        if not chunk:
+            raise EOFError(f"Expected {size} bytes, stream ended after {size - remaining}")
+        chunks.append(chunk)
+        remaining -= len(chunk)
+    return b"".join(chunks)
+
+
+def _read_frame(stream) -> bytes | memoryview | None:
+    header = stream.read(4)
+    if not header:
+        return None
+    if len(header) < 4:
+        header += _read_exact(stream, 4 - len(header))
+    (length,) = struct.unpack(">I", header)
+    if length & _SHARED_MEMORY_FLAG:
+        return _map_shared(_read_exact(stream, length & ~_SHARED_MEMORY_FLAG))
+    return _read_exact(stream, length)
+
+
+def _write_frame(stream, payload: bytes) -> None:
+    stream.write(struct.pack(">I", len(payload)))
+    stream.write(payload)
+
+
+def _write_payload(stream, payload: bytes) -> None:
+    """
+    Write a result frame, leaving large results in shared memory when the executor allows it.
+    """
+    if _SHARED_MEMORY_DIR and len(payload) >= _SHARED_MEMORY_THRESHOLD:
+        reference = _share(payload)
+        if reference is not None:
+            stream.write(struct.pack(">I", _SHARED_MEMORY_FLAG | len(reference)))
+            stream.write(reference)
+            return
+    _write_frame(stream, payload)
+
+
+def _share(payload: bytes) -> bytes | None:
+    """
+    Copy ``payload`` into a new mapped file and return its reference, or ``None`` if there is no room.
+    """
+    name = f"out-{os.getpid()}-{next(_shared_memory_names)}"
+    path = os.path.join(_SHARED_MEMORY_DIR, name)
+    try:
+        fd = os.open(path, os.O_CREAT | os.O_EXCL | os.O_RDWR, 0o600)
+    except OSError:
+        return None
+    try:
+        # Reserve the pages up front; running out of tmpfs while writing a mapping is a SIGBUS.
+        os.posix_fallocate(fd, 0, len(payload))
+        with mmap.mmap(fd, len(payload)) as mapped:
+            mapped[:] = payload
+    except OSError:
+        os.unlink(path)
+        return None
+    finally:
+        os.close(fd)
+    return json.dumps({"name": name, "offset": 0, "length": len(payload)}).encode("utf-8")
+
+
+def _map_shared(reference_bytes: bytes) -> memoryview:
+    """
+    Map the payload a shared-memory reference points at; the file is unlinked once mapped.
+    """
+    if not _SHARED_MEMORY_DIR:
+        raise RuntimeError("Received a shared-memory frame but AGENTIC_SHM_DIR is not set")
+    reference = json.loads(reference_bytes)
+    name = reference["name"]
+    if os.path.basename(name) != name or name in ("", ".", ".."):
+        raise RuntimeError(f"Invalid shared-memory file name {name!r}")
+    path = os.path.join(_SHARED_MEMORY_DIR, name)
+    offset = int(reference.get("offset", 0))
+    length = int(reference["length"])
+    try:
+        with open(path, "rb") as file:
+            # mmap offsets must be page aligned, so map from the start and slice.
+            mapped = mmap.mmap(file.fileno(), offset + length, access=mmap.ACCESS_READ) if length else b""
+    finally:
+        os.unlink(path)
+    return memoryview(mapped)[offset:offset + length]
+
+
+def _claim_protocol_stream():
+    """
+    Return a private binary handle on the original stdout and point fd 1 at stderr.
+    """
+    sys.stdout.flush()
+    protocol_out = os.fdopen(os.dup(1), "wb")
+    os.dup2(2, 1)
+    sys.stdout = sys.stderr
+    return protocol_out
+
+
+def _reset_peak_rss() -> None:
+    """
+    Reset the kernel's peak RSS (VmHWM) so the next reading covers a single call.
+    """
+    try:
+        with open("/proc/self/clear_refs", "w") as clear_refs:
+            clear_refs.write("5")
+    except OSError:
+        pass
+
+
+def _peak_rss_bytes() -> int:
+    try:
+        with open("/proc/self/status") as status:
+            for line in status:
+                if line.startswith("VmHWM:"):
+                    return int(line.split()[1]) * 1024
+    except (OSError, ValueError, IndexError):
+        pass
+    # Lifetime peak, in kilobytes on Linux.
+    return resource.getrusage(resource.RUSAGE_SELF).ru_maxrss * 1024
+
+
+def _cpu_seconds() -> tuple[float, float]:
+    own = resource.getrusage(resource.RUSAGE_SELF)
+    children = resource.getrusage(resource.RUSAGE_CHILDREN)
+    return own.ru_utime + children.ru_utime, own.ru_stime + children.ru_stime
+
+
+class _UsageMeter:
+    """
+    CPU time and peak RSS of the process from construction until ``finish()``.
+    """
+
+    def __init__(self):
+        _reset_peak_rss()
+        self._user, self._system = _cpu_seconds()
+
+    def finish(self) -> dict:
+        user, system = _cpu_seconds()
+        return {
+            "user_cpu_ms": int((user - self._user) * 1000),
+            "system_cpu_ms": int((system - self._system) * 1000),
+            "peak_rss_bytes": _peak_rss_bytes(),
+        }
+
+
+def _parse_input(mode: str, payload: bytes):
     if mode == "plan":
         return PlanInput.FromString(payload)
     return TaskInput.FromString(payload)
@@ -45,27 +264,527 @@ def _serialize_output(mode: str, output):
     else:
         if not isinstance(output, TaskResult):
             raise TypeError(f"task(...) must return TaskResult, got {type(output)!r}")
-    return base64.b64encode(output.SerializeToString()).decode("ascii")
+    return output.SerializeToString()
+
+
+def _invoke_one(mode: str, fn, payload: bytes) -> bytes:
+    return _serialize_output(mode, _call(fn, _parse_input(mode, payload)))
+
+
+def _execute_batch(request: dict, payloads: list[bytes], fn) -> tuple[list[dict], list[bytes]]:
+    """
+    Call ``fn`` for each payload; a failing item does not stop the ones after it.
+
+    Returns the reply ``items`` and the serialized results of the items that succeeded.
+    """
+    mode = request["mode"]
+    scratch = request.get("scratch_dirs") or []
+    items = []
+    results = []
+    for index, payload in enumerate(payloads):
+        os.environ["AGENTIC_SCRATCH_DIR"] = scratch[index] if index < len(scratch) else ""
+        meter = _UsageMeter()
+        started = time.monotonic()
+        item = {}
+        try:
+            results.append(_invoke_one(mode, fn, payload))
+            item["ok"] = True
+        except Exception:
+            item["ok"] = False
+            item["error"] = traceback.format_exc()
+        usage = meter.finish()
+        usage["wall_ms"] = int((time.monotonic() - started) * 1000)
+        item["usage"] = usage
+        items.append(item)
+    return items, results
+
+
+def _batch_reply(request: dict, payloads: list[bytes], run_loaded) -> tuple[dict, list[bytes]]:
+    """
+    Run an ``execute_batch`` request; ``run_loaded`` loads the node function and passes it to a callback.
+    """
+    response = {"id": request.get("id")}
+    results = []
+    try:
+        items, results = run_loaded(lambda fn: _execute_batch(request, payloads, fn))
+        response["ok"] = True
+        response["items"] = items
+    except Exception:
+        response["ok"] = False
+        response["error"] = traceback.format_exc()
+    return response, results
+
+
+def _write_reply(stream, response: dict, results: list[bytes]) -> None:
+    _write_frame(stream, json.dumps(response).encode("utf-8"))
+    for result in results:
+        _write_payload(stream, result)
+    stream.flush()
+
+
+def _execute_in_workdir(request: dict, payload: bytes) -> bytes:
+    return _run_in_workdir(request, lambda fn: _invoke_one(request["mode"], fn, payload))
+
+
+def _run_in_workdir(request: dict, run):
+    """
+    Load a serve-mode request's function inside its node working directory and pass it to ``run``.
+
+    The working directory is added to sys.path for the duration of the call and any
+    modules imported from it are dropped afterwards, so sibling helper modules from
+    one node never leak into another node served by the same worker.
+    """
+    mode = request["mode"]
+    script_path = Path(request["script"])
+    workdir = request["workdir"]
+    if not script_path.exists():
+        raise FileNotFoundError(f"Script does not exist: {script_path}")
+
+    previous_cwd = os.getcwd()
+    previous_modules = set(sys.modules)
+    sys.path.insert(0, workdir)
+    os.environ["TENANT_ID"] = request.get("tenant_id", "")
+    os.environ["AGENTIC_SCRATCH_DIR"] = request.get("scratch", "")
+    try:
+        os.chdir(workdir)
+        fn = _load_callable(str(script_path), mode, f"user_executor_{mode}_{request['id']}")
+        return run(fn)
+    finally:
+        os.chdir(previous_cwd)
+        if sys.path and sys.path[0] == workdir:
+            sys.path.pop(0)
+        _forget_modules(previous_modules, workdir)
+
+
+def _forget_modules(previous_modules: set[str], workdir: str) -> None:
+    """
+    Drop node modules and anything imported from the node's workdir since ``previous_modules``.
+    """
+    for name in set(sys.modules) - previous_modules:
+        module_file = getattr(sys.modules[name], "__file__", None) or ""
+        if name.startswith("user_executor_") or module_file.startswith(workdir):
+            del sys.modules[name]
+
+
+def serve() -> int:
+    protocol_out = _claim_protocol_stream()
+    protocol_in = sys.stdin.buffer
+
+    while True:
+        header = _read_frame(protocol_in)
+        if header is None:
+            break
+        request = json.loads(header)
+        if request.get("op") == "execute_batch":
+            payloads = [_read_frame(protocol_in) or b"" for _ in range(int(request.get("count", 0)))]
+            response, results = _batch_reply(request, payloads, lambda run: _run_in_workdir(request, run))
+            _write_reply(protocol_out, response, results)
+            continue
+        payload = _read_frame(protocol_in) if request.get("op") == "execute" else None
+        response = {"id": request.get("id")}
+        result = None
+        if request.get("op") == "ping":
+            response["ok"] = True
+        else:
+            meter = _UsageMeter()
+            try:
+                result = _execute_in_workdir(request, payload or b"")
+                response["ok"] = True
+            except Exception:
+                response["ok"] = False
+                response["error"] = traceback.format_exc()
+            response["usage"] = meter.finish()
+        _write_frame(protocol_out, json.dumps(response).encode("utf-8"))
+        if result is not None:
+            _write_payload(protocol_out, result)
+        protocol_out.flush()
+    return 0
+
+
+class _StderrCounter:
+    """
+    Route file descriptors 1 and 2 through a pipe that counts the bytes on their way to stderr.
+    """
+
+    def __init__(self):
+        sys.stderr.flush()
+        self._target = os.dup(2)
+        self._read_fd, write_fd = os.pipe()
+        os.dup2(write_fd, 1)
+        os.dup2(write_fd, 2)
+        os.close(write_fd)
+        self.count = 0
+        self._thread = threading.Thread(target=self._pump, daemon=True)
+        self._thread.start()
+
+    def _pump(self) -> None:
+        while True:
+            chunk = os.read(self._read_fd, 65536)
+            if not chunk:
+                return
+            self.count += len(chunk)
+            view = memoryview(chunk)
+            while view:
+                view = view[os.write(self._target, view):]
+
+    def close(self) -> int:
+        sys.stderr.flush()
+        os.dup2(self._target, 1)
+        os.dup2(self._target, 2)
+        # A background process started by the node may still hold the pipe open.
+        self._thread.join(timeout=1)
+        return self.count
+
+
+def _load_once(request: dict):
+    """
+    Load a request's function into a process that serves only this request, so nothing is undone.
+    """
+    mode = request["mode"]
+    script_path = Path(request["script"])
+    workdir = request["workdir"]
+    if not script_path.exists():
+        raise FileNotFoundError(f"Script does not exist: {script_path}")
+
+    os.environ["TENANT_ID"] = request.get("tenant_id", "")
+    os.environ["AGENTIC_SCRATCH_DIR"] = request.get("scratch", "")
+    os.chdir(workdir)
+    sys.path.insert(0, workdir)
+    return _load_callable(str(script_path), mode)
+
+
+def _forked_child(connection: socket.socket) -> None:
+    # The zygote ignores SIGCHLD to avoid zombies; node code that waits on subprocesses needs it back.
+    signal.signal(signal.SIGCHLD, signal.SIG_DFL)
+    devnull = os.open(os.devnull, os.O_RDONLY)
+    os.dup2(devnull, 0)
+    os.close(devnull)
+
+    stream = connection.makefile("rwb")
+    _write_frame(stream, json.dumps({"pid": os.getpid()}).encode("utf-8"))
+    stream.flush()
+
+    # The executor moves this process into its cgroup before sending the request.
+    header = _read_frame(stream)
+    if header is None:
+        return
+    request = json.loads(header)
+    if request.get("op") == "execute_batch":
+        payloads = [_read_frame(stream) or b"" for _ in range(int(request.get("count", 0)))]
+        capture = _StderrCounter()
+        response, results = _batch_reply(request, payloads, lambda run: run(_load_once(request)))
+        response["usage"] = {"stderr_bytes": capture.close()}
+        _write_reply(stream, response, results)
+        return
+    payload = _read_frame(stream) or b""
+
+    capture = _StderrCounter()
+    meter = _UsageMeter()
+    response = {"id": request.get("id")}
+    result = None
+    try:
+        result = _invoke_one(request["mode"], _load_once(request), payload)
+        response["ok"] = True
+    except Exception:
+        response["ok"] = False
+        response["error"] = traceback.format_exc()
+    usage = meter.finish()
+    usage["stderr_bytes"] = capture.close()
+    response["usage"] = usage
+    _write_frame(stream, json.dumps(response).encode("utf-8"))
+    if result is not None:
+        _write_payload(stream, result)
+    stream.flush()
+
+
+def zygote(socket_path: str, preload: list[str]) -> int:
+    protocol_out = _claim_protocol_stream()
+    for name in preload:
+        try:
+            importlib.import_module(name)
+        except Exception:
+            print(f"Failed to preload module {name!r}:", file=sys.stderr)
+            traceback.print_exc(file=sys.stderr)
+    # Keep preloaded objects out of the collector so children do not copy their pages on the first gc.
+    gc.freeze()
+
+    if os.path.exists(socket_path):
+        os.unlink(socket_path)
+    listener = socket.socket(socket.AF_UNIX, socket.SOCK_STREAM)
+    listener.bind(socket_path)
+    os.chmod(socket_path, 0o600)
+    listener.listen(64)
+    signal.signal(signal.SIGCHLD, signal.SIG_IGN)
+
+    _write_frame(protocol_out, json.dumps({"ready": True, "pid": os.getpid()}).encode("utf-8"))
+    protocol_out.flush()
+
+    selector = selectors.DefaultSelector()
+    selector.register(listener, selectors.EVENT_READ)
+    selector.register(sys.stdin.buffer, selectors.EVENT_READ)
+    try:
+        while True:
+            for key, _ in selector.select():
+                if key.fileobj is not listener:
+                    if not os.read(0, 4096):
+                        return 0
+                    continue
+                connection, _ = listener.accept()
+                if os.fork() == 0:
+                    status = 0
+                    try:
+                        listener.close()
+                        protocol_out.close()
+                        _forked_child(connection)
+                    except BaseException:
+                        traceback.print_exc(file=sys.stderr)
+                        status = 1
+                    finally:
+                        # Skip the zygote's cleanup handlers; they belong to the parent.
+                        os._exit(status)
+                connection.close()
+    finally:
+        listener.close()
+        if os.path.exists(socket_path):
+            os.unlink(socket_path)
+
+
+_EXECUTION_ENV: contextvars.ContextVar[dict[str, str]] = contextvars.ContextVar("execution_env", default={})
+
+
+class _ExecutionEnviron(collections.abc.MutableMapping):
+    """
+    ``os.environ`` with per-execution overrides, so concurrent executions on one event loop each
+    see their own ``TENANT_ID`` and ``AGENTIC_SCRATCH_DIR``. Subprocesses inherit the real
+    environment unless given ``env=dict(os.environ)``.
+    """
+
+    def __init__(self, environ):
+        self._environ = environ
+
+    def __getitem__(self, key):
+        overrides = _EXECUTION_ENV.get()
+        if key in overrides:
+            return overrides[key]
+        return self._environ[key]
+
+    def __setitem__(self, key, value):
+        self._environ[key] = value
+
+    def __delitem__(self, key):
+        del self._environ[key]
+
+    def __iter__(self):
+        return iter(set(self._environ) | set(_EXECUTION_ENV.get()))
+
+    def __len__(self):
+        return len(set(self._environ) | set(_EXECUTION_ENV.get()))
+
+    def copy(self) -> dict:
+        return dict(self)
+
+
+class _AsyncNodes:
+    """
+    Node functions loaded for serve-async mode, by script path.
+
+    Workspaces are content-addressed, so a script path always holds the same code and its module
+    is loaded once. Loading runs on the event loop thread with the workdir as cwd and on sys.path,
+    and the node's helper modules are dropped from sys.modules afterwards, so nodes sharing the
+    worker cannot see each other's helpers. Modules the node imports lazily, inside the function,
+    must therefore not come from its workdir.
+    """
+
+    def __init__(self, max_entries: int = 256):
+        self._functions: collections.OrderedDict[tuple[str, str], object] = collections.OrderedDict()
+        self._max_entries = max_entries
+        self._loaded = 0
+
+    def get(self, request: dict):
+        mode = request["mode"]
+        script_path = request["script"]
+        key = (mode, script_path)
+        fn = self._functions.get(key)
+        if fn is not None:
+            self._functions.move_to_end(key)
+            return fn
+        if not Path(script_path).exists():
+            raise FileNotFoundError(f"Script does not exist: {script_path}")
+
+        workdir = request["workdir"]
+        previous_cwd = os.getcwd()
+        previous_modules = set(sys.modules)
+        sys.path.insert(0, workdir)
+        self._loaded += 1
+        try:
+            os.chdir(workdir)
+            fn = _load_callable(script_path, mode, f"user_executor_{mode}_async_{self._loaded}")
+        finally:
+            os.chdir(previous_cwd)
+            if sys.path and sys.path[0] == workdir:
+                sys.path.pop(0)
+            _forget_modules(previous_modules, workdir)
+        self._functions[key] = fn
+        if len(self._functions) > self._max_entries:
+            self._functions.popitem(last=False)
+        return fn
+
+
+async def _invoke(fn, input_message):
+    if inspect.iscoroutinefunction(fn):
+        return await fn(input_message)
+    # A synchronous node must not block the loop; to_thread carries the execution's overrides along.
+    output = await asyncio.to_thread(fn, input_message)
+    if inspect.isawaitable(output):
+        output = await output
+    return output
+
+
+async def _read_frame_async(reader: asyncio.StreamReader) -> bytes | memoryview | None:
+    try:
+        header = await reader.readexactly(4)
+    except asyncio.IncompleteReadError as e:
+        if not e.partial:
+            return None
+        raise EOFError("Stream ended inside a frame header") from e
+    (length,) = struct.unpack(">I", header)
+    if length & _SHARED_MEMORY_FLAG:
+        return _map_shared(await reader.readexactly(length & ~_SHARED_MEMORY_FLAG))
+    return await reader.readexactly(length)
+
+
+async def _serve_async(protocol_out) -> int:
+    loop = asyncio.get_running_loop()
+    reader = asyncio.StreamReader(limit=2**20)
+    await loop.connect_read_pipe(lambda: asyncio.StreamReaderProtocol(reader), sys.stdin.buffer)
+    nodes = _AsyncNodes()
+    running: dict[str, asyncio.Task] = {}
+
+    def reply(response: dict, result: bytes | None = None) -> None:
+        # Written without yielding, so frames of concurrent replies never interleave.
+        _write_frame(protocol_out, json.dumps(response).encode("utf-8"))
+        if result is not None:
+            _write_payload(protocol_out, result)
+        protocol_out.flush()
+
+    async def execute(request: dict, payload: bytes) -> None:
+        mode = request["mode"]
+        response = {"id": request.get("id")}
+        result = None
+        timeout_ms = request.get("timeout_ms")
+        _EXECUTION_ENV.set({
+            "TENANT_ID": request.get("tenant_id", ""),
+            "AGENTIC_SCRATCH_DIR": request.get("scratch", ""),
+        })
+        try:
+            fn = nodes.get(request)
+            output = await asyncio.wait_for(
+                _invoke(fn, _parse_input(mode, payload)),
+                timeout_ms / 1000 if timeout_ms else None)
+            result = _serialize_output(mode, output)
+            response["ok"] = True
+        except asyncio.TimeoutError:
+            response["ok"] = False
+            response["timed_out"] = True
+            response["error"] = f"Execution timed out after {timeout_ms} ms"
+        except asyncio.CancelledError:
+            response["ok"] = False
+            response["error"] = "Execution was cancelled"
+        except Exception:
+            response["ok"] = False
+            response["error"] = traceback.format_exc()
+        reply(response, result)
+
+    def finished(request_id: str, task: asyncio.Task) -> None:
+        running.pop(request_id, None)
+        # Cancelled before it started, so execute() never got to reply.
+        if task.cancelled():
+            reply({"id": request_id, "ok": False, "error": "Execution was cancelled"})
+
+    while True:
+        header = await _read_frame_async(reader)
+        if header is None:
+            break
+        request = json.loads(header)
+        op = request.get("op")
+        if op == "execute":
+            payload = await _read_frame_async(reader) or b""
+            request_id = request.get("id")
+            task = asyncio.create_task(execute(request, payload))
+            running[request_id] = task
+            task.add_done_callback(lambda done, request_id=request_id: finished(request_id, done))
+        elif op == "cancel":
+            task = running.get(request.get("target"))
+            if task is not None:
+                task.cancel()
+        else:
+            reply({"id": request.get("id"), "ok": op == "ping"})
+
+    # Stdin closed: let executions already accepted finish before exiting.
+    if running:
+        await asyncio.gather(*running.values(), return_exceptions=True)
+    return 0
+
+
+def serve_async() -> int:
+    protocol_out = _claim_protocol_stream()
+    os.environ = _ExecutionEnviron(os.environ)
+    return asyncio.run(_serve_async(protocol_out))
+
+
+def batch() -> int:
+    protocol_out = _claim_protocol_stream()
+    header = _read_frame(sys.stdin.buffer)
+    if header is None:
+        raise RuntimeError("No batch request was provided on stdin")
+    request = json.loads(header)
+    payloads = [_read_frame(sys.stdin.buffer) or b"" for _ in range(int(request.get("count", 0)))]
+    response, results = _batch_reply(request, payloads, lambda run: run(_load_once(request)))
+    _write_reply(protocol_out, response, results)
+    return 0
 
 
 def main() -> int:
     parser = argparse.ArgumentParser()
-    parser.add_argument("--mode", choices=("plan", "task"), required=True)
-    parser.add_argument("--script", required=True)
+    parser.add_argument("--serve", action="store_true")
+    parser.add_argument("--serve-async", action="store_true")
+    parser.add_argument("--batch", action="store_true")
+    parser.add_argument("--zygote", action="store_true")
+    parser.add_argument("--socket")
+    parser.add_argument("--preload", default="")
+    parser.add_argument("--mode", choices=("plan", "task"))
+    parser.add_argument("--script")
     args = parser.parse_args()
 
+    if args.serve:
+        return serve()
+    if args.serve_async:
+        return serve_async()
+    if args.batch:
+        return batch()
+    if args.zygote:
+        if not args.socket:
+            parser.error("--socket is required with --zygote")
+        return zygote(args.socket, [name.strip() for name in args.preload.split(",") if name.strip()])
+    if not args.mode or not args.script:
+        parser.error("--mode and --script are required in single-shot mode")
+
+    meter = _UsageMeter()
     script_path = Path(args.script)
     if not script_path.exists():
         raise FileNotFoundError(f"Script does not exist: {script_path}")
 
-    encoded_input = sys.stdin.read().strip()
-    if not encoded_input:
+    protocol_out = _claim_protocol_stream()
+    payload = _read_frame(sys.stdin.buffer)
+    if payload is None:
         raise RuntimeError("No input payload was provided on stdin")
 
     fn = _load_callable(str(script_path), args.mode)
-    input_message = _parse_input(args.mode, encoded_input)
-    output_message = fn(input_message)
-    sys.stdout.write(_serialize_output(args.mode, output_message))
+    input_message = _parse_input(args.mode, payload)
+    output_message = _call(fn, input_message)
+    _write_payload(protocol_out, _serialize_output(args.mode, output_message))
+    _write_frame(protocol_out, json.dumps(meter.finish()).encode("utf-8"))
+    protocol_out.flush()
     return 0
 
 
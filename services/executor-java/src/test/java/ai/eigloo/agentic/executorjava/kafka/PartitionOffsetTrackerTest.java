@@ -0,0 +1,134 @@
+package ai.eigloo.agentic.executorjava.kafka;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PartitionOffsetTrackerTest {
+
+    private final Map<Long, Acknowledgment> acks = new HashMap<>();
+
+    @Test
+    void complete_inOrderAcknowledgesEachRecord() {
+        PartitionOffsetTracker tracker = started(10, 11, 12);
+
+        assertSame(ack(10), tracker.complete(10, ack(10)));
+        assertSame(ack(11), tracker.complete(11, ack(11)));
+        assertSame(ack(12), tracker.complete(12, ack(12)));
+        assertEquals(0, tracker.outstanding());
+    }
+
+    @Test
+    void complete_outOfOrderAcknowledgesHighestContiguousRecord() {
+        PartitionOffsetTracker tracker = started(10, 11, 12, 13);
+
+        assertNull(tracker.complete(12, ack(12)));
+        assertNull(tracker.complete(11, ack(11)));
+        assertSame(ack(12), tracker.complete(10, ack(10)));
+        assertSame(ack(13), tracker.complete(13, ack(13)));
+        assertEquals(0, tracker.outstanding());
+    }
+
+    @Test
+    void complete_slowRecordHoldsGapOpenUntilItFinishes() {
+        PartitionOffsetTracker tracker = started(10, 11, 12, 13, 14);
+
+        assertSame(ack(10), tracker.complete(10, ack(10)));
+        assertNull(tracker.complete(12, ack(12)));
+        assertNull(tracker.complete(13, ack(13)));
+        assertNull(tracker.complete(14, ack(14)));
+        assertEquals(1, tracker.outstanding());
+
+        tracker.start(15);
+        assertNull(tracker.complete(15, ack(15)));
+
+        assertSame(ack(15), tracker.complete(11, ack(11)));
+        assertEquals(0, tracker.outstanding());
+    }
+
+    @Test
+    void complete_recordsStartedAfterGapDoNotMoveWatermarkPastIt() {
+        PartitionOffsetTracker tracker = started(10, 11);
+
+        assertNull(tracker.complete(11, ack(11)));
+        tracker.start(12);
+        tracker.start(13);
+        assertNull(tracker.complete(13, ack(13)));
+
+        assertSame(ack(11), tracker.complete(10, ack(10)));
+        assertSame(ack(13), tracker.complete(12, ack(12)));
+    }
+
+    @Test
+    void complete_duplicateAckIsIgnored() {
+        PartitionOffsetTracker tracker = started(10, 11, 12);
+
+        assertNull(tracker.complete(11, ack(11)));
+        assertNull(tracker.complete(11, ack(11)));
+        assertEquals(2, tracker.outstanding());
+
+        assertSame(ack(11), tracker.complete(10, ack(10)));
+        assertNull(tracker.complete(10, ack(10)));
+        assertNull(tracker.complete(11, ack(11)));
+        assertSame(ack(12), tracker.complete(12, ack(12)));
+        assertNull(tracker.complete(12, ack(12)));
+        assertEquals(0, tracker.outstanding());
+    }
+
+    @Test
+    void complete_unknownOffsetIsIgnored() {
+        PartitionOffsetTracker tracker = started(10, 11);
+
+        assertNull(tracker.complete(7, ack(7)));
+        assertEquals(2, tracker.outstanding());
+        assertSame(ack(10), tracker.complete(10, ack(10)));
+    }
+
+    @Test
+    void revoke_dropsStateAndStopsAcknowledging() {
+        PartitionOffsetTracker tracker = started(10, 11, 12);
+        assertNull(tracker.complete(11, ack(11)));
+
+        tracker.revoke();
+
+        assertEquals(0, tracker.outstanding());
+        assertNull(tracker.complete(10, ack(10)));
+        assertNull(tracker.complete(12, ack(12)));
+
+        tracker.start(13);
+        assertNull(tracker.complete(13, ack(13)));
+    }
+
+    @Test
+    void reassignment_tracksRedeliveredRecordsFromScratch() {
+        PartitionOffsetTracker revoked = started(10, 11, 12);
+        assertNull(revoked.complete(11, ack(11)));
+        revoked.revoke();
+
+        // The partition comes back at the last committed offset and 10..12 are delivered again.
+        PartitionOffsetTracker reassigned = started(10, 11, 12);
+        assertNull(revoked.complete(10, ack(10)));
+
+        assertNull(reassigned.complete(11, ack(11)));
+        assertSame(ack(11), reassigned.complete(10, ack(10)));
+        assertSame(ack(12), reassigned.complete(12, ack(12)));
+    }
+
+    private static PartitionOffsetTracker started(long... offsets) {
+        PartitionOffsetTracker tracker = new PartitionOffsetTracker();
+        for (long offset : offsets) {
+            tracker.start(offset);
+        }
+        return tracker;
+    }
+
+    private Acknowledgment ack(long offset) {
+        return acks.computeIfAbsent(offset, key -> () -> { });
+    }
+}
@@ -0,0 +1,130 @@
+package ai.eigloo.agentic.executorjava.kafka;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TenantFairSchedulerTest {
+
+    private final List<String> dispatched = new ArrayList<>();
+
+    @Test
+    void next_sharesDispatchesByWeightAcrossDeepBacklogs() {
+        TenantFairScheduler scheduler = scheduler(Map.of("tenant-a", 3));
+        enqueue(scheduler, "tenant-a", 100);
+        enqueue(scheduler, "tenant-b", 100);
+
+        dispatch(scheduler, 40);
+
+        assertEquals(30, Collections.frequency(dispatched, "tenant-a"));
+        assertEquals(10, Collections.frequency(dispatched, "tenant-b"));
+        assertEquals(
+                List.of("tenant-a", "tenant-a", "tenant-a", "tenant-b", "tenant-a", "tenant-a", "tenant-a", "tenant-b"),
+                dispatched.subList(0, 8));
+    }
+
+    @Test
+    void next_equalWeightsAlternate() {
+        TenantFairScheduler scheduler = scheduler(Map.of());
+        enqueue(scheduler, "tenant-a", 50);
+        enqueue(scheduler, "tenant-b", 3);
+
+        dispatch(scheduler, 6);
+
+        assertEquals(List.of("tenant-a", "tenant-b", "tenant-a", "tenant-b", "tenant-a", "tenant-b"), dispatched);
+    }
+
+    @Test
+    void next_returnsNullWhenNothingIsQueued() {
+        TenantFairScheduler scheduler = scheduler(Map.of());
+        assertNull(scheduler.next());
+
+        enqueue(scheduler, "tenant-a", 1);
+        dispatch(scheduler, 1);
+
+        assertNull(scheduler.next());
+    }
+
+    @Test
+    void next_tenantReenteringRingStartsWithFreshQuantum() {
+        TenantFairScheduler scheduler = scheduler(Map.of("tenant-a", 3));
+        enqueue(scheduler, "tenant-a", 1);
+        enqueue(scheduler, "tenant-b", 10);
+
+        // tenant-a drains after one of its three slots and leaves the ring.
+        dispatch(scheduler, 1);
+        assertEquals(Map.of("tenant-b", 10), scheduler.queuedByTenant());
+
+        // It rejoins behind tenant-b with a full quantum, not the two slots it left unused.
+        enqueue(scheduler, "tenant-a", 10);
+        dispatch(scheduler, 7);
+
+        assertEquals(
+                List.of("tenant-a", "tenant-b", "tenant-a", "tenant-a", "tenant-a", "tenant-b", "tenant-a", "tenant-a"),
+                dispatched);
+    }
+
+    @Test
+    void counters_trackQueuedAndOutstandingExecutions() {
+        TenantFairScheduler scheduler = scheduler(Map.of());
+
+        assertEquals(1, scheduler.enqueue("tenant-a", () -> { }));
+        assertEquals(2, scheduler.enqueue("tenant-a", () -> { }));
+        assertEquals(1, scheduler.enqueue("tenant-b", () -> { }));
+        assertEquals(3, scheduler.queued());
+        assertEquals(3, scheduler.outstanding());
+        assertEquals(Map.of("tenant-a", 2, "tenant-b", 1), scheduler.queuedByTenant());
+
+        scheduler.next();
+        scheduler.next();
+
+        assertEquals(1, scheduler.queued());
+        assertEquals(3, scheduler.outstanding());
+        assertEquals(Map.of("tenant-a", 1), scheduler.queuedByTenant());
+
+        assertEquals(1, scheduler.complete("tenant-a"));
+        assertEquals(0, scheduler.complete("tenant-b"));
+        assertEquals(1, scheduler.outstanding());
+        assertEquals(1, scheduler.outstanding("tenant-a"));
+        assertEquals(0, scheduler.outstanding("tenant-b"));
+
+        scheduler.next();
+        assertEquals(0, scheduler.complete("tenant-a"));
+        assertEquals(0, scheduler.queued());
+        assertEquals(0, scheduler.outstanding());
+        assertEquals(Map.of(), scheduler.queuedByTenant());
+    }
+
+    @Test
+    void complete_unknownTenantLeavesCountersAlone() {
+        TenantFairScheduler scheduler = scheduler(Map.of());
+        scheduler.enqueue("tenant-a", () -> { });
+
+        assertEquals(0, scheduler.complete("tenant-z"));
+        assertEquals(1, scheduler.outstanding());
+        assertEquals(0, scheduler.outstanding("tenant-z"));
+    }
+
+    private static TenantFairScheduler scheduler(Map<String, Integer> weights) {
+        return new TenantFairScheduler(new SimpleMeterRegistry(), "task", weights, 1);
+    }
+
+    private void enqueue(TenantFairScheduler scheduler, String tenantId, int count) {
+        for (int i = 0; i < count; i++) {
+            scheduler.enqueue(tenantId, () -> dispatched.add(tenantId));
+        }
+    }
+
+    private void dispatch(TenantFairScheduler scheduler, int count) {
+        for (int i = 0; i < count; i++) {
+            scheduler.next().run();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import ai.eigloo.agentic.executorjava.config.ExecutorPythonProperties;
+import ai.eigloo.agentic.executorjava.model.NodeType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Groups are pointed at plain directories standing in for cgroup v2 files, so no cgroup mount is needed.
+ */
+class CgroupManagerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void open_returnsNoOpGroupWhenDisabled() {
+        ExecutorPythonProperties.Cgroups properties = new ExecutorPythonProperties.Cgroups();
+        properties.setEnabled(false);
+
+        CgroupManager.Group group = CgroupManager.create(properties).open(NodeType.TASK);
+
+        assertSame(CgroupManager.Group.NONE, group);
+        group.attach(42);
+        assertEquals(CgroupManager.Counters.ZERO, group.counters());
+        assertNull(group.describeFailure(CgroupManager.Counters.ZERO));
+        assertEquals(
+                "Python process timed out after 5 seconds",
+                group.describeTimeout(Duration.ofSeconds(5), CgroupManager.Counters.ZERO));
+        group.close();
+    }
+
+    @Test
+    void attach_writesPidToGroupProcs() throws IOException {
+        new CgroupManager.Group(directory, limits()).attach(4242);
+
+        assertEquals("4242", Files.readString(directory.resolve("cgroup.procs")));
+    }
+
+    @Test
+    void counters_readKernelEventFiles() throws IOException {
+        writeEvents(3, 2, 1_500);
+
+        assertEquals(
+                new CgroupManager.Counters(3, 2, 1_500),
+                new CgroupManager.Group(directory, limits()).counters());
+    }
+
+    @Test
+    void describeFailure_namesTheLimitWhoseCounterRose() throws IOException {
+        CgroupManager.Group group = new CgroupManager.Group(directory, limits());
+        writeEvents(1, 4, 0);
+        CgroupManager.Counters before = group.counters();
+
+        assertNull(group.describeFailure(before));
+
+        writeEvents(1, 5, 0);
+        assertEquals(
+                "could not start a process or thread after reaching pids.max=64",
+                group.describeFailure(before));
+
+        writeEvents(2, 5, 0);
+        assertEquals("was killed by the OOM killer after reaching memory.max=256M", group.describeFailure(before));
+    }
+
+    @Test
+    void describeTimeout_notesCpuThrottlingSinceBefore() throws IOException {
+        CgroupManager.Group group = new CgroupManager.Group(directory, limits());
+        writeEvents(0, 0, 1_000_000);
+        CgroupManager.Counters before = group.counters();
+
+        assertEquals("Python process timed out after 2 seconds", group.describeTimeout(Duration.ofSeconds(2), before));
+
+        writeEvents(0, 0, 1_750_000);
+        assertEquals(
+                "Python process timed out after 2 seconds while CPU-throttled for 750 ms by cpu.max=50000 100000",
+                group.describeTimeout(Duration.ofSeconds(2), before));
+    }
+
+    @Test
+    void close_removesTheGroup() throws IOException {
+        Path group = Files.createDirectory(directory.resolve("runner-task-1"));
+
+        new CgroupManager.Group(group, limits()).close();
+
+        assertFalse(Files.exists(group));
+    }
+
+    private void writeEvents(long oomKills, long pidsMaxHits, long throttledMicros) throws IOException {
+        Files.writeString(directory.resolve("memory.events"), "low 0\nhigh 0\nmax 7\noom 1\noom_kill " + oomKills + "\n");
+        Files.writeString(directory.resolve("pids.events"), "max " + pidsMaxHits + "\n");
+        Files.writeString(
+                directory.resolve("cpu.stat"),
+                "usage_usec 900000\nnr_throttled 3\nthrottled_usec " + throttledMicros + "\n");
+    }
+
+    private static ExecutorPythonProperties.Limits limits() {
+        ExecutorPythonProperties.Limits limits = new ExecutorPythonProperties.Limits();
+        limits.setCpuMax("50000 100000");
+        limits.setMemoryMax("256M");
+        limits.setPidsMax("64");
+        return limits;
+    }
+}
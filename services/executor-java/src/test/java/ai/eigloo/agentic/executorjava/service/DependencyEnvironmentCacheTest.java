@@ -0,0 +1,87 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import ai.eigloo.agentic.executorjava.config.ExecutorPythonProperties;
+import ai.eigloo.agentic.executorjava.model.ExecutorFilePayload;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+class DependencyEnvironmentCacheTest {
+
+    @Mock
+    private PythonProcessExecutor pythonProcessExecutor;
+
+    @Test
+    void requirements_dropsCommentsAndBlankLinesThenSortsAndDeduplicates() {
+        List<String> requirements = DependencyEnvironmentCache.requirements(List.of(
+                new ExecutorFilePayload("task.py", "import requests\n"),
+                new ExecutorFilePayload("requirements.txt", """
+                        # pinned for the API client
+                        requests==2.32.3   # http
+
+                          pydantic>=2
+                        requests==2.32.3
+                        \tnumpy==1.26.4\r
+                        """)));
+
+        assertEquals(List.of("numpy==1.26.4", "pydantic>=2", "requests==2.32.3"), requirements);
+    }
+
+    @Test
+    void requirements_onlyReadsTheTopLevelFile() {
+        assertTrue(DependencyEnvironmentCache.requirements(List.of(
+                new ExecutorFilePayload("vendor/requirements.txt", "requests\n"),
+                new ExecutorFilePayload("requirements.txt", null))).isEmpty());
+        assertTrue(DependencyEnvironmentCache.requirements(List.of(
+                new ExecutorFilePayload("requirements.txt", "# nothing yet\n\n"))).isEmpty());
+    }
+
+    @Test
+    void environmentHash_isStableAcrossFormattingAndOrder() {
+        String hash = hash("python3", "requests==2.32.3\npydantic>=2\n");
+
+        assertEquals(hash, hash("python3", "# deps\npydantic>=2  \n\nrequests==2.32.3 # http\npydantic>=2\n"));
+        assertEquals(64, hash.length());
+        assertTrue(hash.matches("[0-9a-f]+"), hash);
+    }
+
+    @Test
+    void environmentHash_changesWithRequirementsAndInterpreter() {
+        String hash = hash("python3", "requests==2.32.3\n");
+
+        assertNotEquals(hash, hash("python3", "requests==2.32.4\n"));
+        assertNotEquals(hash, hash("python3.12", "requests==2.32.3\n"));
+        // Lines are separated in the digest, so splitting one differently cannot collide.
+        assertNotEquals(hash("python3", "ab\nc\n"), hash("python3", "a\nbc\n"));
+    }
+
+    @Test
+    void acquire_returnsNullWithoutWheelhouseOrRequirements() throws IOException {
+        ExecutorPythonProperties properties = new ExecutorPythonProperties();
+        DependencyEnvironmentCache cache = new DependencyEnvironmentCache(properties, pythonProcessExecutor);
+        List<ExecutorFilePayload> withRequirements = List.of(new ExecutorFilePayload("requirements.txt", "requests\n"));
+
+        properties.getEnvironments().setWheelhouse(" ");
+        assertNull(cache.acquire(withRequirements));
+
+        properties.getEnvironments().setWheelhouse("/opt/wheelhouse");
+        assertNull(cache.acquire(List.of(new ExecutorFilePayload("requirements.txt", "# none\n"))));
+        assertNull(cache.acquire(List.of(new ExecutorFilePayload("task.py", "print('hi')\n"))));
+    }
+
+    private static String hash(String pythonCommand, String requirementsTxt) {
+        return DependencyEnvironmentCache.environmentHash(
+                pythonCommand,
+                DependencyEnvironmentCache.requirements(List.of(new ExecutorFilePayload("requirements.txt", requirementsTxt))));
+    }
+}
@@ -0,0 +1,142 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import ai.eigloo.agentic.executorjava.model.ExecutorFilePayload;
+import ai.eigloo.agentic.executorjava.model.NodeBatching;
+import ai.eigloo.agentic.executorjava.model.NodeType;
+import ai.eigloo.agentic.executorjava.model.ResolvedExecutorNode;
+import ai.eigloo.proto.model.Common.ExecutionStatus;
+import ai.eigloo.proto.model.Common.PlanInput;
+import ai.eigloo.proto.model.Common.PlanResult;
+import ai.eigloo.proto.model.Common.StoredData;
+import ai.eigloo.proto.model.Common.TaskExecution;
+import ai.eigloo.proto.model.Common.TaskInput;
+import ai.eigloo.proto.model.Common.TaskResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExecutorOrchestrationServiceTest {
+
+    @Mock
+    private ExecutionSourceResolver sourceResolver;
+
+    @Mock
+    private PythonProcessExecutor pythonProcessExecutor;
+
+    @Mock
+    private NodeWorkspaceCache workspaceCache;
+
+    @Mock
+    private ResultMemoCache memoCache;
+
+    @Mock
+    private ExecutionTelemetry telemetry;
+
+    @Mock
+    private ResultOffloader resultOffloader;
+
+    private RunCancellationRegistry runCancellations;
+    private ExecutorOrchestrationService service;
+
+    @BeforeEach
+    void setUp() {
+        runCancellations = new RunCancellationRegistry();
+        service = new ExecutorOrchestrationService(
+                sourceResolver,
+                pythonProcessExecutor,
+                workspaceCache,
+                memoCache,
+                telemetry,
+                resultOffloader,
+                runCancellations);
+        lenient().when(resultOffloader.offload(anyString(), any(TaskResult.class)))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+    }
+
+    @Test
+    void handleTaskInput_endedRunIsCancelledEvenWhenMemoized() {
+        TaskInput input = TaskInput.newBuilder().setInputId("in-1").setTaskName("TaskA").setLifetimeId("life-1").build();
+        when(sourceResolver.resolveTaskNode("tenant-a", input)).thenReturn(node(NodeType.TASK, "TaskA", "life-1"));
+        lenient().when(memoCache.keyFor(eq("tenant-a"), any(ResolvedExecutorNode.class), eq(input))).thenReturn("memo-key");
+        lenient().when(memoCache.get("memo-key", TaskResult.parser()))
+                .thenReturn(Optional.of(TaskResult.newBuilder().setId("result-1").build()));
+        runCancellations.cancelRun("tenant-a", "life-1", "FAILED");
+
+        TaskExecution execution = service.handleTaskInput("tenant-a", input);
+
+        assertEquals(ExecutionStatus.EXECUTION_STATUS_CANCELLED, execution.getHeader().getStatus());
+        assertFalse(execution.getHeader().getCacheHit());
+        verify(memoCache, never()).get(anyString(), any());
+        verifyNoInteractions(pythonProcessExecutor);
+    }
+
+    @Test
+    void handlePlanInput_endedRunIsCancelledEvenWhenMemoized() {
+        PlanInput input = PlanInput.newBuilder().setInputId("in-1").setPlanName("PlanA").setLifetimeId("life-1").build();
+        when(sourceResolver.resolvePlanNode("tenant-a", input)).thenReturn(node(NodeType.PLAN, "PlanA", "life-1"));
+        lenient().when(memoCache.keyFor(eq("tenant-a"), any(ResolvedExecutorNode.class), eq(input))).thenReturn("memo-key");
+        lenient().when(memoCache.get("memo-key", PlanResult.parser()))
+                .thenReturn(Optional.of(PlanResult.newBuilder().addNextTaskNames("TaskA").build()));
+        runCancellations.cancelRun("tenant-a", "life-1", "FAILED");
+
+        var execution = service.handlePlanInput("tenant-a", input);
+
+        assertEquals(ExecutionStatus.EXECUTION_STATUS_CANCELLED, execution.getHeader().getStatus());
+        verify(memoCache, never()).get(anyString(), any());
+        verifyNoInteractions(pythonProcessExecutor);
+    }
+
+    @Test
+    void handleTaskInput_memoHitGetsFreshResultIdAndIsOffloadedAgain() {
+        TaskInput input = TaskInput.newBuilder().setInputId("in-1").setTaskName("TaskA").setLifetimeId("life-2").build();
+        TaskResult memoized = TaskResult.newBuilder().setId("result-from-earlier-run").build();
+        TaskResult offloaded = TaskResult.newBuilder()
+                .setExternalData(StoredData.newBuilder().setUri("file:///blobs/tenant-a/abc"))
+                .build();
+        when(sourceResolver.resolveTaskNode("tenant-a", input)).thenReturn(node(NodeType.TASK, "TaskA", "life-2"));
+        when(memoCache.keyFor(eq("tenant-a"), any(ResolvedExecutorNode.class), eq(input))).thenReturn("memo-key");
+        when(memoCache.get("memo-key", TaskResult.parser())).thenReturn(Optional.of(memoized));
+        when(resultOffloader.offload("tenant-a", memoized.toBuilder().clearId().build())).thenReturn(offloaded);
+
+        TaskExecution execution = service.handleTaskInput("tenant-a", input);
+
+        assertEquals(ExecutionStatus.EXECUTION_STATUS_SUCCEEDED, execution.getHeader().getStatus());
+        assertTrue(execution.getHeader().getCacheHit());
+        assertEquals(offloaded, execution.getResult());
+        assertTrue(execution.getResult().getId().isEmpty());
+        verifyNoInteractions(pythonProcessExecutor);
+    }
+
+    private static ResolvedExecutorNode node(NodeType nodeType, String name, String lifetimeId) {
+        return new ResolvedExecutorNode(
+                nodeType,
+                "graph-1",
+                lifetimeId,
+                name,
+                name + ".py",
+                List.of(new ExecutorFilePayload(name + ".py", "MEMOIZE = True\n")),
+                "hash-" + name,
+                true,
+                false,
+                NodeBatching.DEFAULT,
+                0);
+    }
+}
@@ -0,0 +1,99 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void percentileMillis_isZeroWhenEmpty() {
+        assertEquals(0, new LatencyHistogram(100).percentileMillis(0.99));
+    }
+
+    @Test
+    void percentileMillis_reportsBucketUpperBoundWithinNinePercent() {
+        long[] values = {0, 1, 2, 3, 7, 100, 999, 12_345, 600_000, 86_400_000L};
+        for (long value : values) {
+            LatencyHistogram histogram = new LatencyHistogram(100);
+            histogram.record(value);
+
+            long reported = histogram.percentileMillis(1.0);
+
+            assertTrue(reported >= value, value + " reported as " + reported);
+            assertTrue(reported <= Math.max(1, Math.ceil(value * 1.1)), value + " reported as " + reported);
+        }
+    }
+
+    @Test
+    void percentileMillis_clampsValuesBeyondTheLastBucket() {
+        LatencyHistogram histogram = new LatencyHistogram(100);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(1L << 30, histogram.percentileMillis(1.0));
+    }
+
+    @Test
+    void percentileMillis_picksBucketAtRank() {
+        LatencyHistogram histogram = new LatencyHistogram(1000);
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(1, histogram.percentileMillis(0.0));
+        assertInBucketOf(50, histogram.percentileMillis(0.5));
+        assertInBucketOf(99, histogram.percentileMillis(0.99));
+        assertInBucketOf(100, histogram.percentileMillis(1.0));
+    }
+
+    @Test
+    void record_halvesCountsOnceWindowIsFull() {
+        LatencyHistogram histogram = new LatencyHistogram(10);
+        for (int i = 0; i < 9; i++) {
+            histogram.record(10);
+        }
+        assertEquals(9, histogram.count());
+
+        histogram.record(10);
+
+        assertEquals(5, histogram.count());
+        assertInBucketOf(10, histogram.percentileMillis(0.99));
+    }
+
+    @Test
+    void halving_letsNewLatencyTakeOver() {
+        LatencyHistogram histogram = new LatencyHistogram(10);
+        for (int i = 0; i < 10; i++) {
+            histogram.record(10);
+        }
+        for (int i = 0; i < 30; i++) {
+            histogram.record(1000);
+        }
+
+        assertInBucketOf(1000, histogram.percentileMillis(0.5));
+    }
+
+    @Test
+    void recordCensored_isCountedSeparatelyAndSharesTheWindow() {
+        LatencyHistogram histogram = new LatencyHistogram(10);
+        for (int i = 0; i < 6; i++) {
+            histogram.record(10);
+        }
+        for (int i = 0; i < 3; i++) {
+            histogram.recordCensored();
+        }
+        assertEquals(6, histogram.count());
+        assertEquals(3, histogram.censoredCount());
+        assertInBucketOf(10, histogram.percentileMillis(1.0));
+
+        histogram.recordCensored();
+
+        assertEquals(3, histogram.count());
+        assertEquals(2, histogram.censoredCount());
+    }
+
+    private static void assertInBucketOf(long value, long reported) {
+        assertTrue(reported >= value && reported <= Math.ceil(value * 1.1), value + " reported as " + reported);
+    }
+}
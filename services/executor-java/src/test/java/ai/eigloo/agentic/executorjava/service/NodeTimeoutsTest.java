@@ -0,0 +1,169 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import ai.eigloo.agentic.executorjava.config.ExecutorPythonProperties;
+import ai.eigloo.agentic.executorjava.model.NodeBatching;
+import ai.eigloo.agentic.executorjava.model.NodeType;
+import ai.eigloo.agentic.executorjava.model.NodeWorkspace;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NodeTimeoutsTest {
+
+    private ExecutorPythonProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ExecutorPythonProperties();
+        properties.setTimeoutSeconds(120);
+        properties.getAdaptiveTimeout().setMinSamples(20);
+    }
+
+    @Test
+    void timeoutFor_usesConfiguredTimeoutUntilEnoughSamples() {
+        NodeTimeouts timeouts = timeouts();
+        NodeWorkspace workspace = workspace("fast", 0);
+        recordMillis(timeouts, workspace, 19, 100);
+
+        assertEquals(Duration.ofSeconds(120), timeouts.timeoutFor(NodeType.TASK, workspace));
+    }
+
+    @Test
+    void timeoutFor_declaredTimeoutWins() {
+        NodeTimeouts timeouts = timeouts();
+        NodeWorkspace workspace = workspace("declared", 900);
+        recordMillis(timeouts, workspace, 50, 100);
+
+        assertEquals(Duration.ofSeconds(900), timeouts.timeoutFor(NodeType.TASK, workspace));
+    }
+
+    @Test
+    void timeoutFor_fastNodeIsRaisedToFloor() {
+        NodeTimeouts timeouts = timeouts();
+        NodeWorkspace workspace = workspace("fast", 0);
+        recordMillis(timeouts, workspace, 20, 100);
+
+        assertEquals(Duration.ofSeconds(10), timeouts.timeoutFor(NodeType.TASK, workspace));
+    }
+
+    @Test
+    void timeoutFor_usesPercentileTimesMultiplierBetweenFloorAndCeiling() {
+        NodeTimeouts timeouts = timeouts();
+        NodeWorkspace workspace = workspace("medium", 0);
+        recordMillis(timeouts, workspace, 20, 10_000);
+
+        long millis = timeouts.timeoutFor(NodeType.TASK, workspace).toMillis();
+
+        assertTrue(millis >= 30_000 && millis <= 33_000, "timeout " + millis);
+    }
+
+    @Test
+    void timeoutFor_ceilingDefaultsToConfiguredTimeout() {
+        NodeTimeouts timeouts = timeouts();
+        NodeWorkspace workspace = workspace("slow", 0);
+        recordMillis(timeouts, workspace, 20, 100_000);
+
+        assertEquals(Duration.ofSeconds(120), timeouts.timeoutFor(NodeType.TASK, workspace));
+    }
+
+    @Test
+    void timeoutFor_ceilingDefaultFollowsNodeTypeTimeout() {
+        properties.setPlanTimeoutSeconds(30);
+        NodeTimeouts timeouts = timeouts();
+        NodeWorkspace workspace = workspace("slow", 0);
+        recordMillis(timeouts, workspace, 20, 100_000);
+
+        assertEquals(Duration.ofSeconds(30), timeouts.timeoutFor(NodeType.PLAN, workspace));
+    }
+
+    @Test
+    void timeoutFor_explicitCeilingAllowsLongerTimeout() {
+        properties.getAdaptiveTimeout().setCeilingSeconds(600);
+        NodeTimeouts timeouts = timeouts();
+        NodeWorkspace workspace = workspace("slow", 0);
+        recordMillis(timeouts, workspace, 20, 100_000);
+
+        long millis = timeouts.timeoutFor(NodeType.TASK, workspace).toMillis();
+
+        assertTrue(millis >= 300_000 && millis <= 330_000, "timeout " + millis);
+    }
+
+    @Test
+    void timeoutFor_floorNeverExceedsCeiling() {
+        properties.setTimeoutSeconds(5);
+        NodeTimeouts timeouts = timeouts();
+        NodeWorkspace workspace = workspace("fast", 0);
+        recordMillis(timeouts, workspace, 20, 100);
+
+        assertEquals(Duration.ofSeconds(5), timeouts.timeoutFor(NodeType.TASK, workspace));
+    }
+
+    @Test
+    void timeoutFor_timedOutCallsNeverRatchetTheTimeoutUp() {
+        NodeTimeouts timeouts = timeouts();
+        NodeWorkspace workspace = workspace("hanging", 0);
+        recordMillis(timeouts, workspace, 20, 100);
+
+        for (int i = 0; i < 100; i++) {
+            Duration timeout = timeouts.timeoutFor(NodeType.TASK, workspace);
+            assertTrue(timeout.compareTo(Duration.ofSeconds(120)) <= 0, "timeout " + timeout);
+            timeouts.recordTimeout(workspace);
+        }
+    }
+
+    @Test
+    void timeoutFor_fallsBackToConfiguredTimeoutWhenTooManyCallsTimeOut() {
+        NodeTimeouts timeouts = timeouts();
+        NodeWorkspace workspace = workspace("flaky", 0);
+        recordMillis(timeouts, workspace, 500, 100);
+
+        timeouts.recordTimeout(workspace);
+        assertEquals(Duration.ofSeconds(10), timeouts.timeoutFor(NodeType.TASK, workspace));
+
+        for (int i = 0; i < 5; i++) {
+            timeouts.recordTimeout(workspace);
+        }
+        assertEquals(Duration.ofSeconds(120), timeouts.timeoutFor(NodeType.TASK, workspace));
+    }
+
+    @Test
+    void timeoutFor_disabledAlwaysUsesConfiguredTimeout() {
+        properties.getAdaptiveTimeout().setEnabled(false);
+        NodeTimeouts timeouts = timeouts();
+        NodeWorkspace workspace = workspace("fast", 0);
+        recordMillis(timeouts, workspace, 50, 100);
+
+        assertEquals(Duration.ofSeconds(120), timeouts.timeoutFor(NodeType.TASK, workspace));
+    }
+
+    private NodeTimeouts timeouts() {
+        return new NodeTimeouts(properties, new SimpleMeterRegistry());
+    }
+
+    private static void recordMillis(NodeTimeouts timeouts, NodeWorkspace workspace, int calls, long millis) {
+        for (int i = 0; i < calls; i++) {
+            timeouts.record(workspace, TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+    }
+
+    private static NodeWorkspace workspace(String contentHash, int timeoutSeconds) {
+        Path directory = Path.of("/tmp/workspaces", contentHash);
+        return new NodeWorkspace(
+                contentHash,
+                directory,
+                directory.resolve("task.py"),
+                directory.resolve("scratch"),
+                null,
+                null,
+                false,
+                NodeBatching.DEFAULT,
+                timeoutSeconds);
+    }
+}
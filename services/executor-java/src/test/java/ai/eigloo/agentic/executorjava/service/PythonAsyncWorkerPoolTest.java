@@ -0,0 +1,192 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import ai.eigloo.agentic.executorjava.config.ExecutorPythonProperties;
+import ai.eigloo.agentic.executorjava.model.NodeBatching;
+import ai.eigloo.agentic.executorjava.model.NodeType;
+import ai.eigloo.agentic.executorjava.model.NodeWorkspace;
+import ai.eigloo.agentic.executorjava.model.PythonRun;
+import ai.eigloo.proto.model.Common.TaskResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the pool against {@link FakeRunner}, a stand-in for {@code executor_runner.py --serve-async}
+ * started as its own JVM, so dispatch is exercised over real pipes without a python interpreter.
+ */
+class PythonAsyncWorkerPoolTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(20);
+
+    private PythonAsyncWorkerPool pool;
+
+    @BeforeEach
+    void startPool() {
+        ExecutorPythonProperties.AsyncWorkers properties = new ExecutorPythonProperties.AsyncWorkers();
+        properties.setTaskSize(1);
+        properties.setMaxConcurrentPerWorker(4);
+        ExecutorPythonProperties.Cgroups cgroups = new ExecutorPythonProperties.Cgroups();
+        cgroups.setEnabled(false);
+        pool = new PythonAsyncWorkerPool(
+                properties,
+                PythonAsyncWorkerPoolTest::fakeRunner,
+                CgroupManager.create(cgroups),
+                SharedMemoryTransfer.disabled(1024 * 1024));
+        pool.start(Set.of(NodeType.TASK));
+    }
+
+    @AfterEach
+    void closePool() {
+        pool.close();
+    }
+
+    @Test
+    void execute_matchesRepliesToCallersByRequestId() throws Exception {
+        // The runner holds the first execution and answers both once the second arrives, newest first.
+        CompletableFuture<PythonRun<TaskResult>> first = CompletableFuture.supplyAsync(() -> execute("first"));
+        awaitOutstanding(1);
+        CompletableFuture<PythonRun<TaskResult>> second = CompletableFuture.supplyAsync(() -> execute("second"));
+
+        assertEquals("first", first.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS).result().getErrorMessage());
+        assertEquals("second", second.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS).result().getErrorMessage());
+        assertEquals(new PythonProcessExecutor.WorkerCounts(0, 1), pool.workerCounts(NodeType.TASK));
+    }
+
+    @Test
+    void execute_cancellationCancelsOnlyItsOwnRequest() throws Exception {
+        ExecutionCancellation cancellation = new ExecutionCancellation();
+        CompletableFuture<PythonRun<TaskResult>> held =
+                CompletableFuture.supplyAsync(() -> execute(FakeRunner.HOLD, cancellation));
+        awaitOutstanding(1);
+
+        cancellation.cancel("run ended");
+
+        Exception e = assertThrows(Exception.class, () -> held.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS));
+        assertTrue(e.getCause().getMessage().contains("Python runner failed: cancelled"), e.getCause().getMessage());
+        // The worker survives the cancellation and keeps serving its other callers.
+        CompletableFuture<PythonRun<TaskResult>> first = CompletableFuture.supplyAsync(() -> execute("first"));
+        awaitOutstanding(1);
+        assertEquals("second", execute("second").result().getErrorMessage());
+        assertEquals("first", first.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS).result().getErrorMessage());
+    }
+
+    private PythonRun<TaskResult> execute(String marker) {
+        return execute(marker, ExecutionCancellation.NONE);
+    }
+
+    private PythonRun<TaskResult> execute(String marker, ExecutionCancellation cancellation) {
+        Path directory = Path.of("/tmp/workspaces/hash");
+        NodeWorkspace workspace = new NodeWorkspace(
+                "hash",
+                directory,
+                directory.resolve("task.py"),
+                directory.resolve("scratch"),
+                null,
+                null,
+                true,
+                NodeBatching.DEFAULT,
+                0);
+        return pool.execute(
+                NodeType.TASK,
+                workspace,
+                TaskResult.newBuilder().setErrorMessage(marker).build(),
+                TaskResult.parser(),
+                "tenant-a",
+                TIMEOUT,
+                cancellation);
+    }
+
+    private void awaitOutstanding(int busy) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (pool.workerCounts(NodeType.TASK).busy() < busy) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("No execution outstanding within " + TIMEOUT);
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static ProcessBuilder fakeRunner() {
+        return new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-XX:+DisplayVMOutputToStderr",
+                "-cp",
+                System.getProperty("java.class.path"),
+                FakeRunner.class.getName());
+    }
+
+    /**
+     * Answers {@code execute} requests with their own input, holding each one until the next
+     * arrives and then answering newest first. An input marked {@link #HOLD} is only answered,
+     * as cancelled, by a {@code cancel} request naming it.
+     */
+    public static final class FakeRunner {
+
+        static final String HOLD = "hold";
+
+        private static final ObjectMapper objectMapper = new ObjectMapper();
+
+        public static void main(String[] args) throws IOException {
+            InputStream in = new BufferedInputStream(System.in);
+            OutputStream out = new BufferedOutputStream(System.out);
+            List<Map.Entry<String, byte[]>> waiting = new ArrayList<>();
+            Map<String, byte[]> held = new HashMap<>();
+            byte[] frame;
+            while ((frame = RunnerFraming.readFrame(in)) != null) {
+                JsonNode request = objectMapper.readTree(frame);
+                if ("cancel".equals(request.path("op").asText())) {
+                    String target = request.path("target").asText();
+                    if (held.remove(target) != null) {
+                        ObjectNode reply = objectMapper.createObjectNode();
+                        reply.put("id", target);
+                        reply.put("ok", false);
+                        reply.put("error", "cancelled");
+                        RunnerFraming.writeFrame(out, objectMapper.writeValueAsBytes(reply));
+                    }
+                } else {
+                    String id = request.path("id").asText();
+                    byte[] payload = RunnerFraming.readFrame(in);
+                    if (HOLD.equals(TaskResult.parseFrom(payload).getErrorMessage())) {
+                        held.put(id, payload);
+                        continue;
+                    }
+                    waiting.add(Map.entry(id, payload));
+                    if (waiting.size() < 2) {
+                        continue;
+                    }
+                    for (int i = waiting.size() - 1; i >= 0; i--) {
+                        ObjectNode reply = objectMapper.createObjectNode();
+                        reply.put("id", waiting.get(i).getKey());
+                        reply.put("ok", true);
+                        RunnerFraming.writeFrame(out, objectMapper.writeValueAsBytes(reply));
+                        RunnerFraming.writeFrame(out, waiting.get(i).getValue());
+                    }
+                    waiting.clear();
+                }
+                out.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import ai.eigloo.agentic.executorjava.config.ExecutorPythonProperties;
+import ai.eigloo.agentic.executorjava.model.NodeBatching;
+import ai.eigloo.agentic.executorjava.model.NodeType;
+import ai.eigloo.agentic.executorjava.model.NodeWorkspace;
+import ai.eigloo.agentic.executorjava.model.PythonRun;
+import ai.eigloo.proto.model.Common.TaskResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs the fork server against {@link FakeZygote}, a stand-in for {@code executor_runner.py --zygote}
+ * started as its own JVM. It cannot fork, so each connection starts a placeholder process whose
+ * pid it reports as the child's and answers the request itself.
+ */
+class PythonForkServerTest {
+
+    private static final int MAX_RESULT_BYTES = 1024;
+
+    @TempDir
+    Path directory;
+
+    private final AtomicInteger zygoteStarts = new AtomicInteger();
+    private PythonForkServer forkServer;
+
+    @BeforeEach
+    void startForkServer() {
+        ExecutorPythonProperties.Cgroups cgroups = new ExecutorPythonProperties.Cgroups();
+        cgroups.setEnabled(false);
+        forkServer = new PythonForkServer(
+                new ExecutorPythonProperties.Fork(),
+                this::fakeZygote,
+                directory.resolve("zygote.sock"),
+                CgroupManager.create(cgroups),
+                SharedMemoryTransfer.disabled(MAX_RESULT_BYTES));
+        forkServer.start();
+    }
+
+    @AfterEach
+    void closeForkServer() {
+        forkServer.close();
+    }
+
+    @Test
+    void execute_returnsTheChildsResultAndUsage() {
+        PythonRun<TaskResult> run = execute("echo", Duration.ofSeconds(20));
+
+        assertEquals("echo", run.result().getErrorMessage());
+        assertEquals(7, run.resourceUsage().getUserCpuMs());
+        assertEquals(11, run.resourceUsage().getStderrBytes());
+        assertEquals(1, zygoteStarts.get());
+    }
+
+    @Test
+    void execute_killsTheChildWhenNoReplyArrivesInTime() throws IOException {
+        IllegalStateException e = assertThrows(
+                IllegalStateException.class, () -> execute(FakeZygote.HOLD, Duration.ofSeconds(1)));
+
+        assertEquals("Python process timed out after 1 seconds", e.getMessage());
+        assertChildrenStopped();
+    }
+
+    @Test
+    void execute_refusesOversizedResultAndKillsTheChild() throws IOException {
+        IllegalStateException e = assertThrows(
+                IllegalStateException.class, () -> execute(FakeZygote.OVERSIZED, Duration.ofSeconds(20)));
+
+        assertInstanceOf(RunnerFraming.OversizedFrameException.class, e.getCause());
+        assertChildrenStopped();
+    }
+
+    @Test
+    void execute_restartsZygoteThatDied() throws Exception {
+        execute("first", Duration.ofSeconds(20));
+        long pid = Long.parseLong(Files.readString(directory.resolve(FakeZygote.PID_FILE)));
+        ProcessHandle zygote = ProcessHandle.of(pid).orElseThrow();
+        zygote.destroyForcibly();
+        zygote.onExit().get(10, TimeUnit.SECONDS);
+
+        assertEquals("second", execute("second", Duration.ofSeconds(20)).result().getErrorMessage());
+        assertEquals(2, zygoteStarts.get());
+    }
+
+    private PythonRun<TaskResult> execute(String marker, Duration timeout) {
+        Path workspace = Path.of("/tmp/workspaces/hash");
+        return forkServer.execute(
+                NodeType.TASK,
+                new NodeWorkspace(
+                        "hash",
+                        workspace,
+                        workspace.resolve("task.py"),
+                        workspace.resolve("scratch"),
+                        null,
+                        null,
+                        false,
+                        NodeBatching.DEFAULT,
+                        0),
+                TaskResult.newBuilder().setErrorMessage(marker).build(),
+                TaskResult.parser(),
+                "tenant-a",
+                timeout,
+                ExecutionCancellation.NONE);
+    }
+
+    private void assertChildrenStopped() throws IOException {
+        List<String> pids = Files.readAllLines(directory.resolve(FakeZygote.CHILDREN_FILE));
+        assertFalse(pids.isEmpty());
+        for (String pid : pids) {
+            ProcessHandle.of(Long.parseLong(pid)).ifPresent(child -> {
+                try {
+                    child.onExit().get(10, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    throw new AssertionError("Child pid=" + pid + " is still running", e);
+                }
+            });
+        }
+    }
+
+    private ProcessBuilder fakeZygote() {
+        zygoteStarts.incrementAndGet();
+        return new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-XX:+DisplayVMOutputToStderr",
+                "-cp",
+                System.getProperty("java.class.path"),
+                FakeZygote.class.getName(),
+                directory.resolve("zygote.sock").toString());
+    }
+
+    /**
+     * Listens on the socket given as its only argument until stdin closes, with its pid in
+     * {@link #PID_FILE} next to the socket. Each connection gets a {@code sleep} placeholder as
+     * its child, whose pid is appended to {@link #CHILDREN_FILE}, and an answer of its own input,
+     * usage included. An input marked {@link #HOLD} is never answered; one marked
+     * {@link #OVERSIZED} is answered with a result frame over the test's limit.
+     */
+    public static final class FakeZygote {
+
+        static final String HOLD = "hold";
+        static final String OVERSIZED = "oversized";
+        static final String CHILDREN_FILE = "children";
+        static final String PID_FILE = "zygote.pid";
+
+        private static final ObjectMapper objectMapper = new ObjectMapper();
+
+        public static void main(String[] args) throws IOException {
+            Path socketPath = Path.of(args[0]);
+            ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            server.bind(UnixDomainSocketAddress.of(socketPath));
+            Files.writeString(socketPath.resolveSibling(PID_FILE), Long.toString(ProcessHandle.current().pid()));
+            Thread.ofPlatform().daemon().start(() -> {
+                try {
+                    while (true) {
+                        SocketChannel connection = server.accept();
+                        Thread.ofPlatform().daemon().start(() -> serve(connection, socketPath.resolveSibling(CHILDREN_FILE)));
+                    }
+                } catch (IOException e) {
+                    // The zygote is shutting down.
+                }
+            });
+            ObjectNode ready = objectMapper.createObjectNode();
+            ready.put("ready", true);
+            RunnerFraming.writeFrame(System.out, objectMapper.writeValueAsBytes(ready));
+            System.out.flush();
+            while (System.in.read() >= 0) {
+                // Run until the executor closes stdin.
+            }
+            System.exit(0);
+        }
+
+        private static void serve(SocketChannel connection, Path childrenFile) {
+            List<Process> children = new ArrayList<>();
+            try (connection) {
+                Process child = new ProcessBuilder("sleep", "60").start();
+                children.add(child);
+                synchronized (FakeZygote.class) {
+                    Files.writeString(
+                            childrenFile,
+                            child.pid() + "\n",
+                            StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE,
+                            StandardOpenOption.APPEND);
+                }
+                InputStream in = new BufferedInputStream(Channels.newInputStream(connection));
+                OutputStream out = new BufferedOutputStream(Channels.newOutputStream(connection));
+                ObjectNode hello = objectMapper.createObjectNode();
+                hello.put("pid", child.pid());
+                RunnerFraming.writeFrame(out, objectMapper.writeValueAsBytes(hello));
+                out.flush();
+
+                JsonNode request = objectMapper.readTree(RunnerFraming.readFrame(in));
+                byte[] payload = RunnerFraming.readFrame(in);
+                String marker = TaskResult.parseFrom(payload).getErrorMessage();
+                if (HOLD.equals(marker)) {
+                    while (in.read() >= 0) {
+                        // Wait for the executor to give up on the call.
+                    }
+                    return;
+                }
+                ObjectNode reply = objectMapper.createObjectNode();
+                reply.put("id", request.path("id").asText());
+                reply.put("ok", true);
+                ObjectNode usage = reply.putObject("usage");
+                usage.put("user_cpu_ms", 7);
+                usage.put("stderr_bytes", 11);
+                RunnerFraming.writeFrame(out, objectMapper.writeValueAsBytes(reply));
+                if (OVERSIZED.equals(marker)) {
+                    new DataOutputStream(out).writeInt(MAX_RESULT_BYTES + 1);
+                    out.flush();
+                    while (in.read() >= 0) {
+                        // The executor must not read the body.
+                    }
+                    return;
+                }
+                RunnerFraming.writeFrame(out, payload);
+                out.flush();
+                // A real child exits once it has replied.
+                child.destroy();
+            } catch (IOException e) {
+                children.forEach(Process::destroyForcibly);
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import ai.eigloo.agentic.executorjava.config.ExecutorMemoProperties;
+import ai.eigloo.agentic.executorjava.model.ExecutorFilePayload;
+import ai.eigloo.agentic.executorjava.model.NodeBatching;
+import ai.eigloo.agentic.executorjava.model.NodeType;
+import ai.eigloo.agentic.executorjava.model.ResolvedExecutorNode;
+import ai.eigloo.proto.model.Common.ExecutionHeader;
+import ai.eigloo.proto.model.Common.PlanExecution;
+import ai.eigloo.proto.model.Common.PlanInput;
+import ai.eigloo.proto.model.Common.ResourceUsage;
+import ai.eigloo.proto.model.Common.TaskExecution;
+import ai.eigloo.proto.model.Common.TaskInput;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class ResultMemoCacheTest {
+
+    private ResultMemoCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ResultMemoCache(new ExecutorMemoProperties(), null, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void keyFor_planInputIgnoresUpstreamResourceUsage() {
+        ResolvedExecutorNode node = node(NodeType.PLAN, "PlanB");
+
+        String first = cache.keyFor("tenant-a", node, planInput("in-1", "exec-1", usage(120, 900_000)));
+        String second = cache.keyFor("tenant-a", node, planInput("in-2", "exec-2", usage(340, 1_400_000)));
+
+        assertNotNull(first);
+        assertEquals(first, second);
+    }
+
+    @Test
+    void keyFor_taskInputIgnoresUpstreamResourceUsage() {
+        ResolvedExecutorNode node = node(NodeType.TASK, "TaskB");
+
+        String first = cache.keyFor("tenant-a", node, taskInput("in-1", "exec-1", usage(15, 300_000)));
+        String second = cache.keyFor("tenant-a", node, taskInput("in-2", "exec-2", usage(48, 520_000)));
+
+        assertNotNull(first);
+        assertEquals(first, second);
+    }
+
+    @Test
+    void keyFor_upstreamNameStillDistinguishesInputs() {
+        ResolvedExecutorNode node = node(NodeType.PLAN, "PlanB");
+        PlanInput input = planInput("in-1", "exec-1", usage(120, 900_000));
+        PlanInput renamed = input.toBuilder()
+                .setTaskExecutions(0, input.getTaskExecutions(0).toBuilder()
+                        .setHeader(input.getTaskExecutions(0).getHeader().toBuilder().setName("TaskZ")))
+                .build();
+
+        assertNotEquals(cache.keyFor("tenant-a", node, input), cache.keyFor("tenant-a", node, renamed));
+    }
+
+    private static ResolvedExecutorNode node(NodeType nodeType, String name) {
+        return new ResolvedExecutorNode(
+                nodeType,
+                "graph-1",
+                "life-1",
+                name,
+                name + ".py",
+                List.of(new ExecutorFilePayload(name + ".py", "MEMOIZE = True\n")),
+                "hash-" + name,
+                true,
+                false,
+                NodeBatching.DEFAULT,
+                0);
+    }
+
+    private static ResourceUsage usage(long wallMs, long peakRssBytes) {
+        return ResourceUsage.newBuilder()
+                .setWallMs(wallMs)
+                .setUserCpuMs(wallMs / 2)
+                .setSystemCpuMs(wallMs / 4)
+                .setPeakRssBytes(peakRssBytes)
+                .setOutputBytes(64)
+                .setStderrBytes(12)
+                .build();
+    }
+
+    private static ExecutionHeader header(String name, String execId, ResourceUsage usage) {
+        return ExecutionHeader.newBuilder()
+                .setName(name)
+                .setExecId(execId)
+                .setGraphId("graph-1")
+                .setLifetimeId("life-" + execId)
+                .setTenantId("tenant-a")
+                .setResourceUsage(usage)
+                .build();
+    }
+
+    private static PlanInput planInput(String inputId, String execId, ResourceUsage usage) {
+        return PlanInput.newBuilder()
+                .setInputId(inputId)
+                .setPlanName("PlanB")
+                .setGraphId("graph-1")
+                .setLifetimeId("life-" + execId)
+                .addTaskExecutions(TaskExecution.newBuilder()
+                        .setHeader(header("TaskA", execId, usage))
+                        .setParentPlanExecId("plan-" + execId)
+                        .setParentPlanName("PlanA"))
+                .build();
+    }
+
+    private static TaskInput taskInput(String inputId, String execId, ResourceUsage usage) {
+        return TaskInput.newBuilder()
+                .setInputId(inputId)
+                .setTaskName("TaskB")
+                .setGraphId("graph-1")
+                .setLifetimeId("life-" + execId)
+                .setPlanExecution(PlanExecution.newBuilder()
+                        .setHeader(header("PlanA", execId, usage)))
+                .build();
+    }
+}
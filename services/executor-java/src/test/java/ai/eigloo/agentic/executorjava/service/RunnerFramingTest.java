@@ -0,0 +1,143 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import ai.eigloo.proto.model.Common.TaskResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RunnerFramingTest {
+
+    @Test
+    void writeFrame_prefixesBigEndianLength() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] body = new byte[0x010203];
+
+        RunnerFraming.writeFrame(out, body);
+
+        byte[] written = out.toByteArray();
+        assertEquals(4 + body.length, written.length);
+        assertArrayEquals(new byte[] {0x00, 0x01, 0x02, 0x03}, Arrays.copyOf(written, 4));
+    }
+
+    @Test
+    void readFrame_roundTripsFramesInOrderThenEndsCleanly() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RunnerFraming.writeFrame(out, bytes("first"));
+        RunnerFraming.writeFrame(out, new byte[0]);
+        RunnerFraming.writeFrame(out, bytes("third"));
+        InputStream in = new ByteArrayInputStream(out.toByteArray());
+
+        assertArrayEquals(bytes("first"), RunnerFraming.readFrame(in));
+        assertArrayEquals(new byte[0], RunnerFraming.readFrame(in));
+        assertArrayEquals(bytes("third"), RunnerFraming.readFrame(in));
+        assertNull(RunnerFraming.readFrame(in));
+    }
+
+    @Test
+    void readMessage_roundTripsProtobufFrames() throws IOException {
+        TaskResult first = TaskResult.newBuilder().setErrorMessage("boom").build();
+        TaskResult second = TaskResult.getDefaultInstance();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RunnerFraming.writeMessage(out, first);
+        RunnerFraming.writeMessage(out, second);
+        InputStream in = new ByteArrayInputStream(out.toByteArray());
+
+        assertEquals(first, RunnerFraming.readMessage(in, TaskResult.parser()));
+        assertEquals(second, RunnerFraming.readMessage(in, TaskResult.parser()));
+        assertNull(RunnerFraming.readMessage(in, TaskResult.parser()));
+    }
+
+    @Test
+    void readMessage_malformedFrameIsSkippedSoNextFrameStillReads() throws IOException {
+        TaskResult next = TaskResult.newBuilder().setErrorMessage("next").build();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RunnerFraming.writeFrame(out, new byte[] {(byte) 0xff, (byte) 0xff, (byte) 0xff});
+        RunnerFraming.writeMessage(out, next);
+        InputStream in = new ByteArrayInputStream(out.toByteArray());
+
+        assertThrows(IOException.class, () -> RunnerFraming.readMessage(in, TaskResult.parser()));
+        assertEquals(next, RunnerFraming.readMessage(in, TaskResult.parser()));
+    }
+
+    @Test
+    void writeReference_setsSharedMemoryFlag() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] reference = bytes("{\"path\":\"/dev/shm/x\"}");
+
+        RunnerFraming.writeReference(out, reference);
+
+        InputStream in = new ByteArrayInputStream(out.toByteArray());
+        long header = RunnerFraming.readHeader(in);
+        assertTrue(RunnerFraming.isReference(header));
+        assertEquals(reference.length, RunnerFraming.bodyLength(header));
+        assertArrayEquals(reference, RunnerFraming.readBody(in, RunnerFraming.bodyLength(header)));
+        assertEquals(-1, RunnerFraming.readHeader(in));
+    }
+
+    @Test
+    void readHeader_plainFrameIsNotReference() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RunnerFraming.writeFrame(out, bytes("plain"));
+
+        long header = RunnerFraming.readHeader(new ByteArrayInputStream(out.toByteArray()));
+
+        assertFalse(RunnerFraming.isReference(header));
+        assertEquals(5, RunnerFraming.bodyLength(header));
+        assertFalse(RunnerFraming.isReference(-1));
+    }
+
+    @Test
+    void readFrame_rejectsSharedMemoryReference() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RunnerFraming.writeReference(out, bytes("ref"));
+
+        IOException error = assertThrows(
+                IOException.class, () -> RunnerFraming.readFrame(new ByteArrayInputStream(out.toByteArray())));
+        assertFalse(error instanceof EOFException);
+    }
+
+    @Test
+    void readFrame_endOfStreamInsideHeaderIsTruncation() {
+        for (int length = 1; length < 4; length++) {
+            InputStream in = new ByteArrayInputStream(new byte[length]);
+            assertThrows(EOFException.class, () -> RunnerFraming.readFrame(in));
+        }
+    }
+
+    @Test
+    void readFrame_endOfStreamInsideBodyIsTruncation() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RunnerFraming.writeFrame(out, bytes("complete body"));
+        byte[] truncated = Arrays.copyOf(out.toByteArray(), out.size() - 3);
+
+        assertThrows(EOFException.class, () -> RunnerFraming.readFrame(new ByteArrayInputStream(truncated)));
+    }
+
+    @Test
+    void readMessage_endOfStreamInsideBodyIsError() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RunnerFraming.writeMessage(out, TaskResult.newBuilder().setErrorMessage("complete body").build());
+        byte[] truncated = Arrays.copyOf(out.toByteArray(), out.size() - 3);
+
+        assertThrows(
+                IOException.class,
+                () -> RunnerFraming.readMessage(new ByteArrayInputStream(truncated), TaskResult.parser()));
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
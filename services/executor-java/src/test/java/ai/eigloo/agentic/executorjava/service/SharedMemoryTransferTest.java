@@ -0,0 +1,145 @@
+package ai.eigloo.agentic.executorjava.service;
+
+import ai.eigloo.agentic.executorjava.config.ExecutorPythonProperties;
+import ai.eigloo.proto.model.Common.TaskResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SharedMemoryTransferTest {
+
+    private static final TaskResult RESULT = TaskResult.newBuilder().setErrorMessage("x".repeat(100)).build();
+
+    @TempDir
+    Path root;
+
+    private SharedMemoryTransfer transfer;
+
+    @AfterEach
+    void closeTransfer() {
+        if (transfer != null) {
+            transfer.close();
+        }
+    }
+
+    @Test
+    void readMessage_roundTripsPayloadsThroughMappedFiles() throws IOException {
+        transfer = enabled(1, 1024);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        transfer.writeMessage(out, RESULT);
+
+        assertEquals(RESULT, transfer.readMessage(new ByteArrayInputStream(out.toByteArray()), TaskResult.parser()));
+        assertEquals(0, mappedFileCount());
+    }
+
+    @Test
+    void readMessage_refusesInlinePayloadOverLimitWithoutReadingIt() throws IOException {
+        transfer = SharedMemoryTransfer.disabled(RESULT.getSerializedSize() - 1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RunnerFraming.writeMessage(out, RESULT);
+        InputStream in = new ByteArrayInputStream(out.toByteArray());
+
+        assertThrows(RunnerFraming.OversizedFrameException.class, () -> transfer.readMessage(in, TaskResult.parser()));
+        assertEquals(RESULT.getSerializedSize(), in.available());
+    }
+
+    @Test
+    void readFrame_refusesInlinePayloadOverLimit() throws IOException {
+        transfer = SharedMemoryTransfer.disabled(3);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RunnerFraming.writeFrame(out, new byte[4]);
+
+        assertThrows(
+                RunnerFraming.OversizedFrameException.class,
+                () -> transfer.readFrame(new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    @Test
+    void readMessage_refusesMappedPayloadOverLimitAndRemovesItsFile() throws IOException {
+        transfer = enabled(1, RESULT.getSerializedSize() - 1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transfer.writeMessage(out, RESULT);
+        assertEquals(1, mappedFileCount());
+
+        assertThrows(
+                RunnerFraming.OversizedFrameException.class,
+                () -> transfer.readMessage(new ByteArrayInputStream(out.toByteArray()), TaskResult.parser()));
+        assertEquals(0, mappedFileCount());
+    }
+
+    @Test
+    void readMessage_rejectsReferenceOutsideItsDirectory() throws IOException {
+        transfer = enabled(1, 1024);
+        Path outside = Files.write(root.resolve("secret"), RESULT.toByteArray());
+
+        for (String name : new String[] {"../secret", "/etc/passwd", "a/b", ""}) {
+            IOException e = assertThrows(
+                    IOException.class, () -> transfer.readMessage(reference(name, 0, 1), TaskResult.parser()));
+            assertTrue(e.getMessage().contains("Invalid shared-memory file name"), e.getMessage());
+        }
+        assertTrue(Files.exists(outside));
+    }
+
+    @Test
+    void readMessage_rejectsReferenceOutOfBoundsAndRemovesItsFile() throws IOException {
+        transfer = enabled(1, 1024);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transfer.writeMessage(out, RESULT);
+        String name;
+        try (Stream<Path> files = Files.walk(root)) {
+            name = files.filter(Files::isRegularFile).findFirst().orElseThrow().getFileName().toString();
+        }
+
+        IOException e = assertThrows(
+                IOException.class,
+                () -> transfer.readMessage(reference(name, 1, RESULT.getSerializedSize()), TaskResult.parser()));
+        assertTrue(e.getMessage().contains("out of bounds"), e.getMessage());
+        assertEquals(0, mappedFileCount());
+    }
+
+    @Test
+    void readMessage_rejectsReferenceWhenDisabled() {
+        transfer = SharedMemoryTransfer.disabled(1024);
+
+        assertFalse(transfer.isEnabled());
+        assertThrows(IOException.class, () -> transfer.readMessage(reference("out-1", 0, 1), TaskResult.parser()));
+    }
+
+    private static InputStream reference(String name, long offset, long length) throws IOException {
+        String json = "{\"name\":\"" + name + "\",\"offset\":" + offset + ",\"length\":" + length + "}";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RunnerFraming.writeReference(out, json.getBytes(StandardCharsets.UTF_8));
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    private SharedMemoryTransfer enabled(int thresholdBytes, int maxPayloadBytes) {
+        ExecutorPythonProperties.SharedMemory properties = new ExecutorPythonProperties.SharedMemory();
+        properties.setEnabled(true);
+        properties.setDirectory(root.toString());
+        properties.setThresholdBytes(thresholdBytes);
+        SharedMemoryTransfer created = SharedMemoryTransfer.create(properties, maxPayloadBytes);
+        assertTrue(created.isEnabled());
+        return created;
+    }
+
+    private long mappedFileCount() throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package ai.eigloo.agentic.graphcomposer.service;
 
 import ai.eigloo.agentic.common.ProtobufUtils;
 import ai.eigloo.agentic.common.TopicNames;
+import ai.eigloo.proto.model.Common.GraphRunStatusChange;
 import ai.eigloo.proto.model.Common.PlanInput;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.slf4j.Logger;
@@ -10,6 +11,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.UUID;
 
 @Service
@@ -24,6 +26,35 @@ public class GraphExecutionBootstrapPublisher {
         this.kafkaTemplate = kafkaTemplate;
     }
 
+    /**
+     * Announce a queued run so executors can prewarm its nodes before the first input arrives.
+     * Best effort: the run starts the same way if this never reaches anyone.
+     */
+    public void publishRunStarted(String tenantId, String graphId, String lifetimeId) {
+        GraphRunStatusChange change = GraphRunStatusChange.newBuilder()
+                .setTenantId(tenantId)
+                .setGraphId(graphId)
+                .setLifetimeId(lifetimeId)
+                .setStatus("QUEUED")
+                .setChangedAt(Instant.now().toString())
+                .build();
+        String topic = TopicNames.graphRunStatus(tenantId);
+        try {
+            kafkaTemplate.send(new ProducerRecord<>(topic, lifetimeId, change.toByteArray()))
+                    .whenComplete((result, error) -> {
+                        if (error != null) {
+                            logger.warn(
+                                    "Failed to announce queued run tenant={} graph={} lifetime={}: {}",
+                                    tenantId, graphId, lifetimeId, error.getMessage());
+                        }
+                    });
+        } catch (RuntimeException e) {
+            logger.warn(
+                    "Failed to announce queued run tenant={} graph={} lifetime={}: {}",
+                    tenantId, graphId, lifetimeId, e.getMessage());
+        }
+    }
+
     public void publishStartPlanInput(String tenantId, String graphId, String lifetimeId, String planName) {
         PlanInput planInput = PlanInput.newBuilder()
                 .setInputId(UUID.randomUUID().toString())
@@ -194,6 +194,7 @@ public class GraphServiceImpl implements GraphService {
         }
 
         GraphRunEntity graphRun = createQueuedGraphRun(tenantId, graphId, lifetimeId, entryPlanNames);
+        graphExecutionBootstrapPublisher.publishRunStarted(tenantId, graphId, lifetimeId);
         try {
             for (String planName : entryPlanNames) {
                 graphExecutionBootstrapPublisher.publishStartPlanInput(tenantId, graphId, lifetimeId, planName);
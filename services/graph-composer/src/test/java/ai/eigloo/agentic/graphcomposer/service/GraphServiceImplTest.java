@@ -361,6 +361,8 @@ class GraphServiceImplTest {
         verify(validationService).validateGraph(any(AgentGraphDto.class));
         verify(agentGraphRepository).save(argThat(graph -> graph.getStatus() == ai.eigloo.agentic.graph.entity.GraphStatus.ACTIVE));
         verify(graphRunRepository).save(argThat(graphRun -> graphRun.getStatus() == GraphRunStatus.QUEUED));
+        verify(graphExecutionBootstrapPublisher).publishRunStarted(
+                tenantId, graphId, result.getExecutionId());
         verify(graphExecutionBootstrapPublisher).publishStartPlanInput(
                 eq(tenantId), eq(graphId), anyString(), eq("PlanA"));
     }
@@ -332,7 +332,8 @@ public class SimpleIntegrationTest {
                 TopicNames.planExecutions(tenantId),
                 TopicNames.taskExecutions(tenantId),
                 TopicNames.persistedPlanExecutions(tenantId),
-                TopicNames.persistedTaskExecutions(tenantId)
+                TopicNames.persistedTaskExecutions(tenantId),
+                TopicNames.graphRunStatus(tenantId)
         );
 
         Properties adminProperties = new Properties();